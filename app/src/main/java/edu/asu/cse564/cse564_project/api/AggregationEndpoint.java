@@ -0,0 +1,46 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.services.DeviceAggregationService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * AggregationEndpoint
+ *
+ * Actuator endpoint over the multi-device aggregation partitions:
+ *
+ *   GET  /actuator/aggregation                 workers, devices and per-partition load
+ *   POST /actuator/aggregation {"workers": n}  rebalances to n workers (0 = one per processor)
+ *
+ * Exposed through management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "aggregation")
+public class AggregationEndpoint {
+
+    private final DeviceAggregationService deviceAggregationService;
+
+    public AggregationEndpoint(DeviceAggregationService deviceAggregationService) {
+        this.deviceAggregationService = deviceAggregationService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workers", deviceAggregationService.getWorkers());
+        result.put("devices", deviceAggregationService.getDeviceCount());
+        result.put("partitions", deviceAggregationService.getPartitionStatus());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> resize(int workers) {
+        deviceAggregationService.resize(workers);
+        return status();
+    }
+}
@@ -2,9 +2,11 @@ package edu.asu.cse564.cse564_project.api;
 
 import edu.asu.cse564.cse564_project.domain.*;
 import edu.asu.cse564.cse564_project.services.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -34,6 +36,10 @@ import java.util.Optional;
  *   -20m < d < 20m          : CAPTURE_WINDOW
  *   20m <= d <= 90m         : LEAVING_STOP_CAPTURE
  *   d > 90m                 : OUT_OF_RANGE_AFTER
+ *
+ * /api/debug/simulateSweep evaluates a whole speed × distance grid in one
+ * call through the DecisionSweepService and returns the matrix of zone
+ * and decision codes. It never touches the live tracker or capture state.
  */
 @RestController
 public class DebugSimulationController {
@@ -47,6 +53,8 @@ public class DebugSimulationController {
     private final EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService;
     private final BackendUplinkControllerService backendUplinkControllerService;
     private final UnitConversionService unitConversionService;
+    private final TrafficStatisticsService trafficStatisticsService;
+    private final DecisionSweepService decisionSweepService;
 
     public DebugSimulationController(
             RadarDataCollectorService radarDataCollectorService,
@@ -57,7 +65,9 @@ public class DebugSimulationController {
             AnprProcessorService anprProcessorService,
             EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService,
             BackendUplinkControllerService backendUplinkControllerService,
-            UnitConversionService unitConversionService
+            UnitConversionService unitConversionService,
+            TrafficStatisticsService trafficStatisticsService,
+            DecisionSweepService decisionSweepService
     ) {
         this.radarDataCollectorService = radarDataCollectorService;
         this.speedViolationControllerService = speedViolationControllerService;
@@ -68,6 +78,8 @@ public class DebugSimulationController {
         this.evidenceCollectorAndPackagerService = evidenceCollectorAndPackagerService;
         this.backendUplinkControllerService = backendUplinkControllerService;
         this.unitConversionService = unitConversionService;
+        this.trafficStatisticsService = trafficStatisticsService;
+        this.decisionSweepService = decisionSweepService;
     }
 
     // ============================================================
@@ -94,6 +106,7 @@ public class DebugSimulationController {
 
         // SpeedViolationController
         SpeedStatus speedStatus = speedViolationControllerService.buildSpeedStatus(sample);
+        trafficStatisticsService.record(speedStatus);
         Optional<SpeedContext> maybeCtx = speedViolationControllerService.buildOverspeedContext(sample);
         if (maybeCtx.isEmpty()) {
             result.put("success", false);
@@ -197,6 +210,7 @@ public class DebugSimulationController {
         RadarSample sample = maybeSample.get();
 
         SpeedStatus speedStatus = speedViolationControllerService.buildSpeedStatus(sample);
+        trafficStatisticsService.record(speedStatus);
         Optional<SpeedContext> maybeCtx = speedViolationControllerService.buildOverspeedContext(sample);
 
         LedCommand ledCommand = ledDisplayControllerService.buildLedCommand(speedStatus);
@@ -223,24 +237,8 @@ public class DebugSimulationController {
         // Convert miles to meters using the shared conversion service
         double distanceMeters = unitConversionService.milesToMeters(distanceMiles);
 
-        final double MIN_VALID_METERS = -150.0;
-        final double CAPTURE_WINDOW_HALF_METERS = 20.0;
-        final double MAX_VALID_METERS = 90.0;
-
-        String regionCode;
-        if (distanceMeters <= MIN_VALID_METERS) {
-            regionCode = "OUT_OF_RANGE_BEFORE";
-        } else if (distanceMeters <= -90.0) {
-            regionCode = "COARSE_ONLY";
-        } else if (distanceMeters <= -CAPTURE_WINDOW_HALF_METERS) {
-            regionCode = "MONITOR_ONLY";
-        } else if (distanceMeters < CAPTURE_WINDOW_HALF_METERS) {
-            regionCode = "CAPTURE_WINDOW";
-        } else if (distanceMeters <= MAX_VALID_METERS) {
-            regionCode = "LEAVING_STOP_CAPTURE";
-        } else {
-            regionCode = "OUT_OF_RANGE_AFTER";
-        }
+        // Same zone thresholds as the pipeline services and the decision sweep
+        String regionCode = DecisionSweepService.zoneOf(distanceMeters).name();
 
         result.put("success", true);
         result.put("mode", "custom-case");
@@ -270,6 +268,7 @@ public class DebugSimulationController {
 
         // 2) SpeedViolationController
         SpeedStatus speedStatus = speedViolationControllerService.buildSpeedStatus(sample);
+        trafficStatisticsService.record(speedStatus);
         Optional<SpeedContext> maybeCtx = speedViolationControllerService.buildOverspeedContext(sample);
         boolean overspeedContextPresent = maybeCtx.isPresent();
 
@@ -366,6 +365,7 @@ public class DebugSimulationController {
             result.put("stage", "BackendUplinkController");
             result.put("violationRecordPresent", true);
             result.put("uploadSuccess", uploadStatus.isSuccess());
+            result.put("uploadDeferred", uploadStatus.isDeferred());
             result.put("violationRecord", record);
             result.put("uploadStatus", uploadStatus);
             return result;
@@ -377,4 +377,25 @@ public class DebugSimulationController {
         result.put("uploadSuccess", false);
         return result;
     }
+
+    // ============================================================
+    // 4) Parameter sweep – decision matrix over a speed × distance grid
+    // ============================================================
+    @GetMapping("/api/debug/simulateSweep")
+    public DecisionSweep simulateSweep(
+            @RequestParam(name = "speedFromMph") double speedFromMph,
+            @RequestParam(name = "speedToMph") double speedToMph,
+            @RequestParam(name = "speedStepMph", defaultValue = "1.0") double speedStepMph,
+            @RequestParam(name = "distanceFromMiles") double distanceFromMiles,
+            @RequestParam(name = "distanceToMiles") double distanceToMiles,
+            @RequestParam(name = "distanceStepMiles") double distanceStepMiles
+    ) {
+        try {
+            return decisionSweepService.sweep(
+                    speedFromMph, speedToMph, speedStepMph,
+                    distanceFromMiles, distanceToMiles, distanceStepMiles);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
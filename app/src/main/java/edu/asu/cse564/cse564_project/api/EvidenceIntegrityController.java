@@ -0,0 +1,76 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.EvidenceBatch;
+import edu.asu.cse564.cse564_project.domain.EvidenceProof;
+import edu.asu.cse564.cse564_project.domain.EvidenceSeal;
+import edu.asu.cse564.cse564_project.services.EvidenceIntegrityService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/*
+ * EvidenceIntegrityController
+ *
+ * Read-only audit endpoints for the evidence hash chain:
+ *
+ *   GET  /api/evidence/{violationId}/seal   record hash + chain position
+ *   GET  /api/evidence/{violationId}/proof  Merkle inclusion proof (batch must be closed)
+ *   GET  /api/evidence/{violationId}/sightings/{n}/seal   same, for the record's n-th sighting
+ *   GET  /api/evidence/{violationId}/sightings/{n}/proof
+ *   GET  /api/evidence/batches              retained batches and their Merkle roots
+ *   POST /api/evidence/batches/close        close the open batch immediately
+ *
+ * Unknown or not-yet-sealed records return 404.
+ */
+@RestController
+@RequestMapping("/api/evidence")
+public class EvidenceIntegrityController {
+
+    private final EvidenceIntegrityService evidenceIntegrityService;
+
+    public EvidenceIntegrityController(EvidenceIntegrityService evidenceIntegrityService) {
+        this.evidenceIntegrityService = evidenceIntegrityService;
+    }
+
+    @GetMapping("/{violationId}/seal")
+    public ResponseEntity<EvidenceSeal> getSeal(@PathVariable("violationId") String violationId) {
+        return ResponseEntity.of(evidenceIntegrityService.getSeal(violationId));
+    }
+
+    @GetMapping("/{violationId}/proof")
+    public ResponseEntity<EvidenceProof> getProof(@PathVariable("violationId") String violationId) {
+        return ResponseEntity.of(evidenceIntegrityService.getProof(violationId));
+    }
+
+    @GetMapping("/{violationId}/sightings/{sightingNumber}/seal")
+    public ResponseEntity<EvidenceSeal> getSightingSeal(
+            @PathVariable("violationId") String violationId,
+            @PathVariable("sightingNumber") int sightingNumber
+    ) {
+        return ResponseEntity.of(evidenceIntegrityService.getSightingSeal(violationId, sightingNumber));
+    }
+
+    @GetMapping("/{violationId}/sightings/{sightingNumber}/proof")
+    public ResponseEntity<EvidenceProof> getSightingProof(
+            @PathVariable("violationId") String violationId,
+            @PathVariable("sightingNumber") int sightingNumber
+    ) {
+        return ResponseEntity.of(evidenceIntegrityService.getSightingProof(violationId, sightingNumber));
+    }
+
+    @GetMapping("/batches")
+    public List<EvidenceBatch> getBatches() {
+        return evidenceIntegrityService.getBatches();
+    }
+
+    @PostMapping("/batches/close")
+    public List<EvidenceBatch> closeOpenBatch() {
+        evidenceIntegrityService.closeOpenBatch();
+        return evidenceIntegrityService.getBatches();
+    }
+}
@@ -0,0 +1,46 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.services.FlightRecorderService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * FlightRecorderEndpoint
+ *
+ * Actuator endpoint over the pipeline flight recorder:
+ *
+ *   GET  /actuator/flightrecorder    retained trace entries, oldest first
+ *   POST /actuator/flightrecorder    writes them to cps.recorder.dump-dir
+ *
+ * Exposed through management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> entries() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capacity", flightRecorderService.getCapacity());
+        result.put("recorded", flightRecorderService.getRecordedCount());
+        result.put("stageSloMicros", flightRecorderService.getSloMicros());
+        result.put("entries", flightRecorderService.snapshot());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() {
+        return Map.of("file", flightRecorderService.dump("manual").toString());
+    }
+}
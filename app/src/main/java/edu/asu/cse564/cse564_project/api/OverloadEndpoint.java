@@ -0,0 +1,55 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.services.OverloadControllerService;
+import edu.asu.cse564.cse564_project.services.UplinkSchedulerService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * OverloadEndpoint
+ *
+ * Actuator endpoint over the evidence-path admission control:
+ *
+ *   GET /actuator/overload   degradation level, pressure and its inputs, shed counts
+ *
+ * Exposed through management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "overload")
+public class OverloadEndpoint {
+
+    private final OverloadControllerService overloadControllerService;
+    private final UplinkSchedulerService uplinkSchedulerService;
+
+    public OverloadEndpoint(
+            OverloadControllerService overloadControllerService,
+            UplinkSchedulerService uplinkSchedulerService
+    ) {
+        this.overloadControllerService = overloadControllerService;
+        this.uplinkSchedulerService = uplinkSchedulerService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> shed = new LinkedHashMap<>();
+        shed.put("saturated", overloadControllerService.getShedSaturated());
+        shed.put("lowOverspeed", overloadControllerService.getShedLowOverspeed());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("level", overloadControllerService.getLevel());
+        result.put("pressure", overloadControllerService.getPressure());
+        result.put("inFlight", overloadControllerService.getInFlight());
+        result.put("maxInFlight", overloadControllerService.getMaxInFlight());
+        result.put("evidenceLatencyMillis", overloadControllerService.getLatencyMillis());
+        result.put("uplinkQueueDepth", uplinkSchedulerService.getQueueDepth());
+        result.put("uplinkQueueCapacity", uplinkSchedulerService.getQueueCapacity());
+        result.put("imagesDeferred", uplinkSchedulerService.isImagesDeferred());
+        result.put("deferredImages", uplinkSchedulerService.getDeferredImageCount());
+        result.put("shed", shed);
+        return result;
+    }
+}
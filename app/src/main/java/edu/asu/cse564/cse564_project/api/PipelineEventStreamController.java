@@ -0,0 +1,170 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.PipelineEvent;
+import edu.asu.cse564.cse564_project.services.PipelineEventBusService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * PipelineEventStreamController
+ *
+ * Server-Sent Events push channel for dashboards and the roadside sign
+ * controller. Streams LedCommand, CaptureStateChange and ViolationSummary
+ * events from the PipelineEventBus as they are published, so clients no
+ * longer have to poll /api/radar/sample responses.
+ *
+ *   GET /api/events/stream  (text/event-stream)
+ *     event name = PipelineEventType, id = bus sequence number
+ *
+ * Each connection is drained by its own pump thread (a virtual thread when
+ * spring.threads.virtual.enabled=true) that reads from the shared ring
+ * buffer. A client that cannot keep up only delays its own
+ * pump; once it has lost more than cps.events.max-dropped-per-subscriber
+ * events the connection is closed so the client can reconnect fresh.
+ *
+ * Built on the servlet SseEmitter, so only available in the servlet web
+ * application type.
+ */
+@RestController
+@RequestMapping("/api/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PipelineEventStreamController implements AutoCloseable {
+
+    // Events sent per poll of the ring buffer
+    private static final int POLL_BATCH_SIZE = 64;
+
+    // Interval between SSE comment heartbeats on an idle connection
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final PipelineEventBusService eventBus;
+    private final int maxSubscribers;
+    private final long maxDroppedPerSubscriber;
+    private final long pollIntervalNanos;
+
+    private final AtomicInteger activeSubscribers = new AtomicInteger();
+    private final ExecutorService pumpExecutor;
+
+    public PipelineEventStreamController(
+            PipelineEventBusService eventBus,
+            @Value("${cps.events.max-subscribers:64}") int maxSubscribers,
+            @Value("${cps.events.max-dropped-per-subscriber:4096}") long maxDroppedPerSubscriber,
+            @Value("${cps.events.poll-interval-millis:20}") long pollIntervalMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.eventBus = eventBus;
+        this.maxSubscribers = maxSubscribers;
+        this.maxDroppedPerSubscriber = maxDroppedPerSubscriber;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, pollIntervalMillis));
+        this.pumpExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-event-pump-", 0).factory())
+                : Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "sse-event-pump");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /*
+     * GET /api/events/stream
+     *
+     * Opens a long-lived SSE connection positioned at the current head of
+     * the event ring; only events published after connecting are sent.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        if (activeSubscribers.incrementAndGet() > maxSubscribers) {
+            activeSubscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many event stream subscribers.");
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        PipelineEventBusService.Subscriber subscriber = eventBus.subscribe();
+        AtomicBoolean open = new AtomicBoolean(true);
+
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(error -> open.set(false));
+
+        pumpExecutor.execute(() -> {
+            try {
+                pump(emitter, subscriber, open);
+            } finally {
+                activeSubscribers.decrementAndGet();
+            }
+        });
+        return emitter;
+    }
+
+    /*
+     * GET /api/events/stats
+     *
+     * Basic health of the push channel.
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ringCapacity", eventBus.getCapacity());
+        result.put("publishedEvents", eventBus.getPublishedCount());
+        result.put("activeSubscribers", activeSubscribers.get());
+        return result;
+    }
+
+    // Drains the ring into one SSE connection until it closes or falls too far behind
+    private void pump(SseEmitter emitter, PipelineEventBusService.Subscriber subscriber, AtomicBoolean open) {
+        long lastSendNanos = System.nanoTime();
+        try {
+            while (open.get()) {
+                if (subscriber.getDroppedCount() > maxDroppedPerSubscriber) {
+                    // Slow consumer: disconnect instead of buffering for it
+                    emitter.complete();
+                    return;
+                }
+
+                List<PipelineEvent> batch = subscriber.poll(POLL_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    if (System.nanoTime() - lastSendNanos > HEARTBEAT_INTERVAL_NANOS) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSendNanos = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(pollIntervalNanos);
+                    continue;
+                }
+
+                for (PipelineEvent event : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getSequence()))
+                            .name(event.getType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                lastSendNanos = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; nothing else to clean up
+            emitter.completeWithError(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        pumpExecutor.shutdownNow();
+    }
+}
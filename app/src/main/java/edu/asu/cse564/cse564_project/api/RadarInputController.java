@@ -0,0 +1,74 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.DeviceAggregationService;
+import edu.asu.cse564.cse564_project.services.RadarPipelineService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * RadarInputController
+ *
+ * Provides a realistic POST-based entrypoint for radar sensor input.
+ * Each sample runs through the complete CPS enforcement pipeline
+ * (RadarPipelineService) on the request thread:
+ *
+ *   RadarData (POST)
+ *     → RadarDataCollector
+ *     → SpeedViolationController (SpeedStatus + SpeedContext)
+ *     → LEDDisplayController (and TrafficStatistics, for every sample)
+ *     → EvidenceCaptureController
+ *     → CameraDataCollector
+ *     → ANPR Processor
+ *     → EvidenceCollectorAndPackager
+ *     → BackendUplinkController
+ *
+ * The endpoint returns a detailed JSON trace describing how the input
+ * propagates through each stage of the pipeline.
+ *
+ * Samples with a deviceId come from other roadside units and run on that
+ * device's partition of the DeviceAggregationService instead; the request
+ * waits for the result. A full partition answers 503.
+ *
+ * Active in the servlet (Tomcat) web application type; with
+ * spring.main.web-application-type=reactive the same contract is served
+ * by ReactiveRadarInputController.
+ */
+@RestController
+@RequestMapping("/api/radar")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RadarInputController {
+
+    private final RadarPipelineService radarPipelineService;
+    private final DeviceAggregationService deviceAggregationService;
+
+    public RadarInputController(
+            RadarPipelineService radarPipelineService,
+            DeviceAggregationService deviceAggregationService
+    ) {
+        this.radarPipelineService = radarPipelineService;
+        this.deviceAggregationService = deviceAggregationService;
+    }
+
+    /*
+     * POST /api/radar/sample
+     *
+     * Ingests a radar measurement and runs it through the full CPS chain.
+     */
+    @PostMapping("/sample")
+    public Map<String, Object> ingestRadarSample(@RequestBody RadarData radarData) {
+        if (radarData.getDeviceId() == null) {
+            return radarPipelineService.process(radarData);
+        }
+        try {
+            return deviceAggregationService.process(radarData);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.DeviceAggregationService;
+import edu.asu.cse564.cse564_project.services.RadarPipelineService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ReactiveRadarInputController
+ *
+ * Non-blocking variant of RadarInputController, served by WebFlux on Netty
+ * event loops when the application starts with
+ *
+ *     spring.main.web-application-type=reactive
+ *
+ * It keeps the /api/radar/sample contract and adds a streaming mode for
+ * long-lived device connections:
+ *
+ *   POST /api/radar/sample  (application/json)
+ *     one RadarData in, one pipeline trace out — same as the servlet version
+ *
+ *   POST /api/radar/sample  (application/x-ndjson, Accept: application/x-ndjson)
+ *     a stream of RadarData in, one trace per sample streamed back, in order
+ *
+ * The pipeline itself (RadarPipelineService) is synchronous, so it runs on
+ * a bounded pipeline scheduler rather than the event loop. Each stream
+ * requests at most cps.reactive.prefetch samples ahead of the pipeline.
+ * When that demand is used up, Netty stops reading the connection and TCP
+ * flow control pushes the backpressure out to the radar sender. A slow
+ * reader of the response stream throttles its own pipeline the same way.
+ *
+ * Samples with a deviceId are handed to their partition of the
+ * DeviceAggregationService, and the pipeline thread waits for the result,
+ * so stream order is kept.
+ *
+ * Metrics (Micrometer):
+ *   cps.reactive.streams.open   (gauge)
+ *   cps.reactive.samples        (samples processed)
+ *
+ * Configuration (application.properties):
+ *
+ *     spring.main.web-application-type=servlet    (reactive selects this controller)
+ *     cps.reactive.pipeline-threads=4
+ *     cps.reactive.prefetch=32
+ */
+@RestController
+@RequestMapping("/api/radar")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRadarInputController implements AutoCloseable {
+
+    // Tasks queued per pipeline thread before new submissions are rejected
+    private static final int QUEUED_TASKS_PER_THREAD = 1024;
+    private static final int THREAD_IDLE_SECONDS = 60;
+
+    private final RadarPipelineService radarPipelineService;
+    private final DeviceAggregationService deviceAggregationService;
+    private final Scheduler pipelineScheduler;
+    private final int prefetch;
+
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter samples;
+
+    public ReactiveRadarInputController(
+            RadarPipelineService radarPipelineService,
+            DeviceAggregationService deviceAggregationService,
+            MeterRegistry meterRegistry,
+            @Value("${cps.reactive.pipeline-threads:4}") int pipelineThreads,
+            @Value("${cps.reactive.prefetch:32}") int prefetch
+    ) {
+        this.radarPipelineService = radarPipelineService;
+        this.deviceAggregationService = deviceAggregationService;
+        this.prefetch = Math.max(1, prefetch);
+        int threads = Math.max(1, pipelineThreads);
+        this.pipelineScheduler = Schedulers.newBoundedElastic(
+                threads, threads * QUEUED_TASKS_PER_THREAD, "radar-pipeline", THREAD_IDLE_SECONDS, true);
+
+        meterRegistry.gauge("cps.reactive.streams.open", openStreams);
+        this.samples = meterRegistry.counter("cps.reactive.samples");
+    }
+
+    /*
+     * POST /api/radar/sample (JSON): single sample, same response as the
+     * servlet controller.
+     */
+    @PostMapping(path = "/sample", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> ingestRadarSample(@RequestBody Mono<RadarData> radarData) {
+        return radarData
+                .publishOn(pipelineScheduler)
+                .map(this::process);
+    }
+
+    /*
+     * POST /api/radar/sample (NDJSON): sample stream with backpressure.
+     */
+    @PostMapping(path = "/sample",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> ingestRadarStream(@RequestBody Flux<RadarData> radarData) {
+        return radarData
+                .publishOn(pipelineScheduler, prefetch)
+                .map(this::process)
+                .doOnSubscribe(subscription -> openStreams.incrementAndGet())
+                .doFinally(signal -> openStreams.decrementAndGet());
+    }
+
+    private Map<String, Object> process(RadarData radarData) {
+        samples.increment();
+        if (radarData.getDeviceId() == null) {
+            return radarPipelineService.process(radarData);
+        }
+        try {
+            return deviceAggregationService.process(radarData);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        pipelineScheduler.dispose();
+    }
+}
@@ -0,0 +1,79 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.SpeedHistogramExport;
+import edu.asu.cse564.cse564_project.domain.TrafficWindowStats;
+import edu.asu.cse564.cse564_project.services.TrafficStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+/*
+ * TrafficStatisticsController
+ *
+ * Traffic statistics over all radar samples (violating or not):
+ *
+ *   GET  /api/stats/lanes                                   lanes seen so far
+ *   GET  /api/stats/minutes?lane=&fromMillis=&toMillis=     tumbling one-minute windows
+ *   GET  /api/stats/sliding?lane=&windowMinutes=5           last N minutes merged
+ *   GET  /api/stats/export?lane=&fromMillis=&toMillis=      mergeable histogram
+ *   POST /api/stats/merge   [SpeedHistogramExport, ...]     merge exports (e.g. across devices)
+ *
+ * Omitting lane merges all lanes.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class TrafficStatisticsController {
+
+    private final TrafficStatisticsService trafficStatisticsService;
+
+    public TrafficStatisticsController(TrafficStatisticsService trafficStatisticsService) {
+        this.trafficStatisticsService = trafficStatisticsService;
+    }
+
+    @GetMapping("/lanes")
+    public Set<Integer> getLanes() {
+        return trafficStatisticsService.getLanes();
+    }
+
+    @GetMapping("/minutes")
+    public List<TrafficWindowStats> getMinuteStats(
+            @RequestParam(name = "lane", required = false) Integer lane,
+            @RequestParam(name = "fromMillis", required = false) Long fromMillis,
+            @RequestParam(name = "toMillis", required = false) Long toMillis
+    ) {
+        return trafficStatisticsService.minuteStats(lane, fromMillis, toMillis);
+    }
+
+    @GetMapping("/sliding")
+    public TrafficWindowStats getSlidingStats(
+            @RequestParam(name = "lane", required = false) Integer lane,
+            @RequestParam(name = "windowMinutes", defaultValue = "5") int windowMinutes
+    ) {
+        return trafficStatisticsService.slidingStats(lane, windowMinutes);
+    }
+
+    @GetMapping("/export")
+    public SpeedHistogramExport export(
+            @RequestParam(name = "lane", required = false) Integer lane,
+            @RequestParam(name = "fromMillis", required = false) Long fromMillis,
+            @RequestParam(name = "toMillis", required = false) Long toMillis
+    ) {
+        return trafficStatisticsService.export(lane, fromMillis, toMillis);
+    }
+
+    @PostMapping("/merge")
+    public ResponseEntity<TrafficWindowStats> merge(@RequestBody List<SpeedHistogramExport> exports) {
+        try {
+            return ResponseEntity.ok(trafficStatisticsService.merge(exports));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.asu.cse564.cse564_project.api;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.ViolationPage;
+import edu.asu.cse564.cse564_project.domain.ViolationQuery;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.services.ViolationQueryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/*
+ * ViolationQueryController
+ *
+ * Indexed, paginated read API over stored violations:
+ *
+ *   GET /api/violations?plate=&fromMillis=&toMillis=&minSpeedMph=&uploadState=
+ *                       &cursor=&limit=&order=asc|desc
+ *       → ViolationPage of metadata-only summaries; pass nextCursor back
+ *         as cursor to get the following page (400 if fromMillis > toMillis)
+ *   GET /api/violations/{violationId}        → one summary
+ *   GET /api/violations/{violationId}/image  → evidence image bytes
+ */
+@RestController
+@RequestMapping("/api/violations")
+public class ViolationQueryController {
+
+    private final ViolationQueryService violationQueryService;
+
+    public ViolationQueryController(ViolationQueryService violationQueryService) {
+        this.violationQueryService = violationQueryService;
+    }
+
+    @GetMapping
+    public ViolationPage query(
+            @RequestParam(name = "plate", required = false) String plate,
+            @RequestParam(name = "fromMillis", required = false) Long fromMillis,
+            @RequestParam(name = "toMillis", required = false) Long toMillis,
+            @RequestParam(name = "minSpeedMph", required = false) Double minSpeedMph,
+            @RequestParam(name = "uploadState", required = false) UploadState uploadState,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @RequestParam(name = "order", defaultValue = "desc") String order
+    ) {
+        if (fromMillis != null && toMillis != null && fromMillis > toMillis) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "fromMillis " + fromMillis + " is after toMillis " + toMillis);
+        }
+        ViolationQuery query = ViolationQuery.builder()
+                .plateNumber(plate)
+                .fromMillis(fromMillis)
+                .toMillis(toMillis)
+                .minSpeedMph(minSpeedMph)
+                .uploadState(uploadState)
+                .cursor(cursor)
+                .limit(limit)
+                .newestFirst(!"asc".equalsIgnoreCase(order))
+                .build();
+        return violationQueryService.query(query);
+    }
+
+    @GetMapping("/{violationId}")
+    public ResponseEntity<ViolationSummary> get(@PathVariable("violationId") String violationId) {
+        return ResponseEntity.of(violationQueryService.get(violationId));
+    }
+
+    @GetMapping("/{violationId}/image")
+    public ResponseEntity<byte[]> getImage(@PathVariable("violationId") String violationId) {
+        Optional<ByteBuffer> image = violationQueryService.getImage(violationId);
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ByteBuffer view = image.get();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(bytes);
+    }
+}
@@ -0,0 +1,165 @@
+package edu.asu.cse564.cse564_project.config;
+
+import edu.asu.cse564.cse564_project.PipelineCore;
+import edu.asu.cse564.cse564_project.services.*;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+ * PipelineCoreConfiguration
+ *
+ * Adapts the Spring-free pipeline core to the Boot application: the core
+ * is built from the Spring Environment (so application.properties, profiles
+ * and command-line arguments all apply) and records into the actuator's
+ * MeterRegistry. Its services are then exposed as beans for the
+ * controllers.
+ *
+ * The PipelineCore bean owns the services' lifecycle; the service beans
+ * have no destroy method so they are closed once, in dependency order.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PipelineCoreConfiguration {
+
+    @Bean
+    public PipelineCore pipelineCore(Environment environment, MeterRegistry meterRegistry) {
+        return PipelineCore.create(new PipelineSettings(environment::getProperty), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "")
+    public UnitConversionService unitConversionService(PipelineCore core) {
+        return core.getUnitConversionService();
+    }
+
+    @Bean(destroyMethod = "")
+    public PipelineEventBusService pipelineEventBusService(PipelineCore core) {
+        return core.getPipelineEventBusService();
+    }
+
+    @Bean(destroyMethod = "")
+    public ViolationIdGeneratorService violationIdGeneratorService(PipelineCore core) {
+        return core.getViolationIdGeneratorService();
+    }
+
+    @Bean(destroyMethod = "")
+    public ViolationRecordStoreService violationRecordStoreService(PipelineCore core) {
+        return core.getViolationRecordStoreService();
+    }
+
+    @Bean(destroyMethod = "")
+    public FlightRecorderService flightRecorderService(PipelineCore core) {
+        return core.getFlightRecorderService();
+    }
+
+    @Bean(destroyMethod = "")
+    public EvidenceImageStoreService evidenceImageStoreService(PipelineCore core) {
+        return core.getEvidenceImageStoreService();
+    }
+
+    @Bean(destroyMethod = "")
+    public EvidenceIntegrityService evidenceIntegrityService(PipelineCore core) {
+        return core.getEvidenceIntegrityService();
+    }
+
+    @Bean(destroyMethod = "")
+    public ViolationQueryService violationQueryService(PipelineCore core) {
+        return core.getViolationQueryService();
+    }
+
+    @Bean(destroyMethod = "")
+    public UplinkSchedulerService uplinkSchedulerService(PipelineCore core) {
+        return core.getUplinkSchedulerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public TrafficStatisticsService trafficStatisticsService(PipelineCore core) {
+        return core.getTrafficStatisticsService();
+    }
+
+    @Bean(destroyMethod = "")
+    public RadarDataCollectorService radarDataCollectorService(PipelineCore core) {
+        return core.getRadarDataCollectorService();
+    }
+
+    @Bean(destroyMethod = "")
+    public SpeedViolationControllerService speedViolationControllerService(PipelineCore core) {
+        return core.getSpeedViolationControllerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public DecisionSweepService decisionSweepService(PipelineCore core) {
+        return core.getDecisionSweepService();
+    }
+
+    @Bean(destroyMethod = "")
+    public LedDisplayControllerService ledDisplayControllerService(PipelineCore core) {
+        return core.getLedDisplayControllerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public SharedMemoryCameraService sharedMemoryCameraService(PipelineCore core) {
+        return core.getSharedMemoryCameraService();
+    }
+
+    @Bean(destroyMethod = "")
+    public CameraDataCollectorService cameraDataCollectorService(PipelineCore core) {
+        return core.getCameraDataCollectorService();
+    }
+
+    @Bean(destroyMethod = "")
+    public AnprProcessorService anprProcessorService(PipelineCore core) {
+        return core.getAnprProcessorService();
+    }
+
+    @Bean(destroyMethod = "")
+    public EvidenceImageEncoderService evidenceImageEncoderService(PipelineCore core) {
+        return core.getEvidenceImageEncoderService();
+    }
+
+    @Bean(destroyMethod = "")
+    public EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService(PipelineCore core) {
+        return core.getEvidenceCollectorAndPackagerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public BackendUplinkControllerService backendUplinkControllerService(PipelineCore core) {
+        return core.getBackendUplinkControllerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public PredictiveCaptureService predictiveCaptureService(PipelineCore core) {
+        return core.getPredictiveCaptureService();
+    }
+
+    @Bean(destroyMethod = "")
+    public EvidenceCaptureControllerService evidenceCaptureControllerService(PipelineCore core) {
+        return core.getEvidenceCaptureControllerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public OverloadControllerService overloadControllerService(PipelineCore core) {
+        return core.getOverloadControllerService();
+    }
+
+    @Bean(destroyMethod = "")
+    public RadarTraceRecorderService radarTraceRecorderService(PipelineCore core) {
+        return core.getRadarTraceRecorderService();
+    }
+
+    @Bean(destroyMethod = "")
+    public RadarPipelineService radarPipelineService(PipelineCore core) {
+        return core.getRadarPipelineService();
+    }
+
+    @Bean(destroyMethod = "")
+    public DeviceAggregationService deviceAggregationService(PipelineCore core) {
+        return core.getDeviceAggregationService();
+    }
+
+    @Bean(destroyMethod = "")
+    public CheckpointService checkpointService(PipelineCore core) {
+        return core.getCheckpointService();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.asu.cse564.cse564_project.services;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * JfrRecordingService
+ *
+ * Optionally starts an in-process Java Flight Recorder recording with the
+ * pipeline stage events (PipelineJfrEvents) enabled, for deployments where
+ * the JVM command line cannot be changed.
+ *
+ * The recording combines a JDK configuration ("default" or "profile") with
+ * the bundled jfr/pipeline.jfc, so stage events land in the same file as
+ * GC, safepoint and lock events. It keeps cps.jfr.recording.max-age-minutes
+ * of history in the JFR repository, and JFR writes it to
+ * cps.jfr.recording.file when the JVM exits (as with -XX:StartFlightRecording,
+ * JFR's own shutdown hook does the dump).
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.jfr.recording.enabled=false
+ *     cps.jfr.recording.settings=profile
+ *     cps.jfr.recording.max-age-minutes=30
+ *     cps.jfr.recording.file=${java.io.tmpdir}/cse564-pipeline.jfr
+ */
+@Service
+public class JfrRecordingService {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final String PIPELINE_CONFIGURATION = "jfr/pipeline.jfc";
+
+    private final Recording recording;
+
+    public JfrRecordingService(
+            @Value("${cps.jfr.recording.enabled:false}") boolean enabled,
+            @Value("${cps.jfr.recording.settings:profile}") String settings,
+            @Value("${cps.jfr.recording.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${cps.jfr.recording.file:${java.io.tmpdir}/cse564-pipeline.jfr}") String file
+    ) throws IOException, ParseException {
+        if (!enabled) {
+            this.recording = null;
+            return;
+        }
+
+        Map<String, String> combined = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource(PIPELINE_CONFIGURATION).getInputStream(), StandardCharsets.UTF_8)) {
+            combined.putAll(Configuration.create(reader).getSettings());
+        }
+
+        this.recording = new Recording(combined);
+        this.recording.setName("cse564-pipeline");
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(Duration.ofMinutes(Math.max(1, maxAgeMinutes)));
+        this.recording.setDestination(Path.of(file));
+        this.recording.setDumpOnExit(true);
+        this.recording.start();
+        log.info("JFR recording started with '{}' + {}; written to {} on exit",
+                settings, PIPELINE_CONFIGURATION, file);
+    }
+}
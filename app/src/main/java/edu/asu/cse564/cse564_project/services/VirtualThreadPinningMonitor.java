@@ -0,0 +1,133 @@
+package edu.asu.cse564.cse564_project.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * VirtualThreadPinningMonitor
+ *
+ * In virtual-thread mode (spring.threads.virtual.enabled=true), watches for
+ * virtual threads that block while pinned to their carrier thread. In
+ * JDK 21 that happens when a virtual thread parks inside a synchronized
+ * block or a native frame. While it is pinned, the carrier cannot run
+ * other virtual threads, so pinning on a hot path quietly brings back the
+ * platform-pool limit.
+ *
+ * Detection uses an in-process JFR stream of jdk.VirtualThreadPinned
+ * events longer than cps.threads.pinning-threshold-millis. Each event is
+ * counted and timed. The first occurrence at each distinct blocking site
+ * is logged at WARN with its stack, so the offending monitor can be
+ * replaced with a java.util.concurrent lock.
+ *
+ * Metrics (Micrometer):
+ *   cps.threads.virtual.pinned              (timer: count and pinned duration)
+ *   cps.threads.virtual.pinned.unreported   (sites beyond the logged-site limit)
+ *
+ * Configuration (application.properties):
+ *
+ *     spring.threads.virtual.enabled=false
+ *     cps.threads.pinning-threshold-millis=20
+ */
+@Service
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_REPORTED_SITES = 256;
+
+    private final RecordingStream stream;
+    private final Timer pinned;
+    private final Counter unreported;
+
+    // Blocking sites already logged, by top application frame
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${cps.threads.pinning-threshold-millis:20}") long thresholdMillis
+    ) {
+        this.pinned = Timer.builder("cps.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.unreported = meterRegistry.counter("cps.threads.virtual.pinned.unreported");
+
+        if (!virtualThreads) {
+            this.stream = null;
+            return;
+        }
+
+        this.stream = new RecordingStream();
+        this.stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(Math.max(0, thresholdMillis)))
+                .withStackTrace();
+        this.stream.onEvent(PINNED_EVENT, this::onPinned);
+        this.stream.startAsync();
+        log.info("Virtual-thread mode: reporting pinned virtual threads blocked longer than {} ms", thresholdMillis);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String site = blockingSite(frames);
+        if (reportedSites.contains(site)) {
+            return;
+        }
+        if (reportedSites.size() >= MAX_REPORTED_SITES) {
+            unreported.increment();
+            return;
+        }
+        reportedSites.add(site);
+
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            stack.append("\n\tat ").append(format(frames.get(i)));
+        }
+        log.warn("Virtual thread pinned for {} ms at {}{}",
+                event.getDuration().toMillis(), site, stack);
+    }
+
+    // First frame outside the JDK, else the top frame
+    private static String blockingSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return format(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : format(frames.get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.Cse564ProjectApplication;
+import edu.asu.cse564.cse564_project.PipelineCore;
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.RadarPipelineService;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/*
+ * StartupFootprintBenchmark
+ *
+ * Compares what it costs to bring up the enforcement pipeline:
+ *
+ *   core            PipelineCore.create(), no Spring
+ *   spring-none     Boot application context without a web server
+ *   spring-servlet  the full Boot application (Tomcat, actuator)
+ *
+ * Each mode runs in a fresh JVM with the same -Xmx and pushes the same
+ * radar samples through RadarPipelineService once the pipeline is ready.
+ * The core mode gets only the core's runtime classpath (see core/pom.xml),
+ * as a headless controller would ship it; without an SLF4J binding its
+ * logging is a no-op.
+ *
+ * Reported: JVM uptime when ready, time spent in the startup call itself,
+ * heap used after a full GC, loaded classes, live threads, peak RSS
+ * (VmHWM, Linux only) and pipeline throughput.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl app test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.StartupFootprintBenchmark
+ */
+public class StartupFootprintBenchmark {
+
+    private static final String[] MODES = {"core", "spring-none", "spring-servlet"};
+    private static final String MAX_HEAP = "-Xmx256m";
+    private static final String RESULT_PREFIX = "RESULT ";
+    private static final int RUNS = 10_000;
+
+    // Classpath entries a headless deployment of the core needs, plus this benchmark
+    private static final Pattern CORE_CLASSPATH = Pattern.compile(
+            "CSE564_Project-core|core[/\\\\]target[/\\\\]classes|test-classes"
+                    + "|micrometer-(core|commons|observation)|slf4j-api|HdrHistogram|LatencyUtils");
+
+    // One vehicle through the monitor zone: coarse, before window, inside, leaving
+    private static final double[] DISTANCES_MILES = {-0.08, -0.05, -0.01, 0.005};
+    private static final double SPEED_MPH = 70.0;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1) {
+            run(args[0]);
+            return;
+        }
+
+        System.out.printf("%-15s %9s %9s %9s %9s %8s %12s %10s%n",
+                "mode", "ready ms", "init ms", "heap MB", "classes", "threads", "peak RSS MB", "samples/s");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        for (String mode : MODES) {
+            Path dir = Files.createTempDirectory("startup-bench");
+            Process child = new ProcessBuilder(java, MAX_HEAP,
+                    "-Dcps.evidence.image-dir=" + dir.resolve("evidence"),
+                    "-Dcps.recorder.dump-dir=" + dir.resolve("flight"),
+                    "-Dlogging.level.root=WARN",
+                    "-Dspring.main.banner-mode=off",
+                    "-cp", mode.equals("core") ? coreClasspath() : System.getProperty("java.class.path"),
+                    StartupFootprintBenchmark.class.getName(), mode)
+                    .redirectErrorStream(true)
+                    .start();
+            // Only the child's result line is shown, not its log output
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream()))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX)) {
+                        System.out.println(line.substring(RESULT_PREFIX.length()));
+                    }
+                }
+            }
+            child.waitFor();
+            deleteRecursively(dir);
+        }
+    }
+
+    private static void run(String mode) throws Exception {
+        long start = System.nanoTime();
+        AutoCloseable pipeline;
+        RadarPipelineService radarPipelineService;
+        switch (mode) {
+            case "core" -> {
+                PipelineCore core = PipelineCore.create(PipelineSettings.fromSystemProperties());
+                pipeline = core;
+                radarPipelineService = core.getRadarPipelineService();
+            }
+            case "spring-none", "spring-servlet" -> {
+                ConfigurableApplicationContext context = SpringApplication.run(Cse564ProjectApplication.class,
+                        "--spring.main.web-application-type=" + (mode.equals("spring-none") ? "none" : "servlet"),
+                        "--server.port=0");
+                pipeline = context;
+                radarPipelineService = context.getBean(RadarPipelineService.class);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        long initNanos = System.nanoTime() - start;
+        long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        long processStart = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            for (double distance : DISTANCES_MILES) {
+                radarPipelineService.process(RadarData.builder()
+                        .distanceMiles(distance)
+                        .speedMph(SPEED_MPH)
+                        .build());
+            }
+        }
+        long processNanos = System.nanoTime() - processStart;
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf(RESULT_PREFIX + "%-15s %9d %9.0f %9.1f %9d %8d %12.1f %10.0f%n",
+                mode,
+                readyMillis,
+                initNanos / 1e6,
+                (runtime.totalMemory() - runtime.freeMemory()) / 1048576.0,
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                Thread.activeCount(),
+                peakRssBytes() / 1048576.0,
+                RUNS * DISTANCES_MILES.length / (processNanos / 1e9));
+        pipeline.close();
+        System.exit(0);
+    }
+
+    private static String coreClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> CORE_CLASSPATH.matcher(entry).find())
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    // Peak resident set size of this JVM, or 0 where /proc is unavailable
+    private static long peakRssBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux
+        }
+        return 0;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * StartupHarness
+ *
+ * Measures how long the application takes, from process launch, to
+ * process its first radar sample (the first 200 from POST
+ * /api/radar/sample), and its resident memory at that point. This is the
+ * window in which a rebooting roadside unit misses traffic.
+ *
+ * Run by the fast-startup profile (mvn -pl app -Pfast-startup verify)
+ * against the extracted, AOT-processed jar and its CDS archive, and fails
+ * the build when the median of the runs exceeds a budget:
+ *
+ *     StartupHarness <extracted jar> <cds archive> <max first-sample ms> <max RSS MB> [runs] [baseline jar]
+ *
+ * A baseline jar, when given, is measured too (plain java -jar, no AOT or
+ * CDS) for comparison only. Child output goes to <jar dir>/startup-*.log.
+ */
+public class StartupHarness {
+
+    private static final String SAMPLE = "{\"distanceMiles\":-0.01,\"speedMph\":70.0}";
+    private static final long POLL_MILLIS = 20;
+    private static final long GIVE_UP_MILLIS = 120_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            throw new IllegalArgumentException(
+                    "Usage: StartupHarness <jar> <cds archive> <max first-sample ms> <max RSS MB> [runs] [baseline jar]");
+        }
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        long maxMillis = Long.parseLong(args[2]);
+        long maxRssMb = Long.parseLong(args[3]);
+        int runs = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+
+        if (args.length > 5) {
+            Result baseline = median(measure("baseline", List.of("-jar", args[5]), jar.getParent(), runs));
+            report("baseline (java -jar)", baseline);
+        }
+
+        Result optimized = median(measure("fast-startup", List.of(
+                "-XX:SharedArchiveFile=" + archive,
+                "-Xshare:on",
+                "-Dspring.aot.enabled=true",
+                "-jar", jar.toString()), jar.getParent(), runs));
+        report("fast-startup (AOT + CDS)", optimized);
+
+        List<String> failures = new ArrayList<>();
+        if (optimized.firstSampleMillis > maxMillis) {
+            failures.add("first sample after " + optimized.firstSampleMillis + " ms, budget " + maxMillis + " ms");
+        }
+        if (optimized.rssBytes > maxRssMb * 1048576) {
+            failures.add("RSS " + optimized.rssBytes / 1048576 + " MB, budget " + maxRssMb + " MB");
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Startup regression: " + String.join("; ", failures));
+        }
+    }
+
+    private static List<Result> measure(String name, List<String> launch, Path logDir, int runs) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            results.add(measureOnce(launch, logDir.resolve("startup-" + name + "-" + run + ".log")));
+        }
+        return results;
+    }
+
+    private static Result measureOnce(List<String> launch, Path log) throws Exception {
+        int port = freePort();
+        Path evidenceDir = Files.createTempDirectory("startup-harness");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dcps.evidence.image-dir=" + evidenceDir);
+        command.addAll(launch);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/radar/sample"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(SAMPLE))
+                .build();
+
+        long start = System.nanoTime();
+        Process child = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (true) {
+                if (!child.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + child.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(GIVE_UP_MILLIS)) {
+                    throw new IllegalStateException("No sample processed within " + GIVE_UP_MILLIS + " ms, see " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Result(millis, residentBytes(child.pid()));
+        } finally {
+            child.destroy();
+            if (!child.waitFor(30, TimeUnit.SECONDS)) {
+                child.destroyForcibly();
+            }
+            deleteRecursively(evidenceDir);
+        }
+    }
+
+    private static Result median(List<Result> results) {
+        long[] millis = results.stream().mapToLong(Result::firstSampleMillis).sorted().toArray();
+        long[] rss = results.stream().mapToLong(Result::rssBytes).sorted().toArray();
+        return new Result(millis[millis.length / 2], rss[rss.length / 2]);
+    }
+
+    private static void report(String name, Result result) {
+        System.out.printf("%-26s first sample %6d ms   RSS %6.1f MB%n",
+                name, result.firstSampleMillis, result.rssBytes / 1048576.0);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Peak resident set size of a child process, or 0 where /proc is unavailable
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux
+        }
+        return 0;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private record Result(long firstSampleMillis, long rssBytes) {
+    }
+}
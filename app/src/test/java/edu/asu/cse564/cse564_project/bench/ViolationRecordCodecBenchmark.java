@@ -0,0 +1,97 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+/*
+ * ViolationRecordCodecBenchmark
+ *
+ * Compares the binary ViolationRecordCodec with Jackson JSON for encoded
+ * size and encode/decode throughput at several evidence image sizes.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl app test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.ViolationRecordCodecBenchmark
+ */
+public class ViolationRecordCodecBenchmark {
+
+    private static final int[] IMAGE_SIZES = {14, 64 * 1024, 512 * 1024};
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        JsonMapper json = JsonMapper.builder().build();
+
+        System.out.printf("%-10s %-7s %12s %14s %14s%n",
+                "image", "format", "bytes", "encode ops/s", "decode ops/s");
+
+        for (int imageSize : IMAGE_SIZES) {
+            ViolationRecord record = sampleRecord(imageSize);
+
+            // Sanity check: both formats round-trip losslessly
+            ViolationRecord binaryCopy = ViolationRecordCodec.decode(ViolationRecordCodec.encode(record));
+            ViolationRecord jsonCopy = json.readValue(json.writeValueAsBytes(record), ViolationRecord.class);
+            if (!record.equals(binaryCopy) || !record.equals(jsonCopy)) {
+                throw new IllegalStateException("Round trip mismatch for image size " + imageSize);
+            }
+
+            int binarySize = ViolationRecordCodec.encodedSize(record);
+            byte[] jsonBytes = json.writeValueAsBytes(record);
+            ByteBuffer reusable = ByteBuffer.allocate(binarySize);
+
+            double binaryEncode = opsPerSecond(() -> {
+                reusable.clear();
+                ViolationRecordCodec.encode(record, reusable);
+            });
+            reusable.flip();
+            double binaryDecode = opsPerSecond(() -> ViolationRecordCodec.decode(reusable.duplicate()));
+
+            double jsonEncode = opsPerSecond(() -> json.writeValueAsBytes(record));
+            double jsonDecode = opsPerSecond(() -> json.readValue(jsonBytes, ViolationRecord.class));
+
+            String label = imageSize < 1024 ? imageSize + " B" : (imageSize / 1024) + " KiB";
+            System.out.printf("%-10s %-7s %12d %14.0f %14.0f%n", label, "binary", binarySize, binaryEncode, binaryDecode);
+            System.out.printf("%-10s %-7s %12d %14.0f %14.0f%n", label, "json", jsonBytes.length, jsonEncode, jsonDecode);
+            System.out.printf("%-10s size ratio binary/json = %.2f%n%n", label, binarySize / (double) jsonBytes.length);
+        }
+    }
+
+    private static ViolationRecord sampleRecord(int imageSize) {
+        byte[] image = new byte[imageSize];
+        new Random(42).nextBytes(image);
+        return ViolationRecord.builder()
+                .violationId(UUID.randomUUID().toString())
+                .plateNumber("MGE-4592")
+                .speedMph(52.3)
+                .distanceMiles(-0.004)
+                .distanceMeters(-6.437376)
+                .timestampMillis(System.currentTimeMillis())
+                .targetId(17)
+                .imageBytes(Arrays.copyOf(image, imageSize))
+                .build();
+    }
+
+    private static double opsPerSecond(Runnable operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 100; i++) {
+                operation.run();
+            }
+            operations += 100;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return operations * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.PipelineCore;
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvidenceCaptureControllerServiceTests {
+
+    // 40 m/s: the prediction from -25 m fires at the trigger point (0 m) after about 620 ms
+    private static final double SPEED_MPH = 90.0;
+
+    @TempDir
+    Path dir;
+
+    private PipelineCore core;
+    private RadarPipelineService pipeline;
+
+    @BeforeEach
+    void startPipeline() {
+        PipelineSettings settings = new PipelineSettings(key -> switch (key) {
+            case "cps.evidence.image-dir" -> dir.resolve("evidence").toString();
+            case "cps.recorder.dump-dir" -> dir.resolve("flight").toString();
+            case "cps.camera.shm.file" -> dir.resolve("camera/frames.ring").toString();
+            case "cps.checkpoint.enabled" -> "false";
+            case "cps.uplink.bandwidth-bytes-per-sec" -> "0";
+            default -> null;
+        });
+        core = PipelineCore.create(settings);
+        pipeline = core.getRadarPipelineService();
+    }
+
+    @AfterEach
+    void closePipeline() {
+        core.close();
+    }
+
+    @Test
+    void firedPredictionSuppressesTheInWindowCapture() throws InterruptedException {
+        pipeline.process(radar(-25));
+        awaitFired();
+
+        Map<String, Object> trace = pipeline.process(radar(5));
+
+        assertThat(trace.get("captureActive")).isEqualTo(Boolean.TRUE);
+        assertThat(trace.get("reason").toString()).contains("already captured by the predicted capture");
+        assertThat(trace).doesNotContainKey("violationRecord");
+    }
+
+    @Test
+    void inWindowSampleCapturesWhenNoPredictionFired() {
+        pipeline.process(radar(-25));
+
+        // Lands in the window before the prediction fires, which cancels it
+        Map<String, Object> trace = pipeline.process(radar(-15));
+
+        assertThat(trace).containsKey("violationRecord");
+    }
+
+    @Test
+    void nextPassCapturesAgainAfterTheVehicleLeft() throws InterruptedException {
+        pipeline.process(radar(-25));
+        awaitFired();
+        pipeline.process(radar(25));
+
+        // A new vehicle first sampled inside the window
+        Map<String, Object> trace = pipeline.process(radar(-5));
+
+        assertThat(trace).containsKey("violationRecord");
+    }
+
+    private void awaitFired() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (core.getMeterRegistry().counter("cps.capture.predictive.fired").count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(core.getMeterRegistry().counter("cps.capture.predictive.fired").count()).isEqualTo(1.0);
+    }
+
+    private static RadarData radar(double distanceMeters) {
+        return RadarData.builder()
+                .distanceMiles(distanceMeters / UnitConversionService.METERS_PER_MILE)
+                .speedMph(SPEED_MPH)
+                .lane(0)
+                .build();
+    }
+}
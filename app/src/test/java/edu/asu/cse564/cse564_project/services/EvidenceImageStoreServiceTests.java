@@ -0,0 +1,147 @@
+package edu.asu.cse564.cse564_project.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvidenceImageStoreServiceTests {
+
+    private static final long OLD_MILLIS = System.currentTimeMillis() - Duration.ofDays(60).toMillis();
+
+    @TempDir
+    Path imageDir;
+
+    private EvidenceImageStoreService store;
+
+    @AfterEach
+    void closeStore() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void duplicatePutRefreshesRetention() throws Exception {
+        // 24 h retention, no size cap
+        store = newStore(0);
+        String ref = putAndFlush(image(1, 100));
+        Files.setLastModifiedTime(cold(ref), FileTime.fromMillis(OLD_MILLIS));
+
+        // A new violation with the same image references the file again
+        assertThat(store.put(image(1, 100))).isEqualTo(ref);
+        store.sweep();
+
+        assertThat(cold(ref)).exists();
+    }
+
+    @Test
+    void sweepDeletesExpiredFiles() throws Exception {
+        store = newStore(0);
+        String ref = putAndFlush(image(2, 100));
+        Files.setLastModifiedTime(cold(ref), FileTime.fromMillis(OLD_MILLIS));
+
+        store.sweep();
+
+        assertThat(cold(ref)).doesNotExist();
+    }
+
+    @Test
+    void sizeCapSkipsRetainedImages() throws Exception {
+        // Cap of 250 bytes over three 100-byte images: the oldest one must go
+        store = newStore(250);
+        String oldest = putAndFlush(image(3, 100));
+        String middle = putAndFlush(image(4, 100));
+        String newest = putAndFlush(image(5, 100));
+        Files.setLastModifiedTime(cold(oldest), FileTime.fromMillis(System.currentTimeMillis() - 3000));
+        Files.setLastModifiedTime(cold(middle), FileTime.fromMillis(System.currentTimeMillis() - 2000));
+
+        // The oldest still belongs to a record awaiting upload
+        store.setRetainedRefs(() -> Set.of(oldest));
+        store.sweep();
+
+        assertThat(cold(oldest)).exists();
+        assertThat(cold(middle)).doesNotExist();
+        assertThat(cold(newest)).exists();
+    }
+
+    @Test
+    void retainedImagesOutliveRetention() throws Exception {
+        store = newStore(0);
+        String ref = putAndFlush(image(6, 100));
+        Files.setLastModifiedTime(cold(ref), FileTime.fromMillis(OLD_MILLIS));
+
+        store.setRetainedRefs(() -> Set.of(ref));
+        store.sweep();
+
+        assertThat(cold(ref)).exists();
+    }
+
+    @Test
+    void failedWriteStaysReadableAndIsRetried() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store = new EvidenceImageStoreService(registry, imageDir.toString(), 0, 24, 0, 60, false);
+        byte[] image = image(7, 100);
+        String ref = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+
+        // A directory where the write's temp file belongs makes the write fail
+        Path blocker = imageDir.resolve(ref.substring(0, 2)).resolve(ref + ".tmp");
+        Files.createDirectories(blocker);
+        assertThat(store.put(image)).isEqualTo(ref);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (registry.counter("cps.evidence.images.write.failures").count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(registry.counter("cps.evidence.images.write.failures").count()).isEqualTo(1.0);
+
+        // With the hot tier off, the pinned copy is the only one left
+        assertThat(store.getBytes(ref)).contains(image);
+
+        // The retry writes it once the disk accepts it again
+        Files.delete(blocker);
+        deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!Files.exists(cold(ref)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(cold(ref)).exists();
+    }
+
+    private EvidenceImageStoreService newStore(long coldMaxBytes) {
+        // Hot tier off so reads come from disk; the periodic sweep never runs during a test
+        return new EvidenceImageStoreService(new SimpleMeterRegistry(), imageDir.toString(),
+                0, 24, coldMaxBytes, 60, false);
+    }
+
+    // Puts an image and waits for the background writer to put it on disk
+    private String putAndFlush(byte[] image) throws InterruptedException {
+        String ref = store.put(image);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!Files.exists(cold(ref)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(cold(ref)).exists();
+        return ref;
+    }
+
+    private Path cold(String ref) {
+        return imageDir.resolve(ref.substring(0, 2)).resolve(ref);
+    }
+
+    private static byte[] image(int seed, int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+}
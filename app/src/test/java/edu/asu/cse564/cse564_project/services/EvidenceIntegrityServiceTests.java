@@ -0,0 +1,122 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.EvidenceProof;
+import edu.asu.cse564.cse564_project.domain.EvidenceSeal;
+import edu.asu.cse564.cse564_project.domain.Sighting;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvidenceIntegrityServiceTests {
+
+    private final EvidenceIntegrityService service =
+            new EvidenceIntegrityService(new SimpleMeterRegistry(), "RSU-TEST", 2, 4, 4, 60_000, 16);
+
+    @AfterEach
+    void close() {
+        service.close();
+    }
+
+    @Test
+    void chainsRecordsInSubmissionOrder() throws Exception {
+        List<CompletableFuture<EvidenceSeal>> seals = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            seals.add(service.submit(record("v-" + i)));
+        }
+
+        EvidenceSeal previous = null;
+        for (int i = 0; i < seals.size(); i++) {
+            EvidenceSeal seal = seals.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(seal.getSequence()).isEqualTo(i);
+            if (previous != null) {
+                assertThat(seal.getPreviousChainHash()).isEqualTo(previous.getChainHash());
+            }
+            previous = seal;
+        }
+    }
+
+    @Test
+    void closedBatchProofsVerify() throws Exception {
+        List<CompletableFuture<EvidenceSeal>> seals = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            seals.add(service.submit(record("p-" + i)));
+        }
+        CompletableFuture.allOf(seals.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        service.closeOpenBatch();
+
+        for (int i = 0; i < 6; i++) {
+            EvidenceProof proof = service.getProof("p-" + i).orElseThrow();
+            assertThat(proof.isVerified()).isTrue();
+        }
+        assertThat(service.getBatches()).hasSize(2);
+    }
+
+    @Test
+    void submitAfterCloseStillSealsAndKeepsTheChainMoving() throws Exception {
+        service.submit(record("before")).get(5, TimeUnit.SECONDS);
+        service.close();
+
+        EvidenceSeal first = service.submit(record("after-1")).get(5, TimeUnit.SECONDS);
+        EvidenceSeal second = service.submit(record("after-2")).get(5, TimeUnit.SECONDS);
+
+        assertThat(second.getPreviousChainHash()).isEqualTo(first.getChainHash());
+        assertThat(second.getSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void sightingsAreChainedAfterTheirRecordWithTheirOwnProof() throws Exception {
+        EvidenceSeal recordSeal = service.submit(record("s-0")).get(5, TimeUnit.SECONDS);
+        EvidenceSeal first = service.submitSighting("s-0", 1, sighting("aa11")).get(5, TimeUnit.SECONDS);
+        EvidenceSeal second = service.submitSighting("s-0", 2, sighting("aa11")).get(5, TimeUnit.SECONDS);
+        service.closeOpenBatch();
+
+        assertThat(first.getPreviousChainHash()).isEqualTo(recordSeal.getChainHash());
+        assertThat(first.getSightingNumber()).isEqualTo(1);
+        assertThat(second.getPreviousChainHash()).isEqualTo(first.getChainHash());
+        // Same data under a different number is a different entry
+        assertThat(second.getRecordHash()).isNotEqualTo(first.getRecordHash());
+
+        assertThat(service.getSeal("s-0")).contains(recordSeal);
+        assertThat(service.getSightingSeal("s-0", 2)).contains(second);
+        assertThat(service.getSightingProof("s-0", 1).orElseThrow().isVerified()).isTrue();
+        assertThat(service.getSightingSeal("s-0", 3)).isEmpty();
+    }
+
+    @Test
+    void sightingHashCoversItsImageRef() throws Exception {
+        EvidenceSeal original = service.submitSighting("r-0", 1, sighting("aa11")).get(5, TimeUnit.SECONDS);
+        EvidenceSeal swapped = service.submitSighting("r-1", 1, sighting("bb22")).get(5, TimeUnit.SECONDS);
+        EvidenceSeal same = service.submitSighting("r-0", 1, sighting("aa11")).get(5, TimeUnit.SECONDS);
+
+        assertThat(swapped.getRecordHash()).isNotEqualTo(original.getRecordHash());
+        assertThat(same.getRecordHash()).isEqualTo(original.getRecordHash());
+    }
+
+    private static Sighting sighting(String imageRef) {
+        return Sighting.builder()
+                .speedMph(64)
+                .distanceMeters(-12)
+                .timestampMillis(1_700_000_000_500L)
+                .targetId(7)
+                .imageRef(imageRef)
+                .build();
+    }
+
+    private static ViolationRecord record(String violationId) {
+        return ViolationRecord.builder()
+                .violationId(violationId)
+                .plateNumber("ABC-123")
+                .speedMph(61)
+                .timestampMillis(1_700_000_000_000L)
+                .imageBytes(new byte[]{1, 2, 3})
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.DegradationLevel;
+import edu.asu.cse564.cse564_project.domain.SpeedContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OverloadControllerServiceTests {
+
+    // 55 mph limit with a 0.25 keep ratio: speeds from 68.75 mph are kept
+    private static final double SPEED_LIMIT_MPH = 55.0;
+
+    @TempDir
+    Path imageDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Deque<OverloadControllerService.Admission> admitted = new ArrayDeque<>();
+    private EvidenceImageStoreService imageStore;
+    private UplinkSchedulerService scheduler;
+    private OverloadControllerService overload;
+
+    @BeforeEach
+    void startServices() {
+        imageStore = new EvidenceImageStoreService(registry, imageDir.toString(), 0, 24, 0, 60, false);
+        scheduler = new UplinkSchedulerService(new ViolationQueryService(null, imageStore, 500, 10_000),
+                imageStore, registry, SPEED_LIMIT_MPH,
+                0, 0, "", 0.25, true, 8192, 32, 100, false, 6, 4096, 64, 8);
+        // Pressure comes from in-flight sessions only: the latency budget is
+        // out of reach and the monitor never runs, so the tests evaluate
+        overload = new OverloadControllerService(scheduler, registry, SPEED_LIMIT_MPH,
+                20, 60_000, 3_600_000, 0.6, 0.85, 0.1, 0.25);
+    }
+
+    @AfterEach
+    void stopServices() {
+        overload.close();
+        scheduler.close();
+        imageStore.close();
+    }
+
+    @Test
+    void saturatedSessionsAreShedWhateverTheLevel() {
+        admit(20);
+
+        assertThat(overload.admit(context(100))).isNull();
+        assertThat(overload.getShedSaturated()).isEqualTo(1);
+        assertThat(overload.getInFlight()).isEqualTo(20);
+
+        admitted.pop().close();
+        assertThat(overload.admit(context(100))).isNotNull();
+    }
+
+    @Test
+    void deferImagesLevelTogglesTheUplinkImageDeferral() {
+        admit(13);
+        overload.evaluate();
+
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.DEFER_IMAGES);
+        assertThat(scheduler.isImagesDeferred()).isTrue();
+
+        release(5);
+        overload.evaluate();
+
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.NORMAL);
+        assertThat(scheduler.isImagesDeferred()).isFalse();
+    }
+
+    @Test
+    void levelStepsDownOnlyOncePressureIsHysteresisBelowTheThreshold() {
+        admit(18);
+        overload.evaluate();
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.HIGH_OVERSPEED_ONLY);
+
+        // 0.80: below 0.85, but not by the 0.1 hysteresis
+        release(2);
+        overload.evaluate();
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.HIGH_OVERSPEED_ONLY);
+
+        // 0.70 steps down one level; 0.55 still holds DEFER_IMAGES
+        release(2);
+        overload.evaluate();
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.DEFER_IMAGES);
+        release(3);
+        overload.evaluate();
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.DEFER_IMAGES);
+        assertThat(scheduler.isImagesDeferred()).isTrue();
+
+        // 0.45
+        release(2);
+        overload.evaluate();
+        assertThat(overload.getLevel()).isEqualTo(DegradationLevel.NORMAL);
+        assertThat(scheduler.isImagesDeferred()).isFalse();
+    }
+
+    @Test
+    void highOverspeedOnlyShedsLowOverspeed() {
+        admit(18);
+        overload.evaluate();
+
+        assertThat(overload.admit(context(60))).isNull();
+        assertThat(overload.getShedLowOverspeed()).isEqualTo(1);
+        assertThat(overload.getInFlight()).isEqualTo(18);
+
+        assertThat(overload.admit(context(70))).isNotNull();
+        assertThat(overload.getShedSaturated()).isZero();
+    }
+
+    private void admit(int sessions) {
+        for (int i = 0; i < sessions; i++) {
+            OverloadControllerService.Admission admission = overload.admit(context(100));
+            assertThat(admission).isNotNull();
+            admitted.push(admission);
+        }
+    }
+
+    private void release(int sessions) {
+        for (int i = 0; i < sessions; i++) {
+            admitted.pop().close();
+        }
+    }
+
+    private static SpeedContext context(double speedMph) {
+        return SpeedContext.builder()
+                .overspeed(true)
+                .speedMph(speedMph)
+                .targetId(1)
+                .build();
+    }
+}
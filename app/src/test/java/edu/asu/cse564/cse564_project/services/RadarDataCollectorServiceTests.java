@@ -0,0 +1,61 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.FilterResult;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RadarDataCollectorServiceTests {
+
+    // 60 mph threshold, one in four far, legal samples forwarded before -50 m
+    private final RadarDataCollectorService collector = new RadarDataCollectorService(
+            new UnitConversionService(), new SimpleMeterRegistry(), 1L, 60.0, 4, -50.0, 0.9);
+
+    @Test
+    void decimatedSamplesKeepTheirSample() {
+        List<Outcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            FilterResult result = collector.filterRadarData(radar(-140 + i, 40));
+            outcomes.add(result.outcome());
+            assertThat(result.sample()).isNotNull();
+            assertThat(result.sample().getSpeedMph()).isEqualTo(40.0);
+        }
+
+        assertThat(outcomes).containsExactly(
+                Outcome.FORWARDED, Outcome.DECIMATED, Outcome.DECIMATED, Outcome.DECIMATED,
+                Outcome.FORWARDED, Outcome.DECIMATED, Outcome.DECIMATED, Outcome.DECIMATED);
+    }
+
+    @Test
+    void samplesNearTheThresholdOrWindowAreNeverDecimated() {
+        collector.filterRadarData(radar(-140, 40));
+
+        assertThat(collector.filterRadarData(radar(-139, 55)).outcome()).isEqualTo(Outcome.FORWARDED);
+        assertThat(collector.filterRadarData(radar(-40, 40)).outcome()).isEqualTo(Outcome.FORWARDED);
+    }
+
+    @Test
+    void zoneRulesRejectWithoutASample() {
+        assertThat(collector.filterRadarData(radar(-200, 40))).isEqualTo(FilterResult.REJECTED);
+        assertThat(collector.filterRadarData(radar(100, 40))).isEqualTo(FilterResult.REJECTED);
+
+        // Only the first sample past 20 m is forwarded
+        collector.filterRadarData(radar(10, 40));
+        assertThat(collector.filterRadarData(radar(30, 40)).outcome()).isEqualTo(Outcome.FORWARDED);
+        assertThat(collector.filterRadarData(radar(40, 40)).outcome()).isEqualTo(Outcome.REJECTED);
+    }
+
+    private static RadarData radar(double distanceMeters, double speedMph) {
+        return RadarData.builder()
+                .distanceMiles(distanceMeters / UnitConversionService.METERS_PER_MILE)
+                .speedMph(speedMph)
+                .lane(0)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.SpeedHistogramExport;
+import edu.asu.cse564.cse564_project.domain.SpeedStatus;
+import edu.asu.cse564.cse564_project.domain.TrafficWindowStats;
+import edu.asu.cse564.cse564_project.util.SpeedHistogram;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficStatisticsServiceTests {
+
+    private final TrafficStatisticsService service =
+            new TrafficStatisticsService(new SimpleMeterRegistry(), "RSU-TEST", 60, 4);
+
+    @Test
+    void exportedHistogramsMergeBackExactly() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            service.record(SpeedStatus.builder()
+                    .speedMph(40 + i % 20)
+                    .overspeed(i % 20 >= 15)
+                    .lane(i % 2)
+                    .timestampMillis(now)
+                    .build());
+        }
+
+        SpeedHistogramExport lane0 = service.export(0, null, null);
+        SpeedHistogramExport lane1 = service.export(1, null, null);
+        TrafficWindowStats merged = service.merge(List.of(lane0, lane1));
+
+        assertThat(merged.getCount()).isEqualTo(100);
+        assertThat(merged.getOverspeedCount()).isEqualTo(25);
+        assertThat(merged.getMinSpeedMph()).isEqualTo(40.0);
+        assertThat(merged.getMaxSpeedMph()).isEqualTo(59.0);
+        assertThat(merged.getMeanSpeedMph()).isEqualTo(49.5);
+    }
+
+    @Test
+    void countsBeyondIntRangeAreKept() {
+        long huge = 3L * Integer.MAX_VALUE;
+        SpeedHistogramExport export = export(huge, Map.of(100, huge), 50.0 * huge, 50.0, 50.0);
+
+        TrafficWindowStats merged = service.merge(List.of(export, export));
+
+        assertThat(merged.getCount()).isEqualTo(2 * huge);
+        assertThat(merged.getP50SpeedMph()).isEqualTo(50.0);
+    }
+
+    @Test
+    void rejectsMissingMinOrMax() {
+        SpeedHistogramExport export = export(2, Map.of(100, 2L), 100.0, null, 50.0);
+
+        assertThatThrownBy(() -> service.merge(List.of(export)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNegativeCounts() {
+        assertThatThrownBy(() -> service.merge(List.of(export(-1, Map.of(), 0.0, null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.merge(List.of(export(0, Map.of(100, -3L, 101, 3L), 0.0, 50.0, 50.0))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsBucketsThatDoNotAddUpToTheCount() {
+        assertThatThrownBy(() -> service.merge(List.of(export(5, Map.of(100, 2L), 250.0, 50.0, 50.0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("add up to 2");
+        assertThatThrownBy(() -> service.merge(List.of(export(0, Map.of(100, 2L), 0.0, null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectedExportLeavesTheHistogramUnchanged() {
+        SpeedHistogram histogram = new SpeedHistogram();
+        histogram.record(50);
+
+        assertThatThrownBy(() -> histogram.merge(Map.of(100, 1L, 120, 5L), 2, 110.0, 50.0, 60.0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.toSparseBuckets()).containsExactly(Map.entry(100, 1L));
+    }
+
+    @Test
+    void emptyExportsMerge() {
+        TrafficWindowStats merged = service.merge(List.of(export(0, Map.of(), 0.0, null, null)));
+
+        assertThat(merged.getCount()).isZero();
+        assertThat(merged.getMeanSpeedMph()).isNull();
+    }
+
+    private static SpeedHistogramExport export(long count, Map<Integer, Long> buckets, double sum,
+                                               Double min, Double max) {
+        return SpeedHistogramExport.builder()
+                .deviceId("RSU-OTHER")
+                .bucketWidthMph(SpeedHistogram.BUCKET_WIDTH_MPH)
+                .count(count)
+                .sumSpeedMph(sum)
+                .minSpeedMph(min)
+                .maxSpeedMph(max)
+                .buckets(buckets)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UplinkSchedulerServiceTests {
+
+    private static final String VIOLATION_ID = "0190f3a2-0001-7000-8000-000000000001";
+
+    @TempDir
+    Path imageDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private EvidenceImageStoreService imageStore;
+    private ViolationQueryService queryService;
+    private UplinkSchedulerService scheduler;
+
+    @BeforeEach
+    void startScheduler() {
+        imageStore = new EvidenceImageStoreService(registry, imageDir.toString(), 0, 24, 0, 60, false);
+        queryService = new ViolationQueryService(null, imageStore, 500, 10_000);
+        // Unlimited bandwidth, no compression, metadata first
+        scheduler = new UplinkSchedulerService(queryService, imageStore, registry, 55.0,
+                0, 0, "", 0.25, true, 8192, 32, 100, false, 6, 4096, 64, 8);
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.close();
+        imageStore.close();
+    }
+
+    @Test
+    void recordBecomesUploadedOnceAllPartsAreSent() throws InterruptedException {
+        String ref = imageStore.put("jpeg".getBytes(StandardCharsets.US_ASCII));
+        ViolationRecord record = record(ref);
+        index(record);
+
+        assertThat(scheduler.enqueue(record, ViolationRecordCodec.encode(record))).isTrue();
+
+        await(() -> state() == UploadState.UPLOADED);
+    }
+
+    @Test
+    void missingImageStaysFailedAfterALaterMetadataUpdate() throws InterruptedException {
+        ViolationRecord record = record("0".repeat(64));
+        index(record);
+        scheduler.enqueue(record, ViolationRecordCodec.encode(record));
+        await(() -> state() == UploadState.FAILED);
+
+        // A merged sighting re-indexes the record as PENDING and re-sends its metadata
+        ByteBuffer update = ViolationRecordCodec.encode(record);
+        index(record);
+        assertThat(scheduler.enqueueUpdate(record, update)).isTrue();
+        await(() -> registry.summary("cps.uplink.batch.records").totalAmount() >= 2);
+
+        // The state is settled right after the batch is counted
+        Thread.sleep(100);
+        assertThat(state()).isEqualTo(UploadState.FAILED);
+    }
+
+    private UploadState state() {
+        return queryService.get(VIOLATION_ID).map(ViolationSummary::getUploadState).orElse(null);
+    }
+
+    private void index(ViolationRecord record) {
+        ViolationSummary summary = ViolationSummary.of(record);
+        summary.setUploadState(UploadState.PENDING);
+        queryService.index(summary);
+    }
+
+    private static ViolationRecord record(String imageRef) {
+        return ViolationRecord.builder()
+                .violationId(VIOLATION_ID)
+                .plateNumber("ABC-0001")
+                .speedMph(70)
+                .timestampMillis(1_700_000_000_000L)
+                .targetId(1)
+                .imageRef(imageRef)
+                .imageSizeBytes(4)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
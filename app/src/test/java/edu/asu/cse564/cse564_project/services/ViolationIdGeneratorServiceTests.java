@@ -0,0 +1,94 @@
+package edu.asu.cse564.cse564_project.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViolationIdGeneratorServiceTests {
+
+    private final ViolationIdGeneratorService generator = new ViolationIdGeneratorService("RSU-001");
+
+    @Test
+    void idsFromOneThreadAreStrictlyIncreasingAsUuidsAndStrings() {
+        // 100k IDs: several milliseconds exhaust the 4096 sequence and borrow the next one
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = generator.nextId();
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    void carriesVersionVariantDeviceBitsAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat((int) (id.getLeastSignificantBits() >>> 46) & 0xFFFF).isEqualTo(generator.getDeviceBits());
+        assertThat(ViolationIdGeneratorService.timestampMillis(id)).isBetween(before, after + 1);
+        assertThat(ViolationIdGeneratorService.timestampMillis(id.toString()))
+                .isEqualTo(ViolationIdGeneratorService.timestampMillis(id));
+    }
+
+    @Test
+    void boundKeysBracketEveryIdOfTheirMillisecond() {
+        for (int i = 0; i < 1_000; i++) {
+            String id = generator.nextIdString();
+            long millis = ViolationIdGeneratorService.timestampMillis(id);
+
+            assertThat(ViolationIdGeneratorService.lowerBoundKey(millis)).isLessThanOrEqualTo(id);
+            assertThat(ViolationIdGeneratorService.upperBoundKey(millis)).isGreaterThan(id);
+            assertThat(ViolationIdGeneratorService.upperBoundKey(millis - 1)).isLessThanOrEqualTo(id);
+        }
+    }
+
+    @Test
+    void boundKeysSortInTimeOrder() {
+        long millis = 1_792_371_476_760L;
+        List<String> keys = new ArrayList<>();
+        for (long offset : new long[]{0, 1, 15, 16, 255, 256, 65_535, 65_536, 1L << 40}) {
+            keys.add(ViolationIdGeneratorService.lowerBoundKey(millis + offset));
+        }
+
+        assertThat(keys).isSorted();
+        assertThat(ViolationIdGeneratorService.upperBoundKey(millis))
+                .isEqualTo(ViolationIdGeneratorService.lowerBoundKey(millis + 1));
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws InterruptedException {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void differentDevicesGetDifferentDeviceBits() {
+        assertThat(new ViolationIdGeneratorService("RSU-002").getDeviceBits())
+                .isNotEqualTo(generator.getDeviceBits());
+        assertThat(new ViolationIdGeneratorService("RSU-001").getDeviceBits())
+                .isEqualTo(generator.getDeviceBits());
+    }
+}
@@ -0,0 +1,147 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.ViolationPage;
+import edu.asu.cse564.cse564_project.domain.ViolationQuery;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViolationQueryServiceTests {
+
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+    // Stores and images are only touched by getImage()
+    private final ViolationQueryService service = new ViolationQueryService(null, null, 500, 10_000);
+
+    private final List<String> ids = new ArrayList<>();
+
+    @BeforeEach
+    void indexTwentyViolations() {
+        // One violation per 10 ms, speeds cycling through four 5-mph buckets
+        for (int i = 0; i < 20; i++) {
+            String violationId = id(BASE_MILLIS + i * 10L, i);
+            ids.add(violationId);
+            service.index(ViolationSummary.builder()
+                    .violationId(violationId)
+                    .plateNumber(i % 2 == 0 ? "ABC123" : "XYZ789")
+                    .speedMph(50 + (i % 4) * 5)
+                    .uploadState(UploadState.PENDING)
+                    .build());
+        }
+    }
+
+    @Test
+    void pagesOldestFirstCoverEveryViolationOnce() {
+        List<String> seen = drain(ViolationQuery.builder().limit(3).newestFirst(false));
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void pagesNewestFirstCoverEveryViolationOnce() {
+        List<String> seen = drain(ViolationQuery.builder().limit(3).newestFirst(true));
+
+        assertThat(seen).containsExactlyElementsOf(ids.reversed());
+    }
+
+    @Test
+    void speedBucketMergeKeepsTimeOrderAcrossBuckets() {
+        // minSpeedMph 55 drives the merge over the 55, 60 and 65 mph buckets
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 4 != 0) {
+                expected.add(ids.get(i));
+            }
+        }
+
+        assertThat(drain(ViolationQuery.builder().minSpeedMph(55.0).limit(4).newestFirst(false)))
+                .containsExactlyElementsOf(expected);
+        assertThat(drain(ViolationQuery.builder().minSpeedMph(55.0).limit(4).newestFirst(true)))
+                .containsExactlyElementsOf(expected.reversed());
+    }
+
+    @Test
+    void cursorReusedWithNarrowerRangeIsClampedInsteadOfThrowing() {
+        // Range covers violations 5..9
+        ViolationQuery.ViolationQueryBuilder range = ViolationQuery.builder()
+                .fromMillis(BASE_MILLIS + 50).toMillis(BASE_MILLIS + 100).limit(10);
+
+        // Past the end of the range in the direction of travel: empty last page
+        ViolationPage pastEnd = service.query(range.newestFirst(false).cursor(ids.get(15)).build());
+        assertThat(pastEnd.getItems()).isEmpty();
+        assertThat(pastEnd.getNextCursor()).isNull();
+        assertThat(service.query(range.newestFirst(true).cursor(ids.get(2)).build()).getItems()).isEmpty();
+
+        // Before the start of the range: the whole range
+        assertThat(service.query(range.newestFirst(false).cursor(ids.get(2)).build()).getItems())
+                .extracting(ViolationSummary::getViolationId)
+                .containsExactlyElementsOf(ids.subList(5, 10));
+        assertThat(service.query(range.newestFirst(true).cursor(ids.get(15)).build()).getItems())
+                .extracting(ViolationSummary::getViolationId)
+                .containsExactlyElementsOf(ids.subList(5, 10).reversed());
+
+        // Same on the plate index and the speed-bucket merge
+        assertThat(service.query(range.plateNumber("ABC123").newestFirst(false).cursor(ids.get(15)).build())
+                .getItems()).isEmpty();
+        assertThat(service.query(range.plateNumber(null).minSpeedMph(55.0).newestFirst(false)
+                .cursor(ids.get(15)).build()).getItems()).isEmpty();
+    }
+
+    @Test
+    void invertedRangeIsEmpty() {
+        ViolationPage page = service.query(ViolationQuery.builder()
+                .fromMillis(BASE_MILLIS + 100).toMillis(BASE_MILLIS + 50).build());
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void boundedScanResumesFromTheCursor() {
+        ViolationQueryService bounded = new ViolationQueryService(null, null, 500, 4);
+        ids.forEach(violationId -> bounded.index(service.get(violationId).orElseThrow()));
+
+        // The plate index drives; only every other one of its entries is fast enough
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ViolationPage page = bounded.query(ViolationQuery.builder()
+                    .plateNumber("ABC123").minSpeedMph(60.0).cursor(cursor).newestFirst(false).build());
+            assertThat(page.getScanned()).isLessThanOrEqualTo(4);
+            page.getItems().forEach(summary -> seen.add(summary.getViolationId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 2; i < ids.size(); i += 4) {
+            expected.add(ids.get(i));
+        }
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    private List<String> drain(ViolationQuery.ViolationQueryBuilder query) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ViolationPage page = service.query(query.cursor(cursor).build());
+            page.getItems().forEach(summary -> seen.add(summary.getViolationId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    // Version 7 layout: 48-bit millis, version nibble, 12-bit sequence
+    private static String id(long millis, int sequence) {
+        return new UUID((millis << 16) | 0x7000 | sequence, 0x8000_0000_0000_0000L).toString();
+    }
+}
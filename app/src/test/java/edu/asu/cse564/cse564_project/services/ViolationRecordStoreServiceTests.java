@@ -0,0 +1,56 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.services.ViolationRecordStoreService.VersionedFrame;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViolationRecordStoreServiceTests {
+
+    private final ViolationRecordStoreService store = new ViolationRecordStoreService();
+
+    @Test
+    void everyPutGetsAHigherVersion() {
+        store.put("a", ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        long first = store.getVersionedFrame("a").orElseThrow().version();
+
+        // Identical bytes still count as a new version
+        store.put("a", ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        long second = store.getVersionedFrame("a").orElseThrow().version();
+        store.put("b", ByteBuffer.wrap(new byte[]{4}));
+        long other = store.getVersionedFrame("b").orElseThrow().version();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(other).isGreaterThan(second);
+    }
+
+    @Test
+    void versionTellsApartFramesWithEqualHashCodes() {
+        // ByteBuffer.hashCode() is 31 * h + b over the bytes, last to first: {31, 0} and {0, 1} collide
+        ByteBuffer original = ByteBuffer.wrap(new byte[]{31, 0});
+        ByteBuffer replacement = ByteBuffer.wrap(new byte[]{0, 1});
+        assertThat(replacement.hashCode()).isEqualTo(original.hashCode());
+
+        store.put("a", original);
+        VersionedFrame before = store.getVersionedFrame("a").orElseThrow();
+        store.put("a", replacement);
+        VersionedFrame after = store.getVersionedFrame("a").orElseThrow();
+
+        assertThat(after.version()).isNotEqualTo(before.version());
+        assertThat(after.frame()).isEqualTo(replacement);
+    }
+
+    @Test
+    void versionedFrameIsAReadOnlyViewAtPositionZero() {
+        store.put("a", ByteBuffer.wrap(new byte[]{1, 2, 3}));
+
+        VersionedFrame stored = store.getVersionedFrame("a").orElseThrow();
+        stored.frame().get();
+
+        assertThat(stored.frame().isReadOnly()).isTrue();
+        assertThat(store.getVersionedFrame("a").orElseThrow().frame().position()).isZero();
+        assertThat(store.getVersionedFrame("missing")).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package edu.asu.cse564.cse564_project.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimerWheelTests {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel("test-timer-wheel", 1, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void closeWheel() {
+        wheel.close();
+    }
+
+    @Test
+    void firesNoEarlierThanItsDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] lateness = new long[1];
+        wheel.schedule(timeout -> {
+            lateness[0] = timeout.getLatenessNanos();
+            fired.countDown();
+        }, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(lateness[0]).isGreaterThanOrEqualTo(0);
+        assertThat(wheel.getPendingCount()).isZero();
+    }
+
+    @Test
+    void timeoutsSeveralRevolutionsAwayWaitOutTheirRounds() throws InterruptedException {
+        // 8 slots of 1 ms: 30 ms is almost four revolutions
+        CountDownLatch fired = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+        long[] firedAt = new long[1];
+        wheel.schedule(timeout -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        }, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAt[0] - scheduledAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    void expiresInDeadlineOrder() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+        for (int delay : new int[]{25, 5, 15}) {
+            wheel.schedule(timeout -> {
+                order.add(delay);
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(5, 15, 25);
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        CountDownLatch cancelledRan = new CountDownLatch(1);
+        CountDownLatch laterRan = new CountDownLatch(1);
+        HashedTimerWheel.Timeout timeout =
+                wheel.schedule(t -> cancelledRan.countDown(), 10, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isCancelled()).isTrue();
+
+        wheel.schedule(t -> laterRan.countDown(), 30, TimeUnit.MILLISECONDS);
+        assertThat(laterRan.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledRan.getCount()).isEqualTo(1);
+        assertThat(timeout.isExpired()).isFalse();
+        assertThat(wheel.getPendingCount()).isZero();
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(timeout -> {
+            throw new IllegalStateException("boom");
+        }, 1, TimeUnit.MILLISECONDS);
+        wheel.schedule(timeout -> fired.countDown(), 10, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectsSchedulingAfterClose() {
+        wheel.close();
+
+        assertThatThrownBy(() -> wheel.schedule(timeout -> { }, 1, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
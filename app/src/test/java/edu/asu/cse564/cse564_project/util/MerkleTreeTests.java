@@ -0,0 +1,89 @@
+package edu.asu.cse564.cse564_project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MerkleTreeTests {
+
+    @Test
+    void everyLeafProvesAgainstTheRootForOddAndEvenSizes() {
+        for (int size = 1; size <= 17; size++) {
+            List<byte[]> leaves = leaves(size);
+            MerkleTree tree = MerkleTree.build(leaves);
+
+            assertThat(tree.getLeafCount()).isEqualTo(size);
+            for (int i = 0; i < size; i++) {
+                List<MerkleTree.ProofStep> proof = tree.proof(i);
+                assertThat(proof.size()).isLessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(size - 1));
+                assertThat(MerkleTree.verify(leaves.get(i), proof, tree.getRoot()))
+                        .as("leaf %d of %d", i, size)
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    void proofFailsForAnotherLeafOrRoot() {
+        List<byte[]> leaves = leaves(6);
+        MerkleTree tree = MerkleTree.build(leaves);
+        byte[] otherRoot = MerkleTree.build(leaves(7)).getRoot();
+
+        assertThat(MerkleTree.verify(leaves.get(3), tree.proof(2), tree.getRoot())).isFalse();
+        assertThat(MerkleTree.verify(leaves.get(2), tree.proof(2), otherRoot)).isFalse();
+    }
+
+    @Test
+    void tamperedSiblingBreaksTheProof() {
+        List<byte[]> leaves = leaves(8);
+        MerkleTree tree = MerkleTree.build(leaves);
+        List<MerkleTree.ProofStep> proof = new ArrayList<>(tree.proof(5));
+        byte[] sibling = proof.get(1).siblingHash();
+        sibling[0] ^= 0x01;
+        proof.set(1, new MerkleTree.ProofStep(sibling, proof.get(1).siblingOnLeft()));
+
+        assertThat(MerkleTree.verify(leaves.get(5), proof, tree.getRoot())).isFalse();
+    }
+
+    @Test
+    void rootDependsOnLeafOrder() {
+        List<byte[]> leaves = leaves(4);
+        List<byte[]> swapped = new ArrayList<>(leaves);
+        swapped.set(0, leaves.get(1));
+        swapped.set(1, leaves.get(0));
+
+        assertThat(MerkleTree.build(swapped).getRoot()).isNotEqualTo(MerkleTree.build(leaves).getRoot());
+    }
+
+    @Test
+    void singleLeafTreeIsNotTheBareLeafHash() {
+        // Leaf domain separation: the root is H(0x00 || leaf), never the leaf itself
+        List<byte[]> leaves = leaves(1);
+        MerkleTree tree = MerkleTree.build(leaves);
+
+        assertThat(tree.proof(0)).isEmpty();
+        assertThat(tree.getRoot()).isNotEqualTo(leaves.get(0));
+    }
+
+    @Test
+    void rejectsEmptyTreesAndOutOfRangeLeaves() {
+        MerkleTree tree = MerkleTree.build(leaves(3));
+
+        assertThatThrownBy(() -> MerkleTree.build(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.proof(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> tree.proof(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    private static List<byte[]> leaves(int count) {
+        List<byte[]> leaves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leaves.add(MerkleTree.sha256().digest(("record-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,85 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RadarTraceCodecTests {
+
+    private static final byte[] DEVICE_ID = "unit-7-ü".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void roundTripsTheHeaderAndRecords() {
+        RadarData own = radar(-0.0125, 63.5, -1, null);
+        RadarData remote = radar(0.004, 41.0, 3, "unit-7-ü");
+        ByteBuffer trace = ByteBuffer.allocate(RadarTraceCodec.HEADER_BYTES
+                + RadarTraceCodec.maxRecordSize(null) + RadarTraceCodec.maxRecordSize(DEVICE_ID));
+        RadarTraceCodec.writeHeader(trace, 1_792_371_476_760L);
+        RadarTraceCodec.encode(trace, 0, own, null);
+        RadarTraceCodec.encode(trace, 123_456_789_012L, remote, DEVICE_ID);
+        trace.flip();
+
+        assertThat(RadarTraceCodec.readHeader(trace)).isEqualTo(1_792_371_476_760L);
+        assertThat(RadarTraceCodec.decode(trace)).isEqualTo(new RadarTraceCodec.Entry(0, own));
+        assertThat(RadarTraceCodec.decode(trace)).isEqualTo(new RadarTraceCodec.Entry(123_456_789_012L, remote));
+        assertThat(RadarTraceCodec.decode(trace)).isNull();
+        assertThat(trace.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void tornLastRecordDecodesToNullAtEveryOffset() {
+        RadarData first = radar(-0.01, 70.0, 1, null);
+        RadarData torn = radar(0.002, 55.5, 2, "unit-7-ü");
+        ByteBuffer trace = ByteBuffer.allocate(
+                RadarTraceCodec.maxRecordSize(null) + RadarTraceCodec.maxRecordSize(DEVICE_ID));
+        RadarTraceCodec.encode(trace, 1_000_000, first, null);
+        int tornStart = trace.position();
+        RadarTraceCodec.encode(trace, 987_654_321L, torn, DEVICE_ID);
+        int end = trace.position();
+
+        for (int length = tornStart; length < end; length++) {
+            ByteBuffer truncated = trace.duplicate().position(0).limit(length);
+
+            assertThat(RadarTraceCodec.decode(truncated)).isEqualTo(new RadarTraceCodec.Entry(1_000_000, first));
+            assertThat(RadarTraceCodec.decode(truncated)).as("truncated at %d", length).isNull();
+            assertThat(truncated.position()).as("truncated at %d", length).isEqualTo(tornStart);
+        }
+
+        ByteBuffer whole = trace.duplicate().position(tornStart).limit(end);
+        assertThat(RadarTraceCodec.decode(whole)).isEqualTo(new RadarTraceCodec.Entry(987_654_321L, torn));
+    }
+
+    @Test
+    void rejectsBadMagicVersionAndShortHeaders() {
+        ByteBuffer badMagic = header().put(0, (byte) 'X');
+        ByteBuffer badVersion = header().put(4, (byte) 9);
+
+        assertThatThrownBy(() -> RadarTraceCodec.readHeader(header().limit(RadarTraceCodec.HEADER_BYTES - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RadarTraceCodec.readHeader(badVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 9");
+        assertThatThrownBy(() -> RadarTraceCodec.readHeader(badMagic))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(RadarTraceCodec.HEADER_BYTES);
+        RadarTraceCodec.writeHeader(header, 0);
+        return header.flip();
+    }
+
+    private static RadarData radar(double distanceMiles, double speedMph, int lane, String deviceId) {
+        return RadarData.builder()
+                .distanceMiles(distanceMiles)
+                .speedMph(speedMph)
+                .lane(lane)
+                .deviceId(deviceId)
+                .build();
+    }
+}
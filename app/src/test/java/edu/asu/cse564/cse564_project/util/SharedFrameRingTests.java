@@ -0,0 +1,134 @@
+package edu.asu.cse564.cse564_project.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedFrameRingTests {
+
+    private static final int SLOTS = 4;
+    private static final int MAX_FRAME_BYTES = 32;
+
+    @TempDir
+    Path dir;
+
+    // Separate mappings of one file, as in the camera and pipeline processes
+    private SharedFrameRing consumer;
+    private SharedFrameRing producer;
+
+    @BeforeEach
+    void createRing() throws IOException {
+        consumer = SharedFrameRing.create(dir.resolve("camera/frames.ring"), SLOTS, MAX_FRAME_BYTES);
+        producer = SharedFrameRing.attach(consumer.getFile());
+    }
+
+    @Test
+    void producerAttachesWithTheConsumersGeometry() {
+        assertThat(producer.getSlotCount()).isEqualTo(SLOTS);
+        assertThat(producer.getMaxFrameBytes()).isEqualTo(MAX_FRAME_BYTES);
+    }
+
+    @Test
+    void emptyRingHasNothingToReadAndAFreeSlot() {
+        assertThat(consumer.published()).isZero();
+        assertThat(consumer.released()).isZero();
+
+        ByteBuffer slot = producer.claim();
+
+        assertThat(slot).isNotNull();
+        assertThat(slot.position()).isZero();
+        assertThat(slot.limit()).isEqualTo(MAX_FRAME_BYTES);
+        // Claiming alone publishes nothing
+        assertThat(consumer.published()).isZero();
+    }
+
+    @Test
+    void claimReturnsNullExactlyWhenTheRingIsFull() {
+        for (int seq = 0; seq < SLOTS; seq++) {
+            assertThat(producer.claim()).as("claim %d", seq).isNotNull();
+            write(seq);
+        }
+
+        assertThat(consumer.published() - consumer.released()).isEqualTo(SLOTS);
+        assertThat(producer.claim()).isNull();
+
+        consumer.release(1);
+        assertThat(producer.claim()).isNotNull();
+        write(SLOTS);
+        assertThat(producer.claim()).isNull();
+
+        // Releasing everything published empties the ring
+        consumer.release(consumer.published());
+        assertThat(consumer.published() - consumer.released()).isZero();
+        for (int seq = SLOTS + 1; seq < 2 * SLOTS + 1; seq++) {
+            assertThat(producer.claim()).as("claim %d", seq).isNotNull();
+            write(seq);
+        }
+        assertThat(producer.claim()).isNull();
+    }
+
+    @Test
+    void unreleasedFramesAreNotOverwrittenAcrossWraparound() {
+        for (int seq = 0; seq < SLOTS; seq++) {
+            write(seq);
+        }
+
+        // Frames 0 and 1 go back; 4 and 5 reuse their slots
+        consumer.release(2);
+        write(4);
+        write(5);
+
+        assertThat(producer.claim()).isNull();
+        for (long seq = 2; seq < 6; seq++) {
+            assertThat(read(seq)).isEqualTo("frame-" + seq);
+            assertThat(consumer.timestampMillis(seq)).isEqualTo(1_000 + seq);
+        }
+    }
+
+    @Test
+    void framesAreReadOnlyViewsOfThePublishedLength() {
+        write(0);
+
+        ByteBuffer frame = consumer.frame(0);
+
+        assertThat(frame.isReadOnly()).isTrue();
+        assertThat(frame.remaining()).isEqualTo("frame-0".length());
+    }
+
+    @Test
+    void rejectsOversizedFramesAndForeignFiles() throws IOException {
+        producer.claim();
+        assertThatThrownBy(() -> producer.publish(MAX_FRAME_BYTES + 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(consumer.published()).isZero();
+
+        Path foreign = Files.write(dir.resolve("foreign.ring"), new byte[256]);
+        assertThatThrownBy(() -> SharedFrameRing.attach(foreign)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> SharedFrameRing.create(dir.resolve("tiny.ring"), 1, MAX_FRAME_BYTES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void write(long seq) {
+        ByteBuffer slot = producer.claim();
+        assertThat(slot).isNotNull();
+        byte[] bytes = ("frame-" + seq).getBytes(StandardCharsets.US_ASCII);
+        slot.put(bytes);
+        producer.publish(bytes.length, 1_000 + seq);
+    }
+
+    private String read(long seq) {
+        ByteBuffer frame = consumer.frame(seq);
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,75 @@
+package edu.asu.cse564.cse564_project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    @Test
+    void unlimitedRateNeverWaits() {
+        TokenBucket bucket = new TokenBucket(0, 1000);
+
+        assertThat(bucket.reserve(1_000_000)).isZero();
+        assertThat(bucket.getAvailableBytes()).isEqualTo(1000);
+    }
+
+    @Test
+    void startsFullAndSpendsWithoutWaiting() {
+        TokenBucket bucket = new TokenBucket(1000, 5000);
+
+        assertThat(bucket.reserve(3000)).isZero();
+        assertThat(bucket.reserve(2000)).isZero();
+        assertThat(bucket.getAvailableBytes()).isBetween(0L, 500L);
+    }
+
+    @Test
+    void oversizedRequestIsGrantedAsDebt() {
+        // 1000 B/s, 1000-byte burst: 3000 bytes leave 2000 bytes of debt, about 2 s to repay
+        TokenBucket bucket = new TokenBucket(1000, 1000);
+
+        long wait = bucket.reserve(3000);
+
+        assertThat(wait).isBetween(TimeUnit.MILLISECONDS.toNanos(1900), TimeUnit.SECONDS.toNanos(2));
+        assertThat(bucket.getAvailableBytes()).isBetween(-2000L, -1000L);
+    }
+
+    @Test
+    void debtAccumulatesAcrossRequests() {
+        TokenBucket bucket = new TokenBucket(1000, 1000);
+
+        long first = bucket.reserve(2000);
+        long second = bucket.reserve(1000);
+
+        // The second caller queues behind the first one's debt
+        assertThat(second - first).isBetween(TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void refillsAtTheRateUpToCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100_000, 10_000);
+        bucket.reserve(10_000);
+
+        Thread.sleep(30);
+        assertThat(bucket.getAvailableBytes()).isBetween(2_000L, 10_000L);
+
+        // Well past a full refill: capped at the burst size
+        Thread.sleep(200);
+        assertThat(bucket.getAvailableBytes()).isEqualTo(10_000);
+    }
+
+    @Test
+    void acquireParksUntilTheDebtIsRepaid() throws InterruptedException {
+        // 20 kB/s with a 1000-byte burst: 3000 bytes owe 2000, about 100 ms
+        TokenBucket bucket = new TokenBucket(20_000, 1000);
+
+        long start = System.nanoTime();
+        long waited = bucket.acquire(3000);
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(waited).isBetween(TimeUnit.MILLISECONDS.toNanos(90), TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(elapsed).isGreaterThanOrEqualTo(waited);
+    }
+}
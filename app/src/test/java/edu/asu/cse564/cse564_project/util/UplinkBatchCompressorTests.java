@@ -0,0 +1,133 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UplinkBatchCompressorTests {
+
+    // Sender retrains after every batch; the receiver never trains
+    private final UplinkBatchCompressor sender = new UplinkBatchCompressor(6, 4096, 64, 1, 4);
+    private final UplinkBatchCompressor receiver = new UplinkBatchCompressor(6, 0, 1, 1, 4);
+
+    private int nextRecord = 0;
+
+    @Test
+    void separateReceiverRestoresEveryBatch() {
+        for (int i = 0; i < 20; i++) {
+            List<ByteBuffer> frames = batch(3);
+            ByteBuffer transmission = sender.compressMetadata(frames);
+
+            assertThat(bytes(receiver.decompress(transmission))).isEqualTo(concat(frames));
+        }
+    }
+
+    @Test
+    void dictionaryIsSentOnceAheadOfItsFirstUse() {
+        // Trained only on demand, so the dictionary stays the same across batches
+        UplinkBatchCompressor steady = new UplinkBatchCompressor(6, 4096, 64, 1_000, 4);
+
+        // No dictionary yet: plain deflate
+        ByteBuffer first = steady.compressMetadata(batch(3));
+        assertThat(first.get(5)).isEqualTo(UplinkBatchCompressor.CODEC_DEFLATE);
+
+        // First batch under the trained dictionary: DICTIONARY frame, then the data frame
+        steady.train();
+        ByteBuffer withDictionary = steady.compressMetadata(batch(3));
+        assertThat(withDictionary.get(5)).isEqualTo(UplinkBatchCompressor.CODEC_DICTIONARY);
+        assertThat(withDictionary.getInt(6)).isEqualTo(steady.getDictionaryId());
+        assertThat(withDictionary.getInt(14)).isEqualTo(steady.getDictionarySize());
+        int dataFrame = UplinkBatchCompressor.HEADER_BYTES + steady.getDictionarySize();
+        assertThat(withDictionary.get(dataFrame + 5)).isEqualTo(UplinkBatchCompressor.CODEC_DEFLATE_DICTIONARY);
+
+        // Later batches under the same dictionary carry only its ID
+        ByteBuffer later = steady.compressMetadata(batch(3));
+        assertThat(later.get(5)).isEqualTo(UplinkBatchCompressor.CODEC_DEFLATE_DICTIONARY);
+        assertThat(later.getInt(6)).isEqualTo(steady.getDictionaryId());
+
+        receiver.decompress(first);
+        receiver.decompress(withDictionary);
+        assertThat(receiver.decompress(later).remaining()).isPositive();
+    }
+
+    @Test
+    void receiverThatMissedTheDictionaryRejectsTheFrame() {
+        UplinkBatchCompressor steady = new UplinkBatchCompressor(6, 4096, 64, 1_000, 4);
+        steady.compressMetadata(batch(3));
+        steady.train();
+        steady.compressMetadata(batch(3));
+
+        ByteBuffer later = steady.compressMetadata(batch(3));
+
+        assertThatThrownBy(() -> receiver.decompress(later))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown uplink dictionary");
+    }
+
+    @Test
+    void corruptDictionaryIsRejected() {
+        UplinkBatchCompressor steady = new UplinkBatchCompressor(6, 4096, 64, 1_000, 4);
+        steady.compressMetadata(batch(3));
+        steady.train();
+        ByteBuffer withDictionary = steady.compressMetadata(batch(3));
+
+        int dictionaryStart = UplinkBatchCompressor.HEADER_BYTES;
+        withDictionary.put(dictionaryStart, (byte) (withDictionary.get(dictionaryStart) ^ 1));
+
+        assertThatThrownBy(() -> receiver.decompress(withDictionary))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Corrupt uplink dictionary");
+    }
+
+    @Test
+    void compressedImagesPassThroughStored() {
+        byte[] jpeg = new byte[1000];
+        jpeg[0] = (byte) 0xFF;
+        jpeg[1] = (byte) 0xD8;
+        jpeg[2] = (byte) 0xFF;
+
+        ByteBuffer frame = sender.compressImage(ByteBuffer.wrap(jpeg));
+
+        assertThat(frame.get(5)).isEqualTo(UplinkBatchCompressor.CODEC_STORED);
+        assertThat(bytes(receiver.decompress(frame))).isEqualTo(jpeg);
+    }
+
+    private List<ByteBuffer> batch(int size) {
+        List<ByteBuffer> frames = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int n = nextRecord++;
+            frames.add(ViolationRecordCodec.encode(ViolationRecord.builder()
+                    .violationId(String.format("0190f3a2-%04x-7000-8000-00000000%04x", n, n))
+                    .plateNumber(String.format("ABC-%04d", n % 10_000))
+                    .speedMph(50 + n % 20)
+                    .timestampMillis(1_700_000_000_000L + n * 250L)
+                    .targetId(n)
+                    .imageRef("ref-" + n)
+                    .imageSizeBytes(48_000 + n)
+                    .build()));
+        }
+        return frames;
+    }
+
+    private static byte[] concat(List<ByteBuffer> frames) {
+        int length = 0;
+        for (ByteBuffer frame : frames) {
+            length += frame.remaining();
+        }
+        ByteBuffer all = ByteBuffer.allocate(length);
+        frames.forEach(frame -> all.put(frame.duplicate()));
+        return all.array();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,172 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.Sighting;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ViolationRecordCodecTests {
+
+    @Test
+    void roundTripsAFullRecord() {
+        ViolationRecord record = fullRecord();
+
+        ByteBuffer frame = ViolationRecordCodec.encode(record);
+
+        assertThat(frame.remaining()).isEqualTo(ViolationRecordCodec.encodedSize(record));
+        ViolationRecord decoded = ViolationRecordCodec.decode(frame);
+        assertThat(decoded).isEqualTo(record);
+        assertThat(frame.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void roundTripsNullFieldsAndNegativeTargetIds() {
+        ViolationRecord record = ViolationRecord.builder()
+                .speedMph(51.5)
+                .timestampMillis(0)
+                .targetId(-42)
+                .build();
+
+        assertThat(ViolationRecordCodec.decode(ViolationRecordCodec.encode(record))).isEqualTo(record);
+    }
+
+    @Test
+    void decodesConsecutiveFramesFromOneBuffer() {
+        ViolationRecord first = fullRecord();
+        ViolationRecord second = ViolationRecord.builder().violationId("second").plateNumber("XYZ-1").build();
+        ByteBuffer buffer = ByteBuffer.allocate(
+                ViolationRecordCodec.encodedSize(first) + ViolationRecordCodec.encodedSize(second));
+        ViolationRecordCodec.encode(first, buffer);
+        ViolationRecordCodec.encode(second, buffer);
+        buffer.flip();
+
+        assertThat(ViolationRecordCodec.decode(buffer)).isEqualTo(first);
+        assertThat(ViolationRecordCodec.decode(buffer)).isEqualTo(second);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void imageSliceViewsTheImageWithoutMovingTheBuffer() {
+        ByteBuffer frame = ViolationRecordCodec.encode(fullRecord());
+
+        ByteBuffer image = ViolationRecordCodec.imageSlice(frame);
+
+        byte[] bytes = new byte[image.remaining()];
+        image.get(bytes);
+        assertThat(bytes).isEqualTo(fullRecord().getImageBytes());
+        assertThat(image.isReadOnly()).isTrue();
+        assertThat(frame.position()).isZero();
+        assertThat(ViolationRecordCodec.imageSlice(
+                ViolationRecordCodec.encode(ViolationRecord.builder().violationId("x").build()))).isNull();
+    }
+
+    @Test
+    void rejectsBadMagicVersionAndCrc() {
+        ByteBuffer badMagic = ViolationRecordCodec.encode(fullRecord());
+        badMagic.put(0, (byte) 'X');
+        ByteBuffer badVersion = ViolationRecordCodec.encode(fullRecord());
+        badVersion.put(4, (byte) 9);
+        ByteBuffer flippedBit = ViolationRecordCodec.encode(fullRecord());
+        flippedBit.put(20, (byte) (flippedBit.get(20) ^ 0x01));
+
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(badMagic)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(badVersion)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(flippedBit))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CRC32C");
+    }
+
+    @Test
+    void rejectsTruncatedFrames() {
+        ByteBuffer frame = ViolationRecordCodec.encode(fullRecord());
+        for (int length : new int[]{0, 5, ViolationRecordCodec.HEADER_BYTES, frame.remaining() - 1}) {
+            ByteBuffer truncated = frame.duplicate().limit(length);
+
+            assertThatThrownBy(() -> ViolationRecordCodec.decode(truncated))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsABodyLengthThatOverflowsTheFrameBounds() {
+        ByteBuffer frame = ByteBuffer.allocate(64);
+        frame.position(8);
+        frame.putInt(ViolationRecordCodec.MAGIC).put(ViolationRecordCodec.VERSION).put((byte) 0)
+                .putInt(Integer.MAX_VALUE - 4);
+        frame.position(8);
+
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(frame))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> ViolationRecordCodec.imageSlice(frame))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsAStringLengthVarintAboveLongMaxValue() {
+        // Body: violationId length prefix of 2^64 - 1, which wraps to a negative length
+        ByteBuffer body = ByteBuffer.allocate(32);
+        ViolationRecordCodec.putVarLong(body, -1L);
+        body.put("padding".getBytes(StandardCharsets.US_ASCII));
+        body.flip();
+        ByteBuffer frame = frameWithBody(body);
+
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(frame.duplicate()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> ViolationRecordCodec.imageSlice(frame.duplicate()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsAByteLengthBeyondTheFrame() {
+        ByteBuffer body = ByteBuffer.allocate(16);
+        ViolationRecordCodec.putVarLong(body, 1_000_000);
+        body.put((byte) 'a');
+        body.flip();
+
+        assertThatThrownBy(() -> ViolationRecordCodec.decode(frameWithBody(body)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // A header, the given body and a valid CRC, so only the body is malformed
+    private static ByteBuffer frameWithBody(ByteBuffer body) {
+        int bodyLength = body.remaining();
+        ByteBuffer frame = ByteBuffer.allocate(
+                ViolationRecordCodec.HEADER_BYTES + bodyLength + ViolationRecordCodec.TRAILER_BYTES);
+        frame.putInt(ViolationRecordCodec.MAGIC).put(ViolationRecordCodec.VERSION).put((byte) 0).putInt(bodyLength);
+        frame.put(body);
+        CRC32C crc = new CRC32C();
+        crc.update(frame.array(), 0, frame.position());
+        frame.putInt((int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+
+    private static ViolationRecord fullRecord() {
+        return ViolationRecord.builder()
+                .violationId("01a151aa-4941-7000-81b1-80006e49a13d")
+                .plateNumber("K2P-9087")
+                .speedMph(63.25)
+                .distanceMiles(-0.01)
+                .distanceMeters(-16.09344)
+                .timestampMillis(1_792_371_476_760L)
+                .targetId(7)
+                .imageBytes(new byte[]{(byte) 0xFF, (byte) 0xD8, 1, 2, 3, (byte) 0xFF, (byte) 0xD9})
+                .imageRef("0d423f16d633c6ee921937a5b862f0cc98bae2a711be66fea17a84fe009f457d")
+                .imageSizeBytes(20704)
+                .sightings(List.of(
+                        Sighting.builder().speedMph(61).distanceMeters(-20).timestampMillis(1_792_371_476_900L)
+                                .targetId(8).imageRef("ab").build(),
+                        Sighting.builder().speedMph(66).distanceMeters(-12).timestampMillis(1_792_371_477_100L)
+                                .targetId(-9).build()))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package edu.asu.cse564.cse564_project;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * HeadlessPipeline
+ *
+ * Runs the pipeline core without Spring or a web server, for roadside
+ * controllers that read the radar directly. Radar samples arrive on stdin,
+ * one per line:
+ *
+ *     distanceMiles,speedMph[,lane]
+ *
+ * and one result line per sample is written to stdout:
+ *
+ *     accepted=<true|false> stage=<last stage> reason=<...> [violationId=<...>]
+ *
+ * Settings come from the optional properties file argument (same keys as
+ * application.properties) overridden by -D system properties.
+ *
+ *     java -cp core.jar:<micrometer, slf4j> edu.asu.cse564.cse564_project.HeadlessPipeline [cps.properties]
+ */
+public class HeadlessPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlessPipeline.class);
+
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        PipelineSettings settings = args.length > 0
+                ? PipelineSettings.fromFile(Path.of(args[0]))
+                : PipelineSettings.fromSystemProperties();
+
+        try (PipelineCore core = PipelineCore.create(settings)) {
+            log.info("Pipeline core started in {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            PrintStream out = System.out;
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                RadarData radarData;
+                try {
+                    radarData = parse(line);
+                } catch (IllegalArgumentException e) {
+                    out.println("accepted=false stage=input reason=" + e.getMessage());
+                    continue;
+                }
+                out.println(format(core.getRadarPipelineService().process(radarData)));
+            }
+        }
+    }
+
+    private static RadarData parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length < 2 || fields.length > 3) {
+            throw new IllegalArgumentException("expected distanceMiles,speedMph[,lane]");
+        }
+        try {
+            return RadarData.builder()
+                    .distanceMiles(Double.parseDouble(fields[0].trim()))
+                    .speedMph(Double.parseDouble(fields[1].trim()))
+                    .lane(fields.length == 3 ? Integer.valueOf(fields[2].trim()) : null)
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: " + line);
+        }
+    }
+
+    private static String format(Map<String, Object> result) {
+        StringBuilder line = new StringBuilder()
+                .append("accepted=").append(result.getOrDefault("accepted", false))
+                .append(" stage=").append(result.get("stage"))
+                .append(" reason=").append(result.get("reason"));
+        if (result.get("violationRecord") instanceof ViolationRecord record) {
+            line.append(" violationId=").append(record.getViolationId());
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,345 @@
+package edu.asu.cse564.cse564_project;
+
+import edu.asu.cse564.cse564_project.services.*;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongFunction;
+
+/*
+ * PipelineCore
+ *
+ * Assembles the complete enforcement pipeline (all services, wired through
+ * their constructors) from plain settings, without a Spring context. This
+ * is the entry point for headless roadside controllers that embed the
+ * pipeline directly; the Boot application builds the same object and
+ * exposes its services as beans.
+ *
+ *     try (PipelineCore core = PipelineCore.create(PipelineSettings.fromSystemProperties())) {
+ *         Map<String, Object> trace = core.getRadarPipelineService().process(radarData);
+ *     }
+ *
+ * Every cps.* key has the default documented in the owning service's
+ * header (and in application.properties). close() stops the background
+ * threads in the reverse order of creation.
+ *
+ * Configuration:
+ *
+ *     cps.threads.virtual.enabled=false   (virtual threads for image writes and predictive captures)
+ */
+@Getter
+public class PipelineCore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineCore.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final UnitConversionService unitConversionService;
+    private final PipelineEventBusService pipelineEventBusService;
+    private final ViolationIdGeneratorService violationIdGeneratorService;
+    private final ViolationRecordStoreService violationRecordStoreService;
+    private final FlightRecorderService flightRecorderService;
+    private final EvidenceImageStoreService evidenceImageStoreService;
+    private final EvidenceIntegrityService evidenceIntegrityService;
+    private final ViolationQueryService violationQueryService;
+    private final UplinkSchedulerService uplinkSchedulerService;
+    private final TrafficStatisticsService trafficStatisticsService;
+
+    private final RadarDataCollectorService radarDataCollectorService;
+    private final SpeedViolationControllerService speedViolationControllerService;
+    private final DecisionSweepService decisionSweepService;
+    private final LedDisplayControllerService ledDisplayControllerService;
+    private final SharedMemoryCameraService sharedMemoryCameraService;
+    private final CameraDataCollectorService cameraDataCollectorService;
+    private final AnprProcessorService anprProcessorService;
+    private final EvidenceImageEncoderService evidenceImageEncoderService;
+    private final EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService;
+    private final BackendUplinkControllerService backendUplinkControllerService;
+    private final PredictiveCaptureService predictiveCaptureService;
+    private final EvidenceCaptureControllerService evidenceCaptureControllerService;
+    private final OverloadControllerService overloadControllerService;
+    private final RadarTraceRecorderService radarTraceRecorderService;
+    private final RadarPipelineService radarPipelineService;
+    private final DeviceAggregationService deviceAggregationService;
+    private final CheckpointService checkpointService;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+
+    private PipelineCore(PipelineSettings settings, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        String deviceId = settings.getString("cps.device.id", "RSU-001");
+        double speedLimitMph = settings.getDouble("cps.speed.limit-mph", 40.0);
+        boolean virtualThreads = settings.getBoolean("cps.threads.virtual.enabled", false);
+        String tmpDir = System.getProperty("java.io.tmpdir");
+
+        this.unitConversionService = new UnitConversionService();
+        this.pipelineEventBusService = new PipelineEventBusService(
+                settings.getInt("cps.events.ring-capacity", 1024),
+                settings.getInt("cps.events.conflate-backlog", 256));
+        this.violationIdGeneratorService = new ViolationIdGeneratorService(deviceId);
+        this.violationRecordStoreService = new ViolationRecordStoreService();
+
+        this.flightRecorderService = closeLater(new FlightRecorderService(
+                meterRegistry,
+                settings.getInt("cps.recorder.capacity", 4096),
+                settings.getLong("cps.recorder.stage-slo-micros", 5000),
+                settings.getString("cps.recorder.stage-slo-overrides", ""),
+                settings.getString("cps.recorder.dump-dir", tmpDir + "/cse564-flight"),
+                settings.getLong("cps.recorder.dump-min-interval-millis", 10000)));
+
+        this.evidenceImageStoreService = closeLater(new EvidenceImageStoreService(
+                meterRegistry,
+                settings.getString("cps.evidence.image-dir", tmpDir + "/cse564-evidence"),
+                settings.getLong("cps.evidence.hot-cache-max-bytes", 67108864),
+                settings.getLong("cps.evidence.retention-hours", 720),
+                settings.getLong("cps.evidence.cold-max-bytes", 0),
+                settings.getLong("cps.evidence.sweep-interval-minutes", 10),
+                virtualThreads));
+
+        this.evidenceIntegrityService = closeLater(new EvidenceIntegrityService(
+                meterRegistry,
+                deviceId,
+                settings.getInt("cps.integrity.worker-threads", 2),
+                settings.getInt("cps.integrity.queue-capacity", 1024),
+                settings.getInt("cps.integrity.batch-size", 64),
+                settings.getLong("cps.integrity.batch-max-age-millis", 60000),
+                settings.getInt("cps.integrity.retained-batches", 1024)));
+
+        this.violationQueryService = new ViolationQueryService(
+                violationRecordStoreService,
+                evidenceImageStoreService,
+                settings.getInt("cps.query.max-page-size", 500),
+                settings.getInt("cps.query.max-scan-per-page", 10000));
+        evidenceImageStoreService.setRetainedRefs(violationQueryService::getPendingImageRefs);
+
+        this.uplinkSchedulerService = closeLater(new UplinkSchedulerService(
+                violationQueryService,
+                evidenceImageStoreService,
+                meterRegistry,
+                speedLimitMph,
+                settings.getLong("cps.uplink.bandwidth-bytes-per-sec", 65536),
+                settings.getLong("cps.uplink.burst-bytes", 131072),
+                settings.getString("cps.uplink.watchlist", ""),
+                settings.getDouble("cps.uplink.high-overspeed-ratio", 0.25),
+                settings.getBoolean("cps.uplink.metadata-first", true),
+                settings.getInt("cps.uplink.batch-max-bytes", 8192),
+                settings.getInt("cps.uplink.batch-max-records", 32),
+                settings.getInt("cps.uplink.queue-capacity", 10000),
+                settings.getBoolean("cps.uplink.compression.enabled", true),
+                settings.getInt("cps.uplink.compression.level", 6),
+                settings.getInt("cps.uplink.compression.dictionary-bytes", 4096),
+                settings.getInt("cps.uplink.compression.dictionary-sample-records", 64),
+                settings.getInt("cps.uplink.compression.dictionary-retrain-batches", 8)));
+
+        this.trafficStatisticsService = new TrafficStatisticsService(
+                meterRegistry,
+                deviceId,
+                settings.getInt("cps.stats.retained-minutes", 60),
+                settings.getInt("cps.stats.max-lanes", 16));
+
+        double toleranceRatio = settings.getDouble("cps.speed.tolerance-ratio", 0.10);
+        int decimationFactor = settings.getInt("cps.radar.decimation.factor", 4);
+        double fullRateFromMeters = settings.getDouble("cps.radar.decimation.full-rate-from-meters", -50.0);
+        double nearThresholdRatio = settings.getDouble("cps.radar.decimation.near-threshold-ratio", 0.9);
+        LongFunction<RadarDataCollectorService> collectorFactory = targetId -> new RadarDataCollectorService(
+                unitConversionService,
+                meterRegistry,
+                targetId,
+                speedLimitMph * (1.0 + toleranceRatio),
+                decimationFactor,
+                fullRateFromMeters,
+                nearThresholdRatio);
+
+        this.radarDataCollectorService = collectorFactory.apply(1L);
+        this.speedViolationControllerService = new SpeedViolationControllerService(
+                unitConversionService,
+                speedLimitMph,
+                toleranceRatio);
+        this.decisionSweepService = closeLater(new DecisionSweepService(
+                unitConversionService,
+                speedViolationControllerService,
+                meterRegistry,
+                settings.getInt("cps.sweep.parallelism", 0),
+                settings.getLong("cps.sweep.max-cells", 10_000_000)));
+        this.ledDisplayControllerService = new LedDisplayControllerService(pipelineEventBusService);
+        this.sharedMemoryCameraService = closeLater(new SharedMemoryCameraService(
+                meterRegistry,
+                settings.getBoolean("cps.camera.shm.enabled", false),
+                settings.getString("cps.camera.shm.file", tmpDir + "/cse564-camera/frames.ring"),
+                settings.getInt("cps.camera.shm.slots", 8),
+                settings.getInt("cps.camera.shm.max-frame-bytes", 4 * 1024 * 1024),
+                settings.getLong("cps.camera.shm.max-frame-age-millis", 200),
+                settings.getLong("cps.camera.shm.poll-micros", 500)));
+        if (sharedMemoryCameraService.isEnabled()
+                && settings.getBoolean("cps.camera.shm.simulator.enabled", false)) {
+            try {
+                closeLater(new SharedMemoryCameraSimulator(
+                        sharedMemoryCameraService.getRing().getFile(),
+                        settings.getDouble("cps.camera.shm.simulator.fps", 30),
+                        settings.getInt("cps.camera.shm.simulator.frame-bytes", 256 * 1024),
+                        settings.getInt("cps.camera.shm.simulator.raw-width", 0)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start the camera ring simulator", e);
+            }
+        }
+        this.cameraDataCollectorService = new CameraDataCollectorService(sharedMemoryCameraService);
+        this.anprProcessorService = new AnprProcessorService();
+        this.evidenceImageEncoderService = closeLater(new EvidenceImageEncoderService(
+                meterRegistry,
+                settings.getBoolean("cps.encode.enabled", true),
+                settings.getDouble("cps.encode.quality", 0.85),
+                settings.getInt("cps.encode.worker-threads", 2),
+                settings.getInt("cps.encode.queue-capacity", 64),
+                settings.getInt("cps.encode.raw-width", 640)));
+
+        this.evidenceCollectorAndPackagerService = closeLater(new EvidenceCollectorAndPackagerService(
+                pipelineEventBusService,
+                evidenceIntegrityService,
+                violationIdGeneratorService,
+                evidenceImageStoreService,
+                evidenceImageEncoderService,
+                meterRegistry,
+                settings.getBoolean("cps.suppression.enabled", false),
+                settings.getLong("cps.suppression.cooldown-seconds", 300),
+                settings.getInt("cps.suppression.max-plates", 10000),
+                settings.getInt("cps.suppression.max-sightings-per-record", 32)));
+
+        this.backendUplinkControllerService = new BackendUplinkControllerService(
+                violationRecordStoreService,
+                violationIdGeneratorService,
+                violationQueryService,
+                uplinkSchedulerService,
+                evidenceImageEncoderService,
+                meterRegistry);
+
+        this.overloadControllerService = closeLater(new OverloadControllerService(
+                uplinkSchedulerService,
+                meterRegistry,
+                speedLimitMph,
+                settings.getInt("cps.overload.max-in-flight", 64),
+                settings.getLong("cps.overload.latency-budget-millis", 50),
+                settings.getLong("cps.overload.evaluate-interval-millis", 250),
+                settings.getDouble("cps.overload.defer-images-at", 0.6),
+                settings.getDouble("cps.overload.high-overspeed-only-at", 0.85),
+                settings.getDouble("cps.overload.hysteresis", 0.1),
+                settings.getDouble("cps.overload.keep-overspeed-ratio", 0.25)));
+
+        this.predictiveCaptureService = closeLater(new PredictiveCaptureService(
+                unitConversionService,
+                cameraDataCollectorService,
+                anprProcessorService,
+                evidenceCollectorAndPackagerService,
+                backendUplinkControllerService,
+                overloadControllerService,
+                meterRegistry,
+                settings.getBoolean("cps.capture.predictive.enabled", true),
+                settings.getLong("cps.capture.predictive.tick-micros", 250),
+                settings.getInt("cps.capture.predictive.wheel-size", 4096),
+                settings.getDouble("cps.capture.predictive.trigger-point-meters", 0.0),
+                settings.getLong("cps.capture.predictive.max-lead-millis", 30000),
+                virtualThreads));
+
+        this.evidenceCaptureControllerService = new EvidenceCaptureControllerService(
+                pipelineEventBusService,
+                predictiveCaptureService);
+
+        this.radarTraceRecorderService = closeLater(new RadarTraceRecorderService(
+                meterRegistry,
+                settings.getBoolean("cps.trace.enabled", false),
+                settings.getString("cps.trace.dir", tmpDir + "/cse564-trace"),
+                settings.getLong("cps.trace.max-bytes", 1L << 30),
+                settings.getLong("cps.trace.flush-interval-millis", 1000)));
+
+        this.radarPipelineService = new RadarPipelineService(
+                radarDataCollectorService,
+                speedViolationControllerService,
+                ledDisplayControllerService,
+                evidenceCaptureControllerService,
+                cameraDataCollectorService,
+                anprProcessorService,
+                evidenceCollectorAndPackagerService,
+                backendUplinkControllerService,
+                trafficStatisticsService,
+                flightRecorderService,
+                overloadControllerService,
+                radarTraceRecorderService);
+
+        // Samples from other roadside units: one tracker and capture
+        // controller per device, the remaining stages shared
+        this.deviceAggregationService = closeLater(new DeviceAggregationService(
+                targetId -> new RadarPipelineService(
+                        collectorFactory.apply(targetId),
+                        speedViolationControllerService,
+                        ledDisplayControllerService,
+                        new EvidenceCaptureControllerService(pipelineEventBusService, predictiveCaptureService),
+                        cameraDataCollectorService,
+                        anprProcessorService,
+                        evidenceCollectorAndPackagerService,
+                        backendUplinkControllerService,
+                        trafficStatisticsService,
+                        flightRecorderService,
+                        overloadControllerService,
+                        radarTraceRecorderService),
+                meterRegistry,
+                settings.getInt("cps.aggregation.workers", 0),
+                settings.getInt("cps.aggregation.queue-capacity", 4096),
+                settings.getInt("cps.aggregation.ring-points", 128)));
+
+        // Last: restores into the services above and is closed first, so its
+        // final checkpoint sees the state they had when the pipeline stopped
+        this.checkpointService = closeLater(new CheckpointService(
+                radarDataCollectorService,
+                evidenceCaptureControllerService,
+                violationRecordStoreService,
+                violationQueryService,
+                uplinkSchedulerService,
+                deviceAggregationService,
+                meterRegistry,
+                settings.getBoolean("cps.checkpoint.enabled", true),
+                settings.getString("cps.checkpoint.file", tmpDir + "/cse564-checkpoint/pipeline.ckpt"),
+                settings.getLong("cps.checkpoint.interval-millis", 1000),
+                settings.getInt("cps.checkpoint.full-every", 60),
+                settings.getLong("cps.checkpoint.tracker-max-age-millis", 5000)));
+    }
+
+    /*
+     * Builds the pipeline, recording metrics into the given registry.
+     */
+    public static PipelineCore create(PipelineSettings settings, MeterRegistry meterRegistry) {
+        return new PipelineCore(settings, meterRegistry);
+    }
+
+    /*
+     * Builds the pipeline with an in-process SimpleMeterRegistry.
+     */
+    public static PipelineCore create(PipelineSettings settings) {
+        return create(settings, new SimpleMeterRegistry());
+    }
+
+    private <T extends AutoCloseable> T closeLater(T service) {
+        closeables.push(service);
+        return service;
+    }
+
+    @Override
+    public void close() {
+        while (!closeables.isEmpty()) {
+            AutoCloseable service = closeables.pop();
+            try {
+                service.close();
+            } catch (Exception e) {
+                log.warn("Failed to close {}", service.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
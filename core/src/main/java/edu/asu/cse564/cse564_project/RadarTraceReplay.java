@@ -0,0 +1,173 @@
+package edu.asu.cse564.cse564_project;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+import edu.asu.cse564.cse564_project.util.RadarTraceCodec;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * RadarTraceReplay
+ *
+ * Replays a radar trace recorded by the RadarTraceRecorderService through a
+ * fresh pipeline core, in the recorded order, and writes one decision line
+ * per sample:
+ *
+ *     <seq> +<arrival ms> <deviceId|-> lane=<n> distanceMiles=<d> speedMph=<v> accepted=<..> stage=<..> reason=<..>
+ *
+ * The log holds only values that come from the trace or from the pipeline's
+ * decisions, with no wall-clock times or IDs. Two replays, or a replay
+ * before and after a change, can therefore be compared with diff.
+ *
+ * The trace file is memory-mapped and decoded in place. Samples are fed
+ * at their recorded pace (--speed=1), N times faster (--speed=N) or as
+ * fast as the pipeline takes them (--speed=max). Samples with a deviceId go
+ * through the DeviceAggregationService and the others through the local
+ * RadarPipelineService, one at a time, so per-device and global order
+ * both match the recording. A torn last record is skipped.
+ *
+ * The pace is measured from the first record, so the idle time before it
+ * is skipped. A summary on stderr gives the throughput and the largest lag
+ * behind the recorded schedule. Recording and checkpoint restore are
+ * forced off, so a replay starts from empty state and never records
+ * itself. Decisions that depend on wall-clock time can differ between
+ * paces: predicted captures, overload levels and suppression cooldowns.
+ *
+ *     java -cp core.jar:<micrometer, slf4j> edu.asu.cse564.cse564_project.RadarTraceReplay \
+ *          <radar-....trace> [--speed=1|N|max] [--log=decisions.log] [--settings=cps.properties]
+ */
+public class RadarTraceReplay {
+
+    // "000".."999", so the decision log needs no String.format per line
+    private static final String[] MILLI_FRACTION = new String[1_000];
+
+    static {
+        for (int i = 0; i < MILLI_FRACTION.length; i++) {
+            MILLI_FRACTION[i] = String.format("%03d", i);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: RadarTraceReplay <trace-file> [--speed=1|N|max] [--log=file] [--settings=file]");
+            System.exit(2);
+        }
+        Path traceFile = Path.of(args[0]);
+        double speed = 1.0;
+        Path logFile = null;
+        PipelineSettings base = PipelineSettings.fromSystemProperties();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--speed=")) {
+                String value = arg.substring("--speed=".length());
+                speed = "max".equalsIgnoreCase(value) ? 0 : Double.parseDouble(value);
+            } else if (arg.startsWith("--log=")) {
+                logFile = Path.of(arg.substring("--log=".length()));
+            } else if (arg.startsWith("--settings=")) {
+                base = PipelineSettings.fromFile(Path.of(arg.substring("--settings=".length())));
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        PipelineSettings fileSettings = base;
+        PipelineSettings settings = new PipelineSettings(key -> switch (key) {
+            case "cps.trace.enabled", "cps.checkpoint.enabled" -> "false";
+            default -> fileSettings.getString(key, null);
+        });
+
+        try (PrintWriter out = logFile == null
+                ? new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))
+                : new PrintWriter(Files.newBufferedWriter(logFile, StandardCharsets.UTF_8));
+             PipelineCore core = PipelineCore.create(settings)) {
+            replay(map(traceFile), core, speed, out);
+        }
+    }
+
+    /*
+     * Feeds every record of the mapped trace through the core at the given
+     * pace (0 = unpaced) and writes the decision log.
+     */
+    static void replay(ByteBuffer trace, PipelineCore core, double speed, PrintWriter out) {
+        long startEpochMillis = RadarTraceCodec.readHeader(trace);
+        System.err.printf("Replaying radar trace recorded at %s (%d bytes) at %s%n",
+                Instant.ofEpochMilli(startEpochMillis), trace.limit(),
+                speed > 0 ? speed + "x" : "maximum speed");
+
+        long replayStart = System.nanoTime();
+        long firstOffsetNanos = -1;
+        long offsetNanos = 0;
+        long maxLagNanos = 0;
+        long count = 0;
+        StringBuilder line = new StringBuilder(160);
+
+        RadarTraceCodec.Entry entry;
+        while ((entry = RadarTraceCodec.decode(trace)) != null) {
+            offsetNanos += entry.deltaNanos();
+            if (firstOffsetNanos < 0) {
+                firstOffsetNanos = offsetNanos;
+            }
+            if (speed > 0) {
+                long due = replayStart + (long) ((offsetNanos - firstOffsetNanos) / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                maxLagNanos = Math.max(maxLagNanos, -wait);
+            }
+
+            RadarData radarData = entry.radarData();
+            Map<String, Object> result = radarData.getDeviceId() != null
+                    ? core.getDeviceAggregationService().process(radarData)
+                    : core.getRadarPipelineService().process(radarData);
+            count++;
+
+            line.setLength(0);
+            line.append(count)
+                    .append(" +").append(offsetNanos / 1_000_000).append('.')
+                    .append(MILLI_FRACTION[(int) (offsetNanos / 1_000 % 1_000)]).append("ms ")
+                    .append(radarData.getDeviceId() != null ? radarData.getDeviceId() : "-")
+                    .append(" lane=").append(radarData.getLane())
+                    .append(" distanceMiles=").append(radarData.getDistanceMiles())
+                    .append(" speedMph=").append(radarData.getSpeedMph())
+                    .append(" accepted=").append(result.getOrDefault("accepted", false))
+                    .append(" stage=").append(result.get("stage"))
+                    .append(" reason=").append(result.get("reason"));
+            out.println(line);
+        }
+        out.flush();
+
+        long elapsedNanos = System.nanoTime() - replayStart;
+        if (trace.hasRemaining()) {
+            System.err.printf("Skipped a torn last record (%d bytes)%n", trace.remaining());
+        }
+        System.err.printf("Replayed %d samples spanning %d ms in %d ms (%.0f samples/s, max lag %.3f ms)%n",
+                count,
+                TimeUnit.NANOSECONDS.toMillis(count == 0 ? 0 : offsetNanos - firstOffsetNanos),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                count / Math.max(elapsedNanos / 1e9, 1e-9),
+                maxLagNanos / 1e6);
+    }
+
+    private static ByteBuffer map(Path traceFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(traceFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Radar trace " + traceFile + " is larger than 2 GiB");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package edu.asu.cse564.cse564_project;
+
+import edu.asu.cse564.cse564_project.util.SharedFrameRing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * SharedMemoryCameraSimulator
+ *
+ * Stands in for the roadside camera on the producer side of the
+ * SharedFrameRing, so the shared-memory ingest can be run and measured
+ * without camera hardware. Frames are written in place into the claimed
+ * slot, like the camera's driver does: a fixed JPEG-like pattern of the
+ * configured size with the frame's sequence number and capture time
+ * stamped after the SOI marker. With a raw width set, frames are raw 8-bit
+ * grayscale rows of that many pixels instead (a shaded test scene), as an
+ * uncompressed camera delivers them. While the pipeline holds every slot,
+ * the frame is dropped, as a camera with a full output queue would.
+ *
+ * Runs in-process when cps.camera.shm.simulator.enabled is set (see
+ * PipelineCore), or as a separate process against a running pipeline:
+ *
+ *     java -cp core.jar edu.asu.cse564.cse564_project.SharedMemoryCameraSimulator \
+ *          <frames.ring> [--fps=30] [--frame-bytes=262144] [--raw-width=640]
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.camera.shm.simulator.enabled=false
+ *     cps.camera.shm.simulator.fps=30
+ *     cps.camera.shm.simulator.frame-bytes=262144
+ *     cps.camera.shm.simulator.raw-width=0        (0 = JPEG-like frames)
+ */
+public class SharedMemoryCameraSimulator implements AutoCloseable {
+
+    private final SharedFrameRing ring;
+    private final long frameIntervalNanos;
+    private final byte[] pattern;
+
+    private final AtomicLong produced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread producer;
+    private volatile boolean running = true;
+
+    public SharedMemoryCameraSimulator(Path file, double fps, int frameBytes, int rawWidth) throws IOException {
+        this.ring = SharedFrameRing.attach(file);
+        this.frameIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.1, fps));
+        int size = Math.max(32, Math.min(frameBytes, ring.getMaxFrameBytes()));
+        this.pattern = rawWidth > 0 && size >= rawWidth ? grayscale(rawWidth, size / rawWidth) : pattern(size);
+        this.producer = new Thread(this::runProducer, "camera-ring-simulator");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: SharedMemoryCameraSimulator <ring-file> [--fps=30] [--frame-bytes=262144]"
+                    + " [--raw-width=640]");
+            System.exit(2);
+        }
+        double fps = 30;
+        int frameBytes = 256 * 1024;
+        int rawWidth = 0;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--fps=")) {
+                fps = Double.parseDouble(arg.substring("--fps=".length()));
+            } else if (arg.startsWith("--frame-bytes=")) {
+                frameBytes = Integer.parseInt(arg.substring("--frame-bytes=".length()));
+            } else if (arg.startsWith("--raw-width=")) {
+                rawWidth = Integer.parseInt(arg.substring("--raw-width=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        try (SharedMemoryCameraSimulator simulator =
+                     new SharedMemoryCameraSimulator(Path.of(args[0]), fps, frameBytes, rawWidth)) {
+            System.err.printf("Writing %d-byte frames at %.1f fps into %s (%d slots)%n",
+                    simulator.pattern.length, fps, args[0], simulator.ring.getSlotCount());
+            while (true) {
+                TimeUnit.SECONDS.sleep(10);
+                System.err.printf("produced=%d dropped=%d%n", simulator.getProduced(), simulator.getDropped());
+            }
+        }
+    }
+
+    public long getProduced() {
+        return produced.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(producer);
+        try {
+            producer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runProducer() {
+        long due = System.nanoTime();
+        long seq = 0;
+        while (running) {
+            ByteBuffer slot = ring.claim();
+            if (slot == null) {
+                dropped.incrementAndGet();
+            } else {
+                long now = System.currentTimeMillis();
+                slot.put(pattern);
+                slot.putLong(4, seq);
+                slot.putLong(12, now);
+                ring.publish(pattern.length, now);
+                produced.incrementAndGet();
+            }
+            seq++;
+
+            // Fixed rate; a stall is not made up with a burst
+            due = Math.max(due + frameIntervalNanos, System.nanoTime() - frameIntervalNanos);
+            long wait;
+            while (running && (wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    // SOI, room for the stamp, filler, EOI
+    private static byte[] pattern(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31 + 7);
+        }
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[size - 2] = (byte) 0xFF;
+        bytes[size - 1] = (byte) 0xD9;
+        return bytes;
+    }
+
+    // Shaded background, a bright plate-sized box and light sensor noise
+    private static byte[] grayscale(int width, int height) {
+        byte[] pixels = new byte[width * height];
+        int seed = 12345;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                seed = seed * 1103515245 + 12345;
+                int value = 40 + 120 * y / height + ((seed >>> 16) & 7);
+                if (x > width * 2 / 5 && x < width * 3 / 5 && y > height * 3 / 5 && y < height * 7 / 10) {
+                    value = 230;
+                }
+                pixels[y * width + x] = (byte) value;
+            }
+        }
+        return pixels;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+
+/*
+ * CameraData
+ *
+ * Represents a single camera frame captured by the roadside imaging system.
+ * Contains raw image bytes and a timestamp. This structure is independent
+ * of unit systems and serves as the basic input for ANPR processing.
+ *
+ * A frame from the shared-memory camera ring carries imageBuffer instead
+ * of imageBytes: a read-only view of the ring slot, valid only while its
+ * lease is held. toImageBytes() makes the one copy, at packaging.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CameraData {
+
+    // Raw image data from the camera sensor
+    private byte[] imageBytes;
+
+    // Zero-copy view of a shared-memory frame; null for byte[] frames
+    private ByteBuffer imageBuffer;
+
+    // Timestamp of the captured frame (ms since epoch)
+    private long timestampMillis;
+
+    // Image size in bytes, whichever representation the frame uses
+    public int getImageSize() {
+        if (imageBytes != null) {
+            return imageBytes.length;
+        }
+        return imageBuffer == null ? 0 : imageBuffer.remaining();
+    }
+
+    /*
+     * The image as a byte array: imageBytes itself, or a copy of the
+     * shared-memory view (null if the frame has no image).
+     */
+    public byte[] toImageBytes() {
+        if (imageBytes != null || imageBuffer == null) {
+            return imageBytes;
+        }
+        byte[] copy = new byte[imageBuffer.remaining()];
+        imageBuffer.duplicate().get(copy);
+        return copy;
+    }
+}
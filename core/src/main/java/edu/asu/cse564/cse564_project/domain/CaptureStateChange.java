@@ -0,0 +1,32 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * CaptureStateChange
+ *
+ * Emitted by the EvidenceCaptureController whenever the camera + flash
+ * command switches between active and inactive. Samples that leave the
+ * hardware state unchanged do not produce a CaptureStateChange.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureStateChange {
+
+    // New capture command (TRUE = capture active, FALSE = capture stopped)
+    private boolean captureActive;
+
+    // Target that caused the state change
+    private long targetId;
+
+    // Vehicle distance from the device when the state changed (meters)
+    private double distanceMeters;
+
+    // Time of the state change (ms since epoch)
+    private long timestampMillis;
+}
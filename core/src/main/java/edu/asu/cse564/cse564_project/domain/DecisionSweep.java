@@ -0,0 +1,47 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * DecisionSweep
+ *
+ * The decision matrix of a speed × distance grid. Grid values are
+ * from + i * step for i in [0, count).
+ *
+ * The matrix is compact: zones holds one SweepZone digit per distance
+ * column (the zone depends on distance only), and decisions holds one
+ * string per speed row with one SweepDecision digit per distance column.
+ * decisions.get(i).charAt(j) is the decision for speed i at distance j.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionSweep {
+
+    private double speedFromMph;
+    private double speedStepMph;
+    private int speedCount;
+
+    private double distanceFromMiles;
+    private double distanceStepMiles;
+    private int distanceCount;
+
+    // One SweepZone ordinal digit per distance column
+    private String zones;
+
+    // One row per speed, one SweepDecision ordinal digit per distance column
+    private List<String> decisions;
+
+    // Number of cells per decision
+    private Map<SweepDecision, Long> decisionCounts;
+
+    private long cells;
+    private long elapsedMillis;
+}
@@ -0,0 +1,20 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * DegradationLevel
+ *
+ * How far the OverloadController has degraded the evidence path, mildest
+ * first. Each level includes the measures of the levels before it:
+ *
+ *   NORMAL              — every evidence session runs in full
+ *   DEFER_IMAGES        — evidence images wait in the uplink; metadata still uploads
+ *   HIGH_OVERSPEED_ONLY — new sessions only for the highest overspeeds
+ *                         (cps.overload.keep-overspeed-ratio)
+ *
+ * The radar, speed and LED stages are never degraded.
+ */
+public enum DegradationLevel {
+    NORMAL,
+    DEFER_IMAGES,
+    HIGH_OVERSPEED_ONLY
+}
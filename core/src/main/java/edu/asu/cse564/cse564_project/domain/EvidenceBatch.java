@@ -0,0 +1,43 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * EvidenceBatch
+ *
+ * A closed batch of consecutive sealed records and the Merkle root over
+ * their record hashes. Publishing the root (e.g. to the backend or an
+ * external timestamping service) lets an auditor verify any single record
+ * of the batch with a logarithmic inclusion proof.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceBatch {
+
+    // Sequential batch number for this device
+    private long batchIndex;
+
+    // Roadside device that produced the batch
+    private String deviceId;
+
+    // Chain sequence of the first and last record in the batch
+    private long firstSequence;
+    private long lastSequence;
+
+    // Number of records in the batch
+    private int recordCount;
+
+    // Merkle root over the record hashes (hex)
+    private String merkleRoot;
+
+    // Chain hash of the last record in the batch (hex)
+    private String lastChainHash;
+
+    // Time the batch was closed (ms since epoch)
+    private long closedAtMillis;
+}
@@ -0,0 +1,47 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+ * EvidenceProof
+ *
+ * Merkle inclusion proof for one record: starting from the record hash,
+ * hash in each sibling in order (on the left or right as indicated) and
+ * compare the result with the batch Merkle root.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceProof {
+
+    // Seal of the record being proven
+    private EvidenceSeal seal;
+
+    // Merkle root of the batch (hex)
+    private String merkleRoot;
+
+    // Sibling hashes from leaf to root
+    private List<Step> path;
+
+    // Whether the proof verified against the stored root
+    private boolean verified;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Step {
+
+        // Sibling node hash (hex)
+        private String siblingHash;
+
+        // True if the sibling is the left operand
+        private boolean siblingOnLeft;
+    }
+}
@@ -0,0 +1,54 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * EvidenceSeal
+ *
+ * Integrity metadata for one ViolationRecord, or for one Sighting merged
+ * into it later (sightingNumber > 0). The record hash covers the canonical
+ * binary metadata plus the evidence image (for a sighting: its data and
+ * imageRef); the chain hash links it to every earlier entry of the same
+ * device, so removing or altering any entry breaks all later chain hashes.
+ *
+ * All hashes are lowercase hex SHA-256 digests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceSeal {
+
+    // Violation this seal belongs to
+    private String violationId;
+
+    // 0 for the record itself, n for its n-th sighting
+    private int sightingNumber;
+
+    // Roadside device that produced the record
+    private String deviceId;
+
+    // Position of the record in the device hash chain (0-based)
+    private long sequence;
+
+    // SHA-256(metadata || image)
+    private String recordHash;
+
+    // Chain hash of the previous record (genesis hash for sequence 0)
+    private String previousChainHash;
+
+    // SHA-256(previousChainHash || recordHash || sequence)
+    private String chainHash;
+
+    // Merkle batch the record belongs to
+    private long batchIndex;
+
+    // Leaf position inside that batch
+    private int leafIndex;
+
+    // Time the seal was produced (ms since epoch)
+    private long sealedAtMillis;
+}
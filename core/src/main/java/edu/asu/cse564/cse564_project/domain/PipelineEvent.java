@@ -0,0 +1,33 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * PipelineEvent
+ *
+ * Envelope for events fanned out to push subscribers (SSE clients).
+ * The sequence number is assigned by the event bus when the event is
+ * published and is strictly increasing, so subscribers can detect gaps
+ * caused by dropped or conflated events.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PipelineEvent {
+
+    // Bus-assigned sequence number (monotonically increasing)
+    private long sequence;
+
+    // Kind of payload carried by this event
+    private PipelineEventType type;
+
+    // Time the event was published (ms since epoch)
+    private long timestampMillis;
+
+    // LedCommand, CaptureStateChange or ViolationSummary depending on type
+    private Object payload;
+}
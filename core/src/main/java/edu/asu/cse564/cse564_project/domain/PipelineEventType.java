@@ -0,0 +1,17 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * PipelineEventType
+ *
+ * Identifies the kind of payload carried by a PipelineEvent that is pushed
+ * to dashboards and the roadside sign controller:
+ *
+ *   LED_COMMAND   — a LedCommand produced by the LEDDisplayController
+ *   CAPTURE_STATE — a CaptureStateChange produced by the EvidenceCaptureController
+ *   VIOLATION     — a ViolationSummary for a newly packaged ViolationRecord
+ */
+public enum PipelineEventType {
+    LED_COMMAND,
+    CAPTURE_STATE,
+    VIOLATION
+}
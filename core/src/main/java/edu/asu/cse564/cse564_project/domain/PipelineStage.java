@@ -0,0 +1,19 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * PipelineStage
+ *
+ * Stages of the enforcement pipeline, in processing order. Used by the
+ * flight recorder for per-stage timings; the ordinal is the stage code
+ * stored in a trace entry.
+ */
+public enum PipelineStage {
+    RADAR,
+    SPEED,
+    LED,
+    CAPTURE,
+    CAMERA,
+    ANPR,
+    PACKAGER,
+    UPLINK
+}
@@ -11,6 +11,9 @@ import lombok.NoArgsConstructor;
  * Represents raw measurements produced by a roadside radar or LiDAR
  * sensor. All values are reported in U.S. customary units (miles, mph).
  * This structure is the initial input to the RadarDataCollector.
+ *
+ * Samples that name a deviceId come from another roadside unit and are
+ * routed by the DeviceAggregationService; the rest belong to this unit.
  */
 @Data
 @Builder
@@ -23,4 +26,15 @@ public class RadarData {
 
     // Vehicle speed measured by the radar (mph)
     private double speedMph;
+
+    // Lane the vehicle was measured in; optional in the request body
+    private Integer lane;
+
+    // Roadside unit that measured the sample; null for this unit's own radar
+    private String deviceId;
+
+    // 0 if the sensor does not report lanes
+    public int getLane() {
+        return lane == null ? 0 : lane;
+    }
 }
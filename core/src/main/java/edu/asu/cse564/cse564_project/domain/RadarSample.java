@@ -33,4 +33,7 @@ public class RadarSample {
 
     // Identifier for the tracked vehicle or trajectory
     private long targetId;
+
+    // Lane the vehicle was measured in (0 if unknown)
+    private int lane;
 }
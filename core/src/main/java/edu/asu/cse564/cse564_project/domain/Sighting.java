@@ -0,0 +1,35 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Sighting
+ *
+ * A repeat capture of a plate that already has a ViolationRecord within
+ * the suppression cooldown. Instead of producing a new record and upload,
+ * the packager appends it to the existing record's sightings.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Sighting {
+
+    // Vehicle speed at this sighting (mph)
+    private double speedMph;
+
+    // Distance from the device in meters
+    private double distanceMeters;
+
+    // Timestamp of this sighting (ms since epoch)
+    private long timestampMillis;
+
+    // Radar-assigned target identifier
+    private long targetId;
+
+    // Content reference of this sighting's image in the EvidenceImageStore
+    private String imageRef;
+}
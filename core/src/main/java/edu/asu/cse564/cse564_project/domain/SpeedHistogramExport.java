@@ -0,0 +1,46 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/*
+ * SpeedHistogramExport
+ *
+ * Portable form of a SpeedHistogram over a time range, used to merge
+ * traffic statistics across devices. Buckets are sparse: bucket index →
+ * count, where bucket i covers [i, i + 1) × bucketWidthMph. Exports can
+ * only be merged when their bucketWidthMph matches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpeedHistogramExport {
+
+    // Device that produced the histogram (cps.device.id)
+    private String deviceId;
+
+    // Lane index (null when lanes were merged)
+    private Integer lane;
+
+    // Covered time range (ms since epoch, end exclusive)
+    private long fromMillis;
+    private long toMillis;
+
+    // Width of one bucket (mph)
+    private double bucketWidthMph;
+
+    // Exact totals over all buckets
+    private long count;
+    private long overspeedCount;
+    private double sumSpeedMph;
+    private Double minSpeedMph;
+    private Double maxSpeedMph;
+
+    // Non-empty buckets: bucket index → sample count
+    private Map<Integer, Long> buckets;
+}
@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
  * LEDDisplayController. This event is always generated regardless
  * of monitoring zone and provides the current speed, distance, and
  * overspeed status for visual feedback to drivers.
+ *
+ * The same stream feeds the TrafficStatisticsService, which is why it
+ * also carries the lane, target and measurement time.
  */
 @Data
 @Builder
@@ -27,4 +30,13 @@ public class SpeedStatus {
 
     // Whether the measured speed qualifies as overspeed
     private boolean overspeed;
+
+    // Lane the vehicle was measured in (0 if unknown)
+    private int lane;
+
+    // Identifier of the tracked vehicle
+    private long targetId;
+
+    // Timestamp of the radar measurement (ms since epoch)
+    private long timestampMillis;
 }
@@ -0,0 +1,24 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * SweepDecision
+ *
+ * What the pipeline does with one speed/distance sample in a
+ * DecisionSweep. The ordinal is the decision's digit in
+ * DecisionSweep.decisions.
+ *
+ *   DISCARDED          — out of range; the RadarDataCollector drops it
+ *   LEGAL              — below the overspeed threshold; LED shows the speed
+ *   OVERSPEED_WARNING  — overspeed in the coarse zone; LED warning, no SpeedContext
+ *   PREDICTED_CAPTURE  — overspeed before the window; capture is scheduled
+ *   CAPTURE            — overspeed inside the window; evidence is collected
+ *   STOP_CAPTURE       — overspeed leaving the window; capture stops
+ */
+public enum SweepDecision {
+    DISCARDED,
+    LEGAL,
+    OVERSPEED_WARNING,
+    PREDICTED_CAPTURE,
+    CAPTURE,
+    STOP_CAPTURE
+}
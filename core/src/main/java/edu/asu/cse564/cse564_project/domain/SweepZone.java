@@ -0,0 +1,25 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * SweepZone
+ *
+ * Distance zone of a grid column in a DecisionSweep, the same regions
+ * /api/debug/simulateCase reports as regionCode. The ordinal is the
+ * zone's digit in DecisionSweep.zones. DecisionSweepService.zoneOf maps a
+ * distance to its zone from the thresholds of the pipeline services.
+ *
+ *   d <= -150m              : OUT_OF_RANGE_BEFORE
+ *   -150m < d <= -90m       : COARSE_ONLY
+ *   -90m < d <= -20m        : MONITOR_ONLY
+ *   -20m < d < 20m          : CAPTURE_WINDOW
+ *   20m <= d <= 90m         : LEAVING_STOP_CAPTURE
+ *   d > 90m                 : OUT_OF_RANGE_AFTER
+ */
+public enum SweepZone {
+    OUT_OF_RANGE_BEFORE,
+    COARSE_ONLY,
+    MONITOR_ONLY,
+    CAPTURE_WINDOW,
+    LEAVING_STOP_CAPTURE,
+    OUT_OF_RANGE_AFTER
+}
@@ -0,0 +1,42 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/*
+ * TraceEntry
+ *
+ * Decoded flight recorder entry: how far one sample got through the
+ * pipeline, why it stopped there, and how long each stage took.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceEntry {
+
+    // Position in the recorder (monotonic across the ring)
+    private long sequence;
+
+    // Wall-clock time the sample entered the pipeline (ms since epoch)
+    private long timestampMillis;
+
+    // Radar target identifier
+    private long targetId;
+
+    // Last stage the sample reached (null if none)
+    private PipelineStage stageReached;
+
+    // Why processing ended
+    private TraceReason reason;
+
+    // Time spent per stage (ns), for stages that ran
+    private Map<PipelineStage, Long> stageNanos;
+
+    // Sum of all stage times (ns)
+    private long totalNanos;
+}
@@ -0,0 +1,38 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * TraceReason
+ *
+ * Why a sample's trip through the pipeline ended where it did. The
+ * ordinal is the reason code stored in a flight recorder entry.
+ */
+public enum TraceReason {
+    // Full evidence pipeline ran and the record was queued for upload
+    COMPLETED,
+    // RadarDataCollector discarded the sample (out of range)
+    RADAR_REJECTED,
+    // No SpeedContext: not overspeed or coarse-only region
+    NO_SPEED_CONTEXT,
+    // Overspeed but before the capture window
+    BEFORE_CAPTURE_WINDOW,
+    // Overspeed but leaving the capture window
+    LEFT_CAPTURE_WINDOW,
+    // Camera frame rejected
+    CAMERA_REJECTED,
+    // ANPR produced no plate
+    NO_PLATE,
+    // Packager produced no record
+    NO_RECORD,
+    // Upload could not be queued
+    UPLOAD_REJECTED,
+    // Processing ended with an exception
+    ERROR,
+    // RadarDataCollector decimated the sample (far from the window, legal speed)
+    RADAR_DECIMATED,
+    // OverloadController shed the evidence session before the camera stage
+    EVIDENCE_SHED,
+    // Upload deferred until the evidence image is encoded
+    UPLOAD_DEFERRED,
+    // Inside the capture window, but a predicted capture already took the evidence
+    PREDICTED_CAPTURED
+}
@@ -0,0 +1,48 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * TrafficWindowStats
+ *
+ * Traffic statistics for one lane (or all lanes) over one time window,
+ * computed from radar speed samples, violating or not. Speed fields are
+ * null when the window holds no samples.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficWindowStats {
+
+    // Lane index (null when lanes were merged)
+    private Integer lane;
+
+    // Window start, inclusive (ms since epoch)
+    private long windowStartMillis;
+
+    // Window end, exclusive (ms since epoch)
+    private long windowEndMillis;
+
+    // Number of speed samples in the window
+    private long count;
+
+    // Samples classified as overspeed
+    private long overspeedCount;
+
+    // Mean speed (mph)
+    private Double meanSpeedMph;
+
+    // Median speed (mph)
+    private Double p50SpeedMph;
+
+    // 85th-percentile speed (mph)
+    private Double p85SpeedMph;
+
+    // Slowest and fastest sample (mph)
+    private Double minSpeedMph;
+    private Double maxSpeedMph;
+}
@@ -0,0 +1,16 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * UplinkPriority
+ *
+ * Priority classes used by the UplinkScheduler, highest first:
+ *
+ *   WATCHLIST      — plate is on the configured watchlist (cps.uplink.watchlist)
+ *   HIGH_OVERSPEED — speed is well above the limit (cps.uplink.high-overspeed-ratio)
+ *   ROUTINE        — every other violation
+ */
+public enum UplinkPriority {
+    WATCHLIST,
+    HIGH_OVERSPEED,
+    ROUTINE
+}
@@ -0,0 +1,16 @@
+package edu.asu.cse564.cse564_project.domain;
+
+/*
+ * UploadState
+ *
+ * Lifecycle of a stored ViolationRecord with respect to the backend:
+ *
+ *   PENDING  — stored locally, not yet accepted by the backend
+ *   UPLOADED — accepted by the backend
+ *   FAILED   — upload attempted and given up on
+ */
+public enum UploadState {
+    PENDING,
+    UPLOADED,
+    FAILED
+}
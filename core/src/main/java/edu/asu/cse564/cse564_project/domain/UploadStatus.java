@@ -32,4 +32,10 @@ public class UploadStatus {
 
     // Timestamp of when the upload attempt completed (ms since epoch)
     private long timestampMillis;
+
+    // Size of the binary payload sent to the backend (bytes)
+    private int payloadBytes;
+
+    // Waiting for the evidence image encoder: not queued yet, so not a success
+    private boolean deferred;
 }
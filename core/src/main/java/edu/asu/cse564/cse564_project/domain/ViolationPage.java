@@ -0,0 +1,36 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+ * ViolationPage
+ *
+ * One page of a violation query. Items are metadata-only summaries;
+ * images are fetched separately by violation ID.
+ *
+ * nextCursor is the violation ID to pass as "cursor" for the next page,
+ * or null when the result set is exhausted. A page can hold fewer than
+ * the requested number of items (even none) while nextCursor is still
+ * set: each page scans a bounded number of candidates so latency stays
+ * flat for unselective filters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViolationPage {
+
+    // Matching violations, in the requested time order
+    private List<ViolationSummary> items;
+
+    // Cursor for the next page (null = no more results)
+    private String nextCursor;
+
+    // Number of index entries examined to build this page
+    private int scanned;
+}
@@ -0,0 +1,42 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * ViolationQuery
+ *
+ * Filter and paging parameters for looking up stored violations.
+ * Every filter is optional (null = not applied); all given filters
+ * must match.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViolationQuery {
+
+    // Exact plate number
+    private String plateNumber;
+
+    // Time range [fromMillis, toMillis) on the violation ID timestamp
+    private Long fromMillis;
+    private Long toMillis;
+
+    // Minimum recorded speed (mph, inclusive)
+    private Double minSpeedMph;
+
+    // Current upload state
+    private UploadState uploadState;
+
+    // Violation ID of the last item of the previous page (exclusive)
+    private String cursor;
+
+    // Maximum number of items to return
+    private int limit;
+
+    // true = newest first, false = oldest first
+    private boolean newestFirst;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /*
  * ViolationRecord
  *
@@ -13,6 +15,14 @@ import lombok.NoArgsConstructor;
  * including speed, distance, plate number, capture time, target identity,
  * and associated image data. It is the final output of the evidence
  * collection and packaging pipeline.
+ *
+ * The image itself lives in the EvidenceImageStore and the record only
+ * carries imageRef (the image's SHA-256 content reference), set once the
+ * image has been encoded after packaging; imageBytes is then null.
+ *
+ * Repeat captures of the same plate within the suppression cooldown are
+ * appended to sightings instead of producing new records. Writers and
+ * encoders synchronize on the record while touching that list.
  */
 @Data
 @Builder
@@ -41,6 +51,15 @@ public class ViolationRecord {
     // Radar-assigned target identifier
     private long targetId;
 
-    // Captured image data used as evidence
+    // Captured image data used as evidence (null once moved to the image store)
     private byte[] imageBytes;
+
+    // Content reference of the evidence image in the EvidenceImageStore
+    private String imageRef;
+
+    // Size of the evidence image in bytes
+    private int imageSizeBytes;
+
+    // Later captures of the same plate merged into this record (null if none)
+    private List<Sighting> sightings;
 }
@@ -0,0 +1,66 @@
+package edu.asu.cse564.cse564_project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * ViolationSummary
+ *
+ * Metadata-only view of a ViolationRecord. It carries everything a
+ * dashboard needs to list a violation, but not the evidence image,
+ * so it is cheap to copy, serialize and push to many subscribers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViolationSummary {
+
+    // Locally assigned unique violation ID
+    private String violationId;
+
+    // License plate number recognized by ANPR
+    private String plateNumber;
+
+    // Vehicle speed at the time of violation (mph)
+    private double speedMph;
+
+    // Distance from the device in meters
+    private double distanceMeters;
+
+    // Timestamp of the violation event (ms since epoch)
+    private long timestampMillis;
+
+    // Radar-assigned target identifier
+    private long targetId;
+
+    // Size of the evidence image in bytes (0 if none)
+    private int imageSizeBytes;
+
+    // Content reference of the evidence image in the EvidenceImageStore
+    private String imageRef;
+
+    // Repeat sightings merged into this violation
+    private int sightingCount;
+
+    // Backend upload state (null when not yet stored)
+    private UploadState uploadState;
+
+    // Builds a summary from a full record, leaving the image behind
+    public static ViolationSummary of(ViolationRecord record) {
+        byte[] image = record.getImageBytes();
+        return ViolationSummary.builder()
+                .violationId(record.getViolationId())
+                .plateNumber(record.getPlateNumber())
+                .speedMph(record.getSpeedMph())
+                .distanceMeters(record.getDistanceMeters())
+                .timestampMillis(record.getTimestampMillis())
+                .targetId(record.getTargetId())
+                .imageSizeBytes(image == null ? record.getImageSizeBytes() : image.length)
+                .imageRef(record.getImageRef())
+                .sightingCount(record.getSightings() == null ? 0 : record.getSightings().size())
+                .build();
+    }
+}
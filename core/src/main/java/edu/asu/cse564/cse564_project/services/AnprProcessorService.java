@@ -2,7 +2,7 @@ package edu.asu.cse564.cse564_project.services;
 
 import edu.asu.cse564.cse564_project.domain.CameraData;
 import edu.asu.cse564.cse564_project.domain.PlateInfo;
-import org.springframework.stereotype.Service;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.AnprEvent;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,7 +21,6 @@ import java.util.Random;
  * In a real system, this service would run OCR models and return
  * detection confidence, bounding boxes, and more detailed metadata.
  */
-@Service
 public class AnprProcessorService {
 
     private final Random random = new Random();
@@ -38,6 +37,20 @@ public class AnprProcessorService {
      * Returns Optional.empty() if no input frame is provided.
      */
     public Optional<PlateInfo> processFrame(CameraData cameraData) {
+        AnprEvent event = new AnprEvent();
+        event.begin();
+        Optional<PlateInfo> plate = recognize(cameraData);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.frameBytes = cameraData == null ? 0 : cameraData.getImageSize();
+            event.plateFound = plate.isPresent();
+            event.commit();
+        }
+        return plate;
+    }
+
+    private Optional<PlateInfo> recognize(CameraData cameraData) {
         if (cameraData == null) {
             return Optional.empty();
         }
@@ -0,0 +1,221 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.UploadStatus;
+import edu.asu.cse564.cse564_project.domain.UplinkPriority;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.UploadEvent;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * BackendUplinkControllerService
+ *
+ * Simulates uploading violation records to a central backend system.
+ * This mock implementation stores records in an in-memory buffer and
+ * generates a fake backendRecordId. In a real deployment, this service
+ * would make network calls, handle retries, and return backend responses.
+ *
+ * Records are encoded once with ViolationRecordCodec; the same binary frame
+ * is the upload payload and is what the local store keeps. The evidence
+ * image itself is referenced by imageRef and streamed from the
+ * EvidenceImageStore, so it is counted in the payload but not re-encoded. Every stored
+ * record is also added to the ViolationQueryService metadata indexes.
+ *
+ * Stored records are indexed as PENDING and handed to the
+ * UplinkSchedulerService, which sends them by priority class within the
+ * configured link bandwidth and marks them UPLOADED once sent.
+ *
+ * A record is ready for upload only once the EvidenceImageEncoder has
+ * handed over its images. Until then it is not stored: the call returns
+ * at once with a deferred status (not a success), and the record is
+ * stored and queued on the encoder's thread when it becomes ready. That
+ * later upload emits its own UploadEvent; its outcome is counted, and
+ * logged when the record could not be queued.
+ *
+ * A record whose ID is already stored (a repeat sighting merged into it by
+ * the packager) is re-encoded and replaced in place, and only its metadata
+ * is queued again; it does not become a new upload.
+ *
+ * Metrics (Micrometer):
+ *   cps.uplink.deferred{outcome}   (queued, rejected: deferred uploads once ready)
+ */
+public class BackendUplinkControllerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackendUplinkControllerService.class);
+
+    // Local store simulating a persistent upload queue
+    private final ViolationRecordStoreService recordStore;
+
+    private final ViolationIdGeneratorService violationIdGeneratorService;
+    private final ViolationQueryService violationQueryService;
+    private final UplinkSchedulerService uplinkSchedulerService;
+    private final EvidenceImageEncoderService evidenceImageEncoderService;
+
+    private final Counter deferredQueued;
+    private final Counter deferredRejected;
+
+    public BackendUplinkControllerService(
+            ViolationRecordStoreService recordStore,
+            ViolationIdGeneratorService violationIdGeneratorService,
+            ViolationQueryService violationQueryService,
+            UplinkSchedulerService uplinkSchedulerService,
+            EvidenceImageEncoderService evidenceImageEncoderService,
+            MeterRegistry meterRegistry
+    ) {
+        this.recordStore = recordStore;
+        this.violationIdGeneratorService = violationIdGeneratorService;
+        this.violationQueryService = violationQueryService;
+        this.uplinkSchedulerService = uplinkSchedulerService;
+        this.evidenceImageEncoderService = evidenceImageEncoderService;
+        this.deferredQueued = meterRegistry.counter("cps.uplink.deferred", "outcome", "queued");
+        this.deferredRejected = meterRegistry.counter("cps.uplink.deferred", "outcome", "rejected");
+    }
+
+    /*
+     * Simulates uploading a violation record to a backend system.
+     * Returns an UploadStatus describing the outcome.
+     */
+    public UploadStatus uploadViolationRecord(ViolationRecord record) {
+        // Not ready for upload while its images are being encoded
+        if (record != null) {
+            CompletableFuture<Void> imagesReady = evidenceImageEncoderService.whenReady(record.getViolationId());
+            if (!imagesReady.isDone()) {
+                imagesReady.thenRun(() -> uploadDeferred(record));
+                return UploadStatus.builder()
+                        .success(false)
+                        .deferred(true)
+                        .retryCount(0)
+                        .backendRecordId(null)
+                        .message("ViolationRecord will be queued for upload once its evidence image is encoded.")
+                        .timestampMillis(System.currentTimeMillis())
+                        .build();
+            }
+        }
+
+        UploadEvent event = new UploadEvent();
+        event.begin();
+        UploadStatus status = upload(record);
+        event.end();
+
+        if (event.shouldCommit() && record != null) {
+            event.targetId = record.getTargetId();
+            event.zone = RadarDataCollectorService.zoneOf(record.getDistanceMeters());
+            event.violationId = record.getViolationId();
+            event.queued = status.isSuccess();
+            event.payloadBytes = status.getPayloadBytes();
+            event.commit();
+        }
+        return status;
+    }
+
+    // Runs on the encoder's thread, where no caller sees the status
+    private void uploadDeferred(ViolationRecord record) {
+        UploadStatus status;
+        try {
+            status = uploadViolationRecord(record);
+        } catch (RuntimeException e) {
+            deferredRejected.increment();
+            log.warn("Deferred upload of violation {} failed", record.getViolationId(), e);
+            return;
+        }
+        if (status.isSuccess()) {
+            deferredQueued.increment();
+        } else {
+            deferredRejected.increment();
+            log.warn("Deferred upload of violation {} not queued: {}", record.getViolationId(), status.getMessage());
+        }
+    }
+
+    private UploadStatus upload(ViolationRecord record) {
+        long now = System.currentTimeMillis();
+
+        // Reject null input
+        if (record == null) {
+            return UploadStatus.builder()
+                    .success(false)
+                    .retryCount(0)
+                    .backendRecordId(null)
+                    .message("ViolationRecord is null, nothing to upload.")
+                    .timestampMillis(now)
+                    .build();
+        }
+
+        // Generate a fake backend record ID (simulated success)
+        String backendRecordId = violationIdGeneratorService.nextIdString();
+
+        // Encode once: this frame is both the wire payload and the stored form
+        ByteBuffer payload;
+        ViolationSummary summary;
+        synchronized (record) {
+            payload = ViolationRecordCodec.encode(record);
+            summary = ViolationSummary.of(record);
+        }
+
+        // Store the record in the local buffer
+        boolean update = recordStore.put(record.getViolationId(), payload);
+
+        // Index metadata for queries; the scheduler marks it UPLOADED once sent
+        summary.setUploadState(UploadState.PENDING);
+        violationQueryService.index(summary);
+
+        if (update) {
+            boolean queued = uplinkSchedulerService.enqueueUpdate(record, payload);
+            return UploadStatus.builder()
+                    .success(queued)
+                    .retryCount(0)
+                    .backendRecordId(null)
+                    .message(queued
+                            ? "Repeat sighting merged into existing ViolationRecord; metadata update queued."
+                            : "Uplink queue full; updated ViolationRecord kept locally as PENDING.")
+                    .timestampMillis(now)
+                    .payloadBytes(payload.remaining())
+                    .build();
+        }
+
+        UplinkPriority priority = uplinkSchedulerService.classify(record);
+        if (!uplinkSchedulerService.enqueue(record, payload)) {
+            return UploadStatus.builder()
+                    .success(false)
+                    .retryCount(0)
+                    .backendRecordId(null)
+                    .message("Uplink queue full; ViolationRecord kept locally as PENDING.")
+                    .timestampMillis(now)
+                    .payloadBytes(payload.remaining() + record.getImageSizeBytes())
+                    .build();
+        }
+
+        return UploadStatus.builder()
+                .success(true)
+                .retryCount(0)
+                .backendRecordId(backendRecordId)
+                .message("ViolationRecord queued for upload (simulated), priority " + priority + ".")
+                .timestampMillis(now)
+                .payloadBytes(payload.remaining() + record.getImageSizeBytes())
+                .build();
+    }
+
+    /*
+     * Returns a snapshot of all locally stored violation records.
+     * Useful for debugging and monitoring.
+     */
+    public List<ViolationRecord> getBufferedRecordsSnapshot() {
+        return recordStore.decodeAll();
+    }
+
+    /*
+     * Clears the local buffer. Used for testing or resetting system state.
+     */
+    public void clearBuffer() {
+        recordStore.clear();
+        violationQueryService.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.CameraData;
+
+import java.util.Optional;
+
+/*
+ * CameraDataCollectorService
+ *
+ * Validates and forwards incoming camera frames. This component simulates
+ * basic preprocessing by accepting frames only when non-null and containing
+ * a non-empty image. No image transformation is performed in this mock
+ * implementation, but the service provides a clear extension point for future
+ * frame preprocessing.
+ *
+ * captureFrame() is where evidence sessions get their frame: the newest
+ * frame of the shared-memory camera ring while cps.camera.shm.enabled is
+ * set (see SharedMemoryCameraService), otherwise a simulated frame.
+ */
+public class CameraDataCollectorService {
+
+    private final SharedMemoryCameraService sharedMemoryCameraService;
+
+    public CameraDataCollectorService(SharedMemoryCameraService sharedMemoryCameraService) {
+        this.sharedMemoryCameraService = sharedMemoryCameraService;
+    }
+
+    /*
+     * Captures the frame for an evidence session. The result must be closed
+     * once the evidence is packaged; its frame is null when the camera ring
+     * has no fresh frame.
+     */
+    public CapturedFrame captureFrame() {
+        if (sharedMemoryCameraService.isEnabled()) {
+            return sharedMemoryCameraService.acquire()
+                    .map(lease -> new CapturedFrame(lease.getFrame(), lease))
+                    .orElseGet(() -> new CapturedFrame(null, null));
+        }
+
+        // Camera frame (simulated)
+        return new CapturedFrame(CameraData.builder()
+                .imageBytes("fakeImageBytes".getBytes())
+                .timestampMillis(System.currentTimeMillis())
+                .build(), null);
+    }
+
+    /*
+     * Validates the raw camera frame and returns it if accepted.
+     * Returns Optional.empty() when the frame is null or contains no image.
+     */
+    public Optional<CameraData> processCameraFrame(CameraData rawFrame) {
+        if (rawFrame == null) {
+            return Optional.empty();
+        }
+
+        // Reject if no image data is present
+        if (rawFrame.getImageSize() == 0) {
+            return Optional.empty();
+        }
+
+        // In a full implementation, image preprocessing could be applied here
+        return Optional.of(rawFrame);
+    }
+
+    /*
+     * A frame for one evidence session (null = none available) and the
+     * shared-memory lease to hand back when it is closed (null = none).
+     */
+    public record CapturedFrame(CameraData frame, AutoCloseable lease) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (lease != null) {
+                try {
+                    lease.close();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to return camera frame", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.services.DeviceAggregationService.DeviceState;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.TrackerState;
+import edu.asu.cse564.cse564_project.services.ViolationRecordStoreService.VersionedFrame;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/*
+ * CheckpointService
+ *
+ * Periodically checkpoints the pipeline's in-flight state to a local file
+ * so a restarted process resumes where the old one stopped instead of
+ * missing or double-counting vehicles mid-pass:
+ *
+ *   tracker  — RadarDataCollector position state (TrackerState)
+ *   capture  — last capture command of the EvidenceCaptureController
+ *   devices  — the same two per aggregated device, keyed by deviceId
+ *   uploads  — encoded frames of every record still PENDING upload
+ *
+ * Nothing on the sample path is locked or copied for this. The tracker
+ * state is an immutable object swapped on every change (copy-on-write),
+ * the capture command is a volatile, and stored frames are immutable
+ * buffers in concurrent maps that the checkpoint thread iterates weakly
+ * consistently.
+ *
+ * The file is an append-only log of blocks, each CRC-protected:
+ *
+ *     int magic | byte FULL/DELTA | long generation | long timestampMillis
+ *     int payloadLength | payload | int crc32
+ *
+ * A FULL block holds the complete state; a DELTA only the records added,
+ * changed or no longer pending and the devices whose state changed since
+ * the previous block (plus the small local tracker and capture state). A record counts as changed when its version
+ * in the ViolationRecordStore differs from the one last written, so no
+ * change is missed to a hash collision. No block is written when nothing changed.
+ * Every cps.checkpoint.full-every deltas the log is compacted: a FULL
+ * block is written to a temporary file, forced to disk and atomically
+ * renamed over the old log.
+ *
+ * On startup the log is replayed up to the first torn or corrupt block,
+ * i.e. to the newest consistent checkpoint. Pending uploads are restored to
+ * the record store, query index and uplink queue. Tracker and capture state
+ * are restored only if the checkpoint is younger than
+ * cps.checkpoint.tracker-max-age-millis; after a longer outage the vehicle
+ * is long gone. A device's state is installed when its first sample after
+ * the restart arrives, if that is still within the same age limit.
+ *
+ * Metrics (Micrometer):
+ *   cps.checkpoint.write{type}     (timer per FULL / DELTA block)
+ *   cps.checkpoint.bytes           (bytes appended or compacted)
+ *   cps.checkpoint.failures
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.checkpoint.enabled=true
+ *     cps.checkpoint.file=${java.io.tmpdir}/cse564-checkpoint/pipeline.ckpt
+ *     cps.checkpoint.interval-millis=1000
+ *     cps.checkpoint.full-every=60
+ *     cps.checkpoint.tracker-max-age-millis=5000
+ */
+public class CheckpointService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckpointService.class);
+
+    private static final int MAGIC = 0x43504b32; // "CPK2": blocks with device state
+    private static final byte FULL = 1;
+    private static final byte DELTA = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 8 + 4;
+    private static final int CRC_BYTES = 4;
+
+    private static final byte CAPTURE_NONE = 0;
+    private static final byte CAPTURE_STOPPED = 1;
+    private static final byte CAPTURE_ACTIVE = 2;
+
+    private final boolean enabled;
+    private final Path file;
+    private final Path compactionFile;
+    private final int fullEvery;
+    private final long trackerMaxAgeMillis;
+
+    private final RadarDataCollectorService radarDataCollectorService;
+    private final EvidenceCaptureControllerService evidenceCaptureControllerService;
+    private final ViolationRecordStoreService recordStore;
+    private final ViolationQueryService violationQueryService;
+    private final UplinkSchedulerService uplinkSchedulerService;
+    private final DeviceAggregationService deviceAggregationService;
+
+    private final Timer fullWrites;
+    private final Timer deltaWrites;
+    private final Counter bytesWritten;
+    private final Counter failures;
+    private final ScheduledExecutorService writer;
+
+    // Checkpoint-thread state: what the log already holds
+    // violationId → store version of the frame last written for it
+    private final Map<String, Long> writtenFrameVersions = new HashMap<>();
+    private TrackerState writtenTracker;
+    private Boolean writtenCapture;
+    private final Map<String, DeviceState> writtenDevices = new HashMap<>();
+    private FileChannel channel;
+    private long generation;
+    private int deltasSinceFull;
+
+    public CheckpointService(
+            RadarDataCollectorService radarDataCollectorService,
+            EvidenceCaptureControllerService evidenceCaptureControllerService,
+            ViolationRecordStoreService recordStore,
+            ViolationQueryService violationQueryService,
+            UplinkSchedulerService uplinkSchedulerService,
+            DeviceAggregationService deviceAggregationService,
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            String file,
+            long intervalMillis,
+            int fullEvery,
+            long trackerMaxAgeMillis
+    ) {
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.compactionFile = Path.of(file + ".tmp");
+        this.fullEvery = Math.max(1, fullEvery);
+        this.trackerMaxAgeMillis = trackerMaxAgeMillis;
+        this.radarDataCollectorService = radarDataCollectorService;
+        this.evidenceCaptureControllerService = evidenceCaptureControllerService;
+        this.recordStore = recordStore;
+        this.violationQueryService = violationQueryService;
+        this.uplinkSchedulerService = uplinkSchedulerService;
+        this.deviceAggregationService = deviceAggregationService;
+
+        this.fullWrites = meterRegistry.timer("cps.checkpoint.write", "type", "full");
+        this.deltaWrites = meterRegistry.timer("cps.checkpoint.write", "type", "delta");
+        this.bytesWritten = meterRegistry.counter("cps.checkpoint.bytes");
+        this.failures = meterRegistry.counter("cps.checkpoint.failures");
+
+        if (!enabled) {
+            this.writer = null;
+            return;
+        }
+
+        try {
+            Files.createDirectories(this.file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create checkpoint directory for " + file, e);
+        }
+        restore();
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, intervalMillis);
+        // The first run compacts the restored log into a fresh FULL block
+        this.writer.scheduleWithFixedDelay(this::checkpointQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Writes a checkpoint now, if anything changed since the last one.
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        TrackerState tracker = radarDataCollectorService.getTrackerState();
+        Boolean capture = evidenceCaptureControllerService.getLastCaptureActive();
+        boolean full = channel == null || deltasSinceFull >= fullEvery;
+
+        Map<String, DeviceState> devices = new HashMap<>();
+        deviceAggregationService.getDeviceStates().forEach((deviceId, state) -> {
+            if (full || !state.equals(writtenDevices.get(deviceId))) {
+                devices.put(deviceId, state);
+            }
+        });
+
+        Map<String, ByteBuffer> upserts = new LinkedHashMap<>();
+        Map<String, Long> upsertVersions = new HashMap<>();
+        Set<String> pending = new HashSet<>();
+        for (String violationId : violationQueryService.getIdsByUploadState(UploadState.PENDING)) {
+            Optional<VersionedFrame> stored = recordStore.getVersionedFrame(violationId);
+            if (stored.isEmpty()) {
+                continue;
+            }
+            pending.add(violationId);
+            long version = stored.get().version();
+            if (full || !Objects.equals(writtenFrameVersions.get(violationId), version)) {
+                upserts.put(violationId, stored.get().frame());
+                upsertVersions.put(violationId, version);
+            }
+        }
+        List<String> deletes = new ArrayList<>();
+        if (!full) {
+            for (String violationId : writtenFrameVersions.keySet()) {
+                if (!pending.contains(violationId)) {
+                    deletes.add(violationId);
+                }
+            }
+            if (upserts.isEmpty() && deletes.isEmpty() && devices.isEmpty()
+                    && tracker.equals(writtenTracker) && Objects.equals(capture, writtenCapture)) {
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        ByteBuffer block = encodeBlock(full ? FULL : DELTA, generation + 1, tracker, capture, devices,
+                upserts, deletes);
+        int size = block.remaining();
+        if (full) {
+            writeFull(block);
+            deltasSinceFull = 0;
+            writtenFrameVersions.clear();
+            writtenDevices.clear();
+        } else {
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+            channel.force(false);
+            deltasSinceFull++;
+        }
+        (full ? fullWrites : deltaWrites).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        bytesWritten.increment(size);
+
+        generation++;
+        writtenFrameVersions.putAll(upsertVersions);
+        deletes.forEach(writtenFrameVersions::remove);
+        writtenTracker = tracker;
+        writtenCapture = capture;
+        writtenDevices.putAll(devices);
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.warn("Checkpoint to {} failed", file, e);
+            closeChannel();
+        }
+    }
+
+    // Compaction: FULL block to a temporary file, then atomic rename over the log
+    private void writeFull(ByteBuffer block) throws IOException {
+        closeChannel();
+        try (FileChannel out = FileChannel.open(compactionFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (block.hasRemaining()) {
+                out.write(block);
+            }
+            out.force(true);
+        }
+        Files.move(compactionFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer encodeBlock(byte type, long generation, TrackerState tracker, Boolean capture,
+                                          Map<String, DeviceState> devices, Map<String, ByteBuffer> upserts,
+                                          List<String> deletes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(type);
+        out.writeLong(generation);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(0); // payload length, patched below
+
+        writeState(out, tracker, capture);
+        out.writeInt(devices.size());
+        for (Map.Entry<String, DeviceState> device : devices.entrySet()) {
+            out.writeUTF(device.getKey());
+            writeState(out, device.getValue().tracker(), device.getValue().capture());
+        }
+
+        out.writeInt(upserts.size());
+        for (Map.Entry<String, ByteBuffer> upsert : upserts.entrySet()) {
+            ByteBuffer frame = upsert.getValue();
+            byte[] frameBytes = new byte[frame.remaining()];
+            frame.get(frameBytes);
+            out.writeUTF(upsert.getKey());
+            out.writeInt(frameBytes.length);
+            out.write(frameBytes);
+        }
+        out.writeInt(deletes.size());
+        for (String violationId : deletes) {
+            out.writeUTF(violationId);
+        }
+        out.writeInt(0); // CRC, patched below
+        out.flush();
+
+        ByteBuffer block = ByteBuffer.wrap(bytes.toByteArray());
+        int payloadLength = block.capacity() - HEADER_BYTES - CRC_BYTES;
+        block.putInt(HEADER_BYTES - 4, payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(block.array(), 0, HEADER_BYTES + payloadLength);
+        block.putInt(HEADER_BYTES + payloadLength, (int) crc.getValue());
+        return block;
+    }
+
+    private static void writeState(DataOutputStream out, TrackerState tracker, Boolean capture) throws IOException {
+        out.writeBoolean(tracker.lastDistanceMeters() != null);
+        out.writeDouble(tracker.lastDistanceMeters() == null ? 0.0 : tracker.lastDistanceMeters());
+        out.writeBoolean(tracker.leavingEventSent());
+        out.writeByte(capture == null ? CAPTURE_NONE : capture ? CAPTURE_ACTIVE : CAPTURE_STOPPED);
+    }
+
+    // Replays the log up to the newest consistent block and applies the result
+    private void restore() {
+        long start = System.nanoTime();
+        ByteBuffer journal;
+        try {
+            journal = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.warn("Cannot read checkpoint {}; starting empty", file, e);
+            return;
+        }
+
+        Restored restored = null;
+        int blocks = 0;
+        while (journal.remaining() >= HEADER_BYTES + CRC_BYTES) {
+            int blockStart = journal.position();
+            if (journal.getInt(blockStart) != MAGIC) {
+                break;
+            }
+            int payloadLength = journal.getInt(blockStart + HEADER_BYTES - 4);
+            if (payloadLength < 0 || payloadLength > journal.remaining() - HEADER_BYTES - CRC_BYTES) {
+                break; // torn append
+            }
+            CRC32 crc = new CRC32();
+            crc.update(journal.array(), blockStart, HEADER_BYTES + payloadLength);
+            if (journal.getInt(blockStart + HEADER_BYTES + payloadLength) != (int) crc.getValue()) {
+                break;
+            }
+            byte type = journal.get(blockStart + 4);
+            if (restored == null && type != FULL) {
+                break;
+            }
+            if (type == FULL) {
+                restored = new Restored();
+            }
+            restored.apply(journal.slice(blockStart + HEADER_BYTES, payloadLength),
+                    journal.getLong(blockStart + 5), journal.getLong(blockStart + 13));
+            blocks++;
+            journal.position(blockStart + HEADER_BYTES + payloadLength + CRC_BYTES);
+        }
+        if (restored == null) {
+            log.warn("Checkpoint {} has no consistent FULL block; starting empty", file);
+            return;
+        }
+        if (journal.hasRemaining()) {
+            log.warn("Checkpoint {}: ignoring {} bytes after the last consistent block",
+                    file, journal.remaining());
+        }
+
+        long ageMillis = System.currentTimeMillis() - restored.timestampMillis;
+        boolean trackerRestored = ageMillis <= trackerMaxAgeMillis;
+        if (trackerRestored) {
+            radarDataCollectorService.restoreTrackerState(restored.tracker);
+            evidenceCaptureControllerService.restoreCaptureState(restored.capture);
+            deviceAggregationService.restoreDeviceStates(restored.devices,
+                    restored.timestampMillis + trackerMaxAgeMillis);
+        }
+        int requeued = 0;
+        for (Map.Entry<String, ByteBuffer> entry : restored.pending.entrySet()) {
+            if (restorePendingUpload(entry.getKey(), entry.getValue())) {
+                requeued++;
+            }
+        }
+        this.generation = restored.generation;
+
+        log.info("Restored checkpoint generation {} ({} blocks, {} ms old) in {} ms: {} pending uploads"
+                        + " ({} re-queued), tracker state {} (with {} aggregated devices)",
+                restored.generation, blocks, ageMillis,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                restored.pending.size(), requeued, trackerRestored ? "restored" : "expired",
+                restored.devices.size());
+    }
+
+    private boolean restorePendingUpload(String violationId, ByteBuffer frame) {
+        ViolationRecord record;
+        try {
+            record = ViolationRecordCodec.decode(frame.duplicate());
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable checkpointed record {}", violationId, e);
+            return false;
+        }
+        recordStore.put(violationId, frame);
+        ViolationSummary summary = ViolationSummary.of(record);
+        summary.setUploadState(UploadState.PENDING);
+        violationQueryService.index(summary);
+        // If the queue is full the record stays in the store as PENDING
+        return uplinkSchedulerService.enqueue(record, frame);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already unusable
+            }
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Final checkpoint so a clean restart loses nothing
+        checkpointQuietly();
+        synchronized (this) {
+            closeChannel();
+        }
+    }
+
+    // State accumulated while replaying the log
+    private static final class Restored {
+
+        private final Map<String, ByteBuffer> pending = new LinkedHashMap<>();
+        private final Map<String, DeviceState> devices = new HashMap<>();
+        private TrackerState tracker = TrackerState.NONE;
+        private Boolean capture;
+        private long generation;
+        private long timestampMillis;
+
+        private void apply(ByteBuffer payload, long generation, long timestampMillis) {
+            this.generation = generation;
+            this.timestampMillis = timestampMillis;
+
+            DeviceState local = readState(payload);
+            tracker = local.tracker();
+            capture = local.capture();
+            int deviceCount = payload.getInt();
+            for (int i = 0; i < deviceCount; i++) {
+                String deviceId = readUtf(payload);
+                devices.put(deviceId, readState(payload));
+            }
+
+            int upserts = payload.getInt();
+            for (int i = 0; i < upserts; i++) {
+                String violationId = readUtf(payload);
+                int length = payload.getInt();
+                ByteBuffer frame = ByteBuffer.allocate(length);
+                frame.put(payload.slice(payload.position(), length)).flip();
+                payload.position(payload.position() + length);
+                pending.put(violationId, frame.asReadOnlyBuffer());
+            }
+            int deletes = payload.getInt();
+            for (int i = 0; i < deletes; i++) {
+                pending.remove(readUtf(payload));
+            }
+        }
+
+        // Counterpart of writeState
+        private static DeviceState readState(ByteBuffer in) {
+            boolean hasDistance = in.get() != 0;
+            double distance = in.getDouble();
+            boolean leavingEventSent = in.get() != 0;
+            byte captureState = in.get();
+            return new DeviceState(new TrackerState(hasDistance ? distance : null, leavingEventSent),
+                    captureState == CAPTURE_NONE ? null : captureState == CAPTURE_ACTIVE);
+        }
+
+        // Counterpart of DataOutput.writeUTF (modified UTF-8: device IDs need not be ASCII)
+        private static String readUtf(ByteBuffer in) {
+            int length = 2 + Short.toUnsignedInt(in.getShort(in.position()));
+            DataInputStream data = new DataInputStream(
+                    new ByteArrayInputStream(in.array(), in.arrayOffset() + in.position(), length));
+            in.position(in.position() + length);
+            try {
+                return data.readUTF();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
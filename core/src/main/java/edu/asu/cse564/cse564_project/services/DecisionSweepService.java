@@ -0,0 +1,263 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.DecisionSweep;
+import edu.asu.cse564.cse564_project.domain.SweepDecision;
+import edu.asu.cse564.cse564_project.domain.SweepZone;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * DecisionSweepService
+ *
+ * Evaluates the pipeline's decision for every point of a speed × distance
+ * grid, to validate a zone or speed-limit configuration in one call
+ * instead of one /api/debug/simulateCase request per point.
+ *
+ * Each point is evaluated by a pure function of (speed, distance): the
+ * zone rules of the RadarDataCollector, the overspeed threshold of the
+ * SpeedViolationController and the window rules of the
+ * EvidenceCaptureController. Nothing touches the live tracker, capture
+ * state, statistics or uplink, so a sweep can run beside live traffic.
+ * Two simplifications follow from evaluating a point without history:
+ * a point in the leaving zone is the vehicle's first sample past the
+ * window (later ones are dropped by the tracker), and radar decimation
+ * is ignored (it only ever drops samples that cannot yield a SpeedContext).
+ *
+ * The grid is evaluated on a dedicated ForkJoinPool. The flat cell range
+ * is split recursively down to SPLIT_CELLS per task, so a grid with a
+ * single speed row or distance column spreads over all workers too.
+ *
+ * Metrics (Micrometer):
+ *   cps.sweep.cells   (grid points evaluated)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.sweep.parallelism=0           (0 = one worker per available processor)
+ *     cps.sweep.max-cells=10000000      (larger grids are rejected)
+ */
+public class DecisionSweepService implements AutoCloseable {
+
+    // Cells evaluated by one leaf task
+    private static final int SPLIT_CELLS = 1 << 15;
+
+    private static final SweepDecision[] DECISIONS = SweepDecision.values();
+
+    private final UnitConversionService unitConversionService;
+    private final SpeedViolationControllerService speedViolationControllerService;
+    private final long maxCells;
+
+    private final Counter cellsEvaluated;
+    private final ForkJoinPool pool;
+
+    public DecisionSweepService(
+            UnitConversionService unitConversionService,
+            SpeedViolationControllerService speedViolationControllerService,
+            MeterRegistry meterRegistry,
+            int parallelism,
+            long maxCells
+    ) {
+        this.unitConversionService = unitConversionService;
+        this.speedViolationControllerService = speedViolationControllerService;
+        this.maxCells = Math.max(1, maxCells);
+        this.cellsEvaluated = meterRegistry.counter("cps.sweep.cells");
+
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(workers, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("decision-sweep-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /*
+     * Evaluates every grid point from the given ranges (both ends
+     * inclusive). Throws IllegalArgumentException for an empty or
+     * malformed range, or a grid larger than cps.sweep.max-cells.
+     */
+    public DecisionSweep sweep(
+            double speedFromMph, double speedToMph, double speedStepMph,
+            double distanceFromMiles, double distanceToMiles, double distanceStepMiles
+    ) {
+        int speedCount = count("speed", speedFromMph, speedToMph, speedStepMph);
+        int distanceCount = count("distance", distanceFromMiles, distanceToMiles, distanceStepMiles);
+        long cells = (long) speedCount * distanceCount;
+        if (cells > maxCells || cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Sweep of " + cells + " cells exceeds the limit of " + maxCells);
+        }
+
+        long start = System.nanoTime();
+        Grid grid = new Grid(speedFromMph, speedStepMph, distanceFromMiles, distanceStepMiles,
+                distanceCount, new byte[(int) cells], new AtomicLongArray(DECISIONS.length));
+        pool.invoke(new SweepTask(grid, 0, (int) cells));
+
+        byte[] zones = new byte[distanceCount];
+        for (int column = 0; column < distanceCount; column++) {
+            zones[column] = digit(zoneOf(
+                    unitConversionService.milesToMeters(grid.distanceMiles(column))).ordinal());
+        }
+        List<String> rows = new ArrayList<>(speedCount);
+        for (int row = 0; row < speedCount; row++) {
+            rows.add(new String(grid.cells, row * distanceCount, distanceCount, StandardCharsets.US_ASCII));
+        }
+        Map<SweepDecision, Long> decisionCounts = new EnumMap<>(SweepDecision.class);
+        for (SweepDecision decision : DECISIONS) {
+            decisionCounts.put(decision, grid.counts.get(decision.ordinal()));
+        }
+        cellsEvaluated.increment(cells);
+
+        return DecisionSweep.builder()
+                .speedFromMph(speedFromMph)
+                .speedStepMph(speedStepMph)
+                .speedCount(speedCount)
+                .distanceFromMiles(distanceFromMiles)
+                .distanceStepMiles(distanceStepMiles)
+                .distanceCount(distanceCount)
+                .zones(new String(zones, StandardCharsets.US_ASCII))
+                .decisions(rows)
+                .decisionCounts(decisionCounts)
+                .cells(cells)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .build();
+    }
+
+    /*
+     * The decision for one sample, without side effects.
+     */
+    public SweepDecision decide(double speedMph, double distanceMiles) {
+        SweepZone zone = zoneOf(unitConversionService.milesToMeters(distanceMiles));
+        if (zone == SweepZone.OUT_OF_RANGE_BEFORE || zone == SweepZone.OUT_OF_RANGE_AFTER) {
+            return SweepDecision.DISCARDED;
+        }
+        if (!speedViolationControllerService.isOverspeed(speedMph)) {
+            return SweepDecision.LEGAL;
+        }
+        return switch (zone) {
+            case COARSE_ONLY -> SweepDecision.OVERSPEED_WARNING;
+            case MONITOR_ONLY -> SweepDecision.PREDICTED_CAPTURE;
+            case CAPTURE_WINDOW -> SweepDecision.CAPTURE;
+            default -> SweepDecision.STOP_CAPTURE;
+        };
+    }
+
+    /*
+     * The zone of a distance in meters, bounded by the thresholds the
+     * RadarDataCollector, SpeedViolationController and
+     * EvidenceCaptureController apply.
+     */
+    public static SweepZone zoneOf(double distanceMeters) {
+        if (distanceMeters <= RadarDataCollectorService.MIN_VALID_DISTANCE_METERS) {
+            return SweepZone.OUT_OF_RANGE_BEFORE;
+        }
+        if (distanceMeters <= SpeedViolationControllerService.MONITOR_ZONE_START_METERS) {
+            return SweepZone.COARSE_ONLY;
+        }
+        if (distanceMeters <= -EvidenceCaptureControllerService.CAPTURE_WINDOW_METERS) {
+            return SweepZone.MONITOR_ONLY;
+        }
+        if (distanceMeters < EvidenceCaptureControllerService.CAPTURE_WINDOW_METERS) {
+            return SweepZone.CAPTURE_WINDOW;
+        }
+        if (distanceMeters <= RadarDataCollectorService.MAX_VALID_DISTANCE_METERS) {
+            return SweepZone.LEAVING_STOP_CAPTURE;
+        }
+        return SweepZone.OUT_OF_RANGE_AFTER;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    // Number of grid values from..to (inclusive) at the given step
+    private static int count(String axis, double from, double to, double step) {
+        if (!Double.isFinite(from) || !Double.isFinite(to) || !(step > 0) || !Double.isFinite(step)) {
+            throw new IllegalArgumentException("Invalid " + axis + " range: " + from + ".." + to + " step " + step);
+        }
+        if (to < from) {
+            throw new IllegalArgumentException("Empty " + axis + " range: " + from + ".." + to);
+        }
+        // Tolerates rounding when (to - from) is a multiple of step
+        double values = Math.floor((to - from) / step + 1e-9) + 1;
+        if (values > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many " + axis + " values: " + values);
+        }
+        return (int) values;
+    }
+
+    private static byte digit(int ordinal) {
+        return (byte) ('0' + ordinal);
+    }
+
+    private record Grid(
+            double speedFromMph, double speedStepMph,
+            double distanceFromMiles, double distanceStepMiles,
+            int distanceCount, byte[] cells, AtomicLongArray counts
+    ) {
+
+        double speedMph(int row) {
+            return speedFromMph + row * speedStepMph;
+        }
+
+        double distanceMiles(int column) {
+            return distanceFromMiles + column * distanceStepMiles;
+        }
+    }
+
+    /*
+     * Evaluates cells [from, to) of the row-major grid, splitting in half
+     * while the range is larger than SPLIT_CELLS.
+     */
+    private final class SweepTask extends RecursiveAction {
+
+        private final Grid grid;
+        private final int from;
+        private final int to;
+
+        SweepTask(Grid grid, int from, int to) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_CELLS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SweepTask(grid, from, middle), new SweepTask(grid, middle, to));
+                return;
+            }
+
+            long[] counts = new long[DECISIONS.length];
+            int columns = grid.distanceCount;
+            int row = from / columns;
+            int column = from % columns;
+            double speedMph = grid.speedMph(row);
+            for (int cell = from; cell < to; cell++) {
+                SweepDecision decision = decide(speedMph, grid.distanceMiles(column));
+                grid.cells[cell] = digit(decision.ordinal());
+                counts[decision.ordinal()]++;
+                if (++column == columns) {
+                    column = 0;
+                    speedMph = grid.speedMph(++row);
+                }
+            }
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    grid.counts.addAndGet(i, counts[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.TrackerState;
+import edu.asu.cse564.cse564_project.util.ConsistentHashRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/*
+ * DeviceAggregationService
+ *
+ * Lets one instance act as the aggregation node for many roadside units.
+ * Samples that carry a RadarData.deviceId are routed by a
+ * ConsistentHashRing to one of cps.aggregation.workers partitions.
+ *
+ * Each partition is a single worker thread. For every device routed to it,
+ * the partition owns that device's stateful pipeline front: a
+ * RadarDataCollector (tracker) and an EvidenceCaptureController (capture
+ * command), wrapped in a RadarPipelineService. Only the partition thread
+ * touches them, so they need no locks, and each device's samples run in
+ * submission order. All devices share the later stages, which are
+ * stateless or thread-safe: speed evaluation, ANPR, packaging, uplink,
+ * statistics and the flight recorder.
+ *
+ * Every device gets its own target ID, so predicted captures and flight
+ * recorder traces of different devices never collide.
+ *
+ * getDeviceStates() exposes each device's tracker and capture state to
+ * the CheckpointService; both are volatile, so it reads them without
+ * going through the partition. States handed to restoreDeviceStates() are
+ * installed when a device's pipeline is created, on its first sample, and
+ * dropped once they are older than the checkpoint allows.
+ *
+ * resize(n) rebalances to a new worker count at runtime. Only devices whose
+ * owner changes on the new ring move. Each one's state is handed to its new
+ * partition after the old partition has finished the samples it already
+ * queued. Samples the new partition receives for the device in the
+ * meantime are held and replayed once the state arrives, so per-device
+ * order survives a rebalance. Routing takes a shared read lock; only
+ * resize() takes it exclusively, to swap the ring.
+ *
+ * Each partition admits at most cps.aggregation.queue-capacity queued
+ * samples. Beyond that, submit() throws RejectedExecutionException instead
+ * of letting latency grow.
+ *
+ * Metrics (Micrometer):
+ *   cps.aggregation.samples    (processed)
+ *   cps.aggregation.rejected   (partition queue full)
+ *   cps.aggregation.moved      (devices handed to another partition)
+ *   cps.aggregation.devices    (gauge)
+ *   cps.aggregation.workers    (gauge)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.aggregation.workers=0             (0 = one per available processor)
+ *     cps.aggregation.queue-capacity=4096   (queued samples per worker)
+ *     cps.aggregation.ring-points=128       (ring points per worker)
+ */
+public class DeviceAggregationService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceAggregationService.class);
+
+    // Device target IDs start above the local collector's target ID (1)
+    private static final long FIRST_DEVICE_TARGET_ID = 1L << 32;
+
+    private final LongFunction<RadarPipelineService> devicePipelineFactory;
+    private final int queueCapacity;
+    private final int ringPoints;
+
+    private final Counter processed;
+    private final Counter rejected;
+    private final Counter moved;
+
+    // deviceId → target ID, for every device seen so far
+    private final Map<String, Long> deviceTargets = new ConcurrentHashMap<>();
+    private final AtomicLong nextTargetId = new AtomicLong(FIRST_DEVICE_TARGET_ID);
+
+    // deviceId → pipeline, for every device with one; read by checkpoints
+    private final Map<String, RadarPipelineService> pipelines = new ConcurrentHashMap<>();
+
+    // deviceId → checkpointed state not yet installed, valid until restoredUntilMillis
+    private final Map<String, DeviceState> restoredStates = new ConcurrentHashMap<>();
+    private volatile long restoredUntilMillis;
+
+    private final StampedLock routingLock = new StampedLock();
+    private volatile Routing routing;
+
+    /*
+     * devicePipelineFactory builds the pipeline for a new device from its
+     * target ID; each call must return fresh stateful services.
+     */
+    public DeviceAggregationService(
+            LongFunction<RadarPipelineService> devicePipelineFactory,
+            MeterRegistry meterRegistry,
+            int workers,
+            int queueCapacity,
+            int ringPoints
+    ) {
+        this.devicePipelineFactory = devicePipelineFactory;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.ringPoints = Math.max(1, ringPoints);
+
+        this.processed = meterRegistry.counter("cps.aggregation.samples");
+        this.rejected = meterRegistry.counter("cps.aggregation.rejected");
+        this.moved = meterRegistry.counter("cps.aggregation.moved");
+
+        resize(workers);
+
+        meterRegistry.gauge("cps.aggregation.devices", deviceTargets, Map::size);
+        meterRegistry.gauge("cps.aggregation.workers", this, DeviceAggregationService::getWorkers);
+    }
+
+    /*
+     * Queues a device's sample on the partition that owns the device. The
+     * future completes with the pipeline trace (plus the partition index)
+     * on the partition thread.
+     *
+     * Throws IllegalArgumentException without a deviceId and
+     * RejectedExecutionException when the partition is full.
+     */
+    public CompletableFuture<Map<String, Object>> submit(RadarData radarData) {
+        String deviceId = radarData.getDeviceId();
+        if (deviceId == null || deviceId.isBlank()) {
+            throw new IllegalArgumentException("deviceId is required for aggregated samples");
+        }
+        if (!deviceTargets.containsKey(deviceId)) {
+            deviceTargets.computeIfAbsent(deviceId, id -> nextTargetId.getAndIncrement());
+        }
+
+        Sample sample = new Sample(deviceId, radarData, new CompletableFuture<>());
+        long stamp = routingLock.readLock();
+        try {
+            Routing current = routing;
+            current.partitions[current.ring.ownerOf(deviceId)].offer(sample);
+        } finally {
+            routingLock.unlockRead(stamp);
+        }
+        return sample.result;
+    }
+
+    /*
+     * Runs a device's sample on its partition and waits for the trace.
+     */
+    public Map<String, Object> process(RadarData radarData) {
+        try {
+            return submit(radarData).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Rebalances the devices over a new number of workers (0 = one per
+     * available processor) and returns once every moved device's state
+     * has reached its new partition.
+     */
+    public synchronized void resize(int workers) {
+        int count = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        Routing old = routing;
+        if (old != null && old.partitions.length == count) {
+            return;
+        }
+
+        ConsistentHashRing ring = new ConsistentHashRing(count, ringPoints);
+        Partition[] partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = old != null && i < old.partitions.length ? old.partitions[i] : new Partition(i);
+        }
+
+        List<CompletableFuture<Void>> handoffs = new ArrayList<>();
+        long stamp = routingLock.writeLock();
+        try {
+            Map<Partition, Map<String, Handoff>> leaving = new HashMap<>();
+            if (old != null) {
+                for (String deviceId : deviceTargets.keySet()) {
+                    Partition from = old.partitions[old.ring.ownerOf(deviceId)];
+                    Partition to = partitions[ring.ownerOf(deviceId)];
+                    if (from == to) {
+                        continue;
+                    }
+                    // Queued ahead of any sample routed by the new ring
+                    to.control(() -> to.expect(deviceId));
+                    Handoff handoff = new Handoff(to, new CompletableFuture<>());
+                    leaving.computeIfAbsent(from, p -> new HashMap<>()).put(deviceId, handoff);
+                    handoffs.add(handoff.done);
+                }
+            }
+            routing = new Routing(ring, partitions);
+            // Queued behind every sample routed by the old ring
+            leaving.forEach((from, devices) -> from.control(() -> from.release(devices)));
+        } finally {
+            routingLock.unlockWrite(stamp);
+        }
+
+        CompletableFuture.allOf(handoffs.toArray(CompletableFuture[]::new)).join();
+        if (old != null) {
+            for (int i = count; i < old.partitions.length; i++) {
+                old.partitions[i].close();
+            }
+            moved.increment(handoffs.size());
+            log.info("Aggregation rebalanced from {} to {} workers: {} of {} devices moved",
+                    old.partitions.length, count, handoffs.size(), deviceTargets.size());
+        }
+    }
+
+    public int getWorkers() {
+        return routing.partitions.length;
+    }
+
+    public int getDeviceCount() {
+        return deviceTargets.size();
+    }
+
+    /*
+     * Tracker and capture state of every device with a pipeline.
+     */
+    public Map<String, DeviceState> getDeviceStates() {
+        Map<String, DeviceState> states = new HashMap<>();
+        pipelines.forEach((deviceId, pipeline) -> states.put(deviceId, new DeviceState(
+                pipeline.getRadarDataCollectorService().getTrackerState(),
+                pipeline.getEvidenceCaptureControllerService().getLastCaptureActive())));
+        return states;
+    }
+
+    /*
+     * Installs checkpointed device state into each device's pipeline when
+     * it is created, provided that happens before validUntilMillis.
+     */
+    public void restoreDeviceStates(Map<String, DeviceState> states, long validUntilMillis) {
+        restoredUntilMillis = validUntilMillis;
+        restoredStates.putAll(states);
+    }
+
+    /*
+     * Current load of every partition.
+     */
+    public List<PartitionStatus> getPartitionStatus() {
+        List<PartitionStatus> status = new ArrayList<>();
+        for (Partition partition : routing.partitions) {
+            status.add(new PartitionStatus(
+                    partition.index, partition.deviceCount, partition.queued.get(), partition.processedCount));
+        }
+        return status;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Partition partition : routing.partitions) {
+            partition.close();
+        }
+    }
+
+    /*
+     * One worker thread and the device state it owns.
+     */
+    private final class Partition {
+
+        private final int index;
+        private final ExecutorService worker;
+
+        // Queued samples (control tasks are not counted against the capacity)
+        private final AtomicInteger queued = new AtomicInteger();
+
+        // Owned by the worker thread
+        private final Map<String, RadarPipelineService> devices = new HashMap<>();
+        private final Map<String, List<Sample>> awaiting = new HashMap<>();
+
+        // Written by the worker thread only, read for status
+        private volatile int deviceCount;
+        private volatile long processedCount;
+
+        Partition(int index) {
+            this.index = index;
+            this.worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "aggregation-partition-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void offer(Sample sample) {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new RejectedExecutionException("Aggregation partition " + index + " is full");
+            }
+            try {
+                worker.execute(() -> {
+                    queued.decrementAndGet();
+                    process(sample);
+                });
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                throw e;
+            }
+        }
+
+        void control(Runnable task) {
+            worker.execute(task);
+        }
+
+        private void process(Sample sample) {
+            List<Sample> held = awaiting.get(sample.deviceId);
+            if (held != null) {
+                held.add(sample);
+                return;
+            }
+            run(sample);
+        }
+
+        private void run(Sample sample) {
+            try {
+                RadarPipelineService pipeline = devices.get(sample.deviceId);
+                if (pipeline == null) {
+                    pipeline = devicePipelineFactory.apply(deviceTargets.get(sample.deviceId));
+                    restore(sample.deviceId, pipeline);
+                    pipelines.put(sample.deviceId, pipeline);
+                    devices.put(sample.deviceId, pipeline);
+                    deviceCount = devices.size();
+                }
+                Map<String, Object> trace = pipeline.process(sample.radarData);
+                trace.put("partition", index);
+                processedCount++;
+                processed.increment();
+                sample.result.complete(trace);
+            } catch (RuntimeException e) {
+                sample.result.completeExceptionally(e);
+            }
+        }
+
+        private void restore(String deviceId, RadarPipelineService pipeline) {
+            DeviceState state = restoredStates.remove(deviceId);
+            if (state != null && System.currentTimeMillis() <= restoredUntilMillis) {
+                pipeline.getRadarDataCollectorService().restoreTrackerState(state.tracker());
+                pipeline.getEvidenceCaptureControllerService().restoreCaptureState(state.capture());
+            }
+        }
+
+        // The device is moving here; hold its samples until its state arrives
+        private void expect(String deviceId) {
+            awaiting.put(deviceId, new ArrayList<>());
+        }
+
+        // Hands moving devices' state to their new partitions
+        private void release(Map<String, Handoff> leaving) {
+            leaving.forEach((deviceId, handoff) -> {
+                RadarPipelineService pipeline = devices.remove(deviceId);
+                handoff.to.control(() -> handoff.to.install(deviceId, pipeline, handoff.done));
+            });
+            deviceCount = devices.size();
+        }
+
+        private void install(String deviceId, RadarPipelineService pipeline, CompletableFuture<Void> done) {
+            if (pipeline != null) {
+                devices.put(deviceId, pipeline);
+                deviceCount = devices.size();
+            }
+            List<Sample> held = awaiting.remove(deviceId);
+            if (held != null) {
+                held.forEach(this::run);
+            }
+            done.complete(null);
+        }
+
+        void close() {
+            worker.shutdown();
+            try {
+                if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Routing(ConsistentHashRing ring, Partition[] partitions) {
+    }
+
+    private record Sample(String deviceId, RadarData radarData, CompletableFuture<Map<String, Object>> result) {
+    }
+
+    private record Handoff(Partition to, CompletableFuture<Void> done) {
+    }
+
+    /*
+     * Checkpointed state of one device: its tracker and last capture
+     * command (null = none yet).
+     */
+    public record DeviceState(TrackerState tracker, Boolean capture) {
+    }
+
+    /*
+     * Devices owned, samples queued and samples processed by one partition.
+     */
+    public record PartitionStatus(int partition, int devices, int queued, long processed) {
+    }
+}
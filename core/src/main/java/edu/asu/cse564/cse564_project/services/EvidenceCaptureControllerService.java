@@ -0,0 +1,148 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.CaptureStateChange;
+import edu.asu.cse564.cse564_project.domain.EvidenceCaptureResult;
+import edu.asu.cse564.cse564_project.domain.PipelineEventType;
+import edu.asu.cse564.cse564_project.domain.SpeedContext;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.CaptureDecisionEvent;
+
+/*
+ * EvidenceCaptureControllerService
+ *
+ * Determines whether the camera and flash should be active based on vehicle
+ * distance and whether the SpeedContext should be forwarded for evidence
+ * packaging. The controller does not evaluate overspeed; it only reacts
+ * to position (in meters).
+ *
+ * Distance-based behavior:
+ *   1) distance <= -20m      : Not yet in capture zone → no command, no context
+ *   2) -20m < distance < 20m : Inside capture window → activate capture + forward context,
+ *                              unless a predicted capture already fired for this pass
+ *   3) distance >= 20m       : Leaving capture zone → stop capture, do not forward context
+ *
+ * Assumes SpeedViolationController will send at least one sample where
+ * distance >= +20m to trigger a stop-capture signal.
+ *
+ * The controller remembers the last capture command it issued and publishes
+ * a CaptureStateChange on the PipelineEventBus whenever the command flips.
+ *
+ * Samples before the window additionally schedule a predicted capture via
+ * the PredictiveCaptureService, so a vehicle that crosses the whole window
+ * between two radar samples is still captured at the trigger point. Any
+ * sample at or past the window cancels the prediction for that target.
+ */
+public class EvidenceCaptureControllerService {
+
+    // Capture window half-range in meters
+    public static final double CAPTURE_WINDOW_METERS = 20.0;
+
+    private final PipelineEventBusService eventBus;
+    private final PredictiveCaptureService predictiveCaptureService;
+
+    // Last capture command sent to camera + flash (null = none yet)
+    private volatile Boolean lastCaptureActive = null;
+
+    public EvidenceCaptureControllerService(
+            PipelineEventBusService eventBus,
+            PredictiveCaptureService predictiveCaptureService
+    ) {
+        this.eventBus = eventBus;
+        this.predictiveCaptureService = predictiveCaptureService;
+    }
+
+    /*
+     * Evaluates SpeedContext and determines capture activation and context forwarding.
+     * Returns an EvidenceCaptureResult describing the decision.
+     */
+    public EvidenceCaptureResult handleSpeedContext(SpeedContext context) {
+        CaptureDecisionEvent event = new CaptureDecisionEvent();
+        event.begin();
+        EvidenceCaptureResult result = decide(context);
+        event.end();
+
+        if (event.shouldCommit() && context != null) {
+            event.targetId = context.getTargetId();
+            event.zone = RadarDataCollectorService.zoneOf(context.getDistanceMeters());
+            event.distanceMeters = context.getDistanceMeters();
+            event.decision = result.getSpeedContext() != null ? "CAPTURE"
+                    : result.getCaptureActive() == null ? "BEFORE_WINDOW"
+                    : result.getCaptureActive() ? "PREDICTED_CAPTURED" : "LEFT_WINDOW";
+            event.commit();
+        }
+        return result;
+    }
+
+    private EvidenceCaptureResult decide(SpeedContext context) {
+        if (context == null) {
+            return EvidenceCaptureResult.builder().build();
+        }
+
+        double distanceMeters = context.getDistanceMeters();
+
+        // Feed trigger-accuracy measurement for an earlier predicted capture
+        predictiveCaptureService.observe(context);
+
+        // Case 1: Vehicle is before the capture window
+        if (distanceMeters <= -CAPTURE_WINDOW_METERS) {
+            predictiveCaptureService.schedule(context, this::onPredictedCapture);
+            return EvidenceCaptureResult.builder()
+                    .captureActive(null)
+                    .speedContext(null)
+                    .build();
+        }
+
+        // Case 2: Vehicle is inside the capture window
+        if (distanceMeters > -CAPTURE_WINDOW_METERS && distanceMeters < CAPTURE_WINDOW_METERS) {
+            predictiveCaptureService.cancel(context.getTargetId());
+            updateCaptureState(true, context);
+            // The predicted capture already took this pass's evidence
+            boolean captured = predictiveCaptureService.hasFired(context);
+            return EvidenceCaptureResult.builder()
+                    .captureActive(Boolean.TRUE)
+                    .speedContext(captured ? null : context)
+                    .build();
+        }
+
+        // Case 3: Vehicle has passed beyond the capture zone
+        predictiveCaptureService.cancel(context.getTargetId());
+        predictiveCaptureService.endPass(context.getTargetId());
+        updateCaptureState(false, context);
+        return EvidenceCaptureResult.builder()
+                .captureActive(Boolean.FALSE)
+                .speedContext(null)
+                .build();
+    }
+
+    public Boolean getLastCaptureActive() {
+        return lastCaptureActive;
+    }
+
+    /*
+     * Restores the last capture command, e.g. from a checkpoint, without
+     * publishing a state change.
+     */
+    public void restoreCaptureState(Boolean captureActive) {
+        lastCaptureActive = captureActive;
+    }
+
+    // Called when a predicted capture fires between two radar samples
+    private void onPredictedCapture(SpeedContext projectedContext) {
+        updateCaptureState(true, projectedContext);
+    }
+
+    // Publishes a CaptureStateChange only when the command actually flips
+    private void updateCaptureState(boolean captureActive, SpeedContext context) {
+        Boolean previous = lastCaptureActive;
+        lastCaptureActive = captureActive;
+        if (previous != null && previous == captureActive) {
+            return;
+        }
+
+        eventBus.publish(PipelineEventType.CAPTURE_STATE, CaptureStateChange.builder()
+                .captureActive(captureActive)
+                .targetId(context.getTargetId())
+                .distanceMeters(context.getDistanceMeters())
+                .timestampMillis(System.currentTimeMillis())
+                .build());
+    }
+}
@@ -0,0 +1,266 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.CameraData;
+import edu.asu.cse564.cse564_project.domain.PipelineEventType;
+import edu.asu.cse564.cse564_project.domain.PlateInfo;
+import edu.asu.cse564.cse564_project.domain.Sighting;
+import edu.asu.cse564.cse564_project.domain.SpeedContext;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.util.ExpiringCache;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.PackagingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * EvidenceCollectorAndPackagerService
+ *
+ * Aggregates data from multiple CPS components to create a complete
+ * ViolationRecord. It receives contextual speed information, ANPR
+ * results, and a captured image frame, then combines them into a
+ * structured violation record for backend upload.
+ *
+ * Only overspeed events with valid inputs will produce a record.
+ * Missing inputs or non-overspeed events result in Optional.empty().
+ *
+ * A metadata-only ViolationSummary of each new record is published on
+ * the PipelineEventBus for dashboards.
+ *
+ * The frame goes to the EvidenceImageEncoderService and packaging returns
+ * without waiting for it. Once the JPEG is ready, the record is submitted
+ * to the EvidenceIntegrityService, which hashes and chains it (over the
+ * image as stored) off the hot path, and the image is moved into the
+ * EvidenceImageStore. The record only ever carries the image's content
+ * reference (imageRef), keeping heap usage small. A shared-memory camera
+ * frame is copied out of its ring slot here, the only copy it gets on its
+ * way from the camera to the encoder.
+ *
+ * Repeat-offender suppression: once a plate has a record, further captures
+ * of that plate within the cooldown are appended to that record as
+ * Sightings and the same (updated) record is returned, so the uplink sends
+ * a metadata update instead of a new violation with a new image. Each
+ * Sighting is sealed as its own entry in the evidence hash chain, since
+ * the record was sealed before it existed. Recent plates are kept in an
+ * ExpiringCache (bounded entry count, expiry on a timer wheel); when it is
+ * full, new plates are simply not suppressed. Off by default: with the
+ * mock ANPR's few plates, it would fold most violations into a handful of
+ * records.
+ *
+ * Metrics (Micrometer):
+ *   cps.suppression.suppressed        — captures merged as sightings
+ *   cps.suppression.sightings.dropped — sightings beyond the per-record cap
+ *   cps.suppression.tracked.plates    — plates currently in cooldown
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.suppression.enabled=false
+ *     cps.suppression.cooldown-seconds=300
+ *     cps.suppression.max-plates=10000
+ *     cps.suppression.max-sightings-per-record=32
+ */
+public class EvidenceCollectorAndPackagerService implements AutoCloseable {
+
+    private final PipelineEventBusService eventBus;
+    private final EvidenceIntegrityService evidenceIntegrityService;
+    private final ViolationIdGeneratorService violationIdGeneratorService;
+    private final EvidenceImageStoreService evidenceImageStoreService;
+    private final EvidenceImageEncoderService evidenceImageEncoderService;
+
+    // plate → record in cooldown (null when suppression is disabled)
+    private final ExpiringCache<String, ViolationRecord> recentByPlate;
+    private final int maxSightingsPerRecord;
+
+    private final Counter suppressed;
+    private final Counter sightingsDropped;
+
+    public EvidenceCollectorAndPackagerService(
+            PipelineEventBusService eventBus,
+            EvidenceIntegrityService evidenceIntegrityService,
+            ViolationIdGeneratorService violationIdGeneratorService,
+            EvidenceImageStoreService evidenceImageStoreService,
+            EvidenceImageEncoderService evidenceImageEncoderService,
+            MeterRegistry meterRegistry,
+            boolean suppressionEnabled,
+            long cooldownSeconds,
+            int maxPlates,
+            int maxSightingsPerRecord
+    ) {
+        this.eventBus = eventBus;
+        this.evidenceIntegrityService = evidenceIntegrityService;
+        this.violationIdGeneratorService = violationIdGeneratorService;
+        this.evidenceImageStoreService = evidenceImageStoreService;
+        this.evidenceImageEncoderService = evidenceImageEncoderService;
+
+        this.recentByPlate = suppressionEnabled && cooldownSeconds > 0
+                ? new ExpiringCache<>("plate-suppression-expiry", cooldownSeconds, TimeUnit.SECONDS, maxPlates)
+                : null;
+        this.maxSightingsPerRecord = Math.max(0, maxSightingsPerRecord);
+
+        this.suppressed = meterRegistry.counter("cps.suppression.suppressed");
+        this.sightingsDropped = meterRegistry.counter("cps.suppression.sightings.dropped");
+        meterRegistry.gauge("cps.suppression.tracked.plates", this,
+                packager -> packager.recentByPlate == null ? 0 : packager.recentByPlate.size());
+    }
+
+    /*
+     * Creates a ViolationRecord from SpeedContext, PlateInfo, and CameraData.
+     * Returns Optional.empty() if any input is missing or if the event is not overspeed.
+     * For a plate still in cooldown, returns its existing record with this
+     * capture appended as a Sighting.
+     */
+    public Optional<ViolationRecord> buildViolationRecord(
+            SpeedContext speedContext,
+            PlateInfo plateInfo,
+            CameraData cameraData
+    ) {
+        PackagingEvent event = new PackagingEvent();
+        event.begin();
+        event.outcome = "REJECTED";
+        Optional<ViolationRecord> record = build(speedContext, plateInfo, cameraData, event);
+        event.end();
+
+        if (event.shouldCommit()) {
+            if (speedContext != null) {
+                event.targetId = speedContext.getTargetId();
+                event.zone = RadarDataCollectorService.zoneOf(speedContext.getDistanceMeters());
+            }
+            event.violationId = record.map(ViolationRecord::getViolationId).orElse(null);
+            event.commit();
+        }
+        return record;
+    }
+
+    // Sets event.outcome to CREATED or MERGED when a record is returned
+    private Optional<ViolationRecord> build(
+            SpeedContext speedContext,
+            PlateInfo plateInfo,
+            CameraData cameraData,
+            PackagingEvent event
+    ) {
+        // Reject if any required input is missing
+        if (speedContext == null || plateInfo == null || cameraData == null) {
+            return Optional.empty();
+        }
+
+        // Defensive check — ensures only overspeed cases generate evidence
+        if (!speedContext.isOverspeed()) {
+            return Optional.empty();
+        }
+
+        // Repeat offender within the cooldown: merge instead of creating a record
+        String plateNumber = plateInfo.getPlateNumber();
+        if (recentByPlate != null && plateNumber != null) {
+            Optional<ViolationRecord> existing = recentByPlate.get(plateNumber);
+            if (existing.isPresent()) {
+                event.outcome = "MERGED";
+                return Optional.of(mergeSighting(existing.get(), speedContext, cameraData));
+            }
+        }
+
+        // Generate a unique, time-ordered local violation ID
+        String violationId = violationIdGeneratorService.nextIdString();
+
+        // Assemble the final violation record; its image follows once encoded
+        ViolationRecord record = ViolationRecord.builder()
+                .violationId(violationId)
+                .plateNumber(plateInfo.getPlateNumber())
+                .speedMph(speedContext.getSpeedMph())
+                .distanceMiles(speedContext.getDistanceMiles())
+                .distanceMeters(speedContext.getDistanceMeters())
+                .timestampMillis(speedContext.getTimestampMillis())
+                .targetId(speedContext.getTargetId())
+                .build();
+
+        // Seal asynchronously; packaging never waits for the encoder or the hash
+        byte[] frame = cameraData.toImageBytes();
+        if (frame == null) {
+            evidenceIntegrityService.submit(record);
+        } else {
+            evidenceImageEncoderService.submit(violationId, frame, image -> attachImage(record, image));
+        }
+
+        if (recentByPlate != null && plateNumber != null) {
+            recentByPlate.putIfAbsent(plateNumber, record);
+        }
+
+        eventBus.publish(PipelineEventType.VIOLATION, ViolationSummary.of(record));
+
+        event.outcome = "CREATED";
+        return Optional.of(record);
+    }
+
+    private ViolationRecord mergeSighting(ViolationRecord record, SpeedContext speedContext, CameraData cameraData) {
+        suppressed.increment();
+
+        Sighting sighting = Sighting.builder()
+                .speedMph(speedContext.getSpeedMph())
+                .distanceMeters(speedContext.getDistanceMeters())
+                .timestampMillis(speedContext.getTimestampMillis())
+                .targetId(speedContext.getTargetId())
+                .build();
+
+        int sightingNumber = 0;
+        ViolationSummary summary;
+        synchronized (record) {
+            List<Sighting> sightings = record.getSightings();
+            if (sightings == null) {
+                sightings = new ArrayList<>();
+                record.setSightings(sightings);
+            }
+            if (sightings.size() < maxSightingsPerRecord) {
+                sightings.add(sighting);
+                sightingNumber = sightings.size();
+            } else {
+                sightingsDropped.increment();
+            }
+            summary = ViolationSummary.of(record);
+        }
+
+        // The record is already sealed; the sighting is sealed as its own
+        // chain entry once its imageRef is final
+        byte[] frame = cameraData.toImageBytes();
+        if (sightingNumber > 0) {
+            String violationId = record.getViolationId();
+            int number = sightingNumber;
+            if (frame == null) {
+                evidenceIntegrityService.submitSighting(violationId, number, sighting);
+            } else {
+                evidenceImageEncoderService.submit(violationId, frame, image -> {
+                    String imageRef = evidenceImageStoreService.put(image);
+                    synchronized (record) {
+                        sighting.setImageRef(imageRef);
+                        evidenceIntegrityService.submitSighting(violationId, number, sighting);
+                    }
+                });
+            }
+        }
+
+        eventBus.publish(PipelineEventType.VIOLATION, summary);
+        return record;
+    }
+
+    // Runs once the image is encoded: seal the record over the stored image,
+    // then move the image into the store
+    private void attachImage(ViolationRecord record, byte[] image) {
+        String imageRef = evidenceImageStoreService.put(image);
+        synchronized (record) {
+            record.setImageBytes(image);
+            evidenceIntegrityService.submit(record);
+            record.setImageBytes(null);
+            record.setImageRef(imageRef);
+            record.setImageSizeBytes(image.length);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (recentByPlate != null) {
+            recentByPlate.close();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package edu.asu.cse564.cse564_project.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/*
+ * EvidenceImageEncoderService
+ *
+ * Converts evidence frames to JPEG after packaging, so the evidence store
+ * and the uplink carry compressed images while the radar thread never
+ * waits for an encoder.
+ *
+ * The packager submits each frame together with what to do with the
+ * result (seal the record, store the image). Frames are encoded with JDK
+ * ImageIO on a bounded pool of "evidence-encode-N" workers, each reusing
+ * one JPEG ImageWriter and output buffer. Frames the camera already
+ * delivered as JPEG are handed over as they are, on the submitting thread.
+ * Other frames are decoded with ImageIO (PNG, BMP, ...) or, failing that,
+ * read as raw 8-bit grayscale rows of cps.encode.raw-width pixels. A frame
+ * that is neither, or fails to encode, is kept as captured.
+ *
+ * A violation with images still being encoded is not ready for upload:
+ * whenReady() completes once they have all been handed over, and the
+ * BackendUplinkController only queues the record then. When the work
+ * queue is full the frame is handed over unencoded rather than waited
+ * for.
+ *
+ * Metrics (Micrometer):
+ *   cps.encode.frames{result}        (encoded, passthrough, failed, rejected)
+ *   cps.encode.time                  (decode + encode time per encoded frame)
+ *   cps.encode.bytes{stage}          (frame size before (raw) and after (jpeg) encoding)
+ *   cps.encode.queue.depth           (frames waiting for a worker)
+ *   cps.encode.pending               (violations not yet ready for upload)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.encode.enabled=true
+ *     cps.encode.quality=0.85
+ *     cps.encode.worker-threads=2
+ *     cps.encode.queue-capacity=64
+ *     cps.encode.raw-width=640
+ */
+public class EvidenceImageEncoderService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidenceImageEncoderService.class);
+
+    private static final ComponentColorModel GRAY = new ComponentColorModel(
+            ColorSpace.getInstance(ColorSpace.CS_GRAY), false, false, Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+
+    private final boolean enabled;
+    private final float quality;
+    private final int rawWidth;
+
+    private final ThreadPoolExecutor encodingPool;
+    private final ThreadLocal<JpegEncoder> encoders;
+    private final Queue<JpegEncoder> allEncoders = new ConcurrentLinkedQueue<>();
+
+    // violationId → completes when all of its submitted images are handed over
+    private final Map<String, CompletableFuture<Void>> pendingByViolation = new ConcurrentHashMap<>();
+
+    private final Counter encoded;
+    private final Counter passedThrough;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer encodeTimer;
+    private final DistributionSummary rawBytes;
+    private final DistributionSummary jpegBytes;
+
+    public EvidenceImageEncoderService(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            double quality,
+            int workerThreads,
+            int queueCapacity,
+            int rawWidth
+    ) {
+        this.enabled = enabled;
+        this.quality = (float) Math.max(0.0, Math.min(1.0, quality));
+        this.rawWidth = Math.max(0, rawWidth);
+
+        this.encoded = meterRegistry.counter("cps.encode.frames", "result", "encoded");
+        this.passedThrough = meterRegistry.counter("cps.encode.frames", "result", "passthrough");
+        this.failed = meterRegistry.counter("cps.encode.frames", "result", "failed");
+        this.rejected = meterRegistry.counter("cps.encode.frames", "result", "rejected");
+        this.encodeTimer = meterRegistry.timer("cps.encode.time");
+        this.rawBytes = DistributionSummary.builder("cps.encode.bytes")
+                .tag("stage", "raw").baseUnit("bytes").register(meterRegistry);
+        this.jpegBytes = DistributionSummary.builder("cps.encode.bytes")
+                .tag("stage", "jpeg").baseUnit("bytes").register(meterRegistry);
+        meterRegistry.gauge("cps.encode.pending", pendingByViolation, Map::size);
+
+        this.encoders = ThreadLocal.withInitial(() -> {
+            JpegEncoder encoder = new JpegEncoder(this.quality);
+            allEncoders.add(encoder);
+            return encoder;
+        });
+
+        if (!enabled) {
+            this.encodingPool = null;
+            return;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(1, workerThreads);
+        this.encodingPool = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "evidence-encode-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("cps.encode.queue.depth", encodingPool, pool -> pool.getQueue().size());
+    }
+
+    /*
+     * Encodes an evidence frame of the given violation and passes the
+     * result (the JPEG, or the frame as captured) to onEncoded, on a worker
+     * thread unless there is nothing to encode. The caller must not modify
+     * the frame afterwards.
+     */
+    public void submit(String violationId, byte[] frame, Consumer<byte[]> onEncoded) {
+        if (!enabled || isJpeg(frame)) {
+            if (enabled) {
+                passedThrough.increment();
+            }
+            onEncoded.accept(frame);
+            return;
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> pending = pendingByViolation.merge(violationId, done,
+                (previous, next) -> CompletableFuture.allOf(previous, next));
+        pending.whenComplete((ignored, error) -> pendingByViolation.remove(violationId, pending));
+
+        try {
+            encodingPool.execute(() -> handOver(encode(frame), onEncoded, done));
+        } catch (RejectedExecutionException e) {
+            // Queue full: keep the frame as captured rather than stall packaging
+            rejected.increment();
+            handOver(frame, onEncoded, done);
+        }
+    }
+
+    /*
+     * Completes once every image submitted for the violation so far has
+     * been handed over; already complete if none is pending.
+     */
+    public CompletableFuture<Void> whenReady(String violationId) {
+        CompletableFuture<Void> pending = violationId == null ? null : pendingByViolation.get(violationId);
+        return pending == null ? CompletableFuture.completedFuture(null) : pending;
+    }
+
+    public int getPendingCount() {
+        return pendingByViolation.size();
+    }
+
+    @Override
+    public void close() {
+        if (encodingPool != null) {
+            // Let queued frames finish so their records still reach the uplink
+            encodingPool.shutdown();
+            try {
+                if (!encodingPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("{} evidence frames still queued for encoding at shutdown",
+                            encodingPool.getQueue().size());
+                    encodingPool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        allEncoders.forEach(JpegEncoder::dispose);
+    }
+
+    private void handOver(byte[] image, Consumer<byte[]> onEncoded, CompletableFuture<Void> done) {
+        try {
+            onEncoded.accept(image);
+        } catch (RuntimeException e) {
+            log.warn("Failed to hand over encoded evidence image", e);
+        } finally {
+            done.complete(null);
+        }
+    }
+
+    // Runs on a worker; returns the frame unchanged if it cannot be encoded
+    private byte[] encode(byte[] frame) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = decode(frame);
+            if (image == null) {
+                passedThrough.increment();
+                return frame;
+            }
+            byte[] jpeg = encoders.get().encode(image);
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rawBytes.record(frame.length);
+            jpegBytes.record(jpeg.length);
+            encoded.increment();
+            return jpeg;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Evidence frame of {} bytes could not be encoded; keeping it as captured", frame.length, e);
+            return frame;
+        }
+    }
+
+    // An ImageIO-readable frame, a raw grayscale frame (no copy), or null
+    private BufferedImage decode(byte[] frame) throws IOException {
+        BufferedImage image = ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(frame)));
+        if (image != null) {
+            return image.getColorModel().hasAlpha() ? withoutAlpha(image) : image;
+        }
+        if (rawWidth == 0 || frame.length < rawWidth || frame.length % rawWidth != 0) {
+            return null;
+        }
+        int height = frame.length / rawWidth;
+        return new BufferedImage(GRAY, Raster.createInterleavedRaster(
+                new DataBufferByte(frame, frame.length), rawWidth, height, rawWidth, 1, new int[]{0}, null),
+                false, null);
+    }
+
+    // JPEG has no alpha channel
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.createGraphics().drawImage(image, 0, 0, null);
+        return rgb;
+    }
+
+    private static boolean isJpeg(byte[] frame) {
+        return frame.length >= 2 && frame[0] == (byte) 0xFF && frame[1] == (byte) 0xD8;
+    }
+
+    /*
+     * One worker's JPEG writer and output buffer, reused for every frame.
+     */
+    private static final class JpegEncoder {
+
+        private final ImageWriter writer;
+        private final ImageWriteParam param;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+        JpegEncoder(float quality) {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+            if (!writers.hasNext()) {
+                throw new IllegalStateException("No JPEG ImageWriter available");
+            }
+            this.writer = writers.next();
+            this.param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+        }
+
+        byte[] encode(BufferedImage image) throws IOException {
+            out.reset();
+            try (ImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.setOutput(null);
+            }
+            return out.toByteArray();
+        }
+
+        void dispose() {
+            writer.dispose();
+        }
+    }
+}
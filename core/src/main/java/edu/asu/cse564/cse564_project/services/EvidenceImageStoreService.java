@@ -0,0 +1,367 @@
+package edu.asu.cse564.cse564_project.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * EvidenceImageStoreService
+ *
+ * Two-tier store for evidence images so that ViolationRecords only hold a
+ * reference (the image's SHA-256 hex digest) instead of the image bytes.
+ *
+ *   Hot tier  : size-bounded in-memory LRU cache of recent images
+ *   Cold tier : content-addressed files  <image-dir>/<ab>/<abcdef...>
+ *               read back through read-only memory-mapped I/O
+ *
+ * put() returns immediately: the image enters the hot tier and is queued
+ * for a background disk write. Until that write completes the image is
+ * pinned in a pending map, so it stays retrievable even if the LRU evicts
+ * it. Identical images share one file; storing an image that is already
+ * on disk refreshes the file's modification time, so retention counts from
+ * the newest record that references it.
+ *
+ * A failed disk write leaves the image pinned and is retried, after
+ * RETRY_INITIAL_MILLIS and then doubling up to RETRY_MAX_MILLIS, until it
+ * succeeds. Until then the image stays retrievable from memory, so a
+ * record awaiting upload never loses its only copy.
+ *
+ * A periodic sweep deletes cold files older than the retention period and,
+ * if a cold-tier size cap is set, the oldest files beyond that cap. Images
+ * still referenced by records awaiting upload (setRetainedRefs) are never
+ * deleted, even if that leaves the tier over its cap.
+ *
+ * Disk writes go to a single writer thread, or, with
+ * cps.threads.virtual.enabled=true, to one virtual thread per image so
+ * that slow writes overlap instead of queueing behind each other.
+ *
+ * Metrics (Micrometer):
+ *   cps.evidence.images.reads{tier}        (hot, cold, miss)
+ *   cps.evidence.images.cold.evictions
+ *   cps.evidence.images.write.failures     (failed disk writes, each retried)
+ *   cps.evidence.images.hot.bytes          (gauge)
+ *   cps.evidence.images.pending.writes     (gauge)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.evidence.image-dir=${java.io.tmpdir}/cse564-evidence
+ *     cps.evidence.hot-cache-max-bytes=67108864
+ *     cps.evidence.retention-hours=720
+ *     cps.evidence.cold-max-bytes=0            (0 = unlimited)
+ *     cps.evidence.sweep-interval-minutes=10
+ *     cps.threads.virtual.enabled=false
+ */
+public class EvidenceImageStoreService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidenceImageStoreService.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    // Backoff between attempts to write an image that failed to reach the disk
+    private static final long RETRY_INITIAL_MILLIS = 1000;
+    private static final long RETRY_MAX_MILLIS = 60_000;
+
+    private final Path imageDir;
+    private final long hotCacheMaxBytes;
+    private final Duration retention;
+    private final long coldMaxBytes;
+
+    // Hot tier: access-ordered LRU, guarded by its own monitor
+    private final LinkedHashMap<String, byte[]> hotCache = new LinkedHashMap<>(256, 0.75f, true);
+    private long hotCacheBytes = 0;
+
+    // Images queued for the cold tier but not yet on disk (failed writes included)
+    private final Map<String, byte[]> pendingWrites = new ConcurrentHashMap<>();
+
+    // Refs the sweep must keep (images of records not yet uploaded)
+    private volatile Supplier<Set<String>> retainedRefs = Set::of;
+
+    private final ExecutorService diskWriter;
+    // Runs the periodic sweep and schedules write retries
+    private final ScheduledExecutorService retentionSweeper;
+
+    private final Counter hotHits;
+    private final Counter coldHits;
+    private final Counter misses;
+    private final Counter coldEvictions;
+    private final Counter writeFailures;
+
+    public EvidenceImageStoreService(
+            MeterRegistry meterRegistry,
+            String imageDir,
+            long hotCacheMaxBytes,
+            long retentionHours,
+            long coldMaxBytes,
+            long sweepIntervalMinutes,
+            boolean virtualThreads
+    ) {
+        this.imageDir = Path.of(imageDir);
+        this.hotCacheMaxBytes = Math.max(0, hotCacheMaxBytes);
+        this.retention = Duration.ofHours(retentionHours);
+        this.coldMaxBytes = coldMaxBytes;
+
+        try {
+            Files.createDirectories(this.imageDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create evidence image directory " + imageDir, e);
+        }
+
+        this.hotHits = meterRegistry.counter("cps.evidence.images.reads", "tier", "hot");
+        this.coldHits = meterRegistry.counter("cps.evidence.images.reads", "tier", "cold");
+        this.misses = meterRegistry.counter("cps.evidence.images.reads", "tier", "miss");
+        this.coldEvictions = meterRegistry.counter("cps.evidence.images.cold.evictions");
+        this.writeFailures = meterRegistry.counter("cps.evidence.images.write.failures");
+        meterRegistry.gauge("cps.evidence.images.hot.bytes", this, store -> store.getHotCacheBytes());
+        meterRegistry.gauge("cps.evidence.images.pending.writes", pendingWrites, Map::size);
+
+        this.diskWriter = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("evidence-image-writer-", 0).factory())
+                : Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "evidence-image-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.retentionSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "evidence-image-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, sweepIntervalMinutes);
+        this.retentionSweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MINUTES);
+    }
+
+    /*
+     * Stores an image and returns its content reference. The caller must
+     * not modify the array afterwards.
+     */
+    public String put(byte[] image) {
+        String ref = HEX.formatHex(sha256().digest(image));
+        cacheHot(ref, image);
+
+        if (!touchCold(ref) && pendingWrites.putIfAbsent(ref, image) == null) {
+            diskWriter.execute(() -> writeCold(ref, image, RETRY_INITIAL_MILLIS));
+        }
+        return ref;
+    }
+
+    /*
+     * Sets the refs the sweep must not delete; queried once per sweep.
+     */
+    public void setRetainedRefs(Supplier<Set<String>> retainedRefs) {
+        this.retainedRefs = retainedRefs == null ? Set::of : retainedRefs;
+    }
+
+    /*
+     * Returns a read-only view of the image: straight from the hot tier,
+     * or memory-mapped from its cold file.
+     */
+    public Optional<ByteBuffer> get(String ref) {
+        if (ref == null) {
+            return Optional.empty();
+        }
+
+        byte[] hot;
+        synchronized (hotCache) {
+            hot = hotCache.get(ref);
+        }
+        if (hot == null) {
+            hot = pendingWrites.get(ref);
+        }
+        if (hot != null) {
+            hotHits.increment();
+            return Optional.of(ByteBuffer.wrap(hot).asReadOnlyBuffer());
+        }
+
+        Path path = pathFor(ref);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            coldHits.increment();
+            return Optional.of(mapped);
+        } catch (NoSuchFileException e) {
+            misses.increment();
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read evidence image " + ref, e);
+        }
+    }
+
+    /*
+     * Copies the image into a new array (for callers that need byte[]).
+     */
+    public Optional<byte[]> getBytes(String ref) {
+        return get(ref).map(view -> {
+            byte[] bytes = new byte[view.remaining()];
+            view.get(bytes);
+            return bytes;
+        });
+    }
+
+    public long getHotCacheBytes() {
+        synchronized (hotCache) {
+            return hotCacheBytes;
+        }
+    }
+
+    /*
+     * Applies retention and the cold-tier size cap. Runs periodically;
+     * exposed for tests and manual maintenance.
+     */
+    public void sweep() {
+        List<ColdFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(imageDir, 2)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .forEach(path -> {
+                        try {
+                            files.add(new ColdFile(path, Files.getLastModifiedTime(path), Files.size(path)));
+                        } catch (IOException e) {
+                            // File vanished between listing and stat; ignore
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Evidence image retention sweep failed", e);
+            return;
+        }
+
+        files.sort(Comparator.comparing(ColdFile::modified));
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - retention.toMillis());
+        long totalBytes = files.stream().mapToLong(ColdFile::size).sum();
+        Set<String> retained = retainedRefs.get();
+
+        for (ColdFile file : files) {
+            boolean expired = file.modified().compareTo(cutoff) < 0;
+            boolean overCap = coldMaxBytes > 0 && totalBytes > coldMaxBytes;
+            if (!expired && !overCap) {
+                break;
+            }
+            if (retained.contains(file.path().getFileName().toString())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file.path());
+                totalBytes -= file.size();
+                coldEvictions.increment();
+            } catch (IOException e) {
+                log.warn("Cannot delete evidence image {}", file.path(), e);
+            }
+        }
+    }
+
+    private void cacheHot(String ref, byte[] image) {
+        synchronized (hotCache) {
+            byte[] previous = hotCache.put(ref, image);
+            if (previous != null) {
+                hotCacheBytes -= previous.length;
+            }
+            hotCacheBytes += image.length;
+
+            Iterator<Map.Entry<String, byte[]>> eldest = hotCache.entrySet().iterator();
+            while (hotCacheBytes > hotCacheMaxBytes && eldest.hasNext()) {
+                hotCacheBytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    // Refreshes the cold file's modification time; false if it is not on disk
+    private boolean touchCold(String ref) {
+        try {
+            Files.setLastModifiedTime(pathFor(ref), FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            // Not known to be on disk: write it rather than risk losing it
+            log.warn("Cannot refresh evidence image {}", ref, e);
+            return false;
+        }
+    }
+
+    // Runs on the disk writer: write to a temp file, then atomically publish it
+    private void writeCold(String ref, byte[] image, long retryMillis) {
+        Path target = pathFor(ref);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(ref + ".tmp");
+            Files.write(temp, image);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // Stays pinned in pendingWrites until a retry succeeds
+            writeFailures.increment();
+            log.error("Cannot persist evidence image {}; retrying in {} ms", ref, retryMillis, e);
+            retryCold(ref, image, retryMillis);
+            return;
+        }
+        pendingWrites.remove(ref);
+    }
+
+    private void retryCold(String ref, byte[] image, long retryMillis) {
+        long nextRetryMillis = Math.min(retryMillis * 2, RETRY_MAX_MILLIS);
+        try {
+            retentionSweeper.schedule(
+                    () -> diskWriter.execute(() -> writeCold(ref, image, nextRetryMillis)),
+                    retryMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the image is lost with the process
+            log.error("Evidence image {} not persisted before shutdown", ref);
+        }
+    }
+
+    private Path pathFor(String ref) {
+        return imageDir.resolve(ref.substring(0, 2)).resolve(ref);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        retentionSweeper.shutdownNow();
+        diskWriter.shutdown();
+        try {
+            // Let queued evidence reach the disk before the process exits
+            diskWriter.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ColdFile(Path path, FileTime modified, long size) {
+    }
+}
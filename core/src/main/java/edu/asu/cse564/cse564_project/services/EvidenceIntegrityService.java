@@ -0,0 +1,400 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.EvidenceBatch;
+import edu.asu.cse564.cse564_project.domain.EvidenceProof;
+import edu.asu.cse564.cse564_project.domain.EvidenceSeal;
+import edu.asu.cse564.cse564_project.domain.Sighting;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.MerkleTree;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * EvidenceIntegrityService
+ *
+ * Makes packaged evidence tamper-evident without slowing down packaging:
+ *
+ *   1) Record hash  — SHA-256 over the canonical binary metadata
+ *                     (ViolationRecordCodec frame without the image)
+ *                     followed by the raw image bytes. Computed in
+ *                     parallel on a bounded worker pool.
+ *   2) Hash chain   — records are linked in submission order per device:
+ *                     chain[n] = SHA-256(chain[n-1] || recordHash[n] || n).
+ *                     Hashes may finish out of order; linking waits on the
+ *                     previous link through a chain of futures, so the
+ *                     order is preserved without blocking any thread.
+ *   3) Merkle batch — every cps.integrity.batch-size records (or after
+ *                     cps.integrity.batch-max-age-millis) the open batch is
+ *                     closed and a Merkle root over its record hashes is
+ *                     computed, so one record can be verified in O(log n).
+ *
+ * A Sighting merged into an already sealed record is sealed as an entry of
+ * its own (submitSighting), chained after whatever was sealed before it:
+ * its hash covers the violation ID, the sighting number, the sighting's
+ * data and its imageRef (the SHA-256 of its stored image).
+ *
+ * The packager only snapshots the metadata and submits; it never waits for
+ * a hash. If the worker queue is full, or the service has been closed,
+ * the submitting thread hashes the record itself rather than dropping
+ * evidence, so the chain never stalls.
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.device.id=RSU-001
+ *     cps.integrity.worker-threads=2
+ *     cps.integrity.queue-capacity=1024
+ *     cps.integrity.batch-size=64
+ *     cps.integrity.batch-max-age-millis=60000
+ *     cps.integrity.retained-batches=1024
+ */
+public class EvidenceIntegrityService implements AutoCloseable {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String deviceId;
+    private final int batchSize;
+    private final int retainedBatches;
+
+    private final ThreadPoolExecutor hashingPool;
+    private final ScheduledExecutorService batchCloser;
+
+    // Tail of the hash chain; each new link completes after the previous one
+    private CompletableFuture<byte[]> chainTail;
+    private long nextSequence = 0;
+
+    // Open batch being filled by the linker (guarded by batchLock)
+    private final Object batchLock = new Object();
+    private final List<EvidenceSeal> openBatch = new ArrayList<>();
+    private final List<byte[]> openLeaves = new ArrayList<>();
+    private long nextBatchIndex = 0;
+
+    // Closed batches (oldest evicted first) and their trees
+    private final Map<Long, ClosedBatch> closedBatches =
+            Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // sealKey(violationId, sightingNumber) → seal, for proof lookups
+    private final Map<String, EvidenceSeal> sealsByKey = new ConcurrentHashMap<>();
+
+    private final Timer hashTimer;
+    private final Counter sealedCounter;
+    private final Counter callerRunsCounter;
+
+    public EvidenceIntegrityService(
+            MeterRegistry meterRegistry,
+            String deviceId,
+            int workerThreads,
+            int queueCapacity,
+            int batchSize,
+            long batchMaxAgeMillis,
+            int retainedBatches
+    ) {
+        this.deviceId = deviceId;
+        this.batchSize = Math.max(1, batchSize);
+        this.retainedBatches = Math.max(1, retainedBatches);
+        this.chainTail = CompletableFuture.completedFuture(genesisHash(deviceId));
+
+        this.hashTimer = meterRegistry.timer("cps.integrity.hash");
+        this.sealedCounter = meterRegistry.counter("cps.integrity.sealed");
+        this.callerRunsCounter = meterRegistry.counter("cps.integrity.caller.runs");
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.hashingPool = new ThreadPoolExecutor(
+                Math.max(1, workerThreads), Math.max(1, workerThreads),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "evidence-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> {
+                    // Queue full or shut down: never drop evidence, hash on the
+                    // caller instead. A dropped task would leave its link, and
+                    // every link chained after it, incomplete forever.
+                    callerRunsCounter.increment();
+                    task.run();
+                });
+        meterRegistry.gauge("cps.integrity.queue.depth", hashingPool, pool -> pool.getQueue().size());
+
+        this.batchCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "evidence-batch-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, batchMaxAgeMillis);
+        this.batchCloser.scheduleAtFixedRate(this::closeOpenBatch, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Queues a freshly packaged record for hashing and chaining. Returns
+     * immediately; the seal becomes available through getSeal() once the
+     * record has been linked into the chain.
+     */
+    public CompletableFuture<EvidenceSeal> submit(ViolationRecord record) {
+        // Snapshot now: later stages may mutate the record object
+        return enqueue(record.getViolationId(), 0, canonicalMetadata(record), record.getImageBytes());
+    }
+
+    /*
+     * Queues the n-th sighting (1-based) merged into a record for hashing
+     * and chaining, like submit(). Call once its imageRef is final.
+     */
+    public CompletableFuture<EvidenceSeal> submitSighting(String violationId, int sightingNumber,
+                                                          Sighting sighting) {
+        return enqueue(violationId, sightingNumber, canonicalSighting(violationId, sightingNumber, sighting), null);
+    }
+
+    public Optional<EvidenceSeal> getSeal(String violationId) {
+        return Optional.ofNullable(sealsByKey.get(sealKey(violationId, 0)));
+    }
+
+    public Optional<EvidenceSeal> getSightingSeal(String violationId, int sightingNumber) {
+        return Optional.ofNullable(sealsByKey.get(sealKey(violationId, sightingNumber)));
+    }
+
+    /*
+     * Builds a Merkle inclusion proof for a sealed record whose batch has
+     * been closed. Returns empty if the record is unknown, not yet sealed,
+     * still in the open batch, or its batch has been evicted.
+     */
+    public Optional<EvidenceProof> getProof(String violationId) {
+        return proof(sealKey(violationId, 0));
+    }
+
+    /*
+     * Same as getProof(), for the n-th sighting of a record.
+     */
+    public Optional<EvidenceProof> getSightingProof(String violationId, int sightingNumber) {
+        return proof(sealKey(violationId, sightingNumber));
+    }
+
+    private CompletableFuture<EvidenceSeal> enqueue(String violationId, int sightingNumber,
+                                                    byte[] metadata, byte[] image) {
+        CompletableFuture<byte[]> recordHash = CompletableFuture.supplyAsync(
+                () -> hashRecord(metadata, image), hashingPool);
+
+        CompletableFuture<EvidenceSeal> seal;
+        synchronized (this) {
+            long sequence = nextSequence++;
+            CompletableFuture<EvidenceSeal> link = chainTail.thenCombine(recordHash,
+                    (previous, hash) -> link(violationId, sightingNumber, sequence, previous, hash));
+            chainTail = link.thenApply(linked -> HEX.parseHex(linked.getChainHash()));
+            seal = link;
+        }
+        return seal;
+    }
+
+    private Optional<EvidenceProof> proof(String key) {
+        EvidenceSeal seal = sealsByKey.get(key);
+        if (seal == null) {
+            return Optional.empty();
+        }
+        ClosedBatch batch = closedBatches.get(seal.getBatchIndex());
+        if (batch == null) {
+            return Optional.empty();
+        }
+
+        List<MerkleTree.ProofStep> steps = batch.tree.proof(seal.getLeafIndex());
+        List<EvidenceProof.Step> path = new ArrayList<>(steps.size());
+        for (MerkleTree.ProofStep step : steps) {
+            path.add(EvidenceProof.Step.builder()
+                    .siblingHash(HEX.formatHex(step.siblingHash()))
+                    .siblingOnLeft(step.siblingOnLeft())
+                    .build());
+        }
+
+        byte[] root = batch.tree.getRoot();
+        boolean verified = MerkleTree.verify(HEX.parseHex(seal.getRecordHash()), steps, root);
+        return Optional.of(EvidenceProof.builder()
+                .seal(seal)
+                .merkleRoot(HEX.formatHex(root))
+                .path(path)
+                .verified(verified)
+                .build());
+    }
+
+    /*
+     * Returns the closed batches currently retained, oldest first.
+     */
+    public List<EvidenceBatch> getBatches() {
+        synchronized (closedBatches) {
+            List<EvidenceBatch> batches = new ArrayList<>(closedBatches.size());
+            for (ClosedBatch batch : closedBatches.values()) {
+                batches.add(batch.summary);
+            }
+            return batches;
+        }
+    }
+
+    /*
+     * Closes the open batch now (also called periodically), computing its
+     * Merkle root. No-op if the open batch is empty.
+     */
+    public void closeOpenBatch() {
+        synchronized (batchLock) {
+            if (openBatch.isEmpty()) {
+                return;
+            }
+            MerkleTree tree = MerkleTree.build(openLeaves);
+            EvidenceSeal first = openBatch.get(0);
+            EvidenceSeal last = openBatch.get(openBatch.size() - 1);
+
+            EvidenceBatch summary = EvidenceBatch.builder()
+                    .batchIndex(first.getBatchIndex())
+                    .deviceId(deviceId)
+                    .firstSequence(first.getSequence())
+                    .lastSequence(last.getSequence())
+                    .recordCount(openBatch.size())
+                    .merkleRoot(HEX.formatHex(tree.getRoot()))
+                    .lastChainHash(last.getChainHash())
+                    .closedAtMillis(System.currentTimeMillis())
+                    .build();
+
+            closedBatches.put(summary.getBatchIndex(), new ClosedBatch(summary, tree, List.copyOf(openBatch)));
+            evictOldBatches();
+
+            openBatch.clear();
+            openLeaves.clear();
+            nextBatchIndex++;
+        }
+    }
+
+    // Runs on a hashing worker
+    private byte[] hashRecord(byte[] metadata, byte[] image) {
+        long start = System.nanoTime();
+        MessageDigest digest = sha256();
+        digest.update(metadata);
+        if (image != null) {
+            digest.update(image);
+        }
+        byte[] hash = digest.digest();
+        hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return hash;
+    }
+
+    // Runs once the previous link and this record's hash are both available
+    private EvidenceSeal link(String violationId, int sightingNumber, long sequence,
+                              byte[] previousChainHash, byte[] recordHash) {
+        MessageDigest digest = sha256();
+        digest.update(previousChainHash);
+        digest.update(recordHash);
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        byte[] chainHash = digest.digest();
+
+        EvidenceSeal seal;
+        boolean batchFull;
+        synchronized (batchLock) {
+            seal = EvidenceSeal.builder()
+                    .violationId(violationId)
+                    .sightingNumber(sightingNumber)
+                    .deviceId(deviceId)
+                    .sequence(sequence)
+                    .recordHash(HEX.formatHex(recordHash))
+                    .previousChainHash(HEX.formatHex(previousChainHash))
+                    .chainHash(HEX.formatHex(chainHash))
+                    .batchIndex(nextBatchIndex)
+                    .leafIndex(openBatch.size())
+                    .sealedAtMillis(System.currentTimeMillis())
+                    .build();
+            openBatch.add(seal);
+            openLeaves.add(recordHash);
+            batchFull = openBatch.size() >= batchSize;
+        }
+        sealsByKey.put(sealKey(violationId, sightingNumber), seal);
+        sealedCounter.increment();
+
+        if (batchFull) {
+            closeOpenBatch();
+        }
+        return seal;
+    }
+
+    // Drops the oldest batches (and their seals) beyond the retention limit
+    private void evictOldBatches() {
+        synchronized (closedBatches) {
+            var iterator = closedBatches.values().iterator();
+            while (closedBatches.size() > retainedBatches && iterator.hasNext()) {
+                ClosedBatch oldest = iterator.next();
+                for (EvidenceSeal seal : oldest.seals) {
+                    sealsByKey.remove(sealKey(seal.getViolationId(), seal.getSightingNumber()));
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    // Canonical metadata bytes: the binary codec frame of the record without its image
+    private static byte[] canonicalMetadata(ViolationRecord record) {
+        ViolationRecord metadataOnly = ViolationRecord.builder()
+                .violationId(record.getViolationId())
+                .plateNumber(record.getPlateNumber())
+                .speedMph(record.getSpeedMph())
+                .distanceMiles(record.getDistanceMiles())
+                .distanceMeters(record.getDistanceMeters())
+                .timestampMillis(record.getTimestampMillis())
+                .targetId(record.getTargetId())
+                .build();
+        return ViolationRecordCodec.encode(metadataOnly).array();
+    }
+
+    // Canonical sighting bytes: the codec frame of a record holding only this
+    // sighting, followed by its number
+    private static byte[] canonicalSighting(String violationId, int sightingNumber, Sighting sighting) {
+        ViolationRecord holder = ViolationRecord.builder()
+                .violationId(violationId)
+                .sightings(List.of(sighting))
+                .build();
+        ByteBuffer frame = ViolationRecordCodec.encode(holder);
+        return ByteBuffer.allocate(frame.remaining() + Integer.BYTES)
+                .put(frame)
+                .putInt(sightingNumber)
+                .array();
+    }
+
+    private static String sealKey(String violationId, int sightingNumber) {
+        return sightingNumber == 0 ? violationId : violationId + "#" + sightingNumber;
+    }
+
+    private static byte[] genesisHash(String deviceId) {
+        return sha256().digest(("CPS-EVIDENCE-CHAIN|" + deviceId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        batchCloser.shutdownNow();
+        hashingPool.shutdown();
+    }
+
+    private record ClosedBatch(EvidenceBatch summary, MerkleTree tree, List<EvidenceSeal> seals) {
+    }
+}
@@ -0,0 +1,213 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.PipelineStage;
+import edu.asu.cse564.cse564_project.domain.TraceEntry;
+import edu.asu.cse564.cse564_project.domain.TraceReason;
+import edu.asu.cse564.cse564_project.util.FlightRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * FlightRecorderService
+ *
+ * Always-on FlightRecorder for the pipeline: every run records the stage
+ * it reached, why it stopped, and the nanoseconds spent in each stage,
+ * for the last cps.recorder.capacity runs.
+ *
+ * Callers bracket a run with begin() and finish(), marking each stage as
+ * it completes:
+ *
+ *     FlightRecorder.Trace trace = flightRecorderService.begin(targetId);
+ *     ...; trace.stage(PipelineStage.RADAR);
+ *     ...; trace.stage(PipelineStage.SPEED);
+ *     flightRecorderService.finish(trace, TraceReason.COMPLETED);
+ *
+ * finish() compares each stage against its latency SLO. A breach only
+ * bumps a counter and unparks the dump thread, so the recording path
+ * stays lock- and allocation-free; that thread writes the ring to
+ * cps.recorder.dump-dir, at most once per cps.recorder.dump-min-interval-millis.
+ * Dumps can also be taken on demand through the "flightrecorder"
+ * actuator endpoint.
+ *
+ * Metrics (Micrometer):
+ *   cps.recorder.slo.breaches{stage}
+ *   cps.recorder.dumps
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.recorder.capacity=4096
+ *     cps.recorder.stage-slo-micros=5000                 (default for every stage)
+ *     cps.recorder.stage-slo-overrides=UPLINK=20000      (STAGE=micros, comma-separated)
+ *     cps.recorder.dump-dir=${java.io.tmpdir}/cse564-flight
+ *     cps.recorder.dump-min-interval-millis=10000
+ */
+public class FlightRecorderService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+    private static final int NO_BREACH = -1;
+
+    private final FlightRecorder recorder;
+    private final long[] sloNanos = new long[FlightRecorder.STAGE_COUNT];
+    private final Path dumpDir;
+    private final long dumpMinIntervalNanos;
+
+    private final Counter[] breachCounters = new Counter[FlightRecorder.STAGE_COUNT];
+    private final Counter dumps;
+
+    // Stage ordinal of the latest unhandled breach, or NO_BREACH
+    private final AtomicInteger pendingBreach = new AtomicInteger(NO_BREACH);
+    private final Thread dumper;
+    private volatile boolean running = true;
+    private long lastAutoDumpNanos;
+
+    public FlightRecorderService(
+            MeterRegistry meterRegistry,
+            int capacity,
+            long stageSloMicros,
+            String stageSloOverrides,
+            String dumpDir,
+            long dumpMinIntervalMillis
+    ) {
+        this.recorder = new FlightRecorder(capacity);
+        this.dumpDir = Path.of(dumpDir);
+        this.dumpMinIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, dumpMinIntervalMillis));
+
+        for (PipelineStage stage : PipelineStage.values()) {
+            sloNanos[stage.ordinal()] = TimeUnit.MICROSECONDS.toNanos(stageSloMicros);
+            breachCounters[stage.ordinal()] = meterRegistry.counter("cps.recorder.slo.breaches", "stage", stage.name());
+        }
+        for (String override : stageSloOverrides.split(",")) {
+            String[] parts = override.split("=");
+            if (parts.length == 2) {
+                PipelineStage stage = PipelineStage.valueOf(parts[0].trim().toUpperCase());
+                sloNanos[stage.ordinal()] = TimeUnit.MICROSECONDS.toNanos(Long.parseLong(parts[1].trim()));
+            }
+        }
+        this.dumps = meterRegistry.counter("cps.recorder.dumps");
+        this.lastAutoDumpNanos = System.nanoTime() - dumpMinIntervalNanos;
+
+        this.dumper = new Thread(this::runDumper, "flight-recorder-dump");
+        this.dumper.setDaemon(true);
+        this.dumper.start();
+    }
+
+    /*
+     * Starts a trace for the calling thread (see FlightRecorder.begin()).
+     */
+    public FlightRecorder.Trace begin(long targetId) {
+        return recorder.begin(targetId);
+    }
+
+    /*
+     * Commits the trace and checks every stage against its SLO.
+     */
+    public void finish(FlightRecorder.Trace trace, TraceReason reason) {
+        recorder.commit(trace, reason);
+
+        for (int i = 0; i < sloNanos.length; i++) {
+            if (trace.getStageNanos(STAGES[i]) > sloNanos[i]) {
+                breachCounters[i].increment();
+                pendingBreach.set(i);
+                LockSupport.unpark(dumper);
+            }
+        }
+    }
+
+    public List<TraceEntry> snapshot() {
+        return recorder.snapshot();
+    }
+
+    public int getCapacity() {
+        return recorder.getCapacity();
+    }
+
+    public long getRecordedCount() {
+        return recorder.getRecordedCount();
+    }
+
+    public Map<PipelineStage, Long> getSloMicros() {
+        Map<PipelineStage, Long> slos = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            slos.put(stage, TimeUnit.NANOSECONDS.toMicros(sloNanos[stage.ordinal()]));
+        }
+        return slos;
+    }
+
+    /*
+     * Writes the retained entries to a new file in the dump directory,
+     * one line per entry, and returns its path.
+     */
+    public Path dump(String cause) {
+        List<TraceEntry> entries = recorder.snapshot();
+        try {
+            Files.createDirectories(dumpDir);
+            Path file = dumpDir.resolve("flight-" + System.currentTimeMillis() + "-" + cause + ".log");
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write("# cause=" + cause + " entries=" + entries.size()
+                        + " format: sequence timestampMillis targetId stageReached reason totalNanos stage=nanos...");
+                out.newLine();
+                for (TraceEntry entry : entries) {
+                    StringBuilder line = new StringBuilder()
+                            .append(entry.getSequence()).append(' ')
+                            .append(entry.getTimestampMillis()).append(' ')
+                            .append(entry.getTargetId()).append(' ')
+                            .append(entry.getStageReached()).append(' ')
+                            .append(entry.getReason()).append(' ')
+                            .append(entry.getTotalNanos());
+                    entry.getStageNanos().forEach((stage, nanos) -> line.append(' ').append(stage).append('=').append(nanos));
+                    out.write(line.toString());
+                    out.newLine();
+                }
+            }
+            dumps.increment();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write flight recorder dump", e);
+        }
+    }
+
+    // Waits for SLO breaches and dumps, rate-limited
+    private void runDumper() {
+        while (running) {
+            LockSupport.park(this);
+            int stage = pendingBreach.getAndSet(NO_BREACH);
+            if (!running || stage == NO_BREACH) {
+                continue;
+            }
+            long now = System.nanoTime();
+            if (now - lastAutoDumpNanos < dumpMinIntervalNanos) {
+                continue;
+            }
+            lastAutoDumpNanos = now;
+            try {
+                Path file = dump("slo-" + STAGES[stage].name().toLowerCase());
+                log.warn("Pipeline stage {} exceeded its latency SLO; flight recorder dumped to {}",
+                        STAGES[stage], file);
+            } catch (UncheckedIOException e) {
+                log.warn("Flight recorder dump failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(dumper);
+    }
+}
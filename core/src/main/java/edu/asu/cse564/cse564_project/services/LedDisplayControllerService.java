@@ -1,8 +1,8 @@
 package edu.asu.cse564.cse564_project.services;
 
 import edu.asu.cse564.cse564_project.domain.LedCommand;
+import edu.asu.cse564.cse564_project.domain.PipelineEventType;
 import edu.asu.cse564.cse564_project.domain.SpeedStatus;
-import org.springframework.stereotype.Service;
 
 /*
  * LedDisplayControllerService
@@ -11,10 +11,18 @@ import org.springframework.stereotype.Service;
  * The LED always shows the current speed, and highlights warnings when
  * the vehicle is overspeeding. This controller does not apply any zone
  * logic; it simply formats the message based on overspeed status.
+ *
+ * Every command is also published on the PipelineEventBus so that the
+ * sign controller and dashboards receive it without polling.
  */
-@Service
 public class LedDisplayControllerService {
 
+    private final PipelineEventBusService eventBus;
+
+    public LedDisplayControllerService(PipelineEventBusService eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /*
      * Builds a LedCommand for the physical LED display.
      * Returns a default "no data" entry if SpeedStatus is null.
@@ -22,12 +30,12 @@ public class LedDisplayControllerService {
     public LedCommand buildLedCommand(SpeedStatus status) {
         if (status == null) {
             // Defensive fallback for missing speed data
-            return LedCommand.builder()
+            return publish(LedCommand.builder()
                     .speedMph(0.0)
                     .distanceMiles(0.0)
                     .overspeed(false)
                     .message("NO SPEED DATA")
-                    .build();
+                    .build());
         }
 
         double speedMph = status.getSpeedMph();
@@ -43,11 +51,17 @@ public class LedDisplayControllerService {
             message = String.format("Speed: %.1f mph - OK", speedMph);
         }
 
-        return LedCommand.builder()
+        return publish(LedCommand.builder()
                 .speedMph(speedMph)
                 .distanceMiles(distanceMiles)
                 .overspeed(overspeed)
                 .message(message)
-                .build();
+                .build());
+    }
+
+    // Pushes the command to LED subscribers and returns it unchanged
+    private LedCommand publish(LedCommand command) {
+        eventBus.publish(PipelineEventType.LED_COMMAND, command);
+        return command;
     }
 }
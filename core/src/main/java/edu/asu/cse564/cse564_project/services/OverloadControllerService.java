@@ -0,0 +1,239 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.DegradationLevel;
+import edu.asu.cse564.cse564_project.domain.SpeedContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * OverloadControllerService
+ *
+ * Admission control for the evidence path (camera → ANPR → packager →
+ * uplink). Under a traffic surge these stages fall behind first; without a
+ * limit, concurrent evidence sessions and queued uploads would pile up
+ * without bound. The radar, speed, LED, statistics and capture-decision
+ * stages run before admission and are never shed.
+ *
+ * A monitor thread computes the pressure every
+ * cps.overload.evaluate-interval-millis as the highest of three ratios,
+ * each 1.0 at its limit:
+ *
+ *   in flight — evidence sessions running / cps.overload.max-in-flight
+ *   latency   — evidence-path latency (EWMA over intervals, decaying while
+ *               idle) / cps.overload.latency-budget-millis
+ *   uplink    — uplink queue depth / cps.uplink.queue-capacity
+ *
+ * The DegradationLevel follows the pressure with hysteresis. It rises as
+ * soon as pressure reaches a level's threshold and falls only once
+ * pressure is cps.overload.hysteresis below it:
+ *
+ *   DEFER_IMAGES         at cps.overload.defer-images-at
+ *   HIGH_OVERSPEED_ONLY  at cps.overload.high-overspeed-only-at
+ *
+ * Whatever the level, a session is shed when max-in-flight sessions are
+ * already running. Admission itself only reads the level and bumps the
+ * in-flight count.
+ *
+ * Metrics (Micrometer):
+ *   cps.overload.level              (gauge, DegradationLevel ordinal)
+ *   cps.overload.pressure           (gauge)
+ *   cps.overload.in-flight          (gauge)
+ *   cps.overload.shed{reason}       (sessions shed: saturated, low-overspeed)
+ *   cps.overload.evidence.latency   (timer, admitted sessions)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.overload.max-in-flight=64
+ *     cps.overload.latency-budget-millis=50
+ *     cps.overload.evaluate-interval-millis=250
+ *     cps.overload.defer-images-at=0.6
+ *     cps.overload.high-overspeed-only-at=0.85
+ *     cps.overload.hysteresis=0.1
+ *     cps.overload.keep-overspeed-ratio=0.25   (speed >= limit * (1 + ratio) is kept)
+ */
+public class OverloadControllerService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OverloadControllerService.class);
+
+    // Weight of the latest interval in the latency EWMA (also the idle decay)
+    private static final double LATENCY_SMOOTHING = 0.5;
+
+    private final UplinkSchedulerService uplinkSchedulerService;
+
+    private final int maxInFlight;
+    private final double latencyBudgetNanos;
+    private final double deferImagesAt;
+    private final double highOverspeedOnlyAt;
+    private final double hysteresis;
+    private final double keepOverspeedMph;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder latencySumNanos = new LongAdder();
+    private final LongAdder latencyCount = new LongAdder();
+
+    // Written by the monitor thread
+    private volatile double latencyEwmaNanos;
+    private volatile double pressure;
+    private volatile DegradationLevel level = DegradationLevel.NORMAL;
+
+    private final Counter shedSaturated;
+    private final Counter shedLowOverspeed;
+    private final Timer evidenceLatency;
+    private final ScheduledExecutorService monitor;
+
+    public OverloadControllerService(
+            UplinkSchedulerService uplinkSchedulerService,
+            MeterRegistry meterRegistry,
+            double speedLimitMph,
+            int maxInFlight,
+            long latencyBudgetMillis,
+            long evaluateIntervalMillis,
+            double deferImagesAt,
+            double highOverspeedOnlyAt,
+            double hysteresis,
+            double keepOverspeedRatio
+    ) {
+        this.uplinkSchedulerService = uplinkSchedulerService;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.latencyBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, latencyBudgetMillis));
+        this.deferImagesAt = deferImagesAt;
+        this.highOverspeedOnlyAt = highOverspeedOnlyAt;
+        this.hysteresis = hysteresis;
+        this.keepOverspeedMph = speedLimitMph * (1.0 + keepOverspeedRatio);
+
+        this.shedSaturated = meterRegistry.counter("cps.overload.shed", "reason", "saturated");
+        this.shedLowOverspeed = meterRegistry.counter("cps.overload.shed", "reason", "low-overspeed");
+        this.evidenceLatency = meterRegistry.timer("cps.overload.evidence.latency");
+        meterRegistry.gauge("cps.overload.level", this, service -> service.level.ordinal());
+        meterRegistry.gauge("cps.overload.pressure", this, OverloadControllerService::getPressure);
+        meterRegistry.gauge("cps.overload.in-flight", inFlight);
+
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overload-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, evaluateIntervalMillis);
+        this.monitor.scheduleAtFixedRate(this::evaluate, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Admits an evidence session for the given overspeed context, or
+     * returns null if it is shed. An admitted session must be closed when
+     * the evidence path finishes.
+     */
+    public Admission admit(SpeedContext context) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            shedSaturated.increment();
+            return null;
+        }
+        if (level == DegradationLevel.HIGH_OVERSPEED_ONLY && context.getSpeedMph() < keepOverspeedMph) {
+            inFlight.decrementAndGet();
+            shedLowOverspeed.increment();
+            return null;
+        }
+        return new Admission(System.nanoTime());
+    }
+
+    public DegradationLevel getLevel() {
+        return level;
+    }
+
+    public double getPressure() {
+        return pressure;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public double getLatencyMillis() {
+        return latencyEwmaNanos / 1e6;
+    }
+
+    public long getShedSaturated() {
+        return (long) shedSaturated.count();
+    }
+
+    public long getShedLowOverspeed() {
+        return (long) shedLowOverspeed.count();
+    }
+
+    // Recomputes the pressure and moves the level (monitor thread, tests)
+    void evaluate() {
+        long count = latencyCount.sumThenReset();
+        long sum = latencySumNanos.sumThenReset();
+        double intervalLatency = count == 0 ? 0 : (double) sum / count;
+        latencyEwmaNanos = LATENCY_SMOOTHING * intervalLatency + (1 - LATENCY_SMOOTHING) * latencyEwmaNanos;
+
+        double current = Math.max(
+                (double) inFlight.get() / maxInFlight,
+                Math.max(latencyEwmaNanos / latencyBudgetNanos,
+                        (double) uplinkSchedulerService.getQueueDepth() / uplinkSchedulerService.getQueueCapacity()));
+        pressure = current;
+
+        DegradationLevel previous = level;
+        DegradationLevel next = levelAt(current);
+        if (next.compareTo(previous) < 0) {
+            // Step down only as far as pressure is hysteresis below the threshold
+            DegradationLevel held = levelAt(current + hysteresis);
+            next = held.compareTo(previous) < 0 ? held : previous;
+        }
+        if (next != previous) {
+            level = next;
+            uplinkSchedulerService.setImagesDeferred(next.compareTo(DegradationLevel.DEFER_IMAGES) >= 0);
+            log.info("Evidence path degradation {} -> {} (pressure {})",
+                    previous, next, String.format("%.2f", current));
+        }
+    }
+
+    private DegradationLevel levelAt(double pressure) {
+        if (pressure >= highOverspeedOnlyAt) {
+            return DegradationLevel.HIGH_OVERSPEED_ONLY;
+        }
+        if (pressure >= deferImagesAt) {
+            return DegradationLevel.DEFER_IMAGES;
+        }
+        return DegradationLevel.NORMAL;
+    }
+
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+    }
+
+    /*
+     * An admitted evidence session; closing it records its latency.
+     */
+    public final class Admission implements AutoCloseable {
+
+        private final long startNanos;
+
+        private Admission(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - startNanos;
+            inFlight.decrementAndGet();
+            latencySumNanos.add(nanos);
+            latencyCount.increment();
+            evidenceLatency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
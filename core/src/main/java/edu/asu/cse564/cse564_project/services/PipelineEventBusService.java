@@ -0,0 +1,168 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.PipelineEvent;
+import edu.asu.cse564.cse564_project.domain.PipelineEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * PipelineEventBusService
+ *
+ * Fans out pipeline events (LED commands, capture state changes and new
+ * violation summaries) to any number of push subscribers through a single
+ * pre-sized ring buffer.
+ *
+ * Publishing never blocks and never waits for subscribers: the publisher
+ * claims the next sequence number and overwrites the oldest slot. Each
+ * subscriber only owns a read cursor into the shared ring, so a slow
+ * subscriber cannot apply backpressure to the pipeline. When a subscriber
+ * falls behind:
+ *   - backlog > conflate threshold : consecutive LED commands are conflated,
+ *                                    only the newest one is delivered
+ *   - backlog > ring capacity      : the subscriber has been lapped; the
+ *                                    overwritten events are counted as dropped
+ *                                    and the cursor jumps to the oldest live slot
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.events.ring-capacity=1024
+ *     cps.events.conflate-backlog=256
+ */
+public class PipelineEventBusService {
+
+    // Ring slots; capacity is always a power of two so the index is a mask
+    private final AtomicReferenceArray<PipelineEvent> ring;
+    private final int capacity;
+    private final long mask;
+
+    // Backlog above which LED commands are conflated for a subscriber
+    private final int conflateBacklog;
+
+    // Next sequence number to be claimed by a publisher
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public PipelineEventBusService(
+            int ringCapacity,
+            int conflateBacklog
+    ) {
+        this.capacity = roundUpToPowerOfTwo(Math.max(2, ringCapacity));
+        this.mask = capacity - 1L;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.conflateBacklog = Math.max(1, conflateBacklog);
+    }
+
+    /*
+     * Publishes a payload to all subscribers. Never blocks.
+     */
+    public void publish(PipelineEventType type, Object payload) {
+        long sequence = nextSequence.getAndIncrement();
+        PipelineEvent event = PipelineEvent.builder()
+                .sequence(sequence)
+                .type(type)
+                .timestampMillis(System.currentTimeMillis())
+                .payload(payload)
+                .build();
+        ring.set((int) (sequence & mask), event);
+    }
+
+    /*
+     * Creates a subscriber positioned at the current head of the ring,
+     * i.e. it only receives events published after this call.
+     */
+    public Subscriber subscribe() {
+        return new Subscriber(nextSequence.get());
+    }
+
+    // Number of events published since startup
+    public long getPublishedCount() {
+        return nextSequence.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /*
+     * Read cursor owned by a single consumer thread. Not thread-safe;
+     * each push connection owns exactly one Subscriber.
+     */
+    public final class Subscriber {
+
+        private long cursor;
+        private long droppedCount;
+        private long conflatedCount;
+
+        private Subscriber(long startSequence) {
+            this.cursor = startSequence;
+        }
+
+        /*
+         * Returns up to maxEvents events in sequence order, or an empty list
+         * when the subscriber is caught up. Lapped events are skipped and
+         * counted; LED commands are conflated while the backlog is large.
+         */
+        public List<PipelineEvent> poll(int maxEvents) {
+            List<PipelineEvent> batch = new ArrayList<>();
+            long head = nextSequence.get();
+
+            // Lapped: the slots we would read next have been overwritten
+            if (head - cursor > capacity) {
+                long oldest = head - capacity;
+                droppedCount += oldest - cursor;
+                cursor = oldest;
+            }
+
+            boolean conflate = head - cursor > conflateBacklog;
+
+            while (cursor < head && batch.size() < maxEvents) {
+                PipelineEvent event = ring.get((int) (cursor & mask));
+
+                // Sequence claimed but the publisher has not stored it yet
+                if (event == null || event.getSequence() < cursor) {
+                    break;
+                }
+
+                // Overwritten while we were reading; resync on the next poll
+                if (event.getSequence() > cursor) {
+                    droppedCount += event.getSequence() - cursor;
+                    cursor = event.getSequence();
+                    continue;
+                }
+
+                cursor++;
+
+                if (conflate && event.getType() == PipelineEventType.LED_COMMAND
+                        && !batch.isEmpty()
+                        && batch.get(batch.size() - 1).getType() == PipelineEventType.LED_COMMAND) {
+                    // Only the latest LED message matters to the sign controller
+                    batch.set(batch.size() - 1, event);
+                    conflatedCount++;
+                    continue;
+                }
+                batch.add(event);
+            }
+            return batch;
+        }
+
+        // Number of events not yet read by this subscriber
+        public long getBacklog() {
+            return Math.max(0, nextSequence.get() - cursor);
+        }
+
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+
+        public long getConflatedCount() {
+            return conflatedCount;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.CameraData;
+import edu.asu.cse564.cse564_project.domain.PlateInfo;
+import edu.asu.cse564.cse564_project.domain.SpeedContext;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * PredictiveCaptureService
+ *
+ * Schedules evidence capture for the moment a vehicle is predicted to reach
+ * the trigger point, instead of waiting for a radar sample to land inside the
+ * ±20m capture window. At low radar rates and high speeds a vehicle can cross
+ * the whole 40m window between two samples; the prediction closes that gap.
+ *
+ * For an overspeed SpeedContext before the window, the time to the trigger
+ * point is (triggerPoint - distance) / speed, minus the age of the sample.
+ * The capture is placed on a HashedTimerWheel with sub-millisecond ticks.
+ * Every new sample for the same target reschedules with a fresher estimate,
+ * and a sample that actually lands in the window cancels the prediction
+ * because the regular pipeline captures it.
+ *
+ * Once a prediction has fired, the pass is already captured: until the
+ * vehicle is expected to leave the window, hasFired() tells the
+ * EvidenceCaptureController not to start a second evidence session from
+ * an in-window sample. endPass() clears this on the leaving sample.
+ *
+ * When a prediction fires, the timer thread only records jitter and hands
+ * off; the camera → ANPR → packaging → upload chain runs on a separate
+ * executor so it cannot delay other timeouts. Like a regular evidence
+ * session, it must first be admitted by the OverloadController, so it is
+ * counted in the in-flight sessions and latency and is shed under
+ * overload. A shed capture does not count as the pass's capture, so an
+ * in-window sample may still take the evidence. With
+ * cps.threads.virtual.enabled=true each fired capture gets its own
+ * virtual thread, so a blocking camera or upload call does not hold up the
+ * next capture.
+ *
+ * Metrics (Micrometer):
+ *   cps.capture.predictive.timer.jitter          — lateness of each firing
+ *   cps.capture.predictive.trigger.error.meters  — |vehicle position at firing - trigger point|,
+ *                                                  back-computed from the next sample
+ *   cps.capture.predictive.scheduled / fired / cancelled
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.capture.predictive.enabled=true
+ *     cps.capture.predictive.tick-micros=250
+ *     cps.capture.predictive.wheel-size=4096
+ *     cps.capture.predictive.trigger-point-meters=0.0
+ *     cps.capture.predictive.max-lead-millis=30000
+ *     cps.threads.virtual.enabled=false
+ */
+public class PredictiveCaptureService implements AutoCloseable {
+
+    private final boolean enabled;
+    private final double triggerPointMeters;
+    private final long maxLeadNanos;
+
+    private final UnitConversionService unitConversionService;
+    private final CameraDataCollectorService cameraDataCollectorService;
+    private final AnprProcessorService anprProcessorService;
+    private final EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService;
+    private final BackendUplinkControllerService backendUplinkControllerService;
+    private final OverloadControllerService overloadControllerService;
+
+    private final HashedTimerWheel timerWheel;
+    private final ExecutorService captureExecutor;
+
+    // Pending prediction per target
+    private final Map<Long, HashedTimerWheel.Timeout> pendingByTarget = new ConcurrentHashMap<>();
+
+    // Fired predictions per target, for trigger accuracy and to suppress a second capture
+    private final Map<Long, FiredCapture> firedByTarget = new ConcurrentHashMap<>();
+
+    private final Timer jitterTimer;
+    private final DistributionSummary triggerErrorMeters;
+    private final Counter scheduledCounter;
+    private final Counter firedCounter;
+    private final Counter cancelledCounter;
+
+    public PredictiveCaptureService(
+            UnitConversionService unitConversionService,
+            CameraDataCollectorService cameraDataCollectorService,
+            AnprProcessorService anprProcessorService,
+            EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService,
+            BackendUplinkControllerService backendUplinkControllerService,
+            OverloadControllerService overloadControllerService,
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            long tickMicros,
+            int wheelSize,
+            double triggerPointMeters,
+            long maxLeadMillis,
+            boolean virtualThreads
+    ) {
+        this.unitConversionService = unitConversionService;
+        this.cameraDataCollectorService = cameraDataCollectorService;
+        this.anprProcessorService = anprProcessorService;
+        this.evidenceCollectorAndPackagerService = evidenceCollectorAndPackagerService;
+        this.backendUplinkControllerService = backendUplinkControllerService;
+        this.overloadControllerService = overloadControllerService;
+        this.enabled = enabled;
+        this.triggerPointMeters = triggerPointMeters;
+        this.maxLeadNanos = TimeUnit.MILLISECONDS.toNanos(maxLeadMillis);
+
+        this.timerWheel = new HashedTimerWheel("predictive-capture-wheel",
+                tickMicros, TimeUnit.MICROSECONDS, wheelSize);
+        this.captureExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("predictive-capture-", 0).factory())
+                : Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "predictive-capture");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.jitterTimer = Timer.builder("cps.capture.predictive.timer.jitter")
+                .description("Lateness of predicted capture firings relative to their deadline")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.triggerErrorMeters = DistributionSummary.builder("cps.capture.predictive.trigger.error.meters")
+                .description("Absolute distance between vehicle and trigger point when a prediction fired")
+                .baseUnit("meters")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.scheduledCounter = meterRegistry.counter("cps.capture.predictive.scheduled");
+        this.firedCounter = meterRegistry.counter("cps.capture.predictive.fired");
+        this.cancelledCounter = meterRegistry.counter("cps.capture.predictive.cancelled");
+    }
+
+    /*
+     * Predicts when the vehicle reaches the trigger point and schedules a
+     * capture for that instant, replacing any earlier prediction for the
+     * same target. onCapture is invoked with the projected SpeedContext
+     * when the prediction fires, before the evidence chain runs.
+     */
+    public void schedule(SpeedContext context, Consumer<SpeedContext> onCapture) {
+        if (!enabled || context == null || !context.isOverspeed()) {
+            return;
+        }
+
+        double speedMetersPerSecond = unitConversionService.mphToMetersPerSecond(context.getSpeedMph());
+        double remainingMeters = triggerPointMeters - context.getDistanceMeters();
+        if (speedMetersPerSecond <= 0.0 || remainingMeters <= 0.0) {
+            return;
+        }
+
+        long sampleAgeNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(0, System.currentTimeMillis() - context.getTimestampMillis()));
+        long etaNanos = (long) (remainingMeters / speedMetersPerSecond * 1e9) - sampleAgeNanos;
+        if (etaNanos > maxLeadNanos) {
+            return;
+        }
+
+        long targetId = context.getTargetId();
+        HashedTimerWheel.Timeout timeout = timerWheel.schedule(
+                expired -> fire(expired, context, onCapture),
+                Math.max(0, etaNanos), TimeUnit.NANOSECONDS);
+
+        HashedTimerWheel.Timeout previous = pendingByTarget.put(targetId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+        scheduledCounter.increment();
+    }
+
+    /*
+     * Cancels the pending prediction for a target, e.g. because a real
+     * sample arrived inside the capture window.
+     */
+    public void cancel(long targetId) {
+        HashedTimerWheel.Timeout timeout = pendingByTarget.remove(targetId);
+        if (timeout != null && timeout.cancel()) {
+            cancelledCounter.increment();
+        }
+    }
+
+    /*
+     * Uses a later radar sample to measure how far the vehicle actually was
+     * from the trigger point when the prediction fired.
+     */
+    public void observe(SpeedContext context) {
+        if (context == null) {
+            return;
+        }
+        FiredCapture fired = firedByTarget.get(context.getTargetId());
+        if (fired == null || fired.measured()
+                || !firedByTarget.replace(context.getTargetId(), fired, fired.asMeasured())) {
+            return;
+        }
+
+        double speedMetersPerSecond = unitConversionService.mphToMetersPerSecond(context.getSpeedMph());
+        double secondsSinceFire = (context.getTimestampMillis() - fired.firedAtMillis) / 1000.0;
+        double positionAtFire = context.getDistanceMeters() - speedMetersPerSecond * secondsSinceFire;
+        triggerErrorMeters.record(Math.abs(positionAtFire - triggerPointMeters));
+    }
+
+    /*
+     * Whether a prediction already captured the pass this sample belongs
+     * to: it fired, and the sample was taken before the vehicle was
+     * expected to leave the capture window.
+     */
+    public boolean hasFired(SpeedContext context) {
+        FiredCapture fired = context == null ? null : firedByTarget.get(context.getTargetId());
+        return fired != null && context.getTimestampMillis() <= fired.windowExitMillis();
+    }
+
+    /*
+     * Forgets a fired prediction once its vehicle has left the window.
+     */
+    public void endPass(long targetId) {
+        firedByTarget.remove(targetId);
+    }
+
+    public long getPendingCount() {
+        return timerWheel.getPendingCount();
+    }
+
+    // Runs on the timer thread: measure jitter, then hand off the capture
+    private void fire(HashedTimerWheel.Timeout timeout, SpeedContext predictedFrom, Consumer<SpeedContext> onCapture) {
+        jitterTimer.record(Math.max(0, timeout.getLatenessNanos()), TimeUnit.NANOSECONDS);
+
+        long targetId = predictedFrom.getTargetId();
+        pendingByTarget.remove(targetId, timeout);
+        long firedAtMillis = System.currentTimeMillis();
+        double speedMetersPerSecond = unitConversionService.mphToMetersPerSecond(predictedFrom.getSpeedMph());
+        long windowExitMillis = firedAtMillis + (long) Math.ceil(
+                (EvidenceCaptureControllerService.CAPTURE_WINDOW_METERS - triggerPointMeters)
+                        / speedMetersPerSecond * 1000.0);
+        firedByTarget.put(targetId, new FiredCapture(firedAtMillis, windowExitMillis, false));
+        firedCounter.increment();
+
+        SpeedContext projected = SpeedContext.builder()
+                .overspeed(true)
+                .speedMph(predictedFrom.getSpeedMph())
+                .distanceMeters(triggerPointMeters)
+                .distanceMiles(unitConversionService.metersToMiles(triggerPointMeters))
+                .timestampMillis(firedAtMillis)
+                .targetId(targetId)
+                .build();
+
+        captureExecutor.execute(() -> {
+            onCapture.accept(projected);
+            OverloadControllerService.Admission admission = overloadControllerService.admit(projected);
+            if (admission == null) {
+                // Shed: leave the pass to the regular in-window capture
+                firedByTarget.computeIfPresent(targetId,
+                        (id, fired) -> fired.firedAtMillis() == firedAtMillis ? null : fired);
+                return;
+            }
+            try (admission) {
+                captureEvidence(projected);
+            }
+        });
+    }
+
+    // Camera → ANPR → packaging → upload for a predicted capture
+    private void captureEvidence(SpeedContext context) {
+        Optional<ViolationRecord> maybeRecord;
+        try (CameraDataCollectorService.CapturedFrame captured = cameraDataCollectorService.captureFrame()) {
+            Optional<CameraData> maybeFrame = cameraDataCollectorService.processCameraFrame(captured.frame());
+            if (maybeFrame.isEmpty()) {
+                return;
+            }
+
+            Optional<PlateInfo> maybePlate = anprProcessorService.processFrame(maybeFrame.get());
+            if (maybePlate.isEmpty()) {
+                return;
+            }
+
+            maybeRecord = evidenceCollectorAndPackagerService.buildViolationRecord(
+                    context, maybePlate.get(), maybeFrame.get());
+        }
+        maybeRecord.ifPresent(backendUplinkControllerService::uploadViolationRecord);
+    }
+
+    @Override
+    public void close() {
+        timerWheel.close();
+        captureExecutor.shutdown();
+    }
+
+    private record FiredCapture(long firedAtMillis, long windowExitMillis, boolean measured) {
+
+        FiredCapture asMeasured() {
+            return new FiredCapture(firedAtMillis, windowExitMillis, true);
+        }
+    }
+}
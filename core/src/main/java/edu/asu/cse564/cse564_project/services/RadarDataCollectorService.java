@@ -0,0 +1,267 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.domain.RadarSample;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.RadarSampleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+
+/*
+ * RadarDataCollectorService
+ *
+ * Filters and normalizes raw radar measurements before they enter
+ * the CPS pipeline. Uses distance in meters to classify the vehicle
+ * into different zones (out-of-range, active monitoring, leaving),
+ * while preserving the original distance in miles for downstream use.
+ *
+ * Distance zones (meters):
+ *   d <= -150m        : OUT_OF_RANGE_BEFORE  → discard
+ *   -150m < d <= 20m  : ACTIVE_MONITOR_ZONE  → always forward samples
+ *   20m < d <= 90m    : LEAVING_ZONE         → forward only the first sample crossing > 20m
+ *   d > 90m           : OUT_OF_RANGE_AFTER   → discard and reset state
+ *
+ * Adaptive decimation: in the active zone, a sample of a clearly legal
+ * vehicle (below cps.radar.decimation.near-threshold-ratio of the
+ * overspeed threshold) that is still far from the capture window (before
+ * cps.radar.decimation.full-rate-from-meters) can only update the LED and
+ * statistics. Only one in cps.radar.decimation.factor of those samples is
+ * forwarded, starting with the vehicle's first. The others come back from
+ * filterRadarData() as DECIMATED, still carrying their RadarSample, so
+ * the pipeline counts them in the traffic statistics and skips the rest.
+ * Samples near the window or near the threshold always pass, so no sample
+ * that could yield a SpeedContext is dropped. A factor of 1 disables
+ * decimation.
+ *
+ * Each call emits a RadarSampleEvent while JFR records it.
+ *
+ * Metrics (Micrometer):
+ *   cps.radar.decimated   (samples dropped by decimation)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.radar.decimation.factor=4
+ *     cps.radar.decimation.full-rate-from-meters=-50.0
+ *     cps.radar.decimation.near-threshold-ratio=0.9
+ *
+ * This implementation assumes a single tracked vehicle whose distance
+ * increases monotonically as it passes the device, reported under one
+ * target ID. The DeviceAggregationService creates one collector per
+ * remote device, each with its own target ID. The tracking state is
+ * an immutable TrackerState replaced on every change, so CheckpointService
+ * can snapshot it at any time without locking the sample path.
+ */
+public class RadarDataCollectorService {
+
+    // Minimum valid distance in meters (upstream boundary)
+    public static final double MIN_VALID_DISTANCE_METERS = -150.0;
+
+    // Threshold in meters where capture window ends
+    private static final double CAPTURE_STOP_THRESHOLD_METERS = 20.0;
+
+    // Maximum valid distance in meters (downstream boundary)
+    public static final double MAX_VALID_DISTANCE_METERS = 90.0;
+
+    // Internal state for the current tracked vehicle (copy-on-write)
+    private volatile TrackerState state = TrackerState.NONE;
+
+    // Samples of the current vehicle seen while decimating (not checkpointed)
+    private int decimationCount;
+
+    private final UnitConversionService unitConversionService;
+
+    // Target ID stamped on every forwarded sample
+    private final long targetId;
+
+    // Decimation policy (see above)
+    private final int decimationFactor;
+    private final double fullRateFromMeters;
+    private final double fullRateSpeedMph;
+
+    private final Counter decimated;
+
+    public RadarDataCollectorService(
+            UnitConversionService unitConversionService,
+            MeterRegistry meterRegistry,
+            long targetId,
+            double overspeedThresholdMph,
+            int decimationFactor,
+            double fullRateFromMeters,
+            double nearThresholdRatio
+    ) {
+        this.unitConversionService = unitConversionService;
+        this.targetId = targetId;
+        this.decimationFactor = Math.max(1, decimationFactor);
+        this.fullRateFromMeters = fullRateFromMeters;
+        this.fullRateSpeedMph = overspeedThresholdMph * nearThresholdRatio;
+        this.decimated = meterRegistry.counter("cps.radar.decimated");
+    }
+
+    /*
+     * Processes a single radar measurement and decides whether to
+     * forward a RadarSample into the pipeline or discard it.
+     */
+    public Optional<RadarSample> processRadarData(RadarData radarData) {
+        FilterResult result = filterRadarData(radarData);
+        return result.outcome() == Outcome.FORWARDED ? Optional.of(result.sample()) : Optional.empty();
+    }
+
+    /*
+     * Like processRadarData, but also tells why a measurement is not
+     * forwarded; a DECIMATED result still carries its sample.
+     */
+    public FilterResult filterRadarData(RadarData radarData) {
+        RadarSampleEvent event = new RadarSampleEvent();
+        event.begin();
+        FilterResult result = filter(radarData);
+        event.end();
+
+        if (event.shouldCommit() && radarData != null) {
+            double distanceMeters = unitConversionService.milesToMeters(radarData.getDistanceMiles());
+            event.targetId = result.outcome() == Outcome.FORWARDED ? result.sample().getTargetId() : 0L;
+            event.zone = zoneOf(distanceMeters);
+            event.distanceMeters = distanceMeters;
+            event.speedMph = radarData.getSpeedMph();
+            event.accepted = result.outcome() == Outcome.FORWARDED;
+            event.commit();
+        }
+        return result;
+    }
+
+    /*
+     * Names the distance zone (see above) a distance in meters falls in.
+     */
+    public static String zoneOf(double distanceMeters) {
+        if (distanceMeters <= MIN_VALID_DISTANCE_METERS) {
+            return "OUT_OF_RANGE_BEFORE";
+        }
+        if (distanceMeters <= CAPTURE_STOP_THRESHOLD_METERS) {
+            return "ACTIVE_MONITOR_ZONE";
+        }
+        if (distanceMeters <= MAX_VALID_DISTANCE_METERS) {
+            return "LEAVING_ZONE";
+        }
+        return "OUT_OF_RANGE_AFTER";
+    }
+
+    // Applies the distance-zone rules to one measurement
+    private FilterResult filter(RadarData radarData) {
+        if (radarData == null) {
+            return FilterResult.REJECTED;
+        }
+
+        // External input is in miles; convert to meters for zone checks
+        double distanceMiles = radarData.getDistanceMiles();
+        double distanceMeters = unitConversionService.milesToMeters(distanceMiles);
+        double speedMph = radarData.getSpeedMph();
+
+        // Too far upstream → discard and reset state
+        if (distanceMeters <= MIN_VALID_DISTANCE_METERS) {
+            resetState();
+            return FilterResult.REJECTED;
+        }
+
+        // Too far downstream → discard and reset state
+        if (distanceMeters > MAX_VALID_DISTANCE_METERS) {
+            resetState();
+            return FilterResult.REJECTED;
+        }
+
+        // Active monitoring zone: forward samples, decimated far from the window
+        if (distanceMeters <= CAPTURE_STOP_THRESHOLD_METERS) {
+            state = new TrackerState(distanceMeters, false);
+            RadarSample sample = buildSample(distanceMiles, speedMph, radarData.getLane());
+            if (decimate(distanceMeters, speedMph)) {
+                decimated.increment();
+                return new FilterResult(Outcome.DECIMATED, sample);
+            }
+            return new FilterResult(Outcome.FORWARDED, sample);
+        }
+
+        // Leaving zone: forward only the first sample crossing > 20m
+        TrackerState current = state;
+        boolean justCrossedBoundary =
+                current.lastDistanceMeters() != null
+                        && current.lastDistanceMeters() <= CAPTURE_STOP_THRESHOLD_METERS
+                        && distanceMeters > CAPTURE_STOP_THRESHOLD_METERS
+                        && !current.leavingEventSent();
+
+        if (justCrossedBoundary) {
+            RadarSample sample = buildSample(distanceMiles, speedMph, radarData.getLane());
+            state = new TrackerState(distanceMeters, true);
+            return new FilterResult(Outcome.FORWARDED, sample);
+        }
+
+        // Already in leaving zone after stop-capture event,
+        // or started tracking when the vehicle was already > 20m
+        state = new TrackerState(distanceMeters, current.leavingEventSent());
+        return FilterResult.REJECTED;
+    }
+
+    // Far from the window and clearly legal: keep one sample in decimationFactor
+    private boolean decimate(double distanceMeters, double speedMph) {
+        if (decimationFactor == 1 || distanceMeters >= fullRateFromMeters || speedMph >= fullRateSpeedMph) {
+            decimationCount = 0;
+            return false;
+        }
+        return decimationCount++ % decimationFactor != 0;
+    }
+
+    // Builds a RadarSample using the original distance in miles
+    private RadarSample buildSample(double distanceMiles, double speedMph, int lane) {
+        return RadarSample.builder()
+                .distanceMiles(distanceMiles)
+                .speedMph(speedMph)
+                .timestampMillis(System.currentTimeMillis())
+                .targetId(targetId) // simplified single target per device
+                .lane(lane)
+                .build();
+    }
+
+    // Resets internal tracking state for the next vehicle
+    private void resetState() {
+        state = TrackerState.NONE;
+        decimationCount = 0;
+    }
+
+    public TrackerState getTrackerState() {
+        return state;
+    }
+
+    /*
+     * Replaces the tracking state, e.g. with one restored from a checkpoint.
+     */
+    public void restoreTrackerState(TrackerState trackerState) {
+        state = trackerState == null ? TrackerState.NONE : trackerState;
+    }
+
+    /*
+     * What filterRadarData() did with a measurement.
+     */
+    public enum Outcome {
+        // Forwarded into the pipeline
+        FORWARDED,
+        // Dropped by decimation; counts for statistics only
+        DECIMATED,
+        // Discarded by the distance-zone rules
+        REJECTED
+    }
+
+    /*
+     * Outcome of one measurement and its sample (null when REJECTED).
+     */
+    public record FilterResult(Outcome outcome, RadarSample sample) {
+
+        static final FilterResult REJECTED = new FilterResult(Outcome.REJECTED, null);
+    }
+
+    /*
+     * Position of the tracked vehicle (null = none) and whether its
+     * leaving sample was already forwarded.
+     */
+    public record TrackerState(Double lastDistanceMeters, boolean leavingEventSent) {
+
+        public static final TrackerState NONE = new TrackerState(null, false);
+    }
+}
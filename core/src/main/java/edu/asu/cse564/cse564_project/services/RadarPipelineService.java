@@ -0,0 +1,276 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.*;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.FilterResult;
+import edu.asu.cse564.cse564_project.services.RadarDataCollectorService.Outcome;
+import edu.asu.cse564.cse564_project.util.FlightRecorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * RadarPipelineService
+ *
+ * Runs one radar measurement through the complete CPS enforcement
+ * pipeline:
+ *
+ *   RadarData
+ *     → RadarDataCollector
+ *     → SpeedViolationController (SpeedStatus + SpeedContext)
+ *     → LEDDisplayController (and TrafficStatistics, for every sample,
+ *       decimated ones included)
+ *     → EvidenceCaptureController
+ *     → CameraDataCollector
+ *     → ANPR Processor
+ *     → EvidenceCollectorAndPackager
+ *     → BackendUplinkController
+ *
+ * and returns a detailed trace describing how the input propagated through
+ * each stage. Once the capture decision calls for evidence, the session
+ * must be admitted by the OverloadController. Under overload, a session may
+ * be shed there before the camera stage. The stages up to the capture
+ * decision always run. Every run is also recorded, with per-stage timings, in the
+ * FlightRecorder. The raw input is appended to the radar trace first, when
+ * cps.trace.enabled is set.
+ *
+ * Shared by the servlet (RadarInputController) and reactive
+ * (ReactiveRadarInputController) ingest endpoints. Runs synchronously on
+ * the calling thread.
+ */
+public class RadarPipelineService {
+
+    private final RadarDataCollectorService radarDataCollectorService;
+    private final SpeedViolationControllerService speedViolationControllerService;
+    private final LedDisplayControllerService ledDisplayControllerService;
+    private final EvidenceCaptureControllerService evidenceCaptureControllerService;
+    private final CameraDataCollectorService cameraDataCollectorService;
+    private final AnprProcessorService anprProcessorService;
+    private final EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService;
+    private final BackendUplinkControllerService backendUplinkControllerService;
+    private final TrafficStatisticsService trafficStatisticsService;
+    private final FlightRecorderService flightRecorderService;
+    private final OverloadControllerService overloadControllerService;
+    private final RadarTraceRecorderService radarTraceRecorderService;
+
+    public RadarPipelineService(
+            RadarDataCollectorService radarDataCollectorService,
+            SpeedViolationControllerService speedViolationControllerService,
+            LedDisplayControllerService ledDisplayControllerService,
+            EvidenceCaptureControllerService evidenceCaptureControllerService,
+            CameraDataCollectorService cameraDataCollectorService,
+            AnprProcessorService anprProcessorService,
+            EvidenceCollectorAndPackagerService evidenceCollectorAndPackagerService,
+            BackendUplinkControllerService backendUplinkControllerService,
+            TrafficStatisticsService trafficStatisticsService,
+            FlightRecorderService flightRecorderService,
+            OverloadControllerService overloadControllerService,
+            RadarTraceRecorderService radarTraceRecorderService
+    ) {
+        this.radarDataCollectorService = radarDataCollectorService;
+        this.speedViolationControllerService = speedViolationControllerService;
+        this.ledDisplayControllerService = ledDisplayControllerService;
+        this.evidenceCaptureControllerService = evidenceCaptureControllerService;
+        this.cameraDataCollectorService = cameraDataCollectorService;
+        this.anprProcessorService = anprProcessorService;
+        this.evidenceCollectorAndPackagerService = evidenceCollectorAndPackagerService;
+        this.backendUplinkControllerService = backendUplinkControllerService;
+        this.trafficStatisticsService = trafficStatisticsService;
+        this.flightRecorderService = flightRecorderService;
+        this.overloadControllerService = overloadControllerService;
+        this.radarTraceRecorderService = radarTraceRecorderService;
+    }
+
+    public RadarDataCollectorService getRadarDataCollectorService() {
+        return radarDataCollectorService;
+    }
+
+    public EvidenceCaptureControllerService getEvidenceCaptureControllerService() {
+        return evidenceCaptureControllerService;
+    }
+
+    /*
+     * Runs the measurement through the full CPS chain and returns the trace.
+     */
+    public Map<String, Object> process(RadarData radarData) {
+        radarTraceRecorderService.record(radarData);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("input", radarData);
+
+        FlightRecorder.Trace trace = flightRecorderService.begin(0L);
+        TraceReason reason = TraceReason.ERROR;
+        try {
+            reason = runPipeline(radarData, result, trace);
+        } finally {
+            flightRecorderService.finish(trace, reason);
+        }
+        return result;
+    }
+
+    private TraceReason runPipeline(RadarData radarData, Map<String, Object> result, FlightRecorder.Trace trace) {
+
+        // -------------------------------
+        // 1) Radar Data Collector
+        // -------------------------------
+        FilterResult filtered = radarDataCollectorService.filterRadarData(radarData);
+        trace.stage(PipelineStage.RADAR);
+        if (filtered.outcome() == Outcome.DECIMATED) {
+            // Still counted, so decimation does not bias the statistics
+            trafficStatisticsService.record(speedViolationControllerService.buildSpeedStatus(filtered.sample()));
+            result.put("accepted", false);
+            result.put("stage", "RadarDataCollector");
+            result.put("reason", "RadarDataCollector decimated the sample (far from capture window, legal speed).");
+            return TraceReason.RADAR_DECIMATED;
+        }
+        if (filtered.outcome() == Outcome.REJECTED) {
+            result.put("accepted", false);
+            result.put("stage", "RadarDataCollector");
+            result.put("reason", "RadarDataCollector rejected the sample (out of range).");
+            return TraceReason.RADAR_REJECTED;
+        }
+        RadarSample sample = filtered.sample();
+        result.put("radarSample", sample);
+        trace.setTargetId(sample.getTargetId());
+
+        // -------------------------------
+        // 2) Speed Violation Controller
+        // -------------------------------
+        SpeedStatus speedStatus = speedViolationControllerService.buildSpeedStatus(sample);
+        trafficStatisticsService.record(speedStatus);
+        Optional<SpeedContext> maybeCtx =
+                speedViolationControllerService.buildOverspeedContext(sample);
+
+        result.put("speedStatus", speedStatus);
+        result.put("overspeedContextPresent", maybeCtx.isPresent());
+        trace.stage(PipelineStage.SPEED);
+
+        // LED always receives updates
+        LedCommand ledCommand = ledDisplayControllerService.buildLedCommand(speedStatus);
+        result.put("ledMessage", ledCommand.getMessage());
+        trace.stage(PipelineStage.LED);
+
+        // If no overspeed context exists, evidence pipeline is not triggered
+        if (maybeCtx.isEmpty()) {
+            result.put("accepted", true);
+            result.put("stage", "SpeedViolationController");
+            result.put("reason", "No SpeedContext generated (not overspeed or coarse-only region).");
+            result.put("captureActive", null);
+            return TraceReason.NO_SPEED_CONTEXT;
+        }
+
+        SpeedContext speedContext = maybeCtx.get();
+
+        // -------------------------------
+        // 3) Evidence Capture Controller
+        // -------------------------------
+        EvidenceCaptureResult eccResult =
+                evidenceCaptureControllerService.handleSpeedContext(speedContext);
+
+        result.put("captureActive", eccResult.getCaptureActive());
+        result.put("stage", "EvidenceCaptureController");
+        trace.stage(PipelineStage.CAPTURE);
+
+        // Before capture window
+        if (eccResult.getCaptureActive() == null && eccResult.getSpeedContext() == null) {
+            result.put("reason", "Overspeed but before capture window.");
+            return TraceReason.BEFORE_CAPTURE_WINDOW;
+        }
+
+        // Leaving capture window
+        if (Boolean.FALSE.equals(eccResult.getCaptureActive()) &&
+                eccResult.getSpeedContext() == null) {
+            result.put("reason", "Overspeed but outside capture window; ECC stopped capture.");
+            return TraceReason.LEFT_CAPTURE_WINDOW;
+        }
+
+        // Inside the window, after a predicted capture already took the evidence
+        if (eccResult.getSpeedContext() == null) {
+            result.put("reason", "Overspeed inside capture window; evidence already captured by the predicted capture.");
+            return TraceReason.PREDICTED_CAPTURED;
+        }
+
+        SpeedContext ctxForPackager = eccResult.getSpeedContext();
+
+        // Evidence path only for admitted sessions
+        OverloadControllerService.Admission admission = overloadControllerService.admit(ctxForPackager);
+        if (admission == null) {
+            result.put("stage", "OverloadController");
+            result.put("reason", "Evidence session shed under overload ("
+                    + overloadControllerService.getLevel() + ").");
+            return TraceReason.EVIDENCE_SHED;
+        }
+        try (admission) {
+            return runEvidencePath(ctxForPackager, result, trace);
+        }
+    }
+
+    private TraceReason runEvidencePath(SpeedContext ctxForPackager, Map<String, Object> result,
+                                        FlightRecorder.Trace trace) {
+
+        // -------------------------------
+        // 4) Camera frame (shared-memory ring or simulated); the frame
+        //    is held only until its evidence is packaged
+        // -------------------------------
+        ViolationRecord record;
+        try (CameraDataCollectorService.CapturedFrame captured = cameraDataCollectorService.captureFrame()) {
+            Optional<CameraData> maybeFrame =
+                    cameraDataCollectorService.processCameraFrame(captured.frame());
+            trace.stage(PipelineStage.CAMERA);
+
+            if (maybeFrame.isEmpty()) {
+                result.put("stage", "CameraDataCollector");
+                result.put("reason", "CameraData rejected.");
+                return TraceReason.CAMERA_REJECTED;
+            }
+            CameraData processedFrame = maybeFrame.get();
+
+            // -------------------------------
+            // 5) ANPR Processor
+            // -------------------------------
+            Optional<PlateInfo> maybePlate = anprProcessorService.processFrame(processedFrame);
+            trace.stage(PipelineStage.ANPR);
+            if (maybePlate.isEmpty()) {
+                result.put("stage", "ANPR");
+                result.put("reason", "No PlateInfo produced.");
+                return TraceReason.NO_PLATE;
+            }
+            PlateInfo plateInfo = maybePlate.get();
+
+            // -------------------------------
+            // 6) Evidence Collector & Packager
+            // -------------------------------
+            Optional<ViolationRecord> maybeRecord =
+                    evidenceCollectorAndPackagerService.buildViolationRecord(
+                            ctxForPackager,
+                            plateInfo,
+                            processedFrame);
+            trace.stage(PipelineStage.PACKAGER);
+
+            if (maybeRecord.isEmpty()) {
+                result.put("stage", "EvidenceCollectorAndPackager");
+                result.put("reason", "No ViolationRecord generated.");
+                return TraceReason.NO_RECORD;
+            }
+            record = maybeRecord.get();
+        }
+        result.put("violationRecord", record);
+
+        // -------------------------------
+        // 7) Backend Upload
+        // -------------------------------
+        UploadStatus uploadStatus =
+                backendUplinkControllerService.uploadViolationRecord(record);
+
+        result.put("uploadStatus", uploadStatus);
+        result.put("stage", "BackendUplinkController");
+        result.put("accepted", true);
+        result.put("reason", "Full evidence pipeline executed successfully.");
+        trace.stage(PipelineStage.UPLINK);
+
+        if (uploadStatus.isDeferred()) {
+            return TraceReason.UPLOAD_DEFERRED;
+        }
+        return uploadStatus.isSuccess() ? TraceReason.COMPLETED : TraceReason.UPLOAD_REJECTED;
+    }
+}
@@ -0,0 +1,203 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.util.RadarTraceCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * RadarTraceRecorderService
+ *
+ * Records every RadarData the pipeline receives, with its arrival time, to
+ * a compact binary trace (see RadarTraceCodec), so a field problem can be
+ * reproduced and real traffic benchmarked later with RadarTraceReplay,
+ * without radar hardware.
+ *
+ * Each start writes a new file, radar-<epochMillis>.trace in
+ * cps.trace.dir, so a restart never overwrites the trace leading up to it.
+ * Samples are encoded into a direct buffer under a short lock that also
+ * fixes the record order. The buffer is written out when it fills, every
+ * cps.trace.flush-interval-millis by the "radar-trace-flush" thread, and
+ * on close. At most the last interval is lost in a crash, and the reader
+ * skips a torn last record.
+ *
+ * Once the file reaches cps.trace.max-bytes, or a write fails, recording
+ * stops. Later samples only count as dropped, and the sample path is never
+ * slowed or failed by the recorder.
+ *
+ * Metrics (Micrometer):
+ *   cps.trace.recorded   (samples written)
+ *   cps.trace.dropped    (samples not recorded: size limit or write failure)
+ *   cps.trace.bytes      (gauge, file size)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.trace.enabled=false
+ *     cps.trace.dir=${java.io.tmpdir}/cse564-trace
+ *     cps.trace.max-bytes=1073741824
+ *     cps.trace.flush-interval-millis=1000
+ */
+public class RadarTraceRecorderService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RadarTraceRecorderService.class);
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Path file;
+
+    private final Counter recorded;
+    private final Counter dropped;
+
+    // Guarded by this
+    private FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long lastNanos;
+    private long fileBytes;
+    private boolean stopped;
+
+    private final ScheduledExecutorService flusher;
+
+    public RadarTraceRecorderService(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            String dir,
+            long maxBytes,
+            long flushIntervalMillis
+    ) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.recorded = meterRegistry.counter("cps.trace.recorded");
+        this.dropped = meterRegistry.counter("cps.trace.dropped");
+
+        if (!enabled) {
+            this.file = null;
+            this.flusher = null;
+            return;
+        }
+
+        long startEpochMillis = System.currentTimeMillis();
+        this.file = Path.of(dir).resolve("radar-" + startEpochMillis + ".trace");
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create radar trace " + file, e);
+        }
+        RadarTraceCodec.writeHeader(buffer, startEpochMillis);
+        this.lastNanos = System.nanoTime();
+        meterRegistry.gauge("cps.trace.bytes", this, RadarTraceRecorderService::getFileBytes);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "radar-trace-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, flushIntervalMillis);
+        this.flusher.scheduleAtFixedRate(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Recording radar trace to {}", file);
+    }
+
+    /*
+     * Appends one received sample to the trace.
+     */
+    public void record(RadarData radarData) {
+        if (!enabled || radarData == null) {
+            return;
+        }
+        byte[] deviceId = radarData.getDeviceId() == null
+                ? null : radarData.getDeviceId().getBytes(StandardCharsets.UTF_8);
+        int maxSize = RadarTraceCodec.maxRecordSize(deviceId);
+
+        synchronized (this) {
+            if (stopped || maxSize > BUFFER_BYTES) {
+                dropped.increment();
+                return;
+            }
+            if (buffer.remaining() < maxSize) {
+                writeBuffer();
+                if (stopped) {
+                    dropped.increment();
+                    return;
+                }
+            }
+            long now = System.nanoTime();
+            RadarTraceCodec.encode(buffer, now - lastNanos, radarData, deviceId);
+            lastNanos = now;
+        }
+        recorded.increment();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Null while disabled
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized long getFileBytes() {
+        return fileBytes + buffer.position();
+    }
+
+    /*
+     * Writes buffered records to the file.
+     */
+    public synchronized void flush() {
+        if (enabled && !stopped) {
+            writeBuffer();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdownNow();
+        synchronized (this) {
+            flush();
+            stopped = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close radar trace {}", file, e);
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            if (fileBytes + buffer.remaining() > maxBytes) {
+                stopped = true;
+                log.warn("Radar trace {} reached cps.trace.max-bytes ({}); recording stopped", file, maxBytes);
+                return;
+            }
+            while (buffer.hasRemaining()) {
+                fileBytes += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            stopped = true;
+            log.warn("Radar trace write to {} failed; recording stopped", file, e);
+        } finally {
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.CameraData;
+import edu.asu.cse564.cse564_project.util.SharedFrameRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * SharedMemoryCameraService
+ *
+ * Consumer side of the SharedFrameRing a local camera process writes its
+ * frames into. An evidence session borrows the newest frame as a
+ * CameraData whose imageBuffer is a read-only view of the ring slot. The
+ * frame is not copied on the way in. The one copy is made by the
+ * EvidenceCollectorAndPackager, when the image moves into the evidence
+ * store.
+ *
+ * The "camera-ring-consumer" thread keeps the ring moving: it skips
+ * frames nobody borrowed and hands their slots back to the camera, but
+ * always keeps the newest frame. Concurrent sessions can borrow the same
+ * frame. A borrowed slot is reference-counted and handed back once the
+ * last borrower closes its lease and a newer frame has arrived. The ring
+ * is released strictly in order, so a long-held lease stalls the camera
+ * once the slots after it fill up; leases last one evidence session.
+ *
+ * acquire() is empty while disabled, before the first frame, or when the
+ * newest frame is older than cps.camera.shm.max-frame-age-millis (camera
+ * stalled). The evidence path then reports the frame as rejected.
+ *
+ * Metrics (Micrometer):
+ *   cps.camera.shm.frames     (frames published by the camera)
+ *   cps.camera.shm.leased     (frames borrowed by evidence sessions)
+ *   cps.camera.shm.skipped    (frames handed back unused)
+ *   cps.camera.shm.missing    (sessions with no fresh frame)
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.camera.shm.enabled=false
+ *     cps.camera.shm.file=${java.io.tmpdir}/cse564-camera/frames.ring
+ *     cps.camera.shm.slots=8
+ *     cps.camera.shm.max-frame-bytes=4194304
+ *     cps.camera.shm.max-frame-age-millis=200
+ *     cps.camera.shm.poll-micros=500
+ */
+public class SharedMemoryCameraService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMemoryCameraService.class);
+
+    private final boolean enabled;
+    private final long maxFrameAgeMillis;
+    private final long pollNanos;
+    private final SharedFrameRing ring;
+
+    private final Counter frames;
+    private final Counter leased;
+    private final Counter skipped;
+    private final Counter missing;
+
+    // Guarded by this: borrowers per slot, newest frame kept and newest
+    // frame leased (-1 = none), frames handed back so far
+    private final int[] borrowers;
+    private long newest = -1;
+    private long lastLeased = -1;
+    private long releasedSeq;
+
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    public SharedMemoryCameraService(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            String file,
+            int slots,
+            int maxFrameBytes,
+            long maxFrameAgeMillis,
+            long pollMicros
+    ) {
+        this.enabled = enabled;
+        this.maxFrameAgeMillis = maxFrameAgeMillis;
+        this.pollNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(1, pollMicros));
+        this.frames = meterRegistry.counter("cps.camera.shm.frames");
+        this.leased = meterRegistry.counter("cps.camera.shm.leased");
+        this.skipped = meterRegistry.counter("cps.camera.shm.skipped");
+        this.missing = meterRegistry.counter("cps.camera.shm.missing");
+
+        if (!enabled) {
+            this.ring = null;
+            this.borrowers = new int[0];
+            this.consumer = null;
+            return;
+        }
+
+        try {
+            this.ring = SharedFrameRing.create(Path.of(file), slots, maxFrameBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create camera frame ring " + file, e);
+        }
+        this.borrowers = new int[ring.getSlotCount()];
+        this.consumer = new Thread(this::runConsumer, "camera-ring-consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+        log.info("Camera frame ring at {}: {} slots of {} bytes", file, slots, maxFrameBytes);
+    }
+
+    /*
+     * Borrows the newest camera frame. The lease must be closed once the
+     * frame's evidence has been packaged.
+     */
+    public Optional<FrameLease> acquire() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            advance();
+            if (newest < 0
+                    || System.currentTimeMillis() - ring.timestampMillis(newest) > maxFrameAgeMillis) {
+                missing.increment();
+                return Optional.empty();
+            }
+            long seq = newest;
+            borrowers[slot(seq)]++;
+            lastLeased = seq;
+            leased.increment();
+            return Optional.of(new FrameLease(seq, CameraData.builder()
+                    .imageBuffer(ring.frame(seq))
+                    .timestampMillis(ring.timestampMillis(seq))
+                    .build()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Null while disabled
+    public SharedFrameRing getRing() {
+        return ring;
+    }
+
+    @Override
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runConsumer() {
+        while (running) {
+            synchronized (this) {
+                advance();
+            }
+            LockSupport.parkNanos(pollNanos);
+        }
+    }
+
+    // Takes the newest published frame and hands back every unborrowed
+    // slot before it, in order (caller holds the lock)
+    private void advance() {
+        long published = ring.published();
+        if (published - 1 > newest) {
+            frames.increment(published - 1 - newest);
+            // Every frame superseded unborrowed: those in between, and the
+            // previous newest unless it was leased
+            long unused = published - 2 - newest;
+            if (newest >= 0 && lastLeased != newest) {
+                unused++;
+            }
+            skipped.increment(unused);
+            newest = published - 1;
+        }
+        long released = releasedSeq;
+        while (released < newest && borrowers[slot(released)] == 0) {
+            released++;
+        }
+        if (released != releasedSeq) {
+            releasedSeq = released;
+            ring.release(released);
+        }
+    }
+
+    private synchronized void returnFrame(long seq) {
+        borrowers[slot(seq)]--;
+        advance();
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % borrowers.length);
+    }
+
+    /*
+     * A borrowed camera frame; closing it hands the slot back.
+     */
+    public final class FrameLease implements AutoCloseable {
+
+        private final long seq;
+        private final CameraData frame;
+        private boolean closed;
+
+        private FrameLease(long seq, CameraData frame) {
+            this.seq = seq;
+            this.frame = frame;
+        }
+
+        public CameraData getFrame() {
+            return frame;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                returnFrame(seq);
+            }
+        }
+    }
+}
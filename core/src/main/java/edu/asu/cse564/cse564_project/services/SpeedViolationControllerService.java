@@ -3,8 +3,7 @@ package edu.asu.cse564.cse564_project.services;
 import edu.asu.cse564.cse564_project.domain.RadarSample;
 import edu.asu.cse564.cse564_project.domain.SpeedContext;
 import edu.asu.cse564.cse564_project.domain.SpeedStatus;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
+import edu.asu.cse564.cse564_project.util.PipelineJfrEvents.SpeedEvaluationEvent;
 
 import java.util.Optional;
 
@@ -15,6 +14,7 @@ import java.util.Optional;
  * Always produces SpeedStatus for LED display.
  * Produces SpeedContext only when overspeed occurs within the active monitoring zone.
  * Monitoring zones are defined based on distance in meters.
+ * Each overspeed evaluation emits a SpeedEvaluationEvent while JFR records it.
  *
  * Configuration:
  *   The speed limit and overspeed tolerance are now configurable via
@@ -23,7 +23,6 @@ import java.util.Optional;
  *     cps.speed.limit-mph=40.0
  *     cps.speed.tolerance-ratio=0.10
  */
-@Service
 public class SpeedViolationControllerService {
 
     // Configurable base allowed speed in mph (from application.properties)
@@ -33,14 +32,14 @@ public class SpeedViolationControllerService {
     private final double toleranceRatio;
 
     // Lower boundary for the monitoring zone (meters)
-    private static final double MONITOR_ZONE_START_METERS = -90.0;
+    public static final double MONITOR_ZONE_START_METERS = -90.0;
 
     private final UnitConversionService unitConversionService;
 
     public SpeedViolationControllerService(
             UnitConversionService unitConversionService,
-            @Value("${cps.speed.limit-mph:40.0}") double speedLimitMph,
-            @Value("${cps.speed.tolerance-ratio:0.10}") double toleranceRatio
+            double speedLimitMph,
+            double toleranceRatio
     ) {
         this.unitConversionService = unitConversionService;
         this.speedLimitMph = speedLimitMph;
@@ -57,6 +56,9 @@ public class SpeedViolationControllerService {
                 .speedMph(sample.getSpeedMph())
                 .distanceMiles(sample.getDistanceMiles())
                 .overspeed(overspeed)
+                .lane(sample.getLane())
+                .targetId(sample.getTargetId())
+                .timestampMillis(sample.getTimestampMillis())
                 .build();
     }
 
@@ -66,6 +68,25 @@ public class SpeedViolationControllerService {
      *   - distanceMeters > MONITOR_ZONE_START_METERS
      */
     public Optional<SpeedContext> buildOverspeedContext(RadarSample sample) {
+        SpeedEvaluationEvent event = new SpeedEvaluationEvent();
+        event.begin();
+        Optional<SpeedContext> ctx = evaluate(sample);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.targetId = sample.getTargetId();
+            event.zone = RadarDataCollectorService.zoneOf(
+                    unitConversionService.milesToMeters(sample.getDistanceMiles()));
+            event.speedMph = sample.getSpeedMph();
+            event.thresholdMph = speedLimitMph * (1.0 + toleranceRatio);
+            event.overspeed = isOverspeed(sample.getSpeedMph());
+            event.contextCreated = ctx.isPresent();
+            event.commit();
+        }
+        return ctx;
+    }
+
+    private Optional<SpeedContext> evaluate(RadarSample sample) {
         boolean overspeed = isOverspeed(sample.getSpeedMph());
         if (!overspeed) {
             return Optional.empty();
@@ -93,7 +114,7 @@ public class SpeedViolationControllerService {
     }
 
     // Determines whether the given speed is above the overspeed threshold.
-    private boolean isOverspeed(double speedMph) {
+    public boolean isOverspeed(double speedMph) {
         double threshold = speedLimitMph * (1.0 + toleranceRatio);
         return speedMph >= threshold;
     }
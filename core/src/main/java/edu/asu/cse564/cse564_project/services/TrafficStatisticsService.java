@@ -0,0 +1,299 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.SpeedHistogramExport;
+import edu.asu.cse564.cse564_project.domain.SpeedStatus;
+import edu.asu.cse564.cse564_project.domain.TrafficWindowStats;
+import edu.asu.cse564.cse564_project.util.SpeedHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * TrafficStatisticsService
+ *
+ * Streaming traffic statistics over every SpeedStatus, not only
+ * violations: per-lane, per-minute sample counts, mean, median and
+ * 85th-percentile speed, and speed histograms.
+ *
+ * Each lane owns a ring of cps.stats.retained-minutes one-minute slots,
+ * each holding a SpeedHistogram (fixed long[] buckets) and an overspeed
+ * count. A sample lands in the slot for its minute; a slot is reset and
+ * reused when a new minute maps onto it. Memory per lane is therefore
+ * constant, and recording never allocates.
+ *
+ * Windows:
+ *   tumbling — the one-minute slots as they are (minuteStats)
+ *   sliding  — the last N minutes, merged on demand (slidingStats)
+ *
+ * Histograms are exported in a sparse, device-tagged form and merged by
+ * bucket-wise addition, so statistics from several devices (or lanes)
+ * combine without loss.
+ *
+ * Each radar sample is one spot-speed observation; a vehicle tracked
+ * through the zone contributes several samples.
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.stats.retained-minutes=60
+ *     cps.stats.max-lanes=16
+ */
+public class TrafficStatisticsService {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final String deviceId;
+    private final int retainedMinutes;
+    private final int maxLanes;
+
+    private final Map<Integer, LaneWindows> lanes = new ConcurrentHashMap<>();
+
+    private final Counter recorded;
+    private final Counter dropped;
+
+    public TrafficStatisticsService(
+            MeterRegistry meterRegistry,
+            String deviceId,
+            int retainedMinutes,
+            int maxLanes
+    ) {
+        this.deviceId = deviceId;
+        this.retainedMinutes = Math.max(1, retainedMinutes);
+        this.maxLanes = Math.max(1, maxLanes);
+
+        this.recorded = meterRegistry.counter("cps.stats.samples", "outcome", "recorded");
+        this.dropped = meterRegistry.counter("cps.stats.samples", "outcome", "dropped");
+    }
+
+    /*
+     * Adds one SpeedStatus to its lane's current minute. Samples older than
+     * the retained range, or for lanes beyond cps.stats.max-lanes, are dropped.
+     */
+    public void record(SpeedStatus status) {
+        LaneWindows windows = lanes.get(status.getLane());
+        if (windows == null) {
+            if (lanes.size() >= maxLanes) {
+                dropped.increment();
+                return;
+            }
+            windows = lanes.computeIfAbsent(status.getLane(), lane -> new LaneWindows(retainedMinutes));
+        }
+
+        long timestamp = status.getTimestampMillis() > 0 ? status.getTimestampMillis() : System.currentTimeMillis();
+        if (windows.record(timestamp / MINUTE_MILLIS, status.getSpeedMph(), status.isOverspeed())) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public Set<Integer> getLanes() {
+        return new TreeSet<>(lanes.keySet());
+    }
+
+    /*
+     * Tumbling one-minute windows in [fromMillis, toMillis), oldest first.
+     * lane == null merges all lanes; null bounds mean the whole retained range.
+     */
+    public List<TrafficWindowStats> minuteStats(Integer lane, Long fromMillis, Long toMillis) {
+        long nowMinute = System.currentTimeMillis() / MINUTE_MILLIS;
+        long firstMinute = Math.max(nowMinute - retainedMinutes + 1,
+                fromMillis == null ? Long.MIN_VALUE : fromMillis / MINUTE_MILLIS);
+        long lastMinute = Math.min(nowMinute,
+                toMillis == null ? Long.MAX_VALUE : (toMillis - 1) / MINUTE_MILLIS);
+
+        List<TrafficWindowStats> result = new ArrayList<>();
+        SpeedHistogram histogram = new SpeedHistogram();
+        for (long minute = firstMinute; minute <= lastMinute; minute++) {
+            histogram.reset();
+            long overspeed = 0;
+            for (LaneWindows windows : selectLanes(lane)) {
+                overspeed += windows.mergeInto(histogram, minute, minute);
+            }
+            if (histogram.getCount() > 0) {
+                result.add(toStats(lane, minute * MINUTE_MILLIS, (minute + 1) * MINUTE_MILLIS, histogram, overspeed));
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Sliding window: the last windowMinutes minutes up to now (the current,
+     * partial minute included), merged into one result.
+     */
+    public TrafficWindowStats slidingStats(Integer lane, int windowMinutes) {
+        int minutes = Math.max(1, Math.min(windowMinutes, retainedMinutes));
+        long nowMinute = System.currentTimeMillis() / MINUTE_MILLIS;
+        long firstMinute = nowMinute - minutes + 1;
+
+        SpeedHistogram histogram = new SpeedHistogram();
+        long overspeed = 0;
+        for (LaneWindows windows : selectLanes(lane)) {
+            overspeed += windows.mergeInto(histogram, firstMinute, nowMinute);
+        }
+        return toStats(lane, firstMinute * MINUTE_MILLIS, System.currentTimeMillis(), histogram, overspeed);
+    }
+
+    /*
+     * Exports the merged histogram for [fromMillis, toMillis) so another
+     * node can merge it with its own.
+     */
+    public SpeedHistogramExport export(Integer lane, Long fromMillis, Long toMillis) {
+        long nowMinute = System.currentTimeMillis() / MINUTE_MILLIS;
+        long firstMinute = Math.max(nowMinute - retainedMinutes + 1,
+                fromMillis == null ? Long.MIN_VALUE : fromMillis / MINUTE_MILLIS);
+        long lastMinute = Math.min(nowMinute,
+                toMillis == null ? Long.MAX_VALUE : (toMillis - 1) / MINUTE_MILLIS);
+
+        SpeedHistogram histogram = new SpeedHistogram();
+        long overspeed = 0;
+        for (LaneWindows windows : selectLanes(lane)) {
+            overspeed += windows.mergeInto(histogram, firstMinute, lastMinute);
+        }
+        return SpeedHistogramExport.builder()
+                .deviceId(deviceId)
+                .lane(lane)
+                .fromMillis(firstMinute * MINUTE_MILLIS)
+                .toMillis((lastMinute + 1) * MINUTE_MILLIS)
+                .bucketWidthMph(SpeedHistogram.BUCKET_WIDTH_MPH)
+                .count(histogram.getCount())
+                .overspeedCount(overspeed)
+                .sumSpeedMph(histogram.getSum())
+                .minSpeedMph(orNull(histogram.getMin()))
+                .maxSpeedMph(orNull(histogram.getMax()))
+                .buckets(histogram.toSparseBuckets())
+                .build();
+    }
+
+    /*
+     * Merges exports (e.g. from several devices) into one statistics result.
+     * Throws IllegalArgumentException if their bucket layouts differ or an
+     * export is inconsistent (see SpeedHistogram.merge(); also a negative
+     * overspeedCount or one above count).
+     */
+    public TrafficWindowStats merge(Collection<SpeedHistogramExport> exports) {
+        SpeedHistogram histogram = new SpeedHistogram();
+        long overspeed = 0;
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        Integer lane = null;
+        boolean firstExport = true;
+
+        for (SpeedHistogramExport export : exports) {
+            if (export == null) {
+                throw new IllegalArgumentException("Null export");
+            }
+            if (export.getBucketWidthMph() != SpeedHistogram.BUCKET_WIDTH_MPH) {
+                throw new IllegalArgumentException("Incompatible bucket width: " + export.getBucketWidthMph());
+            }
+            if (export.getOverspeedCount() < 0 || export.getOverspeedCount() > export.getCount()) {
+                throw new IllegalArgumentException("Invalid overspeedCount " + export.getOverspeedCount()
+                        + " for count " + export.getCount());
+            }
+            histogram.merge(export.getBuckets() == null ? Map.of() : export.getBuckets(),
+                    export.getCount(), export.getSumSpeedMph(),
+                    export.getMinSpeedMph() == null ? Double.NaN : export.getMinSpeedMph(),
+                    export.getMaxSpeedMph() == null ? Double.NaN : export.getMaxSpeedMph());
+            overspeed += export.getOverspeedCount();
+            from = Math.min(from, export.getFromMillis());
+            to = Math.max(to, export.getToMillis());
+            lane = firstExport || Objects.equals(lane, export.getLane()) ? export.getLane() : null;
+            firstExport = false;
+        }
+        if (firstExport) {
+            from = 0;
+            to = 0;
+        }
+        return toStats(lane, from, to, histogram, overspeed);
+    }
+
+    private Collection<LaneWindows> selectLanes(Integer lane) {
+        if (lane == null) {
+            return lanes.values();
+        }
+        LaneWindows windows = lanes.get(lane);
+        return windows == null ? List.of() : List.of(windows);
+    }
+
+    private static TrafficWindowStats toStats(Integer lane, long start, long end,
+                                              SpeedHistogram histogram, long overspeed) {
+        return TrafficWindowStats.builder()
+                .lane(lane)
+                .windowStartMillis(start)
+                .windowEndMillis(end)
+                .count(histogram.getCount())
+                .overspeedCount(overspeed)
+                .meanSpeedMph(orNull(histogram.mean()))
+                .p50SpeedMph(orNull(histogram.percentile(50)))
+                .p85SpeedMph(orNull(histogram.percentile(85)))
+                .minSpeedMph(orNull(histogram.getMin()))
+                .maxSpeedMph(orNull(histogram.getMax()))
+                .build();
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /*
+     * Ring of one-minute slots for one lane, preallocated and reused.
+     */
+    private static final class LaneWindows {
+
+        private final long[] slotMinute;
+        private final SpeedHistogram[] histograms;
+        private final long[] overspeedCounts;
+
+        private LaneWindows(int slots) {
+            this.slotMinute = new long[slots];
+            this.histograms = new SpeedHistogram[slots];
+            this.overspeedCounts = new long[slots];
+            for (int i = 0; i < slots; i++) {
+                slotMinute[i] = Long.MIN_VALUE;
+                histograms[i] = new SpeedHistogram();
+            }
+        }
+
+        // Returns false if the minute has already rotated out of the ring
+        private synchronized boolean record(long minute, double speedMph, boolean overspeed) {
+            int slot = slotOf(minute);
+            if (slotMinute[slot] != minute) {
+                if (slotMinute[slot] > minute) {
+                    return false;
+                }
+                slotMinute[slot] = minute;
+                histograms[slot].reset();
+                overspeedCounts[slot] = 0;
+            }
+            histograms[slot].record(speedMph);
+            if (overspeed) {
+                overspeedCounts[slot]++;
+            }
+            return true;
+        }
+
+        // Merges the slots for minutes [firstMinute, lastMinute]; returns their overspeed count
+        private synchronized long mergeInto(SpeedHistogram target, long firstMinute, long lastMinute) {
+            long overspeed = 0;
+            for (int slot = 0; slot < slotMinute.length; slot++) {
+                long minute = slotMinute[slot];
+                if (minute >= firstMinute && minute <= lastMinute) {
+                    target.merge(histograms[slot]);
+                    overspeed += overspeedCounts[slot];
+                }
+            }
+            return overspeed;
+        }
+
+        private int slotOf(long minute) {
+            return (int) Math.floorMod(minute, (long) slotMinute.length);
+        }
+    }
+}
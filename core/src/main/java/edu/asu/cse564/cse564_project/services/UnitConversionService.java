@@ -1,6 +1,5 @@
 package edu.asu.cse564.cse564_project.services;
 
-import org.springframework.stereotype.Service;
 
 /*
  * UnitConversionService
@@ -9,7 +8,6 @@ import org.springframework.stereotype.Service;
  * (mile, mph) and SI units (meter, m/s).
  * Used throughout the CPS pipeline to ensure consistent internal calculations.
  */
-@Service
 public class UnitConversionService {
 
     // Number of meters in one mile
@@ -0,0 +1,470 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.UplinkPriority;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.TokenBucket;
+import edu.asu.cse564.cse564_project.util.UplinkBatchCompressor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+ * UplinkSchedulerService
+ *
+ * Decides what goes over the shared (metered) cellular link and when.
+ *
+ * Each stored violation is split into up to two uplink items:
+ *   METADATA — the binary ViolationRecord frame (small)
+ *   IMAGE    — the evidence image, read from the EvidenceImageStore (large)
+ *
+ * Items are ordered by:
+ *   1. part    — all queued metadata before any image (cps.uplink.metadata-first)
+ *   2. class   — WATCHLIST, then HIGH_OVERSPEED, then ROUTINE
+ *   3. arrival — FIFO within a class
+ * With metadata-first disabled the order is class, arrival, part, so a
+ * record's image directly follows its metadata.
+ *
+ * A single sender thread takes the head item. Consecutive small metadata
+ * frames are coalesced into one batch (cps.uplink.batch-max-bytes /
+ * batch-max-records) so the per-transmission overhead is paid once. Before
+ * sending, the sender waits on a TokenBucket enforcing
+ * cps.uplink.bandwidth-bytes-per-sec with bursts up to
+ * cps.uplink.burst-bytes. A record becomes UPLOADED in the
+ * ViolationQueryService once all of its queued parts have been sent. A
+ * record whose image is missing becomes FAILED for good: metadata parts
+ * sent later (e.g. merged sightings) never turn it into UPLOADED.
+ * enqueueUpdate() re-sends only the metadata of an already queued record
+ * (for merged repeat sightings), never its image.
+ *
+ * While images are deferred (setImagesDeferred, driven by the
+ * OverloadController), the sender parks image items instead of sending
+ * them and keeps sending metadata. Parked images return to the queue in
+ * their original order once deferral ends.
+ *
+ * Each transmission is compressed by an UplinkBatchCompressor (Deflater
+ * with a preset dictionary trained on recent metadata; JPEG/PNG images
+ * pass through unchanged), and the token bucket is charged the compressed
+ * size, including a new dictionary sent ahead of the batch that first
+ * uses it.
+ *
+ * Transmission itself is simulated; only the pacing and compression are real.
+ *
+ * Metrics (Micrometer):
+ *   cps.uplink.queue.depth{priority}      — items waiting per class
+ *   cps.uplink.wait{priority,part}        — time from enqueue to send
+ *   cps.uplink.bytes.sent{part}           — bytes put on the link (after compression)
+ *   cps.uplink.bytes.raw{part}            — bytes before compression
+ *   cps.uplink.compression.ratio{part}    — sent / raw bytes per transmission
+ *   cps.uplink.compression.cpu{part}      — compressor CPU time per transmission
+ *   cps.uplink.batch.records              — metadata records per batch
+ *   cps.uplink.rejected                   — records refused because the queue was full
+ *   cps.uplink.images.deferred            — images parked while deferral is on
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.uplink.bandwidth-bytes-per-sec=65536   (0 = unlimited)
+ *     cps.uplink.burst-bytes=131072
+ *     cps.uplink.watchlist=                      (comma-separated plates)
+ *     cps.uplink.high-overspeed-ratio=0.25       (speed >= limit * (1 + ratio))
+ *     cps.uplink.metadata-first=true
+ *     cps.uplink.batch-max-bytes=8192
+ *     cps.uplink.batch-max-records=32
+ *     cps.uplink.queue-capacity=10000
+ *     cps.uplink.compression.enabled=true
+ *     cps.uplink.compression.level=6
+ *     cps.uplink.compression.dictionary-bytes=4096
+ *     cps.uplink.compression.dictionary-sample-records=64
+ *     cps.uplink.compression.dictionary-retrain-batches=8
+ */
+public class UplinkSchedulerService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UplinkSchedulerService.class);
+
+    // How often a sender with parked images checks whether deferral ended
+    private static final long DEFERRAL_RECHECK_MILLIS = 50;
+
+    private final Set<String> watchlist;
+    private final double highOverspeedMph;
+    private final int batchMaxBytes;
+    private final int batchMaxRecords;
+    private final int queueCapacity;
+
+    private final ViolationQueryService violationQueryService;
+    private final EvidenceImageStoreService evidenceImageStoreService;
+
+    private final TokenBucket tokenBucket;
+    private final UplinkBatchCompressor compressor;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final PriorityBlockingQueue<UplinkItem> queue;
+    private final AtomicLong arrivalSequence = new AtomicLong();
+    // Parts still queued per violation; the record is UPLOADED when none remain
+    private final Map<String, Integer> outstandingParts = new ConcurrentHashMap<>();
+    // Violations whose image could not be sent; FAILED is terminal for them
+    private final Set<String> failedViolations = ConcurrentHashMap.newKeySet();
+    private final Map<UplinkPriority, AtomicInteger> depthByPriority = new EnumMap<>(UplinkPriority.class);
+    private final Thread sender;
+
+    private volatile boolean imagesDeferred;
+    // Image items parked by the sender thread while deferral is on
+    private final List<UplinkItem> parkedImages = new ArrayList<>();
+    private final AtomicInteger parkedImageCount = new AtomicInteger();
+
+    private final Map<UplinkPriority, Timer[]> waitTimers = new EnumMap<>(UplinkPriority.class);
+    private final Map<Part, PartMeters> partMeters = new EnumMap<>(Part.class);
+    private final DistributionSummary batchRecords;
+    private final Counter rejected;
+
+    public UplinkSchedulerService(
+            ViolationQueryService violationQueryService,
+            EvidenceImageStoreService evidenceImageStoreService,
+            MeterRegistry meterRegistry,
+            double speedLimitMph,
+            long bandwidthBytesPerSec,
+            long burstBytes,
+            String watchlist,
+            double highOverspeedRatio,
+            boolean metadataFirst,
+            int batchMaxBytes,
+            int batchMaxRecords,
+            int queueCapacity,
+            boolean compressionEnabled,
+            int compressionLevel,
+            int dictionaryBytes,
+            int dictionarySampleRecords,
+            int dictionaryRetrainBatches
+    ) {
+        this.violationQueryService = violationQueryService;
+        this.evidenceImageStoreService = evidenceImageStoreService;
+
+        this.watchlist = Arrays.stream(watchlist.split(","))
+                .map(String::trim)
+                .filter(plate -> !plate.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.highOverspeedMph = speedLimitMph * (1.0 + highOverspeedRatio);
+        this.batchMaxBytes = Math.max(1, batchMaxBytes);
+        this.batchMaxRecords = Math.max(1, batchMaxRecords);
+        this.queueCapacity = Math.max(1, queueCapacity);
+
+        this.tokenBucket = new TokenBucket(bandwidthBytesPerSec, burstBytes);
+        this.compressor = compressionEnabled
+                ? new UplinkBatchCompressor(compressionLevel, dictionaryBytes, dictionarySampleRecords,
+                        dictionaryRetrainBatches, 8)
+                : null;
+
+        Comparator<UplinkItem> byPart = Comparator.comparing(UplinkItem::part);
+        Comparator<UplinkItem> byPriority = Comparator.comparing(UplinkItem::priority);
+        Comparator<UplinkItem> byArrival = Comparator.comparingLong(UplinkItem::arrival);
+        Comparator<UplinkItem> order = metadataFirst
+                ? byPart.thenComparing(byPriority).thenComparing(byArrival)
+                : byPriority.thenComparing(byArrival).thenComparing(byPart);
+        this.queue = new PriorityBlockingQueue<>(256, order);
+
+        for (UplinkPriority priority : UplinkPriority.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            depthByPriority.put(priority, depth);
+            meterRegistry.gauge("cps.uplink.queue.depth", Tags.of("priority", priority.name()), depth);
+
+            Timer[] timers = new Timer[Part.values().length];
+            for (Part part : Part.values()) {
+                timers[part.ordinal()] = Timer.builder("cps.uplink.wait")
+                        .tag("priority", priority.name())
+                        .tag("part", part.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+            waitTimers.put(priority, timers);
+        }
+        for (Part part : Part.values()) {
+            partMeters.put(part, new PartMeters(meterRegistry, part.name().toLowerCase()));
+        }
+        this.batchRecords = meterRegistry.summary("cps.uplink.batch.records");
+        this.rejected = meterRegistry.counter("cps.uplink.rejected");
+        meterRegistry.gauge("cps.uplink.images.deferred", parkedImageCount);
+
+        this.sender = new Thread(this::runSender, "uplink-scheduler");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /*
+     * Assigns the record a priority class.
+     */
+    public UplinkPriority classify(ViolationRecord record) {
+        if (record.getPlateNumber() != null && watchlist.contains(record.getPlateNumber())) {
+            return UplinkPriority.WATCHLIST;
+        }
+        if (record.getSpeedMph() >= highOverspeedMph) {
+            return UplinkPriority.HIGH_OVERSPEED;
+        }
+        return UplinkPriority.ROUTINE;
+    }
+
+    /*
+     * Queues a stored record (its encoded frame plus its image, if any) for
+     * upload. Returns false if the queue is full; the record then stays
+     * in the local store as PENDING.
+     */
+    public boolean enqueue(ViolationRecord record, ByteBuffer frame) {
+        return submit(record, frame, record.getImageRef() != null);
+    }
+
+    /*
+     * Queues only the re-encoded metadata frame of a record that was
+     * already queued or sent (e.g. after merging a repeat sighting). The
+     * image is not sent again. Returns false if the queue is full.
+     */
+    public boolean enqueueUpdate(ViolationRecord record, ByteBuffer frame) {
+        return submit(record, frame, false);
+    }
+
+    private boolean submit(ViolationRecord record, ByteBuffer frame, boolean includeImage) {
+        if (queue.size() >= queueCapacity) {
+            rejected.increment();
+            return false;
+        }
+
+        UplinkPriority priority = classify(record);
+        long arrival = arrivalSequence.getAndIncrement();
+        long now = System.nanoTime();
+        outstandingParts.merge(record.getViolationId(), includeImage ? 2 : 1, Integer::sum);
+
+        offer(new UplinkItem(Part.METADATA, priority, arrival, now, record.getViolationId(),
+                frame.remaining(), frame.duplicate(), null));
+        if (includeImage) {
+            offer(new UplinkItem(Part.IMAGE, priority, arrival, now, record.getViolationId(),
+                    record.getImageSizeBytes(), null, record.getImageRef()));
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /*
+     * Holds back image uploads (metadata keeps flowing) until called again
+     * with false.
+     */
+    public void setImagesDeferred(boolean deferred) {
+        imagesDeferred = deferred;
+    }
+
+    public boolean isImagesDeferred() {
+        return imagesDeferred;
+    }
+
+    public int getDeferredImageCount() {
+        return parkedImageCount.get();
+    }
+
+    private void offer(UplinkItem item) {
+        depthByPriority.get(item.priority()).incrementAndGet();
+        queue.offer(item);
+    }
+
+    private UplinkItem poll() {
+        UplinkItem item = queue.poll();
+        if (item != null) {
+            depthByPriority.get(item.priority()).decrementAndGet();
+        }
+        return item;
+    }
+
+    private void runSender() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (!imagesDeferred && !parkedImages.isEmpty()) {
+                    queue.addAll(parkedImages);
+                    parkedImages.clear();
+                    parkedImageCount.set(0);
+                }
+                UplinkItem head = imagesDeferred
+                        ? queue.poll(DEFERRAL_RECHECK_MILLIS, TimeUnit.MILLISECONDS)
+                        : queue.take();
+                if (head == null) {
+                    continue;
+                }
+                if (head.part() == Part.IMAGE && imagesDeferred) {
+                    // Still counted in the depth gauge while parked
+                    parkedImages.add(head);
+                    parkedImageCount.incrementAndGet();
+                    continue;
+                }
+                depthByPriority.get(head.priority()).decrementAndGet();
+
+                if (head.part() == Part.METADATA) {
+                    sendMetadataBatch(head);
+                } else {
+                    sendImage(head);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Uplink send failed", e);
+            }
+        }
+    }
+
+    private void sendMetadataBatch(UplinkItem first) throws InterruptedException {
+        List<UplinkItem> batch = new ArrayList<>();
+        batch.add(first);
+        long bytes = first.bytes();
+
+        while (batch.size() < batchMaxRecords) {
+            UplinkItem next = poll();
+            if (next == null) {
+                break;
+            }
+            if (next.part() != Part.METADATA || bytes + next.bytes() > batchMaxBytes) {
+                // Does not fit this batch; it keeps its place in the order
+                offer(next);
+                break;
+            }
+            batch.add(next);
+            bytes += next.bytes();
+        }
+
+        List<ByteBuffer> frames = new ArrayList<>(batch.size());
+        for (UplinkItem item : batch) {
+            frames.add(item.payload());
+        }
+        long cpuStart = cpuTimeNanos();
+        long wireBytes = compressor == null ? bytes : compressor.compressMetadata(frames).remaining();
+        long cpuNanos = cpuTimeNanos() - cpuStart;
+
+        tokenBucket.acquire(wireBytes);
+
+        // Simulated transmission of the whole batch
+        partMeters.get(Part.METADATA).record(bytes, wireBytes, cpuNanos);
+        batchRecords.record(batch.size());
+        for (UplinkItem item : batch) {
+            completePart(item);
+        }
+    }
+
+    private void sendImage(UplinkItem item) throws InterruptedException {
+        Optional<ByteBuffer> image = evidenceImageStoreService.get(item.imageRef());
+        if (image.isEmpty()) {
+            log.warn("Evidence image {} for violation {} is missing; upload failed",
+                    item.imageRef(), item.violationId());
+            failedViolations.add(item.violationId());
+            releasePart(item.violationId());
+            violationQueryService.updateUploadState(item.violationId(), UploadState.FAILED);
+            return;
+        }
+
+        long rawBytes = image.get().remaining();
+        long cpuStart = cpuTimeNanos();
+        long wireBytes = compressor == null ? rawBytes : compressor.compressImage(image.get()).remaining();
+        long cpuNanos = cpuTimeNanos() - cpuStart;
+
+        tokenBucket.acquire(wireBytes);
+
+        // Simulated transmission of the image
+        partMeters.get(Part.IMAGE).record(rawBytes, wireBytes, cpuNanos);
+        completePart(item);
+    }
+
+    private void completePart(UplinkItem item) {
+        waitTimers.get(item.priority())[item.part().ordinal()]
+                .record(System.nanoTime() - item.enqueuedNanos(), TimeUnit.NANOSECONDS);
+
+        if (releasePart(item.violationId())) {
+            // A merged sighting re-indexes the record as PENDING; a failed one stays FAILED
+            violationQueryService.updateUploadState(item.violationId(),
+                    failedViolations.contains(item.violationId()) ? UploadState.FAILED : UploadState.UPLOADED);
+        }
+    }
+
+    // True only when this part was the last one outstanding for its violation
+    private boolean releasePart(String violationId) {
+        boolean[] last = new boolean[1];
+        outstandingParts.computeIfPresent(violationId, (id, parts) -> {
+            if (parts > 1) {
+                return parts - 1;
+            }
+            last[0] = true;
+            return null;
+        });
+        return last[0];
+    }
+
+    // CPU time of the sender thread, or 0 if the JVM cannot measure it
+    private long cpuTimeNanos() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : 0L;
+    }
+
+    @Override
+    public void close() {
+        sender.interrupt();
+    }
+
+    // Declaration order is the metadata-first send order
+    private enum Part {
+        METADATA,
+        IMAGE
+    }
+
+    private record UplinkItem(
+            Part part,
+            UplinkPriority priority,
+            long arrival,
+            long enqueuedNanos,
+            String violationId,
+            long bytes,
+            ByteBuffer payload,
+            String imageRef
+    ) {
+    }
+
+    // Byte, ratio and compression CPU meters for one part
+    private static final class PartMeters {
+
+        private final Counter bytesSent;
+        private final Counter bytesRaw;
+        private final DistributionSummary compressionRatio;
+        private final Timer compressionCpu;
+
+        private PartMeters(MeterRegistry meterRegistry, String part) {
+            this.bytesSent = meterRegistry.counter("cps.uplink.bytes.sent", "part", part);
+            this.bytesRaw = meterRegistry.counter("cps.uplink.bytes.raw", "part", part);
+            this.compressionRatio = meterRegistry.summary("cps.uplink.compression.ratio", "part", part);
+            this.compressionCpu = meterRegistry.timer("cps.uplink.compression.cpu", "part", part);
+        }
+
+        private void record(long rawBytes, long wireBytes, long cpuNanos) {
+            bytesRaw.increment(rawBytes);
+            bytesSent.increment(wireBytes);
+            if (rawBytes > 0) {
+                compressionRatio.record((double) wireBytes / rawBytes);
+            }
+            compressionCpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.asu.cse564.cse564_project.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/*
+ * ViolationIdGeneratorService
+ *
+ * Hands out time-sortable 128-bit IDs in the UUIDv7 layout, replacing
+ * UUID.randomUUID() (which goes through a shared SecureRandom and yields
+ * random, index-fragmenting keys).
+ *
+ * Bit layout:
+ *
+ *   most significant 64 bits
+ *     48  unix timestamp (ms)
+ *      4  version = 7
+ *     12  per-thread sequence within the millisecond
+ *   least significant 64 bits
+ *      2  variant = 0b10
+ *     16  device bits (CRC32C of cps.device.id)
+ *     14  thread slot (assigned once per thread)
+ *     32  random bits (ThreadLocalRandom)
+ *
+ * Every thread keeps its own last-millisecond and sequence state, so no
+ * lock or shared CAS is taken per ID. IDs from one thread are strictly
+ * increasing; IDs from different threads are ordered by millisecond.
+ * When a thread exhausts 4096 IDs in one millisecond it borrows the next
+ * millisecond rather than waiting.
+ *
+ * The canonical lowercase string form sorts lexicographically in time
+ * order, so violation IDs can be used directly as storage keys and
+ * lowerBoundKey()/upperBoundKey() turn a time range into a key range.
+ */
+public class ViolationIdGeneratorService {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    private static final long VERSION_7 = 0x7L << SEQUENCE_BITS;
+    private static final long VARIANT_RFC4122 = 0x2L << 62;
+    private static final int THREAD_SLOT_BITS = 14;
+    private static final int THREAD_SLOT_MASK = (1 << THREAD_SLOT_BITS) - 1;
+
+    // Device identity folded into 16 bits
+    private final int deviceBits;
+
+    // Source of thread slots; touched once per thread, not per ID
+    private final AtomicInteger threadSlots = new AtomicInteger();
+
+    private final ThreadLocal<ThreadState> threadState =
+            ThreadLocal.withInitial(() -> new ThreadState(threadSlots.getAndIncrement() & THREAD_SLOT_MASK));
+
+    public ViolationIdGeneratorService(String deviceId) {
+        CRC32C crc = new CRC32C();
+        crc.update(deviceId.getBytes(StandardCharsets.UTF_8));
+        this.deviceBits = (int) (crc.getValue() & 0xFFFF);
+    }
+
+    /*
+     * Returns a new time-ordered ID.
+     */
+    public UUID nextId() {
+        ThreadState state = threadState.get();
+        long now = System.currentTimeMillis();
+
+        if (now > state.lastMillis) {
+            state.lastMillis = now;
+            state.sequence = 0;
+        } else if (state.sequence < MAX_SEQUENCE) {
+            // Same millisecond (or clock stepped back): keep counting
+            state.sequence++;
+        } else {
+            // Sequence exhausted: borrow the next millisecond
+            state.lastMillis++;
+            state.sequence = 0;
+        }
+
+        long mostSigBits = (state.lastMillis << 16) | VERSION_7 | state.sequence;
+        long leastSigBits = VARIANT_RFC4122
+                | ((long) deviceBits << 46)
+                | ((long) state.threadSlot << 32)
+                | (ThreadLocalRandom.current().nextInt() & 0xFFFFFFFFL);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /*
+     * Returns a new time-ordered ID in canonical string form.
+     */
+    public String nextIdString() {
+        return nextId().toString();
+    }
+
+    public int getDeviceBits() {
+        return deviceBits;
+    }
+
+    /*
+     * Extracts the embedded timestamp (ms since epoch) from an ID.
+     */
+    public static long timestampMillis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    public static long timestampMillis(String id) {
+        return timestampMillis(UUID.fromString(id));
+    }
+
+    /*
+     * Smallest possible key for the given millisecond (inclusive bound).
+     */
+    public static String lowerBoundKey(long timestampMillis) {
+        return new UUID(timestampMillis << 16, 0L).toString();
+    }
+
+    /*
+     * Smallest possible key after the given millisecond (exclusive bound).
+     */
+    public static String upperBoundKey(long timestampMillis) {
+        return lowerBoundKey(timestampMillis + 1);
+    }
+
+    // Per-thread generator state, never shared
+    private static final class ThreadState {
+
+        private final int threadSlot;
+        private long lastMillis = -1;
+        private int sequence;
+
+        private ThreadState(int threadSlot) {
+            this.threadSlot = threadSlot;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.UploadState;
+import edu.asu.cse564.cse564_project.domain.ViolationPage;
+import edu.asu.cse564.cse564_project.domain.ViolationQuery;
+import edu.asu.cse564.cse564_project.domain.ViolationSummary;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/*
+ * ViolationQueryService
+ *
+ * Metadata index over stored violation records, so dashboards can look
+ * violations up without copying the whole store (images included).
+ *
+ * Indexes (all keyed by the time-ordered violation ID):
+ *   - time index         : ConcurrentSkipListMap<violationId, ViolationSummary>
+ *   - plate hash index   : plate → sorted set of violation IDs
+ *   - speed bucket index : floor(speed / 5 mph) → sorted set of violation IDs
+ *   - upload state index : UploadState → sorted set of violation IDs
+ *
+ * A query picks the most selective index it has a filter for (plate,
+ * then non-UPLOADED state, then speed, then time), walks it in time
+ * order starting after the cursor, and checks the remaining filters
+ * against the summary. Each page examines at most
+ * cps.query.max-scan-per-page entries, so latency stays bounded however
+ * many records are stored; an unfinished scan returns a cursor to resume.
+ *
+ * Results carry metadata only; images are read lazily through getImage(),
+ * which returns a view from the EvidenceImageStore (or, for records that
+ * still carry an inline image, a zero-copy view into the stored frame).
+ *
+ * Configuration (application.properties):
+ *
+ *     cps.query.max-page-size=500
+ *     cps.query.max-scan-per-page=10000
+ */
+public class ViolationQueryService {
+
+    // Width of one speed bucket (mph)
+    private static final double SPEED_BUCKET_MPH = 5.0;
+
+    private final int maxPageSize;
+    private final int maxScanPerPage;
+
+    private final ViolationRecordStoreService recordStore;
+    private final EvidenceImageStoreService evidenceImageStoreService;
+
+    private final ConcurrentSkipListMap<String, ViolationSummary> byTime = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<String>> byPlate = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, NavigableSet<String>> bySpeedBucket = new ConcurrentSkipListMap<>();
+    private final Map<UploadState, NavigableSet<String>> byUploadState = new EnumMap<>(UploadState.class);
+
+    public ViolationQueryService(
+            ViolationRecordStoreService recordStore,
+            EvidenceImageStoreService evidenceImageStoreService,
+            int maxPageSize,
+            int maxScanPerPage
+    ) {
+        this.recordStore = recordStore;
+        this.evidenceImageStoreService = evidenceImageStoreService;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.maxScanPerPage = Math.max(1, maxScanPerPage);
+        for (UploadState state : UploadState.values()) {
+            byUploadState.put(state, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /*
+     * Adds or replaces the index entries for a stored violation.
+     */
+    public void index(ViolationSummary summary) {
+        ViolationSummary previous = byTime.put(summary.getViolationId(), summary);
+        if (previous != null) {
+            removeSecondary(previous);
+        }
+        addSecondary(summary);
+    }
+
+    /*
+     * Moves a violation to a new upload state.
+     */
+    public void updateUploadState(String violationId, UploadState uploadState) {
+        ViolationSummary summary = byTime.get(violationId);
+        if (summary == null || summary.getUploadState() == uploadState) {
+            return;
+        }
+        if (summary.getUploadState() != null) {
+            byUploadState.get(summary.getUploadState()).remove(violationId);
+        }
+        summary.setUploadState(uploadState);
+        if (uploadState != null) {
+            byUploadState.get(uploadState).add(violationId);
+        }
+    }
+
+    public Optional<ViolationSummary> get(String violationId) {
+        return Optional.ofNullable(byTime.get(violationId));
+    }
+
+    /*
+     * Returns a read-only view of the evidence image without copying it.
+     */
+    public Optional<ByteBuffer> getImage(String violationId) {
+        ViolationSummary summary = byTime.get(violationId);
+        if (summary != null && summary.getImageRef() != null) {
+            return evidenceImageStoreService.get(summary.getImageRef());
+        }
+        return recordStore.getFrame(violationId).map(ViolationRecordCodec::imageSlice);
+    }
+
+    /*
+     * Live read-only view of the IDs currently in an upload state, in time
+     * order. Iteration is weakly consistent and never blocks writers.
+     */
+    public NavigableSet<String> getIdsByUploadState(UploadState uploadState) {
+        return Collections.unmodifiableNavigableSet(byUploadState.get(uploadState));
+    }
+
+    /*
+     * Image refs of the violations still awaiting upload, which the
+     * EvidenceImageStore must keep.
+     */
+    public Set<String> getPendingImageRefs() {
+        Set<String> refs = new HashSet<>();
+        for (String violationId : byUploadState.get(UploadState.PENDING)) {
+            ViolationSummary summary = byTime.get(violationId);
+            if (summary != null && summary.getImageRef() != null) {
+                refs.add(summary.getImageRef());
+            }
+        }
+        return refs;
+    }
+
+    public int size() {
+        return byTime.size();
+    }
+
+    public void clear() {
+        byTime.clear();
+        byPlate.clear();
+        bySpeedBucket.clear();
+        byUploadState.values().forEach(NavigableSet::clear);
+    }
+
+    /*
+     * Runs a query and returns one page of matching summaries.
+     */
+    public ViolationPage query(ViolationQuery query) {
+        int limit = query.getLimit() <= 0 ? maxPageSize : Math.min(query.getLimit(), maxPageSize);
+        String lowKey = query.getFromMillis() == null
+                ? null : ViolationIdGeneratorService.lowerBoundKey(query.getFromMillis());
+        String highKey = query.getToMillis() == null
+                ? null : ViolationIdGeneratorService.lowerBoundKey(query.getToMillis());
+
+        Iterator<String> candidates = candidates(query, lowKey, highKey);
+
+        List<ViolationSummary> items = new ArrayList<>();
+        int scanned = 0;
+        String lastScanned = null;
+        while (items.size() < limit && scanned < maxScanPerPage && candidates.hasNext()) {
+            String violationId = candidates.next();
+            scanned++;
+            lastScanned = violationId;
+
+            ViolationSummary summary = byTime.get(violationId);
+            if (summary != null && matches(summary, query, lowKey, highKey)) {
+                items.add(summary);
+            }
+        }
+
+        return ViolationPage.builder()
+                .items(items)
+                .nextCursor(candidates.hasNext() ? lastScanned : null)
+                .scanned(scanned)
+                .build();
+    }
+
+    // Chooses the driving index and returns its IDs in query order
+    private Iterator<String> candidates(ViolationQuery query, String lowKey, String highKey) {
+        if (query.getPlateNumber() != null) {
+            NavigableSet<String> ids = byPlate.get(query.getPlateNumber());
+            return ids == null
+                    ? List.<String>of().iterator()
+                    : window(ids, lowKey, highKey, query).iterator();
+        }
+
+        if (query.getUploadState() != null && query.getUploadState() != UploadState.UPLOADED) {
+            return window(byUploadState.get(query.getUploadState()), lowKey, highKey, query).iterator();
+        }
+
+        if (query.getMinSpeedMph() != null) {
+            Comparator<String> order = query.isNewestFirst()
+                    ? Comparator.<String>reverseOrder() : Comparator.<String>naturalOrder();
+            List<Iterator<String>> buckets = new ArrayList<>();
+            for (NavigableSet<String> bucket
+                    : bySpeedBucket.tailMap(speedBucket(query.getMinSpeedMph()), true).values()) {
+                buckets.add(window(bucket, lowKey, highKey, query).iterator());
+            }
+            return new MergingIterator(buckets, order);
+        }
+
+        if (query.getUploadState() != null) {
+            return window(byUploadState.get(query.getUploadState()), lowKey, highKey, query).iterator();
+        }
+
+        return window(byTime.navigableKeySet(), lowKey, highKey, query).iterator();
+    }
+
+    // Restricts an ID set to the time range and cursor, in query order.
+    // The cursor is clamped to the range: one before the range leaves all
+    // of it, one past the range leaves nothing (an empty last page).
+    private static NavigableSet<String> window(NavigableSet<String> ids, String lowKey, String highKey,
+                                               ViolationQuery query) {
+        String low = lowKey;
+        boolean lowInclusive = true;
+        String high = highKey;
+        String cursor = query.getCursor();
+        if (cursor != null) {
+            if (query.isNewestFirst()) {
+                if (high == null || cursor.compareTo(high) < 0) {
+                    high = cursor;
+                }
+            } else if (low == null || cursor.compareTo(low) >= 0) {
+                low = cursor;
+                lowInclusive = false;
+            }
+        }
+        if (low != null && high != null && low.compareTo(high) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+
+        NavigableSet<String> view = ids;
+        if (low != null && high != null) {
+            view = view.subSet(low, lowInclusive, high, false);
+        } else if (low != null) {
+            view = view.tailSet(low, lowInclusive);
+        } else if (high != null) {
+            view = view.headSet(high, false);
+        }
+        return query.isNewestFirst() ? view.descendingSet() : view;
+    }
+
+    private static boolean matches(ViolationSummary summary, ViolationQuery query, String lowKey, String highKey) {
+        String violationId = summary.getViolationId();
+        if (lowKey != null && violationId.compareTo(lowKey) < 0) {
+            return false;
+        }
+        if (highKey != null && violationId.compareTo(highKey) >= 0) {
+            return false;
+        }
+        if (query.getPlateNumber() != null && !query.getPlateNumber().equals(summary.getPlateNumber())) {
+            return false;
+        }
+        if (query.getMinSpeedMph() != null && summary.getSpeedMph() < query.getMinSpeedMph()) {
+            return false;
+        }
+        return query.getUploadState() == null || query.getUploadState() == summary.getUploadState();
+    }
+
+    private void addSecondary(ViolationSummary summary) {
+        String violationId = summary.getViolationId();
+        if (summary.getPlateNumber() != null) {
+            byPlate.computeIfAbsent(summary.getPlateNumber(), plate -> new ConcurrentSkipListSet<>())
+                    .add(violationId);
+        }
+        bySpeedBucket.computeIfAbsent(speedBucket(summary.getSpeedMph()), bucket -> new ConcurrentSkipListSet<>())
+                .add(violationId);
+        if (summary.getUploadState() != null) {
+            byUploadState.get(summary.getUploadState()).add(violationId);
+        }
+    }
+
+    private void removeSecondary(ViolationSummary summary) {
+        String violationId = summary.getViolationId();
+        if (summary.getPlateNumber() != null) {
+            NavigableSet<String> ids = byPlate.get(summary.getPlateNumber());
+            if (ids != null) {
+                ids.remove(violationId);
+            }
+        }
+        NavigableSet<String> bucket = bySpeedBucket.get(speedBucket(summary.getSpeedMph()));
+        if (bucket != null) {
+            bucket.remove(violationId);
+        }
+        if (summary.getUploadState() != null) {
+            byUploadState.get(summary.getUploadState()).remove(violationId);
+        }
+    }
+
+    private static int speedBucket(double speedMph) {
+        return (int) Math.floor(speedMph / SPEED_BUCKET_MPH);
+    }
+
+    /*
+     * K-way merge of several ID iterators that are each sorted in the same order.
+     */
+    private static final class MergingIterator implements Iterator<String> {
+
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<Iterator<String>> sources, Comparator<String> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                    (a, b) -> order.compare(a.value, b.value));
+            for (Iterator<String> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            String value = head.value;
+            if (head.source.hasNext()) {
+                heads.add(new Head(head.source.next(), head.source));
+            }
+            return value;
+        }
+
+        private record Head(String value, Iterator<String> source) {
+        }
+    }
+}
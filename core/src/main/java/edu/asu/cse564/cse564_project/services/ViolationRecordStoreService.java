@@ -0,0 +1,125 @@
+package edu.asu.cse564.cse564_project.services;
+
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ViolationRecordStoreService
+ *
+ * Local store of violation records kept in the compact binary format
+ * produced by ViolationRecordCodec (the same bytes that go over the
+ * uplink), keyed by violationId.
+ *
+ * Violation IDs come from ViolationIdGeneratorService and sort in time
+ * order, so the sorted key space doubles as a time index: rangeByTime()
+ * is a plain key-range scan.
+ *
+ * Keeping encoded frames instead of ViolationRecord objects avoids the
+ * per-record object overhead and means a stored record can be sent as-is
+ * without re-encoding.
+ *
+ * Every put() stamps the frame with a new, store-wide increasing version,
+ * so a reader (the CheckpointService) can tell whether a record changed
+ * since it last looked without comparing or hashing its bytes.
+ */
+public class ViolationRecordStoreService {
+
+    // violationId (time-ordered) → read-only encoded frame and its version
+    private final ConcurrentSkipListMap<String, VersionedFrame> frames = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastVersion = new AtomicLong();
+
+    /*
+     * Stores an already encoded frame under the given violationId,
+     * replacing any previous frame for that ID. Returns true if a previous
+     * frame was replaced.
+     */
+    public boolean put(String violationId, ByteBuffer frame) {
+        VersionedFrame stored = new VersionedFrame(frame.asReadOnlyBuffer(), lastVersion.incrementAndGet());
+        return frames.put(violationId, stored) != null;
+    }
+
+    /*
+     * Returns the encoded frame for a violationId, positioned at 0.
+     */
+    public Optional<ByteBuffer> getFrame(String violationId) {
+        return getVersionedFrame(violationId).map(VersionedFrame::frame);
+    }
+
+    /*
+     * Returns the encoded frame for a violationId (positioned at 0)
+     * together with the version it was stored under.
+     */
+    public Optional<VersionedFrame> getVersionedFrame(String violationId) {
+        VersionedFrame stored = frames.get(violationId);
+        return stored == null
+                ? Optional.empty()
+                : Optional.of(new VersionedFrame(stored.frame().duplicate(), stored.version()));
+    }
+
+    /*
+     * Decodes and returns a single record.
+     */
+    public Optional<ViolationRecord> get(String violationId) {
+        return getFrame(violationId).map(ViolationRecordCodec::decode);
+    }
+
+    /*
+     * Decodes every stored record in time order.
+     */
+    public List<ViolationRecord> decodeAll() {
+        return decode(frames.values());
+    }
+
+    /*
+     * Decodes the records whose IDs were generated in [fromMillis, toMillis),
+     * in time order.
+     */
+    public List<ViolationRecord> rangeByTime(long fromMillis, long toMillis) {
+        if (toMillis <= fromMillis) {
+            return List.of();
+        }
+        return decode(frames.subMap(
+                ViolationIdGeneratorService.lowerBoundKey(fromMillis), true,
+                ViolationIdGeneratorService.lowerBoundKey(toMillis), false).values());
+    }
+
+    private static List<ViolationRecord> decode(Collection<VersionedFrame> frames) {
+        List<ViolationRecord> records = new ArrayList<>();
+        for (VersionedFrame stored : frames) {
+            records.add(ViolationRecordCodec.decode(stored.frame().duplicate()));
+        }
+        return records;
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    // Total encoded bytes held by the store
+    public long getStoredBytes() {
+        long total = 0;
+        for (VersionedFrame stored : frames.values()) {
+            total += stored.frame().capacity();
+        }
+        return total;
+    }
+
+    public void clear() {
+        frames.clear();
+    }
+
+    /*
+     * A stored frame and the version put() gave it; a later put() of the
+     * same violationId always gets a higher version.
+     */
+    public record VersionedFrame(ByteBuffer frame, long version) {
+    }
+}
@@ -0,0 +1,91 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.util.Arrays;
+
+/*
+ * ConsistentHashRing
+ *
+ * Maps string keys (device IDs) to one of N partitions. Each partition
+ * owns pointsPerPartition points on a 64-bit hash ring; a key belongs to
+ * the partition of the first point at or after the key's hash.
+ *
+ * When N changes, only the keys whose nearest point now belongs to a
+ * different partition move (about 1/N of them when growing by one),
+ * instead of nearly all of them as with hash % N.
+ *
+ * Immutable; a resize builds a new ring.
+ */
+public class ConsistentHashRing {
+
+    private final int partitions;
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(int partitions, int pointsPerPartition) {
+        if (partitions < 1 || pointsPerPartition < 1) {
+            throw new IllegalArgumentException("partitions and pointsPerPartition must be positive");
+        }
+        this.partitions = partitions;
+
+        int size = partitions * pointsPerPartition;
+        long[] hashes = new long[size];
+        for (int partition = 0, i = 0; partition < partitions; partition++) {
+            for (int point = 0; point < pointsPerPartition; point++, i++) {
+                hashes[i] = hash("partition-" + partition + "#" + point);
+            }
+        }
+
+        // Sort point indexes by hash, then lay the ring out in that order
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = order[i] / pointsPerPartition;
+        }
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /*
+     * Partition (0..N-1) that owns the key.
+     */
+    public int ownerOf(String key) {
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length - 1;
+        if (Long.compareUnsigned(hash, points[high]) > 0) {
+            return owners[0]; // wraps around
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low];
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53c2ce5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,131 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ExpiringCache
+ *
+ * Concurrent key/value cache whose entries live for a fixed time after
+ * insertion (not refreshed on access) and with a hard cap on the number
+ * of entries.
+ *
+ * Expiry is driven by a HashedTimerWheel: each insertion schedules one
+ * O(1) timeout that removes exactly that entry, so the cache is never
+ * scanned. The wheel ticks at 1/256 of the TTL (at least 1 ms), which
+ * bounds how late an entry may outlive its TTL.
+ *
+ * When the cache is full, putIfAbsent() refuses new keys rather than
+ * evicting live ones; callers treat that as "not cached".
+ */
+public class ExpiringCache<K, V> implements AutoCloseable {
+
+    private static final int EXPIRY_RESOLUTION = 256;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final HashedTimerWheel timerWheel;
+
+    public ExpiringCache(String name, long ttl, TimeUnit unit, int maxEntries) {
+        this.ttlNanos = Math.max(1, unit.toNanos(ttl));
+        this.maxEntries = Math.max(1, maxEntries);
+        long tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), ttlNanos / EXPIRY_RESOLUTION);
+        this.timerWheel = new HashedTimerWheel(name, tickNanos, TimeUnit.NANOSECONDS, EXPIRY_RESOLUTION);
+    }
+
+    /*
+     * Returns the live value for the key, if any.
+     */
+    public Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(entry.value);
+    }
+
+    /*
+     * Inserts the value unless the key is already cached or the cache is
+     * full. Returns the value now cached for the key: the existing one, the
+     * new one, or empty if it was refused because the cache is full.
+     */
+    public Optional<V> putIfAbsent(K key, V value) {
+        Entry<V> existing = entries.get(key);
+        if (existing != null) {
+            return Optional.of(existing.value);
+        }
+        if (size.incrementAndGet() > maxEntries) {
+            size.decrementAndGet();
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+
+        Entry<V> entry = new Entry<>(value);
+        existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            size.decrementAndGet();
+            return Optional.of(existing.value);
+        }
+        entry.timeout = timerWheel.schedule(timeout -> expire(key, entry), ttlNanos, TimeUnit.NANOSECONDS);
+        return Optional.of(value);
+    }
+
+    /*
+     * Removes the key now and cancels its expiry.
+     */
+    public void invalidate(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            size.decrementAndGet();
+            HashedTimerWheel.Timeout timeout = entry.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    // Runs on the timer wheel; only removes the entry it was scheduled for
+    private void expire(K key, Entry<V> entry) {
+        if (entries.remove(key, entry)) {
+            size.decrementAndGet();
+            expired.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        timerWheel.close();
+    }
+
+    // Identity-compared holder so a stale timeout cannot remove a newer entry
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.PipelineStage;
+import edu.asu.cse564.cse564_project.domain.TraceEntry;
+import edu.asu.cse564.cse564_project.domain.TraceReason;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * FlightRecorder
+ *
+ * Always-on ring of compact binary trace entries for the most recent
+ * pipeline runs. Each entry is a fixed run of longs in one preallocated
+ * long[]:
+ *
+ *     [0]  sequence        commit marker (-1 while being written)
+ *     [1]  timestampMillis
+ *     [2]  targetId
+ *     [3]  stage reached (bits 0-7, 0xFF = none) | reason code (bits 8-15)
+ *     [4…] nanoseconds spent in each PipelineStage
+ *
+ * Writers claim a slot with one getAndIncrement and publish it with a
+ * release store of its sequence, so recording is lock-free and, thanks to
+ * a reused per-thread Trace, allocation-free. Readers use the sequence as
+ * a seqlock: an entry whose sequence changes while it is copied is skipped
+ * rather than returned torn.
+ */
+public class FlightRecorder {
+
+    public static final int STAGE_COUNT = PipelineStage.values().length;
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+    private static final TraceReason[] REASONS = TraceReason.values();
+    private static final int HEADER_LONGS = 4;
+    private static final int SLOT_LONGS = HEADER_LONGS + STAGE_COUNT;
+    private static final int NO_STAGE = 0xFF;
+    private static final long WRITING = -1L;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] ring;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final ThreadLocal<Trace> traces = ThreadLocal.withInitial(Trace::new);
+
+    /*
+     * Capacity is rounded up to a power of two.
+     */
+    public FlightRecorder(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.ring = new long[size * SLOT_LONGS];
+        for (int slot = 0; slot < size; slot++) {
+            ring[slot * SLOT_LONGS] = WRITING;
+        }
+    }
+
+    /*
+     * Starts timing a pipeline run on the calling thread. The returned
+     * Trace is reused per thread: finish it before beginning another.
+     */
+    public Trace begin(long targetId) {
+        Trace trace = traces.get();
+        trace.reset(targetId);
+        return trace;
+    }
+
+    /*
+     * Commits a trace to the ring and returns its sequence number.
+     */
+    public long commit(Trace trace, TraceReason reason) {
+        long sequence = nextSequence.getAndIncrement();
+        int base = (int) (sequence & mask) * SLOT_LONGS;
+
+        LONGS.setOpaque(ring, base, WRITING);
+        VarHandle.storeStoreFence();
+
+        ring[base + 1] = trace.startMillis;
+        ring[base + 2] = trace.targetId;
+        ring[base + 3] = (trace.reached < 0 ? NO_STAGE : trace.reached) | ((long) reason.ordinal() << 8);
+        System.arraycopy(trace.stageNanos, 0, ring, base + HEADER_LONGS, STAGE_COUNT);
+
+        LONGS.setRelease(ring, base, sequence);
+        return sequence;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public long getRecordedCount() {
+        return nextSequence.get();
+    }
+
+    /*
+     * Decodes the retained entries, oldest first. Entries overwritten or
+     * still being written during the copy are left out.
+     */
+    public List<TraceEntry> snapshot() {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - getCapacity());
+        List<TraceEntry> entries = new ArrayList<>((int) (end - start));
+        long[] copy = new long[SLOT_LONGS];
+
+        for (long sequence = start; sequence < end; sequence++) {
+            int base = (int) (sequence & mask) * SLOT_LONGS;
+            long before = (long) LONGS.getAcquire(ring, base);
+            if (before != sequence) {
+                continue;
+            }
+            System.arraycopy(ring, base, copy, 0, SLOT_LONGS);
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getVolatile(ring, base) != sequence) {
+                continue;
+            }
+            entries.add(decode(copy));
+        }
+        return entries;
+    }
+
+    private static TraceEntry decode(long[] slot) {
+        int stage = (int) (slot[3] & 0xFF);
+        int reason = (int) ((slot[3] >>> 8) & 0xFF);
+
+        Map<PipelineStage, Long> stageNanos = new EnumMap<>(PipelineStage.class);
+        long total = 0;
+        for (int i = 0; i < STAGE_COUNT; i++) {
+            long nanos = slot[HEADER_LONGS + i];
+            if (nanos > 0) {
+                stageNanos.put(STAGES[i], nanos);
+                total += nanos;
+            }
+        }
+
+        return TraceEntry.builder()
+                .sequence(slot[0])
+                .timestampMillis(slot[1])
+                .targetId(slot[2])
+                .stageReached(stage == NO_STAGE || stage >= STAGE_COUNT ? null : STAGES[stage])
+                .reason(reason < REASONS.length ? REASONS[reason] : null)
+                .stageNanos(stageNanos)
+                .totalNanos(total)
+                .build();
+    }
+
+    /*
+     * Per-thread scratch for one pipeline run. stage(s) charges the time
+     * since the previous mark to stage s.
+     */
+    public static final class Trace {
+
+        private final long[] stageNanos = new long[STAGE_COUNT];
+        private long startMillis;
+        private long targetId;
+        private long lastNanos;
+        private int reached;
+
+        private Trace() {
+        }
+
+        private void reset(long targetId) {
+            Arrays.fill(stageNanos, 0L);
+            this.targetId = targetId;
+            this.startMillis = System.currentTimeMillis();
+            this.lastNanos = System.nanoTime();
+            this.reached = -1;
+        }
+
+        public void stage(PipelineStage stage) {
+            long now = System.nanoTime();
+            int index = stage.ordinal();
+            stageNanos[index] += now - lastNanos;
+            lastNanos = now;
+            if (index > reached) {
+                reached = index;
+            }
+        }
+
+        public void setTargetId(long targetId) {
+            this.targetId = targetId;
+        }
+
+        public long getStageNanos(PipelineStage stage) {
+            return stageNanos[stage.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package edu.asu.cse564.cse564_project.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * HashedTimerWheel
+ *
+ * Hashed timing wheel (Varghese & Lauck) driven by a single worker thread.
+ * Scheduling and cancelling are O(1) and lock-free for callers: new timeouts
+ * are handed to the worker through a concurrent queue and placed into a
+ * bucket (deadline tick modulo wheel size) on the next tick. Timeouts more
+ * than one revolution away carry a remaining-rounds counter.
+ *
+ * The tick duration may be well below one millisecond. While no timeouts
+ * are pending the worker parks indefinitely, so an idle wheel costs nothing.
+ *
+ * Tasks run on the worker thread and must be short; hand real work off to
+ * another executor so it does not add jitter to later timeouts.
+ */
+public class HashedTimerWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimerWheel.class);
+
+    /*
+     * Callback invoked when a timeout expires.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run(Timeout timeout);
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    // Reference point for all deadlines (System.nanoTime at construction)
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // Last tick fully processed by the worker (worker thread only)
+    private long processedTick = -1;
+
+    public HashedTimerWheel(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        int size = Integer.highestOneBit(Math.max(2, wheelSize));
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+
+        this.worker = new Thread(this::workerLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /*
+     * Schedules a task to run after the given delay. Never blocks.
+     */
+    public Timeout schedule(Task task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel is closed.");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pendingCount.incrementAndGet();
+        newTimeouts.add(timeout);
+        LockSupport.unpark(worker);
+        return timeout;
+    }
+
+    // Number of scheduled timeouts that have neither expired nor been cancelled
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private void workerLoop() {
+        while (running) {
+            if (pendingCount.get() == 0) {
+                // Nothing scheduled: sleep until schedule() unparks us and skip the idle ticks
+                LockSupport.park(this);
+                processedTick = currentTick() - 1;
+                continue;
+            }
+
+            long tick = currentTick();
+            while (processedTick < tick) {
+                processedTick++;
+                transferNewTimeouts(processedTick);
+                expire(wheel[(int) (processedTick & mask)]);
+            }
+
+            // Sleep until the start of the next tick
+            long nextTickNanos = startNanos + (processedTick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+    }
+
+    // Moves freshly scheduled timeouts into their wheel buckets
+    private void transferNewTimeouts(long tick) {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            long deadlineTick = (timeout.deadlineNanos + tickNanos - 1) / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            long targetTick = Math.max(deadlineTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    // Runs every due timeout in a bucket and drops cancelled ones
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /*
+     * Handle for a scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Task task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // Bucket bookkeeping (worker thread only)
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Task task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /*
+         * Cancels the timeout. Returns false if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                pendingCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        // Absolute deadline on the System.nanoTime() clock
+        public long getDeadlineNanoTime() {
+            return startNanos + deadlineNanos;
+        }
+
+        // How late the task is running relative to its deadline (negative = early)
+        public long getLatenessNanos() {
+            return System.nanoTime() - getDeadlineNanoTime();
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            pendingCount.decrementAndGet();
+            try {
+                task.run(this);
+            } catch (RuntimeException e) {
+                // A failing task must not kill the timer thread
+                log.warn("Timer task failed", e);
+            }
+        }
+    }
+
+    // Doubly linked list of timeouts sharing a wheel slot (worker thread only)
+    private static final class Bucket {
+
+        private HashedTimerWheel.Timeout head;
+        private HashedTimerWheel.Timeout tail;
+
+        void add(HashedTimerWheel.Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(HashedTimerWheel.Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * MerkleTree
+ *
+ * Binary SHA-256 Merkle tree over a fixed list of leaf hashes. All levels
+ * are kept so that an inclusion proof for any leaf is produced in O(log n)
+ * and can be checked by an auditor with verify() alone.
+ *
+ * Hashing uses domain separation to prevent second-preimage tricks:
+ *   leaf node     = SHA-256(0x00 || leafHash)
+ *   interior node = SHA-256(0x01 || left || right)
+ * A node without a sibling is promoted unchanged to the next level.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    // levels.get(0) are the leaf nodes, the last level holds the root
+    private final List<byte[][]> levels;
+
+    private MerkleTree(List<byte[][]> levels) {
+        this.levels = levels;
+    }
+
+    /*
+     * Builds a tree over the given leaf hashes (at least one).
+     */
+    public static MerkleTree build(List<byte[]> leafHashes) {
+        if (leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf.");
+        }
+        MessageDigest digest = sha256();
+        List<byte[][]> levels = new ArrayList<>();
+
+        byte[][] level = new byte[leafHashes.size()][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = hash(digest, LEAF_PREFIX, leafHashes.get(i), null);
+        }
+        levels.add(level);
+
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parent.length; i++) {
+                int left = 2 * i;
+                parent[i] = left + 1 < level.length
+                        ? hash(digest, NODE_PREFIX, level[left], level[left + 1])
+                        : level[left];
+            }
+            levels.add(parent);
+            level = parent;
+        }
+        return new MerkleTree(levels);
+    }
+
+    public byte[] getRoot() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    public int getLeafCount() {
+        return levels.get(0).length;
+    }
+
+    /*
+     * Returns the sibling path from the given leaf up to the root.
+     * Each step records the sibling hash and whether it sits on the left.
+     */
+    public List<ProofStep> proof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= getLeafCount()) {
+            throw new IndexOutOfBoundsException("Leaf index " + leafIndex);
+        }
+        List<ProofStep> steps = new ArrayList<>();
+        int index = leafIndex;
+        for (int depth = 0; depth < levels.size() - 1; depth++) {
+            byte[][] level = levels.get(depth);
+            int sibling = index ^ 1;
+            if (sibling < level.length) {
+                steps.add(new ProofStep(level[sibling].clone(), sibling < index));
+            }
+            index >>= 1;
+        }
+        return steps;
+    }
+
+    /*
+     * Recomputes the root from a leaf hash and its proof and compares it
+     * with the expected root.
+     */
+    public static boolean verify(byte[] leafHash, List<ProofStep> proof, byte[] expectedRoot) {
+        MessageDigest digest = sha256();
+        byte[] node = hash(digest, LEAF_PREFIX, leafHash, null);
+        for (ProofStep step : proof) {
+            node = step.siblingOnLeft()
+                    ? hash(digest, NODE_PREFIX, step.siblingHash(), node)
+                    : hash(digest, NODE_PREFIX, node, step.siblingHash());
+        }
+        return MessageDigest.isEqual(node, expectedRoot);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] hash(MessageDigest digest, byte prefix, byte[] first, byte[] second) {
+        digest.reset();
+        digest.update(prefix);
+        digest.update(first);
+        if (second != null) {
+            digest.update(second);
+        }
+        return digest.digest();
+    }
+
+    /*
+     * One step of an inclusion proof.
+     */
+    public record ProofStep(byte[] siblingHash, boolean siblingOnLeft) {
+    }
+}
@@ -0,0 +1,147 @@
+package edu.asu.cse564.cse564_project.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * PipelineJfrEvents
+ *
+ * Custom Java Flight Recorder events for the pipeline stages, so stage
+ * latency shows up in JFR next to GC, safepoints and lock contention.
+ * Each event is a duration event (begin()/end()) carrying the target ID
+ * and radar zone of the sample being processed.
+ *
+ * Emitting services follow the usual pattern:
+ *
+ *     RadarSampleEvent event = new RadarSampleEvent();
+ *     event.begin();
+ *     ... stage work ...
+ *     event.end();
+ *     if (event.shouldCommit()) { fill fields; event.commit(); }
+ *
+ * shouldCommit() is false unless the event isEnabled() in the running
+ * recording and exceeds its threshold, so field values are only computed
+ * while recording. With no recording, JFR leaves the event classes
+ * uninstrumented and the JIT removes the allocation.
+ *
+ * The events are disabled by default (@Enabled(false), inherited from
+ * StageEvent), so the JDK's default and profile configurations leave them
+ * off. Enable them with the bundled configuration
+ * src/main/resources/jfr/pipeline.jfc (see JfrRecordingService and the
+ * README).
+ */
+public final class PipelineJfrEvents {
+
+    private PipelineJfrEvents() {
+    }
+
+    /*
+     * Fields shared by all stage events.
+     */
+    @Category({"CSE564", "Pipeline"})
+    @StackTrace(false)
+    @Enabled(false)
+    public abstract static class StageEvent extends Event {
+
+        @Label("Target ID")
+        public long targetId;
+
+        @Label("Zone")
+        @Description("Radar zone of the target: OUT_OF_RANGE_BEFORE, ACTIVE_MONITOR_ZONE, LEAVING_ZONE or OUT_OF_RANGE_AFTER")
+        public String zone;
+    }
+
+    @Name("edu.asu.cse564.RadarSample")
+    @Label("Radar Sample")
+    @Description("RadarDataCollector filtering of one radar measurement")
+    public static final class RadarSampleEvent extends StageEvent {
+
+        @Label("Distance (m)")
+        public double distanceMeters;
+
+        @Label("Speed (mph)")
+        public double speedMph;
+
+        @Label("Accepted")
+        public boolean accepted;
+    }
+
+    @Name("edu.asu.cse564.SpeedEvaluation")
+    @Label("Speed Evaluation")
+    @Description("SpeedViolationController overspeed check and SpeedContext creation")
+    public static final class SpeedEvaluationEvent extends StageEvent {
+
+        @Label("Speed (mph)")
+        public double speedMph;
+
+        @Label("Threshold (mph)")
+        public double thresholdMph;
+
+        @Label("Overspeed")
+        public boolean overspeed;
+
+        @Label("Context Created")
+        public boolean contextCreated;
+    }
+
+    @Name("edu.asu.cse564.CaptureDecision")
+    @Label("Capture Decision")
+    @Description("EvidenceCaptureController decision for one SpeedContext")
+    public static final class CaptureDecisionEvent extends StageEvent {
+
+        @Label("Distance (m)")
+        public double distanceMeters;
+
+        @Label("Decision")
+        @Description("BEFORE_WINDOW, CAPTURE, LEFT_WINDOW or NONE")
+        public String decision;
+    }
+
+    @Name("edu.asu.cse564.Anpr")
+    @Label("ANPR")
+    @Description("Plate recognition on one camera frame; target ID and zone are not known at this stage")
+    public static final class AnprEvent extends StageEvent {
+
+        @Label("Frame Size")
+        @DataAmount
+        public long frameBytes;
+
+        @Label("Plate Found")
+        public boolean plateFound;
+    }
+
+    @Name("edu.asu.cse564.Packaging")
+    @Label("Packaging")
+    @Description("EvidenceCollectorAndPackager building or merging a ViolationRecord")
+    public static final class PackagingEvent extends StageEvent {
+
+        @Label("Violation ID")
+        public String violationId;
+
+        @Label("Outcome")
+        @Description("CREATED, MERGED or REJECTED")
+        public String outcome;
+    }
+
+    @Name("edu.asu.cse564.Upload")
+    @Label("Upload")
+    @Description("BackendUplinkController storing, indexing and queueing a ViolationRecord")
+    public static final class UploadEvent extends StageEvent {
+
+        @Label("Violation ID")
+        public String violationId;
+
+        @Label("Queued")
+        public boolean queued;
+
+        @Label("Payload Size")
+        @DataAmount
+        public long payloadBytes;
+    }
+}
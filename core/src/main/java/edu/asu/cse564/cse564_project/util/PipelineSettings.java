@@ -0,0 +1,103 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.function.Function;
+
+/*
+ * PipelineSettings
+ *
+ * Typed, defaulted lookups of cps.* configuration keys for code that runs
+ * without a Spring Environment. The source is any key → value function:
+ * a Properties file, System properties, or a Spring Environment when the
+ * Boot application assembles the core.
+ *
+ * Values may reference other keys or system properties as ${name}, e.g.
+ *
+ *     cps.evidence.image-dir=${java.io.tmpdir}/cse564-evidence
+ *
+ * Unresolvable references are left as written.
+ */
+public class PipelineSettings {
+
+    private static final int MAX_NESTING = 8;
+
+    private final Function<String, String> source;
+
+    public PipelineSettings(Function<String, String> source) {
+        this.source = source;
+    }
+
+    /*
+     * Settings from system properties only (-Dcps.speed.limit-mph=35 ...).
+     */
+    public static PipelineSettings fromSystemProperties() {
+        return new PipelineSettings(System::getProperty);
+    }
+
+    /*
+     * Settings from a properties file; system properties take precedence.
+     */
+    public static PipelineSettings fromFile(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            properties.load(in);
+        }
+        return new PipelineSettings(key -> {
+            String value = System.getProperty(key);
+            return value != null ? value : properties.getProperty(key);
+        });
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = source.apply(key);
+        return resolve(value != null ? value.trim() : defaultValue, 0);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    // Expands ${name} from the source, then from system properties
+    private String resolve(String value, int depth) {
+        if (value == null || depth > MAX_NESTING) {
+            return value;
+        }
+        int start = value.indexOf("${");
+        if (start < 0) {
+            return value;
+        }
+        int end = value.indexOf('}', start);
+        if (end < 0) {
+            return value;
+        }
+        String name = value.substring(start + 2, end);
+        String replacement = source.apply(name);
+        if (replacement == null) {
+            replacement = System.getProperty(name);
+        }
+        if (replacement == null) {
+            return value.substring(0, end + 1) + resolve(value.substring(end + 1), depth);
+        }
+        return resolve(value.substring(0, start) + replacement + value.substring(end + 1), depth + 1);
+    }
+}
@@ -0,0 +1,124 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.RadarData;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * RadarTraceCodec
+ *
+ * Binary format of a recorded radar trace: every RadarData the pipeline
+ * received, in arrival order, with its arrival time. Written by the
+ * RadarTraceRecorderService and read back by RadarTraceReplay.
+ *
+ * Layout (big-endian):
+ *
+ *   Header (fixed, 13 bytes)
+ *     u32  magic            "CRTR"
+ *     u8   version          currently 1
+ *     i64  startEpochMillis wall-clock time the recording started
+ *
+ *   Records, back to back until the end of the file
+ *     varint  deltaNanos     arrival time since the previous record (or the start)
+ *     f64     distanceMiles
+ *     f64     speedMph
+ *     zigzag  lane           0 when the sensor reports none
+ *     string  deviceId       varint(len + 1) + UTF-8, 0 = this unit's radar
+ *
+ * A typical record is about 20 bytes. Records carry no checksum: the file
+ * is only ever appended to, so the one defect a crash can leave is a torn
+ * last record, which decode() reports by returning null.
+ */
+public final class RadarTraceCodec {
+
+    public static final int MAGIC = 0x43525452; // "CRTR"
+    public static final byte VERSION = 1;
+
+    public static final int HEADER_BYTES = 13;
+
+    // Record size without the deviceId bytes: two varints of at most 10 bytes,
+    // two doubles and the deviceId length varint
+    private static final int MAX_FIXED_RECORD_BYTES = 10 + 2 * Double.BYTES + 10 + 10;
+
+    private RadarTraceCodec() {
+    }
+
+    public static void writeHeader(ByteBuffer out, long startEpochMillis) {
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putLong(startEpochMillis);
+    }
+
+    /*
+     * Reads and checks the header; returns the recording's start time.
+     */
+    public static long readHeader(ByteBuffer in) {
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a radar trace file.");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported radar trace version " + version + ".");
+        }
+        return in.getLong();
+    }
+
+    /*
+     * Upper bound of the encoded size of a record with the given deviceId
+     * bytes (null = none).
+     */
+    public static int maxRecordSize(byte[] deviceId) {
+        return MAX_FIXED_RECORD_BYTES + (deviceId == null ? 0 : deviceId.length);
+    }
+
+    public static void encode(ByteBuffer out, long deltaNanos, RadarData radarData, byte[] deviceId) {
+        ViolationRecordCodec.putVarLong(out, deltaNanos);
+        out.putDouble(radarData.getDistanceMiles());
+        out.putDouble(radarData.getSpeedMph());
+        ViolationRecordCodec.putVarLong(out, ViolationRecordCodec.zigZag(radarData.getLane()));
+        if (deviceId == null) {
+            ViolationRecordCodec.putVarLong(out, 0);
+        } else {
+            ViolationRecordCodec.putVarLong(out, deviceId.length + 1L);
+            out.put(deviceId);
+        }
+    }
+
+    /*
+     * Decodes the next record, or returns null (with the position
+     * unchanged) at the end of the trace or at a torn last record.
+     */
+    public static Entry decode(ByteBuffer in) {
+        int start = in.position();
+        try {
+            long deltaNanos = ViolationRecordCodec.getVarLong(in);
+            double distanceMiles = in.getDouble();
+            double speedMph = in.getDouble();
+            int lane = (int) ViolationRecordCodec.unZigZag(ViolationRecordCodec.getVarLong(in));
+            long deviceIdPlusOne = ViolationRecordCodec.getVarLong(in);
+            String deviceId = null;
+            if (deviceIdPlusOne > 0) {
+                byte[] bytes = new byte[(int) (deviceIdPlusOne - 1)];
+                in.get(bytes);
+                deviceId = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return new Entry(deltaNanos, RadarData.builder()
+                    .distanceMiles(distanceMiles)
+                    .speedMph(speedMph)
+                    .lane(lane)
+                    .deviceId(deviceId)
+                    .build());
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            in.position(start);
+            return null;
+        }
+    }
+
+    /*
+     * One recorded sample and its arrival time relative to the previous one.
+     */
+    public record Entry(long deltaNanos, RadarData radarData) {
+    }
+}
@@ -0,0 +1,203 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * SharedFrameRing
+ *
+ * Single-producer / single-consumer ring of camera frames in a
+ * memory-mapped file, shared by the camera process (producer) and the
+ * pipeline (consumer) on the same box. The camera writes each frame in
+ * place into a slot; the pipeline reads it through a view of the same
+ * pages. Neither side copies the frame to hand it over.
+ *
+ * Layout (native byte order, every field cache-line aligned):
+ *
+ *   0    u32 magic "CSFR", u32 version, u32 slotCount, u32 maxFrameBytes
+ *   64   i64 writeSeq    frames published; written by the producer only
+ *   128  i64 readSeq     frames released;  written by the consumer only
+ *   192  slotCount slots of SLOT_HEADER_BYTES + maxFrameBytes, 64-byte aligned:
+ *          i64 timestampMillis, u32 length, u32 reserved, frame bytes
+ *
+ * Frame seq lives in slot seq % slotCount. The producer may write slot
+ * writeSeq only while writeSeq - readSeq < slotCount: it fills the slot
+ * (claim()), then publishes it by storing writeSeq + 1 with release
+ * semantics (publish()). The consumer reads writeSeq with acquire
+ * semantics, so everything the producer wrote into slots before it is
+ * visible. Frames below readSeq are handed back the same way (release()).
+ * Each cursor has a single writer, so no CAS or lock is needed across the
+ * processes.
+ *
+ * The consumer creates the ring (create()) with the configured geometry;
+ * the producer attaches to it (attach()) and reads the geometry from the
+ * header. Re-creating the ring resets both cursors, so a producer must
+ * re-attach after the pipeline restarts.
+ */
+public final class SharedFrameRing {
+
+    public static final int MAGIC = 0x43534652; // "CSFR"
+    public static final int VERSION = 1;
+
+    public static final int SLOT_HEADER_BYTES = 16;
+
+    private static final int ALIGNMENT = 64;
+    private static final int WRITE_SEQ_OFFSET = 64;
+    private static final int READ_SEQ_OFFSET = 128;
+    private static final int SLOTS_OFFSET = 192;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int maxFrameBytes;
+    private final int slotStride;
+
+    private SharedFrameRing(Path file, MappedByteBuffer buffer, int slotCount, int maxFrameBytes) {
+        this.file = file;
+        this.buffer = buffer;
+        this.slotCount = slotCount;
+        this.maxFrameBytes = maxFrameBytes;
+        this.slotStride = align(SLOT_HEADER_BYTES + maxFrameBytes);
+    }
+
+    /*
+     * Creates (or re-creates) the ring file and maps it; consumer side.
+     */
+    public static SharedFrameRing create(Path file, int slotCount, int maxFrameBytes) throws IOException {
+        if (slotCount < 2 || maxFrameBytes < 1) {
+            throw new IllegalArgumentException("A frame ring needs at least 2 slots of at least 1 byte.");
+        }
+        long size = SLOTS_OFFSET + (long) slotCount * align(SLOT_HEADER_BYTES + maxFrameBytes);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Frame ring of " + size + " bytes exceeds 2 GiB.");
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            LONGS.setRelease(buffer, WRITE_SEQ_OFFSET, 0L);
+            LONGS.setRelease(buffer, READ_SEQ_OFFSET, 0L);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, slotCount);
+            buffer.putInt(12, maxFrameBytes);
+            // Magic last: a producer attaching concurrently sees a complete header
+            VarHandle.releaseFence();
+            buffer.putInt(0, MAGIC);
+            return new SharedFrameRing(file, buffer, slotCount, maxFrameBytes);
+        }
+    }
+
+    /*
+     * Maps an existing ring created by the consumer; producer side.
+     */
+    public static SharedFrameRing attach(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.nativeOrder());
+            if (channel.size() < SLOTS_OFFSET || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a frame ring: " + file);
+            }
+            VarHandle.acquireFence();
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported frame ring version " + buffer.getInt(4) + ": " + file);
+            }
+            return new SharedFrameRing(file, buffer, buffer.getInt(8), buffer.getInt(12));
+        }
+    }
+
+    // ---- producer ----
+
+    /*
+     * Returns the next free slot's frame area (position 0, limit
+     * maxFrameBytes) to write a frame into, or null while the ring is full.
+     */
+    public ByteBuffer claim() {
+        long write = (long) LONGS.getOpaque(buffer, WRITE_SEQ_OFFSET);
+        if (write - (long) LONGS.getAcquire(buffer, READ_SEQ_OFFSET) >= slotCount) {
+            return null;
+        }
+        int data = slotOffset(write) + SLOT_HEADER_BYTES;
+        return buffer.slice(data, maxFrameBytes).order(ByteOrder.nativeOrder());
+    }
+
+    /*
+     * Publishes the frame written into the claimed slot.
+     */
+    public void publish(int length, long timestampMillis) {
+        if (length < 0 || length > maxFrameBytes) {
+            throw new IllegalArgumentException("Frame of " + length + " bytes exceeds " + maxFrameBytes);
+        }
+        long write = (long) LONGS.getOpaque(buffer, WRITE_SEQ_OFFSET);
+        int slot = slotOffset(write);
+        buffer.putLong(slot, timestampMillis);
+        buffer.putInt(slot + 8, length);
+        LONGS.setRelease(buffer, WRITE_SEQ_OFFSET, write + 1);
+    }
+
+    // ---- consumer ----
+
+    /*
+     * Number of frames published so far; frames [readSeq, published) are
+     * readable.
+     */
+    public long published() {
+        return (long) LONGS.getAcquire(buffer, WRITE_SEQ_OFFSET);
+    }
+
+    public long released() {
+        return (long) LONGS.getOpaque(buffer, READ_SEQ_OFFSET);
+    }
+
+    /*
+     * Read-only view of a published, not yet released frame.
+     */
+    public ByteBuffer frame(long seq) {
+        int slot = slotOffset(seq);
+        return buffer.slice(slot + SLOT_HEADER_BYTES, buffer.getInt(slot + 8)).asReadOnlyBuffer();
+    }
+
+    public long timestampMillis(long seq) {
+        return buffer.getLong(slotOffset(seq));
+    }
+
+    /*
+     * Hands every frame below seq back to the producer.
+     */
+    public void release(long seq) {
+        LONGS.setRelease(buffer, READ_SEQ_OFFSET, seq);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getMaxFrameBytes() {
+        return maxFrameBytes;
+    }
+
+    private int slotOffset(long seq) {
+        return SLOTS_OFFSET + (int) (seq % slotCount) * slotStride;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
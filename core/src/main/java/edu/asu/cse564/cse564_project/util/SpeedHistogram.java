@@ -0,0 +1,189 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * SpeedHistogram
+ *
+ * Fixed-memory, mergeable histogram of vehicle speeds.
+ *
+ * Speeds are counted in BUCKET_COUNT linear buckets of BUCKET_WIDTH_MPH
+ * covering [0, MAX_TRACKABLE_MPH); slower values land in the first bucket
+ * and faster ones in the last. Exact count, sum, min and max are kept
+ * alongside, so the mean is exact and percentiles are accurate to half a
+ * bucket (±0.25 mph).
+ *
+ * Every histogram uses the same bucket layout, so two histograms (other
+ * minutes, other lanes, other devices) merge by adding counts. Memory is
+ * one long[BUCKET_COUNT] however many samples are recorded; record() does
+ * not allocate. Imported exports are checked for consistency before
+ * anything is added, so a bad export leaves the histogram unchanged.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class SpeedHistogram {
+
+    public static final double BUCKET_WIDTH_MPH = 0.5;
+    public static final int BUCKET_COUNT = 512;
+    public static final double MAX_TRACKABLE_MPH = BUCKET_WIDTH_MPH * BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private double sum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public void record(double speedMph) {
+        if (Double.isNaN(speedMph)) {
+            return;
+        }
+        counts[bucketOf(speedMph)]++;
+        count++;
+        sum += speedMph;
+        if (count == 1) {
+            min = speedMph;
+            max = speedMph;
+        } else {
+            min = Math.min(min, speedMph);
+            max = Math.max(max, speedMph);
+        }
+    }
+
+    /*
+     * Adds all observations of another histogram to this one.
+     */
+    public void merge(SpeedHistogram other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        mergeSummary(other.count, other.sum, other.min, other.max);
+    }
+
+    /*
+     * Adds exported sparse bucket counts (see toSparseBuckets()) with their
+     * summary values, e.g. from another device. Throws
+     * IllegalArgumentException, without changing this histogram, if the
+     * export is inconsistent: a negative count, bucket counts that do not
+     * add up to otherCount, or a missing (NaN) min, max or sum while
+     * otherCount > 0.
+     */
+    public void merge(Map<Integer, Long> buckets, long otherCount, double otherSum,
+                      double otherMin, double otherMax) {
+        if (otherCount < 0) {
+            throw new IllegalArgumentException("Negative count: " + otherCount);
+        }
+        long bucketTotal = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            Integer index = bucket.getKey();
+            if (index == null || index < 0 || index >= BUCKET_COUNT) {
+                throw new IllegalArgumentException("Bucket index out of range: " + index);
+            }
+            Long bucketCount = bucket.getValue();
+            if (bucketCount == null || bucketCount < 0) {
+                throw new IllegalArgumentException("Invalid count " + bucketCount + " in bucket " + index);
+            }
+            bucketTotal += bucketCount;
+        }
+        if (bucketTotal != otherCount) {
+            throw new IllegalArgumentException(
+                    "Bucket counts add up to " + bucketTotal + ", not the exported count " + otherCount);
+        }
+        if (otherCount == 0) {
+            return;
+        }
+        if (!Double.isFinite(otherSum) || Double.isNaN(otherMin) || Double.isNaN(otherMax) || otherMin > otherMax) {
+            throw new IllegalArgumentException("Missing or invalid sum/min/max for " + otherCount + " samples");
+        }
+
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            counts[bucket.getKey()] += bucket.getValue();
+        }
+        mergeSummary(otherCount, otherSum, otherMin, otherMax);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        min = Double.NaN;
+        max = Double.NaN;
+    }
+
+    /*
+     * Speed at or below which the given percentage (0-100) of observations
+     * fall; the midpoint of the bucket holding that rank, clamped to the
+     * observed range. NaN if empty.
+     */
+    public double percentile(double percent) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double midpoint = (i + 0.5) * BUCKET_WIDTH_MPH;
+                return Math.max(min, Math.min(max, midpoint));
+            }
+        }
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /*
+     * Non-empty buckets as bucket index → count, in index order.
+     */
+    public Map<Integer, Long> toSparseBuckets() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                buckets.put(i, counts[i]);
+            }
+        }
+        return buckets;
+    }
+
+    private void mergeSummary(long otherCount, double otherSum, double otherMin, double otherMax) {
+        if (count == 0) {
+            min = otherMin;
+            max = otherMax;
+        } else {
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+        }
+        count += otherCount;
+        sum += otherSum;
+    }
+
+    private static int bucketOf(double speedMph) {
+        if (speedMph <= 0) {
+            return 0;
+        }
+        return (int) Math.min(BUCKET_COUNT - 1, (long) (speedMph / BUCKET_WIDTH_MPH));
+    }
+}
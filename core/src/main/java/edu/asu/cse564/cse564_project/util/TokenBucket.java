@@ -0,0 +1,99 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * TokenBucket
+ *
+ * Byte-rate limiter: tokens (bytes) refill continuously at a fixed rate up
+ * to a burst capacity, and sending n bytes consumes n tokens.
+ *
+ * A request larger than the current balance is still granted, but drives
+ * the balance negative; the caller then waits until the debt is repaid.
+ * This lets payloads bigger than the burst size through (at the configured
+ * average rate) instead of blocking them forever.
+ *
+ * A rate of 0 or less means unlimited.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private final long capacityBytes;
+
+    // Current balance in bytes (may be negative while in debt)
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(long bytesPerSecond, long capacityBytes) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.capacityBytes = Math.max(1, capacityBytes);
+        this.tokens = this.capacityBytes;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /*
+     * Takes the tokens for the given number of bytes and returns how long
+     * (in nanoseconds) the caller must wait before sending them. 0 means
+     * send now.
+     */
+    public synchronized long reserve(long bytes) {
+        if (bytesPerSecond <= 0) {
+            return 0;
+        }
+        refill();
+        tokens -= bytes;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * NANOS_PER_SECOND / bytesPerSecond);
+    }
+
+    /*
+     * Reserves the tokens and parks the calling thread until they are
+     * available. Returns the time spent waiting (ns).
+     */
+    public long acquire(long bytes) throws InterruptedException {
+        long waitNanos = reserve(bytes);
+        long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return waitNanos;
+    }
+
+    /*
+     * Current balance in bytes, after refilling.
+     */
+    public synchronized long getAvailableBytes() {
+        if (bytesPerSecond <= 0) {
+            return capacityBytes;
+        }
+        refill();
+        return (long) tokens;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacityBytes, tokens + (double) elapsed * bytesPerSecond / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+}
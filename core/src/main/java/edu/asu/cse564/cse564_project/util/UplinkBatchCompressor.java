@@ -0,0 +1,339 @@
+package edu.asu.cse564.cse564_project.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * UplinkBatchCompressor
+ *
+ * Compresses uplink transmissions with java.util.zip.Deflater.
+ *
+ * Metadata batches (concatenated ViolationRecordCodec frames) are deflated
+ * with a preset dictionary built from recently sent frames. Consecutive
+ * records share the device, ID prefix, plate format and most field
+ * layout, so even a single small frame compresses well once the
+ * dictionary already holds those strings.
+ *
+ * Dictionary training: the last dictionary-sample-records frames are kept;
+ * every dictionary-retrain-batches batches they are concatenated (newest
+ * last, since deflate prefers short back-references) and the trailing
+ * dictionary-bytes become the new dictionary. Its Adler-32 is the
+ * dictionary ID carried in each frame that uses it.
+ *
+ * The receiver has no copy of the sender's samples, so the dictionary
+ * itself goes over the link: the first transmission that uses a new
+ * dictionary starts with a DICTIONARY frame carrying it, followed by the
+ * data frame. Its bytes count towards the transmission (and so towards
+ * the uplink token bucket). decompress() installs the dictionaries it
+ * receives and keeps the last retained-dictionaries of them, so frames
+ * still in flight under an older dictionary can be decoded.
+ *
+ * Images that are already compressed (JPEG, PNG) are passed through as
+ * STORED. Other images are deflated without a dictionary, and stored if
+ * that does not make them smaller.
+ *
+ * Frame layout (big-endian, 18-byte header):
+ *
+ *     u32  magic          "CUBZ"
+ *     u8   version        1
+ *     u8   codec          0 = STORED, 1 = DEFLATE, 2 = DEFLATE with dictionary,
+ *                         3 = DICTIONARY (payload is the dictionary itself)
+ *     u32  dictionaryId   Adler-32 of the dictionary (0 if none)
+ *     u32  rawLength      bytes after decompression
+ *     u32  payloadLength  bytes that follow
+ *     ...  payload        raw deflate stream (no zlib wrapper) or stored bytes
+ *
+ * Not thread-safe; the uplink sender is its only user.
+ */
+public class UplinkBatchCompressor {
+
+    public static final int MAGIC = 0x4355425A; // "CUBZ"
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 18;
+
+    public static final byte CODEC_STORED = 0;
+    public static final byte CODEC_DEFLATE = 1;
+    public static final byte CODEC_DEFLATE_DICTIONARY = 2;
+    public static final byte CODEC_DICTIONARY = 3;
+
+    // Deflate's window; a longer dictionary is never referenced
+    private static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+
+    private final int dictionaryBytes;
+    private final int sampleRecords;
+    private final int retrainBatches;
+    private final int retainedDictionaries;
+
+    private final Deflater deflater;
+    private final Inflater inflater = new Inflater(true);
+
+    private final ArrayDeque<byte[]> samples = new ArrayDeque<>();
+    private int batchesSinceTraining = 0;
+
+    private byte[] dictionary;
+    private int dictionaryId;
+    // Whether the current dictionary has gone out in a DICTIONARY frame
+    private boolean dictionarySent;
+    private final Map<Integer, byte[]> dictionariesById = new LinkedHashMap<>();
+
+    public UplinkBatchCompressor(int level, int dictionaryBytes, int sampleRecords,
+                                 int retrainBatches, int retainedDictionaries) {
+        this.deflater = new Deflater(level, true);
+        this.dictionaryBytes = Math.max(0, Math.min(dictionaryBytes, MAX_DICTIONARY_BYTES));
+        this.sampleRecords = Math.max(1, sampleRecords);
+        this.retrainBatches = Math.max(1, retrainBatches);
+        this.retainedDictionaries = Math.max(1, retainedDictionaries);
+    }
+
+    /*
+     * Compresses a batch of encoded metadata frames into one uplink
+     * transmission (preceded by a DICTIONARY frame if the batch is the
+     * first to use the current dictionary), then feeds the frames to
+     * dictionary training.
+     */
+    public ByteBuffer compressMetadata(List<ByteBuffer> frames) {
+        int rawLength = 0;
+        for (ByteBuffer frame : frames) {
+            rawLength += frame.remaining();
+        }
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        for (ByteBuffer frame : frames) {
+            raw.put(frame.duplicate());
+        }
+        raw.flip();
+
+        ByteBuffer out = deflate(raw, dictionary, dictionaryId);
+        if (out.get(5) == CODEC_DEFLATE_DICTIONARY && !dictionarySent) {
+            ByteBuffer dictionaryFrame = frame(CODEC_DICTIONARY, dictionaryId, ByteBuffer.wrap(dictionary));
+            out = ByteBuffer.allocate(dictionaryFrame.remaining() + out.remaining())
+                    .put(dictionaryFrame)
+                    .put(out)
+                    .flip();
+            dictionarySent = true;
+        }
+
+        for (ByteBuffer frame : frames) {
+            byte[] sample = new byte[frame.remaining()];
+            frame.duplicate().get(sample);
+            samples.addLast(sample);
+            if (samples.size() > sampleRecords) {
+                samples.removeFirst();
+            }
+        }
+        if (++batchesSinceTraining >= retrainBatches) {
+            train();
+        }
+        return out;
+    }
+
+    /*
+     * Wraps an evidence image in an uplink frame, compressing only if it is
+     * not already in a compressed format.
+     */
+    public ByteBuffer compressImage(ByteBuffer image) {
+        if (isCompressedImage(image)) {
+            return stored(image);
+        }
+        return deflate(image, null, 0);
+    }
+
+    /*
+     * Reverses compressMetadata()/compressImage(), as the backend would,
+     * installing any dictionary the transmission carries first. Throws
+     * IllegalArgumentException for a malformed frame or an unknown
+     * dictionary.
+     */
+    public ByteBuffer decompress(ByteBuffer transmission) {
+        ByteBuffer in = transmission.duplicate().order(ByteOrder.BIG_ENDIAN);
+        while (true) {
+            if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an uplink frame.");
+            }
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported uplink frame version: " + version);
+            }
+            byte codec = in.get();
+            int id = in.getInt();
+            int rawLength = in.getInt();
+            int payloadLength = in.getInt();
+            if (rawLength < 0 || payloadLength < 0 || payloadLength > in.remaining()) {
+                throw new IllegalArgumentException("Truncated uplink frame.");
+            }
+            ByteBuffer payload = in.slice(in.position(), payloadLength);
+
+            if (codec != CODEC_DICTIONARY) {
+                return decode(codec, id, rawLength, payload);
+            }
+            install(id, payload);
+            in.position(in.position() + payloadLength);
+        }
+    }
+
+    public int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public int getDictionarySize() {
+        return dictionary == null ? 0 : dictionary.length;
+    }
+
+    /*
+     * Rebuilds the dictionary from the sampled frames.
+     */
+    public void train() {
+        batchesSinceTraining = 0;
+        if (dictionaryBytes == 0 || samples.isEmpty()) {
+            return;
+        }
+
+        // Walk newest to oldest, filling the dictionary from its end
+        byte[] dict = new byte[dictionaryBytes];
+        int start = dictionaryBytes;
+        Iterator<byte[]> newestFirst = samples.descendingIterator();
+        while (start > 0 && newestFirst.hasNext()) {
+            byte[] sample = newestFirst.next();
+            int length = Math.min(sample.length, start);
+            System.arraycopy(sample, sample.length - length, dict, start - length, length);
+            start -= length;
+        }
+        if (start > 0) {
+            dict = Arrays.copyOfRange(dict, start, dictionaryBytes);
+        }
+
+        int id = adler32(dict);
+        if (dictionary == null || id != dictionaryId) {
+            dictionarySent = false;
+        }
+        dictionary = dict;
+        dictionaryId = id;
+        retain(id, dict);
+    }
+
+    private ByteBuffer decode(byte codec, int id, int rawLength, ByteBuffer payload) {
+        if (codec == CODEC_STORED) {
+            return payload.asReadOnlyBuffer();
+        }
+
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        inflater.reset();
+        if (codec == CODEC_DEFLATE_DICTIONARY) {
+            byte[] dict = dictionariesById.get(id);
+            if (dict == null) {
+                throw new IllegalArgumentException("Unknown uplink dictionary: " + Integer.toHexString(id));
+            }
+            inflater.setDictionary(dict);
+        }
+        inflater.setInput(payload);
+        try {
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt uplink frame.", e);
+        }
+        if (raw.hasRemaining()) {
+            throw new IllegalArgumentException("Truncated uplink frame payload.");
+        }
+        return raw.flip();
+    }
+
+    // Receiver side: a dictionary sent ahead of the frames that use it
+    private void install(int id, ByteBuffer payload) {
+        byte[] dict = new byte[payload.remaining()];
+        payload.duplicate().get(dict);
+        if (dict.length == 0 || adler32(dict) != id) {
+            throw new IllegalArgumentException("Corrupt uplink dictionary: " + Integer.toHexString(id));
+        }
+        retain(id, dict);
+    }
+
+    private void retain(int id, byte[] dict) {
+        dictionariesById.remove(id);
+        dictionariesById.put(id, dict);
+        while (dictionariesById.size() > retainedDictionaries) {
+            Iterator<Integer> eldest = dictionariesById.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private ByteBuffer deflate(ByteBuffer raw, byte[] dict, int dictId) {
+        int rawLength = raw.remaining();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + rawLength);
+        out.position(HEADER_BYTES);
+
+        deflater.reset();
+        if (dict != null) {
+            deflater.setDictionary(dict);
+        }
+        deflater.setInput(raw.duplicate());
+        deflater.finish();
+        while (!deflater.finished() && out.hasRemaining()) {
+            deflater.deflate(out);
+        }
+
+        if (!deflater.finished()) {
+            // Deflate output would be at least as large as the input
+            return stored(raw);
+        }
+        byte codec = dict != null ? CODEC_DEFLATE_DICTIONARY : CODEC_DEFLATE;
+        int payloadLength = out.position() - HEADER_BYTES;
+        writeHeader(out, codec, dict != null ? dictId : 0, rawLength, payloadLength);
+        return out.flip();
+    }
+
+    private static ByteBuffer stored(ByteBuffer raw) {
+        return frame(CODEC_STORED, 0, raw);
+    }
+
+    // A frame whose payload is the raw bytes as they are
+    private static ByteBuffer frame(byte codec, int id, ByteBuffer raw) {
+        int length = raw.remaining();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + length);
+        writeHeader(out, codec, id, length, length);
+        out.position(HEADER_BYTES);
+        out.put(raw.duplicate());
+        return out.flip();
+    }
+
+    private static int adler32(byte[] bytes) {
+        Adler32 adler = new Adler32();
+        adler.update(bytes);
+        return (int) adler.getValue();
+    }
+
+    private static void writeHeader(ByteBuffer out, byte codec, int dictId, int rawLength, int payloadLength) {
+        out.order(ByteOrder.BIG_ENDIAN);
+        out.putInt(0, MAGIC);
+        out.put(4, VERSION);
+        out.put(5, codec);
+        out.putInt(6, dictId);
+        out.putInt(10, rawLength);
+        out.putInt(14, payloadLength);
+    }
+
+    // JPEG (FF D8 FF) and PNG (89 'P' 'N' 'G') do not deflate further
+    private static boolean isCompressedImage(ByteBuffer image) {
+        int p = image.position();
+        if (image.remaining() >= 3
+                && image.get(p) == (byte) 0xFF && image.get(p + 1) == (byte) 0xD8 && image.get(p + 2) == (byte) 0xFF) {
+            return true;
+        }
+        return image.remaining() >= 4
+                && image.get(p) == (byte) 0x89 && image.get(p + 1) == 'P'
+                && image.get(p + 2) == 'N' && image.get(p + 3) == 'G';
+    }
+}
@@ -0,0 +1,379 @@
+package edu.asu.cse564.cse564_project.util;
+
+import edu.asu.cse564.cse564_project.domain.Sighting;
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/*
+ * ViolationRecordCodec
+ *
+ * Compact, versioned binary wire and storage format for ViolationRecord.
+ * Used by the backend uplink and the local record store instead of JSON,
+ * which Base64-inflates the evidence image by about a third.
+ *
+ * Layout (big-endian):
+ *
+ *   Header (fixed, 10 bytes)
+ *     u32  magic        "CVRB"
+ *     u8   version      currently 1
+ *     u8   flags        optional sections present (FLAG_IMAGE_REF, FLAG_SIGHTINGS)
+ *     u32  bodyLength   number of body bytes that follow
+ *
+ *   Body
+ *     string  violationId       varint(len + 1) + UTF-8 (len + 1 = 0 means null)
+ *     string  plateNumber
+ *     f64     speedMph
+ *     f64     distanceMiles
+ *     f64     distanceMeters
+ *     varint  timestampMillis
+ *     zigzag  targetId
+ *     bytes   imageBytes        varint(len + 1) + raw bytes, no Base64
+ *     if FLAG_IMAGE_REF:
+ *       string  imageRef        content reference in the EvidenceImageStore
+ *       varint  imageSizeBytes
+ *     if FLAG_SIGHTINGS:
+ *       varint  count
+ *       count × { f64 speedMph, f64 distanceMeters, varint timestampMillis,
+ *                 zigzag targetId, string imageRef }
+ *
+ *   Trailer
+ *     u32  CRC32C over header + body
+ *
+ * The encoder writes straight into a caller-supplied ByteBuffer and the
+ * decoder reads straight from one; imageSlice() exposes the image payload
+ * of an encoded frame as a read-only view without copying it.
+ *
+ * Callers that may append sightings concurrently must hold the record's
+ * monitor while encoding.
+ */
+public final class ViolationRecordCodec {
+
+    public static final int MAGIC = 0x43565242; // "CVRB"
+    public static final byte VERSION = 1;
+
+    // Flag bit: body carries an image reference section
+    public static final byte FLAG_IMAGE_REF = 0x01;
+
+    // Flag bit: body carries merged repeat sightings
+    public static final byte FLAG_SIGHTINGS = 0x02;
+
+    public static final int HEADER_BYTES = 10;
+    public static final int TRAILER_BYTES = 4;
+
+    private static final int FIXED_BODY_BYTES = 3 * Double.BYTES;
+
+    private ViolationRecordCodec() {
+    }
+
+    /*
+     * Exact number of bytes encode() will write for this record.
+     */
+    public static int encodedSize(ViolationRecord record) {
+        return HEADER_BYTES + bodySize(record) + TRAILER_BYTES;
+    }
+
+    /*
+     * Encodes a record into a new, exactly sized heap buffer positioned at 0.
+     */
+    public static ByteBuffer encode(ViolationRecord record) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(record));
+        encode(record, out);
+        out.flip();
+        return out;
+    }
+
+    /*
+     * Encodes a record at the current position of out and advances it.
+     * Throws BufferOverflowException if out has less than encodedSize() remaining.
+     */
+    public static void encode(ViolationRecord record, ByteBuffer out) {
+        out.order(ByteOrder.BIG_ENDIAN);
+        int start = out.position();
+        int bodyLength = bodySize(record);
+
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.put(flags(record));
+        out.putInt(bodyLength);
+
+        putString(out, record.getViolationId());
+        putString(out, record.getPlateNumber());
+        out.putDouble(record.getSpeedMph());
+        out.putDouble(record.getDistanceMiles());
+        out.putDouble(record.getDistanceMeters());
+        putVarLong(out, record.getTimestampMillis());
+        putVarLong(out, zigZag(record.getTargetId()));
+        putBytes(out, record.getImageBytes());
+        if (hasImageRef(record)) {
+            putString(out, record.getImageRef());
+            putVarLong(out, record.getImageSizeBytes());
+        }
+        if (hasSightings(record)) {
+            putVarLong(out, record.getSightings().size());
+            for (Sighting sighting : record.getSightings()) {
+                out.putDouble(sighting.getSpeedMph());
+                out.putDouble(sighting.getDistanceMeters());
+                putVarLong(out, sighting.getTimestampMillis());
+                putVarLong(out, zigZag(sighting.getTargetId()));
+                putString(out, sighting.getImageRef());
+            }
+        }
+
+        out.putInt((int) crc(out, start, out.position()));
+    }
+
+    /*
+     * Decodes one record starting at the current position of in and advances
+     * past its trailer. Throws IllegalArgumentException on a bad magic,
+     * unsupported version, truncated frame or CRC mismatch.
+     */
+    public static ViolationRecord decode(ByteBuffer in) {
+        int start = in.position();
+        int bodyLength = checkFrame(in, start);
+        byte flags = in.get(start + 5);
+        in.position(start + HEADER_BYTES);
+
+        try {
+            ViolationRecord record = ViolationRecord.builder()
+                    .violationId(getString(in))
+                    .plateNumber(getString(in))
+                    .speedMph(in.getDouble())
+                    .distanceMiles(in.getDouble())
+                    .distanceMeters(in.getDouble())
+                    .timestampMillis(getVarLong(in))
+                    .targetId(unZigZag(getVarLong(in)))
+                    .imageBytes(getBytes(in))
+                    .build();
+            if ((flags & FLAG_IMAGE_REF) != 0) {
+                record.setImageRef(getString(in));
+                record.setImageSizeBytes((int) getVarLong(in));
+            }
+            if ((flags & FLAG_SIGHTINGS) != 0) {
+                int count = (int) getVarLong(in);
+                List<Sighting> sightings = new ArrayList<>(Math.min(count, 1024));
+                for (int i = 0; i < count; i++) {
+                    sightings.add(Sighting.builder()
+                            .speedMph(in.getDouble())
+                            .distanceMeters(in.getDouble())
+                            .timestampMillis(getVarLong(in))
+                            .targetId(unZigZag(getVarLong(in)))
+                            .imageRef(getString(in))
+                            .build());
+                }
+                record.setSightings(sightings);
+            }
+            if (in.position() != start + HEADER_BYTES + bodyLength) {
+                throw new IllegalArgumentException("ViolationRecord body length mismatch.");
+            }
+            in.position(start + HEADER_BYTES + bodyLength + TRAILER_BYTES);
+            return record;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated ViolationRecord frame.", e);
+        }
+    }
+
+    /*
+     * Returns a read-only view of the image payload of the encoded frame
+     * starting at in.position(), without copying it. Returns null if the
+     * record has no image. Does not move in's position.
+     */
+    public static ByteBuffer imageSlice(ByteBuffer in) {
+        ByteBuffer frame = in.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int start = frame.position();
+        checkFrame(frame, start);
+        frame.position(start + HEADER_BYTES);
+
+        try {
+            skipString(frame);
+            skipString(frame);
+            frame.position(frame.position() + FIXED_BODY_BYTES);
+            getVarLong(frame);
+            getVarLong(frame);
+
+            int length = getLength(frame);
+            if (length < 0) {
+                return null;
+            }
+            return frame.slice(frame.position(), length).asReadOnlyBuffer();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated ViolationRecord frame.", e);
+        }
+    }
+
+    // Validates header and CRC; returns the body length
+    private static int checkFrame(ByteBuffer in, int start) {
+        in.order(ByteOrder.BIG_ENDIAN);
+        if (in.limit() - start < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IllegalArgumentException("Truncated ViolationRecord frame.");
+        }
+        if (in.getInt(start) != MAGIC) {
+            throw new IllegalArgumentException("Not a ViolationRecord frame (bad magic).");
+        }
+        byte version = in.get(start + 4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported ViolationRecord version: " + version);
+        }
+        int bodyLength = in.getInt(start + 6);
+        // long arithmetic: a huge bodyLength must not wrap around into range
+        long end = (long) start + HEADER_BYTES + bodyLength;
+        if (bodyLength < 0 || end + TRAILER_BYTES > in.limit()) {
+            throw new IllegalArgumentException("Truncated ViolationRecord frame.");
+        }
+        if ((int) crc(in, start, (int) end) != in.getInt((int) end)) {
+            throw new IllegalArgumentException("ViolationRecord CRC32C mismatch.");
+        }
+        return bodyLength;
+    }
+
+    private static int bodySize(ViolationRecord record) {
+        int size = stringSize(record.getViolationId())
+                + stringSize(record.getPlateNumber())
+                + FIXED_BODY_BYTES
+                + varLongSize(record.getTimestampMillis())
+                + varLongSize(zigZag(record.getTargetId()))
+                + bytesSize(record.getImageBytes());
+        if (hasImageRef(record)) {
+            size += stringSize(record.getImageRef()) + varLongSize(record.getImageSizeBytes());
+        }
+        if (hasSightings(record)) {
+            size += varLongSize(record.getSightings().size());
+            for (Sighting sighting : record.getSightings()) {
+                size += 2 * Double.BYTES
+                        + varLongSize(sighting.getTimestampMillis())
+                        + varLongSize(zigZag(sighting.getTargetId()))
+                        + stringSize(sighting.getImageRef());
+            }
+        }
+        return size;
+    }
+
+    private static byte flags(ViolationRecord record) {
+        int flags = 0;
+        if (hasImageRef(record)) {
+            flags |= FLAG_IMAGE_REF;
+        }
+        if (hasSightings(record)) {
+            flags |= FLAG_SIGHTINGS;
+        }
+        return (byte) flags;
+    }
+
+    private static boolean hasImageRef(ViolationRecord record) {
+        return record.getImageRef() != null;
+    }
+
+    private static boolean hasSightings(ViolationRecord record) {
+        return record.getSightings() != null && !record.getSightings().isEmpty();
+    }
+
+    private static long crc(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(from, to - from));
+        return crc.getValue();
+    }
+
+    // ---- strings and byte arrays: varint(len + 1), 0 = null ----
+
+    private static int stringSize(String value) {
+        return value == null ? 1 : bytesSize(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        putBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = getBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = getLength(in);
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+
+    private static int bytesSize(byte[] value) {
+        return value == null ? 1 : varLongSize(value.length + 1L) + value.length;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] value) {
+        if (value == null) {
+            putVarLong(out, 0);
+            return;
+        }
+        putVarLong(out, value.length + 1L);
+        out.put(value);
+    }
+
+    private static byte[] getBytes(ByteBuffer in) {
+        int length = getLength(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.get(value);
+        return value;
+    }
+
+    // Reads a varint(len + 1) length prefix; -1 = null. Rejects lengths
+    // that are negative (varint above Long.MAX_VALUE) or exceed the input.
+    private static int getLength(ByteBuffer in) {
+        long lengthPlusOne = getVarLong(in);
+        if (lengthPlusOne == 0) {
+            return -1;
+        }
+        long length = lengthPlusOne - 1;
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated ViolationRecord frame.");
+        }
+        return (int) length;
+    }
+
+    // ---- LEB128 varints ----
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in ViolationRecord frame.");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,79 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.domain.PipelineStage;
+import edu.asu.cse564.cse564_project.domain.TraceReason;
+import edu.asu.cse564.cse564_project.util.FlightRecorder;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ * FlightRecorderBenchmark
+ *
+ * Measures the recording path of FlightRecorder: nanoseconds and heap
+ * bytes per pipeline run (begin, one mark per stage, commit), single
+ * threaded and with several threads recording at once.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl core test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.FlightRecorderBenchmark
+ */
+public class FlightRecorderBenchmark {
+
+    private static final int WARMUP_RUNS = 2_000_000;
+    private static final int MEASURED_RUNS = 10_000_000;
+    private static final int[] THREAD_COUNTS = {1, 4};
+
+    public static void main(String[] args) throws InterruptedException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        FlightRecorder recorder = new FlightRecorder(4096);
+        PipelineStage[] stages = PipelineStage.values();
+
+        System.out.printf("%-8s %12s %14s%n", "threads", "ns/run", "bytes/run");
+
+        for (int threadCount : THREAD_COUNTS) {
+            long[] nanos = new long[threadCount];
+            long[] bytes = new long[threadCount];
+            Thread[] workers = new Thread[threadCount];
+
+            for (int t = 0; t < threadCount; t++) {
+                int index = t;
+                workers[t] = new Thread(() -> {
+                    record(recorder, stages, WARMUP_RUNS);
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    record(recorder, stages, MEASURED_RUNS);
+                    nanos[index] = System.nanoTime() - start;
+                    bytes[index] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                }, "bench-recorder-" + t);
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            long totalNanos = 0;
+            long totalBytes = 0;
+            for (int t = 0; t < threadCount; t++) {
+                totalNanos += nanos[t];
+                totalBytes += bytes[t];
+            }
+            long runs = (long) MEASURED_RUNS * threadCount;
+            System.out.printf("%-8d %12.1f %14.3f%n",
+                    threadCount, (double) totalNanos / runs, (double) totalBytes / runs);
+        }
+
+        System.out.println("retained entries: " + recorder.snapshot().size());
+    }
+
+    private static void record(FlightRecorder recorder, PipelineStage[] stages, int runs) {
+        for (int i = 0; i < runs; i++) {
+            FlightRecorder.Trace trace = recorder.begin(i);
+            for (PipelineStage stage : stages) {
+                trace.stage(stage);
+            }
+            recorder.commit(trace, TraceReason.COMPLETED);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.PipelineCore;
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.DeviceAggregationService;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * MultiDeviceAggregationBenchmark
+ *
+ * Drives the DeviceAggregationService with a mixed load from DEVICES
+ * roadside units and measures throughput at 1, 2, 4, ... workers, up to
+ * twice the available processors. Each device sends whole vehicle passes
+ * (coarse, monitor, capture window, leaving). One pass in OVERSPEED_EVERY
+ * is over the limit and runs the full evidence chain; the others stop
+ * after speed evaluation and the LED.
+ *
+ * The worker count is changed with resize() between rounds, on the live
+ * service with all device state in place, so every round also reports
+ * how many devices the rebalance moved.
+ *
+ * Samples are submitted from one thread with at most IN_FLIGHT
+ * outstanding. Each reported round checks that every device stayed on a
+ * single partition and that all of its samples completed.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl core test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.MultiDeviceAggregationBenchmark
+ */
+public class MultiDeviceAggregationBenchmark {
+
+    private static final int DEVICES = 64;
+    private static final int PASSES_PER_DEVICE = 400;
+    private static final int OVERSPEED_EVERY = 20;
+    private static final int IN_FLIGHT = 2_048;
+    private static final double SPEED_LIMIT_MPH = 40.0;
+
+    // One vehicle through the monitor zone: coarse, before window, inside, leaving
+    private static final double[] DISTANCES_MILES = {-0.08, -0.05, -0.01, 0.015};
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("aggregation-bench");
+        System.setProperty("cps.evidence.image-dir", dir.resolve("evidence").toString());
+        System.setProperty("cps.recorder.dump-dir", dir.resolve("flight").toString());
+        System.setProperty("cps.checkpoint.enabled", "false");
+        System.setProperty("cps.uplink.bandwidth-bytes-per-sec", "0");
+        System.setProperty("cps.aggregation.workers", "1");
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d devices, %d samples per round, %d available processors%n",
+                DEVICES, DEVICES * PASSES_PER_DEVICE * DISTANCES_MILES.length, processors);
+        System.out.printf("%8s %12s %10s %14s%n", "workers", "samples/s", "speedup", "devices moved");
+
+        try (PipelineCore core = PipelineCore.create(PipelineSettings.fromSystemProperties())) {
+            DeviceAggregationService aggregation = core.getDeviceAggregationService();
+
+            // Warm-up round, not reported
+            runRound(aggregation, PASSES_PER_DEVICE);
+
+            double baseline = 0;
+            for (int workers = 1; workers <= 2 * processors; workers *= 2) {
+                double movedBefore = core.getMeterRegistry().counter("cps.aggregation.moved").count();
+                aggregation.resize(workers);
+                int moved = (int) (core.getMeterRegistry().counter("cps.aggregation.moved").count() - movedBefore);
+
+                double samplesPerSecond = runRound(aggregation, PASSES_PER_DEVICE);
+                if (baseline == 0) {
+                    baseline = samplesPerSecond;
+                }
+                System.out.printf("%8d %12.0f %9.2fx %14d%n",
+                        workers, samplesPerSecond, samplesPerSecond / baseline, moved);
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static double runRound(DeviceAggregationService aggregation, int passes) throws InterruptedException {
+        int samples = DEVICES * passes * DISTANCES_MILES.length;
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        CountDownLatch done = new CountDownLatch(samples);
+        AtomicInteger failures = new AtomicInteger();
+        Map<String, Integer> partitions = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        for (int pass = 0; pass < passes; pass++) {
+            for (double distance : DISTANCES_MILES) {
+                for (int device = 0; device < DEVICES; device++) {
+                    String deviceId = "RSU-" + device;
+                    boolean overspeed = (pass + device) % OVERSPEED_EVERY == 0;
+                    RadarData radarData = RadarData.builder()
+                            .deviceId(deviceId)
+                            .distanceMiles(distance)
+                            .speedMph(overspeed ? SPEED_LIMIT_MPH * 1.5 : SPEED_LIMIT_MPH * 0.8)
+                            .lane(device % 4)
+                            .build();
+
+                    inFlight.acquire();
+                    aggregation.submit(radarData).whenComplete((trace, error) -> {
+                        if (error != null) {
+                            failures.incrementAndGet();
+                        } else if (!partitions.computeIfAbsent(deviceId, id -> (Integer) trace.get("partition"))
+                                .equals(trace.get("partition"))) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+                }
+            }
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " samples failed or changed partition");
+        }
+        return samples / (elapsed / 1e9);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.PipelineCore;
+import edu.asu.cse564.cse564_project.domain.RadarData;
+import edu.asu.cse564.cse564_project.services.RadarPipelineService;
+import edu.asu.cse564.cse564_project.util.PipelineSettings;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/*
+ * RadarDecimationBenchmark
+ *
+ * Measures the pipeline CPU cost per vehicle with and without adaptive
+ * radar decimation (cps.radar.decimation.factor), on the same traffic:
+ * VEHICLES passes sampled every SAMPLE_SPACING_METERS from -148 m to
+ * +30 m. One vehicle in OVERSPEED_EVERY is over the limit; a few others
+ * drive just below the overspeed threshold.
+ *
+ * Reported per mode: samples forwarded by the RadarDataCollector, samples
+ * that produced a SpeedContext (must be equal in both modes — decimation
+ * may only drop samples that could not be enforced), and the calling
+ * thread's CPU microseconds per vehicle.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl core test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.RadarDecimationBenchmark
+ */
+public class RadarDecimationBenchmark {
+
+    private static final int[] FACTORS = {1, 4, 8};
+    private static final int VEHICLES = 20_000;
+    private static final int WARMUP_VEHICLES = 5_000;
+    private static final int OVERSPEED_EVERY = 10;
+    private static final int NEAR_THRESHOLD_EVERY = 7;
+    private static final double SAMPLE_SPACING_METERS = 2.0;
+    private static final double METERS_PER_MILE = 1609.344;
+
+    public static void main(String[] args) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.printf("%-8s %12s %12s %14s %14s%n",
+                "factor", "forwarded", "decimated", "speed contexts", "CPU us/vehicle");
+
+        for (int factor : FACTORS) {
+            Path dir = Files.createTempDirectory("decimation-bench");
+            PipelineSettings settings = new PipelineSettings(key -> switch (key) {
+                case "cps.radar.decimation.factor" -> Integer.toString(factor);
+                case "cps.evidence.image-dir" -> dir.resolve("evidence").toString();
+                case "cps.recorder.dump-dir" -> dir.resolve("flight").toString();
+                case "cps.checkpoint.enabled" -> "false";
+                case "cps.uplink.bandwidth-bytes-per-sec" -> "0";
+                default -> null;
+            });
+            try (PipelineCore core = PipelineCore.create(settings)) {
+                RadarPipelineService pipeline = core.getRadarPipelineService();
+                drive(pipeline, WARMUP_VEHICLES, new long[2]);
+
+                long[] counts = new long[2];
+                double decimatedBefore = core.getMeterRegistry().counter("cps.radar.decimated").count();
+                long cpuStart = threads.getCurrentThreadCpuTime();
+                drive(pipeline, VEHICLES, counts);
+                long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+
+                System.out.printf("%-8d %12d %12.0f %14d %14.1f%n",
+                        factor,
+                        counts[0],
+                        core.getMeterRegistry().counter("cps.radar.decimated").count() - decimatedBefore,
+                        counts[1],
+                        cpuNanos / 1e3 / VEHICLES);
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    // counts[0] += samples forwarded by the collector, counts[1] += samples with a SpeedContext
+    private static void drive(RadarPipelineService pipeline, int vehicles, long[] counts) {
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            double speedMph = vehicle % OVERSPEED_EVERY == 0 ? 55.0
+                    : vehicle % NEAR_THRESHOLD_EVERY == 0 ? 42.0
+                    : 30.0 + vehicle % 8;
+            for (double meters = -148.0; meters <= 30.0; meters += SAMPLE_SPACING_METERS) {
+                Map<String, Object> result = pipeline.process(RadarData.builder()
+                        .distanceMiles(meters / METERS_PER_MILE)
+                        .speedMph(speedMph)
+                        .build());
+                if (result.containsKey("radarSample")) {
+                    counts[0]++;
+                }
+                if (Boolean.TRUE.equals(result.get("overspeedContextPresent"))) {
+                    counts[1]++;
+                }
+            }
+            // Past the far boundary: the tracker resets for the next vehicle
+            pipeline.process(RadarData.builder().distanceMiles(0.1).speedMph(speedMph).build());
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
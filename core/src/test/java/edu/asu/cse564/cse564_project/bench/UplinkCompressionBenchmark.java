@@ -0,0 +1,112 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.services.ViolationIdGeneratorService;
+import edu.asu.cse564.cse564_project.util.UplinkBatchCompressor;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * UplinkCompressionBenchmark
+ *
+ * Measures the UplinkBatchCompressor on realistic metadata frames: wire
+ * bytes per record (including the dictionaries sent along) and compressor
+ * CPU per batch, with and without the trained preset dictionary, for
+ * several batch sizes.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl core test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.UplinkCompressionBenchmark
+ */
+public class UplinkCompressionBenchmark {
+
+    private static final int[] BATCH_SIZES = {1, 4, 32};
+    private static final int TRAINING_BATCHES = 64;
+    private static final int MEASURED_BATCHES = 2_000;
+
+    public static void main(String[] args) {
+        ViolationIdGeneratorService ids = new ViolationIdGeneratorService("RSU-001");
+        Random random = new Random(42);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%-6s %-12s %12s %12s %8s %14s%n",
+                "batch", "mode", "raw B/rec", "wire B/rec", "ratio", "cpu us/batch");
+
+        for (int batchSize : BATCH_SIZES) {
+            for (boolean useDictionary : new boolean[]{false, true}) {
+                UplinkBatchCompressor compressor = new UplinkBatchCompressor(
+                        6, useDictionary ? 4096 : 0, 64, 8, 8);
+                // Backend side: learns dictionaries only from what goes over the link
+                UplinkBatchCompressor receiver = new UplinkBatchCompressor(6, 0, 1, 1, 8);
+
+                for (int i = 0; i < TRAINING_BATCHES; i++) {
+                    receiver.decompress(compressor.compressMetadata(batch(ids, random, batchSize)));
+                }
+
+                long raw = 0;
+                long wire = 0;
+                long cpu = 0;
+                for (int i = 0; i < MEASURED_BATCHES; i++) {
+                    List<ByteBuffer> frames = batch(ids, random, batchSize);
+                    for (ByteBuffer frame : frames) {
+                        raw += frame.remaining();
+                    }
+                    long start = threads.getCurrentThreadCpuTime();
+                    ByteBuffer out = compressor.compressMetadata(frames);
+                    cpu += threads.getCurrentThreadCpuTime() - start;
+                    wire += out.remaining();
+
+                    // Sanity check: the receiver side restores the exact bytes
+                    if (receiver.decompress(out).remaining() != rawSize(frames)) {
+                        throw new IllegalStateException("Round trip mismatch");
+                    }
+                }
+
+                long records = (long) MEASURED_BATCHES * batchSize;
+                System.out.printf("%-6d %-12s %12.1f %12.1f %8.2f %14.1f%n",
+                        batchSize, useDictionary ? "dictionary" : "plain",
+                        raw / (double) records, wire / (double) records, wire / (double) raw,
+                        cpu / 1_000.0 / MEASURED_BATCHES);
+            }
+        }
+    }
+
+    private static List<ByteBuffer> batch(ViolationIdGeneratorService ids, Random random, int size) {
+        List<ByteBuffer> frames = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            ViolationRecord record = ViolationRecord.builder()
+                    .violationId(ids.nextIdString())
+                    .plateNumber(String.format("%c%d%c-%04d",
+                            'A' + random.nextInt(26), random.nextInt(10), 'A' + random.nextInt(26),
+                            random.nextInt(10_000)))
+                    .speedMph(44 + random.nextInt(30) / 2.0)
+                    .distanceMiles(0.0)
+                    .distanceMeters(0.0)
+                    .timestampMillis(System.currentTimeMillis())
+                    .targetId(1)
+                    .imageRef(HexFormat.of().formatHex(hash))
+                    .imageSizeBytes(48_000 + random.nextInt(16_000))
+                    .build();
+            frames.add(ViolationRecordCodec.encode(record));
+        }
+        return frames;
+    }
+
+    private static int rawSize(List<ByteBuffer> frames) {
+        int size = 0;
+        for (ByteBuffer frame : frames) {
+            size += frame.remaining();
+        }
+        return size;
+    }
+}
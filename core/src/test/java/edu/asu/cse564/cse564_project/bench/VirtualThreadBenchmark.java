@@ -0,0 +1,176 @@
+package edu.asu.cse564.cse564_project.bench;
+
+import edu.asu.cse564.cse564_project.domain.ViolationRecord;
+import edu.asu.cse564.cse564_project.services.ViolationIdGeneratorService;
+import edu.asu.cse564.cse564_project.util.ViolationRecordCodec;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * VirtualThreadBenchmark
+ *
+ * Compares request handling on platform threads and virtual threads at
+ * high concurrency. Each simulated request does the blocking stages'
+ * work: encode a ViolationRecord, hash a 4 KB evidence thumbnail, wait one
+ * backend round trip (ROUND_TRIP_MILLIS), then write the image to disk.
+ *
+ * Modes:
+ *   platform-pool      fixed pool of 200 platform threads (Tomcat's default max)
+ *   platform-per-task  one platform thread per request
+ *   virtual            one virtual thread per request (spring.threads.virtual.enabled)
+ *
+ * Each mode runs in a fresh JVM so peak RSS and thread counts are not
+ * shared. Reported: requests/s, p99 latency, peak live threads, peak RSS
+ * (VmHWM, Linux only) and heap used at the end.
+ *
+ * Not a unit test; run it from the IDE or with:
+ *
+ *   mvn -pl core test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=edu.asu.cse564.cse564_project.bench.VirtualThreadBenchmark
+ */
+public class VirtualThreadBenchmark {
+
+    private static final String[] MODES = {"platform-pool", "platform-per-task", "virtual"};
+    private static final int CONCURRENCY = 5_000;
+    private static final int REQUESTS = 20_000;
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final long ROUND_TRIP_MILLIS = 100;
+    private static final int IMAGE_BYTES = 4 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1) {
+            run(args[0]);
+            return;
+        }
+
+        System.out.printf("%-18s %10s %10s %10s %12s %12s%n",
+                "mode", "req/s", "p99 ms", "threads", "peak RSS MB", "heap MB");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        for (String mode : MODES) {
+            Process child = new ProcessBuilder(java, "-Xmx1g",
+                    "-cp", System.getProperty("java.class.path"),
+                    VirtualThreadBenchmark.class.getName(), mode)
+                    .inheritIO()
+                    .start();
+            child.waitFor();
+        }
+    }
+
+    private static void run(String mode) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Path dir = Files.createTempDirectory("vt-bench");
+        ViolationIdGeneratorService ids = new ViolationIdGeneratorService("RSU-001");
+
+        ExecutorService executor = switch (mode) {
+            case "platform-pool" -> Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+            case "platform-per-task" -> Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory());
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+
+        // Warm up the code paths before measuring
+        runRequests(executor, ids, dir, 2_000, Math.min(CONCURRENCY, 1_000));
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        long[] latencies = runRequests(executor, ids, dir, REQUESTS, CONCURRENCY);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(latencies);
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%-18s %10.0f %10.1f %10d %12.1f %12.1f%n",
+                mode,
+                REQUESTS / (elapsed / 1e9),
+                latencies[(int) (latencies.length * 0.99)] / 1e6,
+                threads.getPeakThreadCount(),
+                peakRssBytes() / 1048576.0,
+                (runtime.totalMemory() - runtime.freeMemory()) / 1048576.0);
+
+        try (var files = Files.list(dir)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.delete(dir);
+    }
+
+    // Keeps at most `concurrency` requests in flight, like that many connected clients
+    private static long[] runRequests(ExecutorService executor, ViolationIdGeneratorService ids,
+                                      Path dir, int requests, int concurrency) throws InterruptedException {
+        long[] latencies = new long[requests];
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    handle(ids, dir);
+                } finally {
+                    latencies[index] = System.nanoTime() - submitted;
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return latencies;
+    }
+
+    private static void handle(ViolationIdGeneratorService ids, Path dir) {
+        byte[] image = new byte[IMAGE_BYTES];
+        ThreadLocalRandom.current().nextBytes(image);
+        try {
+            String id = ids.nextIdString();
+            ViolationRecord record = ViolationRecord.builder()
+                    .violationId(id)
+                    .plateNumber("MGE-4592")
+                    .speedMph(52.5)
+                    .timestampMillis(System.currentTimeMillis())
+                    .targetId(1)
+                    .imageSizeBytes(image.length)
+                    .build();
+            ByteBuffer frame = ViolationRecordCodec.encode(record);
+            MessageDigest.getInstance("SHA-256").digest(image);
+
+            // Backend round trip, then disk persistence
+            Thread.sleep(ROUND_TRIP_MILLIS);
+            Path file = dir.resolve(id);
+            Files.write(file, image);
+            Files.delete(file);
+            if (frame.remaining() == 0) {
+                throw new IllegalStateException("Empty frame");
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Peak resident set size of this JVM, or 0 where /proc is unavailable
+    private static long peakRssBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux
+        }
+        return 0;
+    }
+}